@@ -0,0 +1,257 @@
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 종료된 게임(리플레이)을 서버에서 분석하는 서비스입니다.
+ * 저장된 기보를 GameLogic으로 다시 실행하면서 각 포지션을 PositionEvaluator로 평가하고,
+ * 수마다 평가 점수, 블런더(큰 실수) 여부, 더 나은 대안 수를 계산합니다.
+ *
+ * 분석 작업은 대기열 크기가 제한된 백그라운드 스레드 풀에서 실행되며,
+ * 작업마다 시간 예산이 있고 취소할 수 있습니다. 결과는 게임 ID별로 캐시되어 반복 요청 시 다시 계산하지 않습니다.
+ */
+public class AnalysisService {
+
+    private static final int BLUNDER_THRESHOLD = 200; // 최선 수 대비 이만큼 이상 손해를 보면 블런더로 표시
+    private static final int MIN_MOVE_BUDGET_MS = 20;  // 한 수 분석에 할당하는 최소 시간
+    private static final int CACHE_CAPACITY = 256;     // 캐시할 분석 결과의 최대 개수
+
+    private final ThreadPoolExecutor executor;
+    private final long jobBudgetMillis;
+    private final int searchDepth;
+    // 진행 중인 작업 (Key: 게임 ID). 같은 게임에 대한 중복 요청은 하나의 작업을 공유함
+    private final ConcurrentHashMap<String, AnalysisJob> runningJobs = new ConcurrentHashMap<>();
+    // 완료된 분석 결과의 LRU 캐시 (Key: 게임 ID, Value: ANALYSIS_RESULT 페이로드)
+    private final Map<String, String> resultCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > CACHE_CAPACITY;
+        }
+    };
+
+    /**
+     * 분석 중인 작업 하나를 나타냅니다.
+     * 스레드 풀에 제출된 FutureTask(취소 시 인터럽트용)와 결과를 기다리는 요청자들의 CompletableFuture를 묶어서 관리합니다.
+     * 등록된 뒤의 요청자 목록은 runningJobs의 compute 안에서만 바꾸므로, 마지막 요청자가 취소할 때만 작업 자체가 취소됩니다.
+     */
+    private static class AnalysisJob {
+        final CompletableFuture<String> result = new CompletableFuture<>();
+        final Set<PlayerConnection> requesters = ConcurrentHashMap.newKeySet(); // 결과를 기다리는 클라이언트
+        FutureTask<Void> task;
+    }
+
+    /**
+     * AnalysisService 생성자입니다.
+     * @param threads         분석 작업을 실행할 스레드 수
+     * @param queueCapacity   대기열에 쌓을 수 있는 최대 작업 수
+     * @param jobBudgetMillis 한 게임 분석에 사용할 수 있는 최대 시간(ms)
+     * @param searchDepth     포지션마다 탐색할 최대 깊이
+     */
+    public AnalysisService(int threads, int queueCapacity, long jobBudgetMillis, int searchDepth) {
+        this.jobBudgetMillis = jobBudgetMillis;
+        this.searchDepth = searchDepth;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread t = new Thread(r, "analysis-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    t.setPriority(Thread.MIN_PRIORITY); // 게임 진행 스레드보다 낮은 우선순위
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * 게임 분석을 요청합니다. 결과가 준비되면 요청자에게 ANALYSIS_RESULT 메시지로 전송합니다.
+     * 캐시된 결과가 있으면 즉시 전송하고, 같은 게임을 이미 분석 중이면 그 작업의 결과를 함께 기다립니다.
+     * @param gameId    분석할 리플레이의 게임 ID
+     * @param requester 결과를 받을 클라이언트
+     */
+    public void requestAnalysis(String gameId, PlayerConnection requester) {
+        if (!ReplayArchive.isValidId(gameId)) {
+            requester.sendMessage(Protocol.ERROR + " 잘못된 리플레이 ID입니다.");
+            return;
+        }
+
+        String cached;
+        synchronized (resultCache) {
+            cached = resultCache.get(gameId);
+        }
+        if (cached != null) {
+            requester.sendMessage(Protocol.ANALYSIS_RESULT + " " + cached);
+            return;
+        }
+
+        AnalysisJob job;
+        while (true) {
+            AnalysisJob running = runningJobs.computeIfPresent(gameId, (id, joined) -> {
+                joined.requesters.add(requester);
+                return joined;
+            });
+            if (running != null) {
+                job = running;
+                break;
+            }
+            AnalysisJob created = newJob(gameId);
+            created.requesters.add(requester);
+            if (runningJobs.putIfAbsent(gameId, created) == null) {
+                job = created;
+                submit(gameId, created);
+                break;
+            }
+            // 그 사이 다른 요청자가 같은 게임의 작업을 등록했으므로 그 작업에 합류
+        }
+
+        job.result.whenComplete((payload, error) -> {
+            if (!job.requesters.contains(requester)) return; // 이 클라이언트는 취소함
+            if (error == null) {
+                requester.sendMessage(Protocol.ANALYSIS_RESULT + " " + payload);
+            } else if (error instanceof RejectedExecutionException) {
+                requester.sendMessage(Protocol.ERROR + " 분석 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+            } else if (!job.result.isCancelled()) {
+                requester.sendMessage(Protocol.ERROR + " 게임 분석에 실패했습니다: " + rootMessage(error));
+            }
+        });
+    }
+
+    /**
+     * 요청자의 분석 요청을 취소합니다. 요청자는 더 이상 결과를 받지 않으며,
+     * 같은 게임의 결과를 기다리는 다른 요청자가 없을 때만 진행 중이거나 대기 중인 작업 자체를 취소합니다.
+     * @param gameId    취소할 게임 ID
+     * @param requester 취소를 요청한 클라이언트
+     * @return 작업 자체가 취소되었으면 true
+     */
+    public boolean cancel(String gameId, PlayerConnection requester) {
+        AnalysisJob[] abandoned = new AnalysisJob[1];
+        runningJobs.computeIfPresent(gameId, (id, job) -> {
+            job.requesters.remove(requester);
+            if (!job.requesters.isEmpty()) return job;
+            abandoned[0] = job;
+            return null;
+        });
+        AnalysisJob job = abandoned[0];
+        if (job == null) return false;
+        job.task.cancel(true); // 실행 중이면 인터럽트하여 탐색을 중단시킴
+        job.result.cancel(false);
+        return true;
+    }
+
+    /**
+     * 서비스를 종료합니다. 진행 중인 작업은 인터럽트됩니다.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 분석 작업을 만듭니다. 스레드 풀에는 runningJobs에 등록한 뒤 submit으로 제출합니다.
+     */
+    private AnalysisJob newJob(String gameId) {
+        AnalysisJob job = new AnalysisJob();
+        job.task = new FutureTask<>(() -> {
+            try {
+                String payload = analyze(gameId);
+                synchronized (resultCache) {
+                    resultCache.put(gameId, payload);
+                }
+                System.out.println("게임 분석 완료: " + gameId);
+                job.result.complete(payload);
+            } catch (Exception e) {
+                job.result.completeExceptionally(e);
+            } finally {
+                runningJobs.remove(gameId, job);
+            }
+            return null;
+        });
+        return job;
+    }
+
+    /**
+     * runningJobs에 등록한 작업을 스레드 풀에 제출합니다. (맵의 compute 밖에서 호출)
+     * 대기열이 가득 차면 등록을 지우고, 그 사이 합류한 요청자까지 모두 거절 응답을 받도록 결과를 실패로 완료합니다.
+     */
+    private void submit(String gameId, AnalysisJob job) {
+        try {
+            executor.execute(job.task);
+        } catch (RejectedExecutionException e) {
+            runningJobs.remove(gameId, job);
+            job.result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * 리플레이를 처음부터 다시 실행하며 각 수를 분석합니다.
+     * 남은 시간 예산을 남은 수의 개수로 나누어 수마다 탐색 시간을 배분하고,
+     * 예산을 다 쓰면 나머지 수는 탐색 없이 정적 평가 점수만 기록합니다. (최선 수 없음, 블런더 판정 안 함)
+     * @param gameId 분석할 게임 ID
+     * @return ANALYSIS_RESULT 페이로드 ("게임ID|기보,점수,최선수,블런더여부;...")
+     */
+    private String analyze(String gameId) throws IOException, InterruptedException {
+        List<String> notations = ReplayArchive.readMoves(gameId);
+        GameLogic logic = new GameLogic();
+        logic.startGame();
+        PositionEvaluator evaluator = PositionEvaluator.shared();
+        long deadline = System.nanoTime() + jobBudgetMillis * 1_000_000L;
+
+        StringBuilder payload = new StringBuilder(gameId).append('|');
+        for (int i = 0; i < notations.size(); i++) {
+            if (Thread.currentThread().isInterrupted()) throw new InterruptedException("분석이 취소되었습니다.");
+
+            String notation = notations.get(i);
+            Piece.Player side = logic.getCurrentPlayer();
+            int played = Move.parse(notation, side);
+            if (played == Move.NONE || logic.getGameState() != GameLogic.GameState.IN_PROGRESS) {
+                throw new IOException("잘못된 기보입니다: " + notation);
+            }
+
+            if (i > 0) payload.append(';');
+            long remainingMillis = (deadline - System.nanoTime()) / 1_000_000L;
+            if (remainingMillis <= 0) {
+                payload.append(notation).append(',')
+                       .append(GameSearch.evaluate(logic.getBoard(), side)).append(",,-");
+            } else {
+                // 최소 시간을 보장하되 남은 예산을 넘지는 않음
+                long moveBudget = Math.min(remainingMillis,
+                        Math.max(MIN_MOVE_BUDGET_MS, remainingMillis / (notations.size() - i)));
+                appendSearched(payload, notation, played, evaluator.evaluate(logic, searchDepth, moveBudget));
+            }
+
+            if (!logic.executeMove(notation)) {
+                throw new IOException("실행할 수 없는 수입니다: " + notation);
+            }
+        }
+        return payload.toString();
+    }
+
+    /**
+     * 탐색한 수 하나의 결과("기보,점수,최선수,블런더여부")를 페이로드에 붙입니다.
+     */
+    private static void appendSearched(StringBuilder payload, String notation, int played, GameSearch.Result result) {
+        int playedScore = result.scoreOf(played);
+        boolean known = playedScore != Integer.MIN_VALUE && result.getBestMove() != Move.NONE;
+        boolean blunder = known && result.getScore() - playedScore >= BLUNDER_THRESHOLD;
+
+        payload.append(notation).append(',')
+               .append(known ? playedScore : result.getScore()).append(',');
+        if (result.getBestMove() != Move.NONE) Move.appendNotation(payload, result.getBestMove());
+        payload.append(',').append(blunder ? 'B' : '-');
+    }
+
+    private static String rootMessage(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null) cause = cause.getCause();
+        return cause.getMessage();
+    }
+}
@@ -1,35 +1,44 @@
 import javax.swing.*;
-import javax.swing.border.LineBorder;
 import java.awt.*;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
-import java.util.Map;
-import java.util.EnumMap;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
 
 /**
  * 십이장기 게임 보드를 시각적으로 표현하고 사용자 입력을 처리하는 패널입니다.
- * 4x3 그리드의 버튼으로 보드를 구성하며, 기물 아이콘 표시, 유효 이동 범위 하이라이트 등의 기능을 담당합니다.
+ * 4x3 보드, 기물, 하이라이트를 하나의 paintComponent에서 직접 그리며, 클릭 위치로 칸을 찾아(hit-test) 컨트롤러에 전달합니다.
+ * 상태가 바뀐 칸만 다시 그리도록 repaint 영역을 제한하고, 기물 이동은 짧은 애니메이션으로 보여줄 수 있습니다.
  * P1과 P2의 시점에 따라 보드 뷰를 뒤집어서 보여주는 기능도 포함합니다.
  */
 public class BoardPanel extends JPanel {
     private final GameController controller;
-    private final JButton[][] boardButtons = new JButton[4][3]; // 보드 칸을 나타내는 버튼 배열
-    private final Piece[][] boardState = new Piece[4][3]; // 현재 보드의 기물 상태 (논리적 상태)
-    private final List<int[]> validMoveCells = new ArrayList<>(); // 현재 하이라이트된 유효 이동 셀 목록
-    private final List<int[]> initialHighlightCells = new ArrayList<>();
+    private final Piece[][] boardState = new Piece[4][3]; // 현재 보드의 기물 상태 (논리적 상태, 모델 좌표)
+    private final Color[][] cellHighlights = new Color[4][3]; // 칸별 배경 하이라이트 색 (모델 좌표, null이면 기본색)
+    private final boolean[][] validMoveCells = new boolean[4][3]; // 현재 하이라이트된 유효 이동 칸
+    private int selectedRow = -1, selectedCol = -1; // 선택된 기물의 칸 (모델 좌표)
     private boolean myTurn = false;
     private String playerRoleForView = Protocol.P1; // 기본 시점은 P1
 
     // UI 상수 정의
-    private static final Font DEFAULT_FONT = new Font("맑은 고딕", Font.BOLD, 24);
+    private static final int GAP = 5; // 칸 사이 간격
+    private static final int ICON_MARGIN = 18; // 칸 크기 대비 기물 이미지 여백
     private static final Color HIGHLIGHT_VALID_MOVE = Color.YELLOW;
     private static final Color HIGHLIGHT_SELECTED_PIECE = Color.RED;
-    private static final Color HIGHLIGHT_CAPTURED_PIECE = Color.GREEN;
     private static final Color HIGHLIGHT_FIRST_TURN = Color.CYAN;
-    private final java.util.List<Point> highlightedCells = new java.util.ArrayList<>();
-    // 기물 아이콘 캐싱을 위한 맵
-    private final Map<Piece, ImageIcon> pieceIcons = new EnumMap<>(Piece.class);
+    private static final Color CELL_BORDER = Color.GRAY;
+    private static final boolean PROFILE = Boolean.getBoolean("board.profile"); // 보드 갱신/그리기 시간 측정 여부
+    // 기물 이동 애니메이션 (시스템 속성 board.animation=false로 끌 수 있음)
+    private static final boolean ANIMATION_ENABLED = Boolean.parseBoolean(System.getProperty("board.animation", "true"));
+    private static final int ANIMATION_MILLIS = 150;
+    // 크기/방향별로 미리 그려 둔 기물 이미지 캐시
+    private final PieceSpriteCache sprites = new PieceSpriteCache();
+
+    // 진행 중인 이동 애니메이션 상태 (animPiece가 null이면 애니메이션 없음)
+    private Piece animPiece;
+    private int animFromRow, animFromCol, animToRow, animToCol;
+    private long animStartNanos;
+    private final Timer animTimer = new Timer(15, e -> onAnimationTick());
 
     /**
      * BoardPanel 생성자입니다.
@@ -37,26 +46,28 @@ public class BoardPanel extends JPanel {
      */
     public BoardPanel(GameController controller) {
         this.controller = controller;
-        this.setLayout(new GridLayout(4, 3, 5, 5));
         this.setBorder(BorderFactory.createLineBorder(Color.BLACK));
+        this.setPreferredSize(new Dimension(300, 400));
 
-        for (int r = 0; r < 4; r++) {
-            for (int c = 0; c < 3; c++) {
-                boardButtons[r][c] = new JButton();
-                boardButtons[r][c].setFont(DEFAULT_FONT);
-                boardButtons[r][c].setFocusable(false);
-                final int viewRow = r;
-                final int viewCol = c;
-                boardButtons[r][c].addActionListener(e -> {
-                    if (controller != null) { // 리플레이 시에는 컨트롤러가 없으므로 이벤트 처리 안함
-                        // UI(뷰) 좌표를 게임 로직(모델) 좌표로 변환하여 컨트롤러에 전달
-                        int[] modelCoords = viewToModel(viewRow, viewCol);
-                        controller.onBoardClicked(modelCoords[0], modelCoords[1]);
-                    }
-                });
-                this.add(boardButtons[r][c]);
+        addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                if (controller == null) return; // 리플레이 시에는 컨트롤러가 없으므로 이벤트 처리 안함
+                int[] viewCoords = cellAt(e.getPoint());
+                if (viewCoords == null) return;
+                // UI(뷰) 좌표를 게임 로직(모델) 좌표로 변환하여 컨트롤러에 전달
+                int[] modelCoords = viewToModel(viewCoords[0], viewCoords[1]);
+                controller.onBoardClicked(modelCoords[0], modelCoords[1]);
             }
-        }
+        });
+        // 보드 크기가 바뀌면 기존 스프라이트를 버리고 다음 그리기 때 새 크기로 다시 그림
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent e) {
+                sprites.invalidate();
+                repaint();
+            }
+        });
     }
 
     // --- 좌표 변환 (View <-> Model) ---
@@ -86,7 +97,45 @@ public class BoardPanel extends JPanel {
     private boolean isP1() {
         return playerRoleForView.equals(Protocol.P1);
     }
-    
+
+    // --- 칸 영역 계산 및 hit-test ---
+
+    /**
+     * 뷰 좌표의 칸이 그려지는 영역을 계산합니다.
+     */
+    private Rectangle cellBounds(int viewRow, int viewCol) {
+        Insets insets = getInsets();
+        int width = getWidth() - insets.left - insets.right;
+        int height = getHeight() - insets.top - insets.bottom;
+        int cellW = Math.max(1, (width - GAP * 2) / 3);
+        int cellH = Math.max(1, (height - GAP * 3) / 4);
+        return new Rectangle(insets.left + viewCol * (cellW + GAP), insets.top + viewRow * (cellH + GAP), cellW, cellH);
+    }
+
+    /** 모델 좌표의 칸이 그려지는 영역을 계산합니다. */
+    private Rectangle modelCellBounds(int r, int c) {
+        int[] view = modelToView(r, c);
+        return cellBounds(view[0], view[1]);
+    }
+
+    /**
+     * 클릭한 위치에 해당하는 칸을 찾습니다.
+     * @return 뷰 좌표 [행, 열], 칸 사이 간격이나 보드 밖이면 null
+     */
+    private int[] cellAt(Point point) {
+        for (int r = 0; r < 4; r++) {
+            for (int c = 0; c < 3; c++) {
+                if (cellBounds(r, c).contains(point)) return new int[]{r, c};
+            }
+        }
+        return null;
+    }
+
+    /** 모델 좌표의 칸 하나만 다시 그리도록 요청합니다. */
+    private void repaintCell(int r, int c) {
+        repaint(modelCellBounds(r, c));
+    }
+
     // --- 공개 API ---
 
     /**
@@ -95,6 +144,7 @@ public class BoardPanel extends JPanel {
      */
     public void setPlayerRoleForView(String role) {
         if (role != null && (role.equals(Protocol.P1) || role.equals(Protocol.P2))) {
+            if (!role.equals(playerRoleForView)) repaint(); // 시점이 바뀌면 보드 전체를 다시 그림
             this.playerRoleForView = role;
         }
     }
@@ -102,104 +152,40 @@ public class BoardPanel extends JPanel {
     public void setMyTurn(boolean myTurn) { this.myTurn = myTurn; }
     public boolean isMyTurn() { return myTurn; }
     public String getPieceOwnerRole(int r, int c) { Piece piece = boardState[r][c]; return (piece != null) ? piece.getOwner().name() : null; }
-    public boolean isValidMove(int r, int c) { return validMoveCells.stream().anyMatch(m -> m[0] == r && m[1] == c); }
-    
+    public boolean isValidMove(int r, int c) { return validMoveCells[r][c]; }
+
     /**
      * 서버로부터 받은 보드 상태 문자열을 파싱하여 UI에 기물들을 업데이트합니다.
+     * 이전 상태와 비교하여 바뀐 칸만 다시 그리며, 기물 하나가 이동한 경우에는 이동 애니메이션을 보여줍니다.
      * @param boardStateStr 서버에서 전달된 보드 상태 정보
      */
     public void updateBoard(String boardStateStr) {
-        // 보드 초기화
+        long start = PROFILE ? System.nanoTime() : 0;
+        Piece[][] next = new Piece[4][3];
+        if (boardStateStr != null && !boardStateStr.isBlank()) {
+            // 상태 문자열 파싱
+            for (String pieceInfo : boardStateStr.split(";")) {
+                if (pieceInfo.isBlank()) continue;
+                String[] info = pieceInfo.split(",");
+                Piece piece = Piece.valueOf(info[0].trim());
+                int r = Integer.parseInt(info[1].trim());
+                int c = Integer.parseInt(info[2].trim());
+                next[r][c] = piece;
+            }
+        }
+
+        startMoveAnimation(next);
+        // 바뀐 칸만 논리적 상태를 갱신하고 다시 그림
         for (int r = 0; r < 4; r++) {
             for (int c = 0; c < 3; c++) {
-                boardButtons[r][c].setIcon(null);
-                boardState[r][c] = null;
+                if (boardState[r][c] != next[r][c]) {
+                    boardState[r][c] = next[r][c];
+                    repaintCell(r, c);
+                }
             }
         }
-        if (boardStateStr == null || boardStateStr.isBlank()) return;
-
-        // 상태 문자열 파싱 및 기물 배치
-        for (String pieceInfo : boardStateStr.split(";")) {
-            if (pieceInfo.isBlank()) continue;
-            String[] info = pieceInfo.split(",");
-            Piece piece = Piece.valueOf(info[0].trim());
-            int r = Integer.parseInt(info[1].trim());
-            int c = Integer.parseInt(info[2].trim());
-            boardState[r][c] = piece; // 논리적 상태 업데이트
-            
-            int[] viewCoords = modelToView(r, c); // 뷰 좌표로 변환
-            JButton btn = boardButtons[viewCoords[0]][viewCoords[1]];
-            boolean isOpponent = (piece.getOwner() == Piece.Player.P1) != isP1();
-            ImageIcon icon = getPieceIcon(piece, btn, isOpponent);
-            btn.setIcon(icon); // UI 업데이트
-        }
         clearHighlights(true);
-    }
-
-    /**
-     * 잡은 기물 목록을 UI에 업데이트합니다.
-     * @param myPanel 내가 잡은 기물을 표시할 패널
-     * @param opponentPanel 상대가 잡은 기물을 표시할 패널
-     * @param p1CapturedStr P1이 잡은 기물 목록 문자열
-     * @param p2CapturedStr P2가 잡은 기물 목록 문자열
-     */
-    public void updateCapturedPieces(JPanel myPanel, JPanel opponentPanel, String p1CapturedStr, String p2CapturedStr) {
-        myPanel.removeAll();
-        opponentPanel.removeAll();
-        
-        // 현재 시점에 따라 '나'와 '상대'의 잡은 기물 목록을 결정
-        String myCapturedStr = isP1() ? p1CapturedStr : p2CapturedStr;
-        String opponentCapturedStr = isP1() ? p2CapturedStr : p1CapturedStr;
-
-        populateCapturedPanel(myPanel, myCapturedStr, true);
-        populateCapturedPanel(opponentPanel, opponentCapturedStr, false);
-
-        myPanel.revalidate();
-        myPanel.repaint();
-        opponentPanel.revalidate();
-        opponentPanel.repaint();
-    }
-
-    /**
-     * 잡은 기물 문자열을 파싱하여 실제 UI 패널에 버튼(기물)들을 추가합니다.
-     */
-    private void populateCapturedPanel(JPanel panel, String capturedStr, boolean isMyPanel) {
-        if (capturedStr == null || capturedStr.isEmpty()) return;
-
-        Arrays.stream(capturedStr.split(","))
-              .map(String::trim)
-              .filter(s -> !s.isEmpty())
-              .map(Piece::valueOf)
-              .forEach(piece -> {
-                  JButton pieceButton = new JButton();
-                  pieceButton.setPreferredSize(new Dimension(36, 36));
-                  boolean rotate180 = !isMyPanel;
-                  ImageIcon baseIcon = getPieceIcon(piece, pieceButton, rotate180);
-
-                  if (baseIcon != null) {
-                      int iw = baseIcon.getIconWidth();
-                      int ih = baseIcon.getIconHeight();
-                      int scaledW = (int)(iw * 0.9);
-                      int scaledH = (int)(ih * 0.9);
-                      Image scaledImg = baseIcon.getImage().getScaledInstance(scaledW, scaledH, Image.SCALE_SMOOTH);
-                      ImageIcon scaledIcon = new ImageIcon(scaledImg);
-                      pieceButton.setIcon(scaledIcon);
-                      pieceButton.setToolTipText(piece.getDisplayName());
-                      pieceButton.setMargin(new Insets(0, 0, 0, 0));
-                      pieceButton.setFocusPainted(false);
-                      pieceButton.setContentAreaFilled(false);
-                      pieceButton.setBorderPainted(true);
-                  }
-
-                  if (isMyPanel && controller != null) { // 내 기물이고, 리플레이가 아닐 때만 클릭 이벤트 추가
-                      pieceButton.addActionListener(
-                          e -> controller.onCapturedPieceClicked(piece, e.getSource())
-                      );
-                  } else {
-                      pieceButton.setEnabled(false);
-                  }
-                  panel.add(pieceButton);
-              });
+        if (PROFILE) System.out.printf("[board] updateBoard %.3fms%n", (System.nanoTime() - start) / 1e6);
     }
 
     /**
@@ -214,43 +200,19 @@ public class BoardPanel extends JPanel {
             String[] coords = move.split(",");
             int r = Integer.parseInt(coords[0].trim());
             int c = Integer.parseInt(coords[1].trim());
-            int[] viewCoords = modelToView(r, c);
-            boardButtons[viewCoords[0]][viewCoords[1]].setBackground(HIGHLIGHT_VALID_MOVE);
-            validMoveCells.add(new int[]{r, c});
+            setCellHighlight(r, c, HIGHLIGHT_VALID_MOVE);
+            validMoveCells[r][c] = true;
         }
     }
 
-    /**
-     * 잡은 말을 놓을 수 있는 위치를 하이라이트합니다.
-     */
-    public void highlightSummonRange() {
-        clearHighlights(false);
-        // 십이장기 규칙에 따라 2~4행의 빈 칸에만 놓을 수 있음 (P1 기준)
-        for (int r = 1; r <= 3; r++) {
-            for (int c = 0; c < 3; c++) {
-             if (getPieceOwnerRole(r, c) == null) {
-                    int[] view = modelToView(r, c);
-                    boardButtons[view[0]][view[1]].setBackground(Color.YELLOW);
-                    highlightedCells.add(new Point(view[0], view[1]));
-                }
-            }
-        }
-    }
-    
     /**
      * 선택된 보드 위의 기물을 빨간색 테두리로 하이라이트합니다.
      */
-    public void highlightSelectedBoardPiece(int r, int c) { 
-        int[] viewCoords = modelToView(r, c);
-        boardButtons[viewCoords[0]][viewCoords[1]].setBorder(new LineBorder(HIGHLIGHT_SELECTED_PIECE, 2)); 
-    }
-
-    /**
-     * 선택된 잡은 기물을 초록색 테두리로 하이라이트하고, 놓을 수 있는 위치를 표시합니다.
-     */
-    public void highlightSelectedCapturedPiece(Object sourceButton) { 
-        ((JButton) sourceButton).setBorder(new LineBorder(HIGHLIGHT_CAPTURED_PIECE, 2)); 
-        highlightSummonRange();
+    public void highlightSelectedBoardPiece(int r, int c) {
+        clearSelection();
+        selectedRow = r;
+        selectedCol = c;
+        repaintCell(r, c);
     }
 
     /**
@@ -263,39 +225,24 @@ public class BoardPanel extends JPanel {
         for (int r = 0; r < 4; r++) {
             for (int c = 0; c < 3; c++) {
                 if (boardState[r][c] != null && boardState[r][c].getOwner() == player) {
-                    int[] viewCoords = modelToView(r, c);
-                    boardButtons[viewCoords[0]][viewCoords[1]].setBackground(HIGHLIGHT_FIRST_TURN);
-                    initialHighlightCells.add(new int[]{r, c});
+                    setCellHighlight(r, c, HIGHLIGHT_FIRST_TURN);
                 }
             }
         }
     }
 
     /**
-     * 보드의 모든 하이라이트를 제거합니다.
+     * 보드의 모든 하이라이트를 제거합니다. 하이라이트가 있던 칸만 다시 그립니다.
      * @param clearSelection 선택된 기물의 테두리 하이라이트까지 제거할지 여부
      */
     public void clearHighlights(boolean clearSelection) {
-        if (clearSelection) {
-            for (int r = 0; r < 4; r++) for (int c = 0; c < 3; c++) boardButtons[r][c].setBorder(UIManager.getBorder("Button.border"));
-        }
-        // 유효 이동 범위 하이라이트 제거
-        for (int[] cell : validMoveCells) {
-            int[] viewCoords = modelToView(cell[0], cell[1]);
-            boardButtons[viewCoords[0]][viewCoords[1]].setBackground(UIManager.getColor("Button.background"));
-        }
-        validMoveCells.clear();
-        // 시작 턴 하이라이트 제거
-        for (int[] cell : initialHighlightCells) {
-            int[] viewCoords = modelToView(cell[0], cell[1]);
-            boardButtons[viewCoords[0]][viewCoords[1]].setBackground(UIManager.getColor("Button.background"));
-        }
-        // 소환 범위 하이라이트 제거
-        for (Point p : highlightedCells) {
-            boardButtons[p.x][p.y].setBackground(UIManager.getColor("Button.background"));
+        if (clearSelection) clearSelection();
+        for (int r = 0; r < 4; r++) {
+            for (int c = 0; c < 3; c++) {
+                setCellHighlight(r, c, null);
+                validMoveCells[r][c] = false;
+            }
         }
-        highlightedCells.clear();
-        initialHighlightCells.clear();
     }
 
     /**
@@ -305,43 +252,128 @@ public class BoardPanel extends JPanel {
         updateBoard("");
     }
 
+    /** 칸의 배경 하이라이트 색을 바꾸고, 실제로 바뀐 경우에만 그 칸을 다시 그립니다. */
+    private void setCellHighlight(int r, int c, Color color) {
+        if (cellHighlights[r][c] == color) return;
+        cellHighlights[r][c] = color;
+        repaintCell(r, c);
+    }
+
+    private void clearSelection() {
+        if (selectedRow < 0) return;
+        repaintCell(selectedRow, selectedCol);
+        selectedRow = -1;
+        selectedCol = -1;
+    }
+
+    // --- 이동 애니메이션 ---
+
     /**
-     * 기물에 해당하는 아이콘을 반환합니다. 아이콘은 캐시되어 재사용됩니다.
-     * @param piece 아이콘을 가져올 기물
-     * @param btn 아이콘 크기 조절의 기준이 될 버튼
-     * @param rotate180 아이콘을 180도 회전시킬지 여부
-     * @return 크기가 조절된 이미지 아이콘
+     * 이전 상태와 새 상태를 비교하여 기물 하나가 이동한 경우(잡기 포함) 이동 애니메이션을 시작합니다.
+     * 놓기(drop)처럼 출발 칸이 없거나 여러 칸이 동시에 바뀐 경우(재시작, 되돌리기 등)에는 애니메이션 없이 바로 반영합니다.
      */
-    private ImageIcon getPieceIcon(Piece piece, JButton btn, boolean rotate180) {
-        // 캐시에서 아이콘을 먼저 찾아보고, 없으면 파일에서 로드하여 캐시에 저장
-        ImageIcon icon = pieceIcons.computeIfAbsent(piece, k -> {
-            String fileName = "/images/" + k.name() + ".png";
-            java.net.URL url = getClass().getResource(fileName);
-            return (url != null) ? new ImageIcon(url) : null;
-        });
+    private void startMoveAnimation(Piece[][] next) {
+        finishAnimation();
+        if (!ANIMATION_ENABLED || !isShowing()) return;
 
-        if (icon == null) return null;
-        
-        Image img = icon.getImage();
-        // 상대방 기물일 경우 180도 회전
-        if (rotate180) {
-            int w = img.getWidth(null);
-            int h = img.getHeight(null);
-            java.awt.image.BufferedImage rotatedImg = new java.awt.image.BufferedImage(w, h, java.awt.image.BufferedImage.TYPE_INT_ARGB);
-            Graphics2D g2d = rotatedImg.createGraphics();
-            g2d.rotate(Math.PI, w / 2.0, h / 2.0);
-            g2d.drawImage(img, 0, 0, null);
-            g2d.dispose();
-            img = rotatedImg;
+        int fromR = -1, fromC = -1, toR = -1, toC = -1, changed = 0;
+        for (int r = 0; r < 4; r++) {
+            for (int c = 0; c < 3; c++) {
+                if (boardState[r][c] == next[r][c]) continue;
+                changed++;
+                if (next[r][c] == null) { fromR = r; fromC = c; }
+                else { toR = r; toC = c; }
+            }
+        }
+        if (changed != 2 || fromR < 0 || toR < 0) return;
+        Piece moved = boardState[fromR][fromC];
+        // '자'가 끝 줄에 도달하면 '후'로 승급된 상태로 도착함
+        if (next[toR][toC] != moved && next[toR][toC] != moved.promote()) return;
+
+        animPiece = next[toR][toC];
+        animFromRow = fromR;
+        animFromCol = fromC;
+        animToRow = toR;
+        animToCol = toC;
+        animStartNanos = System.nanoTime();
+        animTimer.start();
+    }
+
+    private void onAnimationTick() {
+        if (animPiece == null) {
+            animTimer.stop();
+            return;
+        }
+        if (System.nanoTime() - animStartNanos >= ANIMATION_MILLIS * 1_000_000L) {
+            finishAnimation();
+            return;
+        }
+        repaint(modelCellBounds(animFromRow, animFromCol).union(modelCellBounds(animToRow, animToCol)));
+    }
+
+    private void finishAnimation() {
+        if (animPiece == null) return;
+        animTimer.stop();
+        animPiece = null;
+        repaint(modelCellBounds(animFromRow, animFromCol).union(modelCellBounds(animToRow, animToCol)));
+    }
+
+    // --- 그리기 ---
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        long start = PROFILE ? System.nanoTime() : 0;
+        Graphics2D g2d = (Graphics2D) g;
+        Rectangle clip = g.getClipBounds();
+        Color defaultBackground = UIManager.getColor("Button.background");
+
+        for (int r = 0; r < 4; r++) {
+            for (int c = 0; c < 3; c++) {
+                Rectangle cell = modelCellBounds(r, c);
+                if (clip != null && !clip.intersects(cell)) continue; // 다시 그릴 영역 밖의 칸은 건너뜀
+
+                Color background = cellHighlights[r][c];
+                g2d.setColor(background != null ? background : defaultBackground);
+                g2d.fillRect(cell.x, cell.y, cell.width, cell.height);
+
+                boolean selected = r == selectedRow && c == selectedCol;
+                g2d.setColor(selected ? HIGHLIGHT_SELECTED_PIECE : CELL_BORDER);
+                g2d.setStroke(new BasicStroke(selected ? 2f : 1f));
+                g2d.drawRect(cell.x + 1, cell.y + 1, cell.width - 2, cell.height - 2);
+
+                // 애니메이션 중인 기물은 도착 칸이 아니라 이동 경로 위에 따로 그림
+                boolean animating = animPiece != null && r == animToRow && c == animToCol;
+                if (boardState[r][c] != null && !animating) drawPiece(g2d, boardState[r][c], cell.x, cell.y, cell.width, cell.height);
+            }
+        }
+
+        if (animPiece != null) {
+            Rectangle from = modelCellBounds(animFromRow, animFromCol);
+            Rectangle to = modelCellBounds(animToRow, animToCol);
+            double t = Math.min(1.0, (System.nanoTime() - animStartNanos) / (ANIMATION_MILLIS * 1_000_000.0));
+            int x = (int) Math.round(from.x + (to.x - from.x) * t);
+            int y = (int) Math.round(from.y + (to.y - from.y) * t);
+            drawPiece(g2d, animPiece, x, y, to.width, to.height);
+        }
+        if (PROFILE) System.out.printf("[board] paint %.3fms (clip %s)%n", (System.nanoTime() - start) / 1e6, clip);
+    }
+
+    /**
+     * 칸 영역 가운데에 기물 이미지를 그립니다. 상대 기물은 180도 회전된 이미지를 사용합니다.
+     */
+    private void drawPiece(Graphics2D g2d, Piece piece, int x, int y, int cellW, int cellH) {
+        boolean isOpponent = (piece.getOwner() == Piece.Player.P1) != isP1();
+        ImageIcon icon = sprites.getIcon(piece, isOpponent, cellW - ICON_MARGIN, cellH - ICON_MARGIN);
+        if (icon != null) {
+            icon.paintIcon(this, g2d, x + (cellW - icon.getIconWidth()) / 2, y + (cellH - icon.getIconHeight()) / 2);
+        } else {
+            // 이미지 파일이 없으면 기물 이름을 글자로 표시
+            g2d.setColor(piece.getOwner() == Piece.Player.P1 ? Color.BLUE : Color.RED);
+            g2d.setFont(getFont().deriveFont(Font.BOLD, 24f));
+            FontMetrics fm = g2d.getFontMetrics();
+            String name = piece.getDisplayName();
+            g2d.drawString(name, x + (cellW - fm.stringWidth(name)) / 2, y + (cellH + fm.getAscent() - fm.getDescent()) / 2);
         }
-        // 버튼 크기에 맞게 아이콘 이미지 크기 조절
-        int wBtn = btn.getWidth();
-        int hBtn = btn.getHeight();
-        if (wBtn <= 1) wBtn = 48; // 버튼 크기가 아직 정해지지 않은 경우 기본값 사용
-        if (hBtn <= 1) hBtn = 48;
-        int scaledWidth = Math.max(1, wBtn - 18);
-        int scaledHeight = Math.max(1, hBtn - 18);
-        Image scaledImg = img.getScaledInstance(scaledWidth, scaledHeight, Image.SCALE_SMOOTH);
-        return new ImageIcon(scaledImg);
     }
 }
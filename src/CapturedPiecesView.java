@@ -0,0 +1,139 @@
+import javax.swing.*;
+import javax.swing.border.Border;
+import javax.swing.border.LineBorder;
+import java.awt.*;
+
+/**
+ * 한 플레이어가 잡은 기물들을 기물 종류별 슬롯으로 보여주는 패널입니다.
+ * 각 기물 종류마다 버튼(슬롯)을 하나씩 미리 만들어 두고 개수만 갱신하므로,
+ * 게임 상태가 갱신될 때 버튼을 새로 만들지 않고 개수가 바뀐 슬롯만 다시 그립니다.
+ * 잡은 기물이 바뀌지 않았으면 아무 컴포넌트도 건드리지 않아 레이아웃 재계산이 일어나지 않습니다.
+ */
+public class CapturedPiecesView extends JPanel {
+    private static final int SLOT_SIZE = 36;  // 슬롯 버튼 크기
+    private static final int ICON_SIZE = 27;  // 슬롯에 표시할 기물 아이콘 크기
+    private static final Color HIGHLIGHT_SELECTED = Color.GREEN;
+
+    private final GameController controller;
+    private final boolean mine; // 내가 잡은 기물 목록인지 여부 (내 기물만 클릭 가능, 상대 기물은 회전하여 표시)
+    private final PieceSpriteCache sprites = new PieceSpriteCache();
+    private final Slot[] slots = new Slot[Piece.values().length]; // 기물별 슬롯 (Piece.ordinal 순서)
+    private final int[] counts = new int[Piece.values().length];  // 현재 표시 중인 기물별 개수
+    private Slot selectedSlot;
+
+    /**
+     * 기물 하나의 종류와 개수를 표시하는 슬롯 버튼입니다. 개수가 2개 이상이면 오른쪽 아래에 숫자를 표시합니다.
+     */
+    private class Slot extends JButton {
+        private final Piece piece;
+        private int count;
+
+        Slot(Piece piece) {
+            this.piece = piece;
+            setPreferredSize(new Dimension(SLOT_SIZE, SLOT_SIZE));
+            setIcon(sprites.getIcon(piece, !mine, ICON_SIZE, ICON_SIZE));
+            setToolTipText(piece.getDisplayName());
+            setMargin(new Insets(0, 0, 0, 0));
+            setFocusPainted(false);
+            setContentAreaFilled(false);
+            setBorderPainted(true);
+            setVisible(false);
+            if (mine && controller != null) { // 내 기물이고, 리플레이가 아닐 때만 클릭 이벤트 추가
+                addActionListener(e -> controller.onCapturedPieceClicked(piece, this));
+            } else {
+                setEnabled(false);
+            }
+        }
+
+        void setCount(int count) {
+            this.count = count;
+            setVisible(count > 0);
+            repaint();
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            if (count < 2) return;
+            String text = String.valueOf(count);
+            g.setFont(getFont().deriveFont(Font.BOLD, 11f));
+            FontMetrics fm = g.getFontMetrics();
+            g.setColor(Color.BLACK);
+            g.drawString(text, getWidth() - fm.stringWidth(text) - 3, getHeight() - fm.getDescent() - 1);
+        }
+    }
+
+    /**
+     * CapturedPiecesView 생성자입니다.
+     * @param title      패널 테두리에 표시할 제목
+     * @param controller 기물 클릭 이벤트를 처리할 컨트롤러 (리플레이 등에서는 null)
+     * @param mine       내가 잡은 기물 목록이면 true
+     */
+    public CapturedPiecesView(String title, GameController controller, boolean mine) {
+        super(new FlowLayout(FlowLayout.LEFT));
+        this.controller = controller;
+        this.mine = mine;
+        setBorder(BorderFactory.createTitledBorder(title));
+        setPreferredSize(new Dimension(0, 60));
+        for (Piece piece : Piece.values()) {
+            slots[piece.ordinal()] = new Slot(piece);
+            add(slots[piece.ordinal()]);
+        }
+    }
+
+    /**
+     * 서버에서 받은 잡은 기물 목록으로 표시를 갱신합니다. 개수가 바뀐 슬롯만 갱신합니다.
+     * @param capturedStr 잡은 기물 목록 문자열 (예: "P1_PAWN,P1_PAWN,P1_GENERAL")
+     */
+    public void update(String capturedStr) {
+        int[] next = new int[counts.length];
+        if (capturedStr != null) {
+            for (String name : capturedStr.split(",")) {
+                String trimmed = name.trim();
+                if (!trimmed.isEmpty()) next[Piece.valueOf(trimmed).ordinal()]++;
+            }
+        }
+        applyCounts(next);
+    }
+
+    /**
+     * 잡은 기물이 없는 상태로 되돌립니다.
+     */
+    public void reset() {
+        applyCounts(new int[counts.length]);
+    }
+
+    private void applyCounts(int[] next) {
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == next[i]) continue;
+            counts[i] = next[i];
+            slots[i].setCount(next[i]);
+            if (next[i] == 0 && slots[i] == selectedSlot) clearSelection();
+        }
+    }
+
+    /**
+     * 선택된 슬롯을 초록색 테두리로 하이라이트합니다.
+     * @param source 선택된 슬롯 버튼
+     */
+    public void select(Object source) {
+        clearSelection();
+        for (Slot slot : slots) {
+            if (slot == source) {
+                selectedSlot = slot;
+                slot.setBorder(new LineBorder(HIGHLIGHT_SELECTED, 2));
+                return;
+            }
+        }
+    }
+
+    /**
+     * 슬롯 선택 하이라이트를 제거합니다.
+     */
+    public void clearSelection() {
+        if (selectedSlot == null) return;
+        Border defaultBorder = UIManager.getBorder("Button.border");
+        selectedSlot.setBorder(defaultBorder);
+        selectedSlot = null;
+    }
+}
@@ -0,0 +1,91 @@
+import javax.swing.AbstractListModel;
+import java.util.Arrays;
+
+/**
+ * 최근 채팅 메시지를 고정 크기의 원형 버퍼에 보관하는 리스트 모델입니다.
+ * 버퍼가 가득 차면 가장 오래된 줄부터 버리므로, 접속 시간이 길어져도 메모리 사용량과 추가 비용이 일정합니다.
+ * 여러 줄을 한 번에 추가하면 리스트 이벤트도 한 번씩만 발생합니다.
+ */
+public class ChatHistoryModel extends AbstractListModel<String> {
+
+    private static final int DEFAULT_LIMIT = 500;
+
+    private final String[] lines;
+    private int head = 0; // 가장 오래된 줄의 위치
+    private int size = 0;
+
+    /**
+     * 시스템 속성 chat.history.limit(기본 500줄)만큼 보관하는 모델을 만듭니다.
+     */
+    public ChatHistoryModel() {
+        this(Integer.getInteger("chat.history.limit", DEFAULT_LIMIT));
+    }
+
+    /**
+     * @param limit 보관할 최대 줄 수
+     */
+    public ChatHistoryModel(int limit) {
+        this.lines = new String[Math.max(1, limit)];
+    }
+
+    /**
+     * 메시지를 추가합니다. 메시지에 줄바꿈이 있으면 줄마다 한 항목으로 추가합니다.
+     * @param text 추가할 메시지 (여러 줄 가능)
+     */
+    public void append(String text) {
+        int sizeBefore = size;
+        boolean evicted = false;
+        int start = 0;
+        while (start <= text.length()) {
+            int end = text.indexOf('\n', start);
+            if (end < 0) end = text.length();
+            evicted |= addLine(text.substring(start, end));
+            start = end + 1;
+        }
+
+        // 줄 수와 관계없이 이벤트는 최대 두 번만 발생시킴
+        if (size > sizeBefore) fireIntervalAdded(this, sizeBefore, size - 1);
+        if (evicted) fireContentsChanged(this, 0, size - 1); // 오래된 줄이 밀려나 모든 인덱스의 내용이 바뀜
+    }
+
+    /**
+     * 한 줄을 버퍼 끝에 추가합니다.
+     * @return 버퍼가 가득 차서 가장 오래된 줄을 버렸으면 true
+     */
+    private boolean addLine(String line) {
+        if (size < lines.length) {
+            lines[(head + size) % lines.length] = line;
+            size++;
+            return false;
+        }
+        lines[head] = line; // 가장 오래된 줄을 덮어씀
+        head = (head + 1) % lines.length;
+        return true;
+    }
+
+    /**
+     * 모든 줄을 지웁니다.
+     */
+    public void clear() {
+        if (size == 0) return;
+        int removed = size;
+        Arrays.fill(lines, null);
+        head = 0;
+        size = 0;
+        fireIntervalRemoved(this, 0, removed - 1);
+    }
+
+    @Override
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public String getElementAt(int index) {
+        return lines[(head + index) % lines.length];
+    }
+
+    public int getLimit() {
+        return lines.length;
+    }
+}
@@ -7,7 +7,7 @@ import java.awt.*;
  */
 public class ChatPanel extends JPanel {
     private final GameController controller;
-    private final JTextArea chatArea;
+    private final ChatView chatView;
 
     /**
      * ChatPanel 생성자입니다.
@@ -18,11 +18,9 @@ public class ChatPanel extends JPanel {
         this.setLayout(new BorderLayout());
         this.setPreferredSize(new Dimension(250, 0)); // 채팅 패널의 너비 고정
 
-        // 채팅 내용이 표시될 텍스트 영역
-        chatArea = new JTextArea();
-        chatArea.setEditable(false); // 사용자가 직접 수정 불가
-        chatArea.setLineWrap(true);  // 자동 줄바꿈 활성화
-        this.add(new JScrollPane(chatArea), BorderLayout.CENTER);
+        // 채팅 내용이 표시될 영역 (최근 메시지만 보관)
+        chatView = new ChatView();
+        this.add(chatView, BorderLayout.CENTER);
 
         // 채팅을 입력하는 텍스트 필드
         JTextField chatField = new JTextField();
@@ -38,11 +36,10 @@ public class ChatPanel extends JPanel {
 
     /**
      * 채팅 영역에 새로운 메시지를 추가합니다.
-     * @param message 추가할 메시지
+     * @param message 추가할 메시지 (여러 줄 가능)
      */
     public void appendChatMessage(String message) {
-        chatArea.append(message + "\n");
-        chatArea.setCaretPosition(chatArea.getDocument().getLength());
+        chatView.append(message);
     }
 
     /**
@@ -50,14 +47,14 @@ public class ChatPanel extends JPanel {
      * 주로 방에서 나가거나 새 게임이 시작될 때 호출됩니다.
      */
     public void clearChat() {
-        chatArea.setText("");
+        chatView.clear();
     }
     
     /**
      * 채팅 영역을 초기화합니다. clearChat과 기능적으로 동일합니다.
      */
     public void resetChat() {
-        chatArea.setText("");
+        chatView.clear();
     }
 
     public GameController getController() {
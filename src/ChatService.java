@@ -0,0 +1,204 @@
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 서버의 채팅(로비 채팅, 게임방 채팅)을 처리하는 서비스입니다.
+ *
+ * - 사용자마다 토큰 버킷으로 채팅 속도를 제한하여, 한 사용자가 도배를 해도 전체 브로드캐스트가 폭증하지 않도록 합니다.
+ * - 채팅은 바로 보내지 않고 채널(로비/방)별 대기열에 모았다가, 주기적인 tick마다 여러 줄을 한 번의 전송(flush)으로 묶어 보냅니다.
+ * - 채널마다 최근 채팅을 일정 개수만 보관하여, 새로 들어온 사용자에게 최근 대화를 한 번에 보내줍니다.
+ *
+ * 설정값은 시스템 속성 chat.rate(초당 허용 메시지 수), chat.burst(연속 허용 개수),
+ * chat.flush.ms(묶음 전송 주기), chat.history(보관할 최근 줄 수)로 조절할 수 있습니다.
+ */
+public class ChatService {
+
+    private final double ratePerSecond;
+    private final int burst;
+    private final int historySize;
+    private final Channel lobby;
+    private final Map<GameRoom, Channel> rooms = new ConcurrentHashMap<>();
+    private final Map<PlayerConnection, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService ticker;
+
+    /**
+     * 채팅 채널 하나(로비 또는 게임방)입니다. 전송 대기 중인 줄과 최근 채팅 기록을 가집니다.
+     */
+    private class Channel {
+        final ConcurrentLinkedQueue<String> pending = new ConcurrentLinkedQueue<>();
+        final ArrayDeque<String> history = new ArrayDeque<>(); // this로 동기화
+        final Supplier<? extends List<? extends PlayerConnection>> recipients;
+
+        Channel(Supplier<? extends List<? extends PlayerConnection>> recipients) {
+            this.recipients = recipients;
+        }
+
+        /**
+         * 대기 중인 줄을 모두 꺼내 기록에 추가하고, 한 번의 전송으로 모든 수신자에게 보냅니다.
+         */
+        void flush() {
+            if (pending.isEmpty()) return;
+            StringBuilder frame = new StringBuilder();
+            synchronized (this) {
+                String line;
+                while ((line = pending.poll()) != null) {
+                    if (frame.length() > 0) frame.append('\n');
+                    frame.append(line);
+                    history.addLast(line);
+                    if (history.size() > historySize) history.removeFirst();
+                }
+            }
+            String message = frame.toString();
+            for (PlayerConnection recipient : recipients.get()) {
+                recipient.sendMessage(message);
+            }
+        }
+
+        synchronized String historyFrame() {
+            return String.join("\n", history);
+        }
+    }
+
+    /**
+     * 사용자 한 명의 채팅 속도를 제한하는 토큰 버킷입니다.
+     * 초당 ratePerSecond개씩 토큰이 채워지며, 최대 burst개까지 모아 둘 수 있습니다.
+     */
+    private class TokenBucket {
+        private double tokens = burst;
+        private long lastRefillNanos = System.nanoTime();
+
+        synchronized boolean tryAcquire() {
+            long now = System.nanoTime();
+            tokens = Math.min(burst, tokens + (now - lastRefillNanos) / 1e9 * ratePerSecond);
+            lastRefillNanos = now;
+            if (tokens < 1) return false;
+            tokens -= 1;
+            return true;
+        }
+    }
+
+    /**
+     * 서버 설정의 채팅 설정으로 채팅 서비스를 만듭니다.
+     * @param lobbyRecipients 로비 채팅을 받을 클라이언트 목록을 반환하는 함수
+     * @param config          채팅 설정
+     */
+    public ChatService(Supplier<? extends List<? extends PlayerConnection>> lobbyRecipients, ServerConfig.Chat config) {
+        this(lobbyRecipients, config.ratePerSecond, config.burst, config.flushMillis, config.historySize);
+    }
+
+    /**
+     * ChatService 생성자입니다.
+     * @param lobbyRecipients 로비 채팅을 받을 클라이언트 목록을 반환하는 함수
+     * @param ratePerSecond   사용자당 초당 허용 메시지 수
+     * @param burst           사용자가 연속으로 보낼 수 있는 최대 메시지 수
+     * @param flushMillis     채팅을 묶어서 전송하는 주기(ms)
+     * @param historySize     채널마다 보관할 최근 채팅 줄 수
+     */
+    public ChatService(Supplier<? extends List<? extends PlayerConnection>> lobbyRecipients,
+                       double ratePerSecond, int burst, long flushMillis, int historySize) {
+        this.ratePerSecond = ratePerSecond;
+        this.burst = burst;
+        this.historySize = historySize;
+        this.lobby = new Channel(lobbyRecipients);
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "chat-flush");
+            t.setDaemon(true);
+            return t;
+        });
+        this.ticker.scheduleAtFixedRate(this::flushAll, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 로비 채팅을 보냅니다.
+     * @param sender 보낸 사용자
+     * @param text   채팅 내용
+     */
+    public void postLobby(PlayerConnection sender, String text) {
+        if (!accept(sender, text)) return;
+        lobby.pending.add(Protocol.LOBBY_CHAT + " " + sender.getNickname() + ": " + text);
+    }
+
+    /**
+     * 게임방 채팅을 보냅니다.
+     * @param room   채팅이 발생한 게임방
+     * @param sender 보낸 사용자
+     * @param text   채팅 내용
+     */
+    public void postRoom(GameRoom room, PlayerConnection sender, String text) {
+        if (!accept(sender, text)) return;
+        roomChannel(room).pending.add(Protocol.CHAT + " [" + room.getTitle() + "] " + sender.getNickname() + ": " + text);
+    }
+
+    /**
+     * 로비에 들어온 사용자에게 최근 로비 채팅을 한 번에 보냅니다.
+     */
+    public void sendLobbyHistory(PlayerConnection user) {
+        sendHistory(lobby, user);
+    }
+
+    /**
+     * 게임방에 들어온 사용자에게 그 방의 최근 채팅을 한 번에 보냅니다.
+     */
+    public void sendRoomHistory(GameRoom room, PlayerConnection user) {
+        Channel channel = rooms.get(room);
+        if (channel != null) sendHistory(channel, user);
+    }
+
+    /**
+     * 게임방이 없어졌을 때 채널을 정리합니다. 아직 보내지 않은 채팅은 버립니다.
+     */
+    public void closeRoom(GameRoom room) {
+        rooms.remove(room);
+    }
+
+    /**
+     * 연결이 끊긴 사용자의 속도 제한 정보를 정리합니다.
+     */
+    public void forget(PlayerConnection user) {
+        buckets.remove(user);
+    }
+
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    private Channel roomChannel(GameRoom room) {
+        return rooms.computeIfAbsent(room, r -> new Channel(r::getAllUsers));
+    }
+
+    /**
+     * 빈 메시지를 걸러내고 보낸 사용자의 속도 제한을 확인합니다.
+     * 제한을 넘으면 보낸 사용자에게만 시스템 메시지로 알립니다.
+     */
+    private boolean accept(PlayerConnection sender, String text) {
+        if (text == null || text.isBlank()) return false;
+        if (buckets.computeIfAbsent(sender, s -> new TokenBucket()).tryAcquire()) return true;
+        sender.sendMessage(Protocol.SYSTEM + " 채팅을 너무 빠르게 보내고 있습니다. 잠시 후 다시 시도해주세요.");
+        return false;
+    }
+
+    private void sendHistory(Channel channel, PlayerConnection user) {
+        String frame = channel.historyFrame();
+        if (!frame.isEmpty()) user.sendMessage(frame);
+    }
+
+    /**
+     * 모든 채널의 대기 중인 채팅을 전송합니다. (tick마다 호출)
+     */
+    private void flushAll() {
+        try {
+            lobby.flush();
+            for (Channel channel : rooms.values()) channel.flush();
+        } catch (RuntimeException e) {
+            // 예외가 발생해도 다음 tick이 계속 실행되도록 함
+            System.err.println("채팅 전송 중 오류 발생: " + e.getMessage());
+        }
+    }
+}
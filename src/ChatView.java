@@ -0,0 +1,54 @@
+import javax.swing.*;
+import java.awt.*;
+
+/**
+ * 채팅 기록을 표시하는 스크롤 뷰입니다.
+ * ChatHistoryModel(원형 버퍼)을 JList로 보여주므로 화면에 보이는 줄만 그려지고,
+ * 보관하는 줄 수가 제한되어 있어 오래 접속해 있어도 추가 비용과 메모리 사용량이 늘어나지 않습니다.
+ * 사용자가 맨 아래를 보고 있을 때만 새 메시지를 따라 자동으로 스크롤합니다.
+ */
+public class ChatView extends JScrollPane {
+    private static final int VISIBLE_ROWS = 8;
+    private static final int VISIBLE_COLUMNS = 30;
+
+    private final ChatHistoryModel model = new ChatHistoryModel();
+    private final JList<String> list = new JList<>(model);
+
+    public ChatView() {
+        list.setFocusable(false);
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        // 모든 줄의 높이를 같게 하여 줄 수와 관계없이 레이아웃 계산을 단순하게 유지
+        list.setFixedCellHeight(list.getFontMetrics(list.getFont()).getHeight() + 2);
+        setViewportView(list);
+    }
+
+    /**
+     * 메시지를 추가합니다. 여러 줄 메시지는 한 번에 추가됩니다.
+     * @param message 추가할 메시지
+     */
+    public void append(String message) {
+        boolean atBottom = isScrolledToBottom();
+        model.append(message);
+        if (atBottom && model.getSize() > 0) list.ensureIndexIsVisible(model.getSize() - 1);
+    }
+
+    /**
+     * 채팅 기록을 모두 지웁니다.
+     */
+    public void clear() {
+        model.clear();
+    }
+
+    private boolean isScrolledToBottom() {
+        JScrollBar bar = getVerticalScrollBar();
+        return bar.getValue() + bar.getVisibleAmount() >= bar.getMaximum() - list.getFixedCellHeight();
+    }
+
+    @Override
+    public Dimension getPreferredSize() {
+        // 선호 크기가 채팅 내용(가장 긴 줄)에 따라 바뀌면 감싸는 패널이 다시 배치되므로 고정된 크기를 사용
+        Insets insets = getInsets();
+        return new Dimension(VISIBLE_COLUMNS * list.getFontMetrics(list.getFont()).charWidth('m') + insets.left + insets.right,
+                VISIBLE_ROWS * list.getFixedCellHeight() + insets.top + insets.bottom);
+    }
+}
@@ -3,84 +3,364 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.PrintWriter;
 import java.net.Socket;
-import java.util.stream.Collectors;
+import java.util.ArrayDeque;
+import java.util.Iterator;
 
 /**
  * 서버 측에서 각 클라이언트와의 통신을 담당하는 스레드 클래스입니다.
  * 클라이언트로부터 메시지를 수신하고, 이를 파싱하여 적절한 로직(Server, GameRoom)을 호출합니다.
  * PlayerConnection 인터페이스를 구현하여 게임 로직과의 결합도를 낮춥니다.
+ *
+ * 닉네임 설정에 성공한 클라이언트는 세션 토큰을 발급받습니다. 연결이 끊기면 바로 정리하지 않고
+ * 유예 시간 동안 방/게임 자리를 유지하며, 그 사이에 보낸 메시지는 최근 일정 줄 수만큼 보관합니다.
+ * 클라이언트가 같은 토큰으로 재접속하면 놓친 줄만 다시 보내거나(REPLAY), 보관 범위를 넘었으면
+ * 현재 상태를 새로 보내(RESYNC) 세션을 이어갑니다.
  */
 public class ClientHandler extends Thread implements PlayerConnection {
-    private final Socket clientSocket;
-    private PrintWriter out;    // 클라이언트로 메시지를 보내기 위한 스트림
-    private BufferedReader in; // 클라이언트로부터 메시지를 읽기 위한 스트림
+    // 재접속 시 다시 보낼 수 있도록 보관하는 최근 송신 줄 수
+    private static final int REPLAY_LINES = Integer.getInteger("session.replay.lines", 256);
+
+    private final Server server;        // 이 연결을 받은 서버
+    private volatile Socket clientSocket; // 현재 연결된 소켓 (재접속 시 교체됨, 교체는 this로 동기화, reap은 잠금 없이 읽음)
+    private PrintWriter out;            // 클라이언트로 메시지를 보내기 위한 스트림, 연결이 끊긴 동안에는 null
+    private BufferedReader in;          // 클라이언트로부터 메시지를 읽기 위한 스트림
     private String nickname;
-    private GameRoom currentRoom = null; // 현재 입장해 있는 게임방, 로비에 있으면 null
-    
+    private volatile GameRoom currentRoom = null; // 현재 입장해 있는 게임방, 로비에 있으면 null (매칭 스레드에서도 읽음)
+    private volatile RoomIndex.Query roomQuery = RoomIndex.Query.DEFAULT; // 로비에서 보고 있는 방 목록 페이지/필터
+
+    // --- 세션 복구 관련 상태 (this로 동기화) ---
+    private String sessionToken;         // 발급된 세션 토큰, 닉네임 설정 전에는 null
+    private final ArrayDeque<String> replayLog = new ArrayDeque<>(); // 최근에 보낸 줄
+    private long sentLines = 0;          // 지금까지 보낸 전체 줄 수 (클라이언트가 받은 줄 수와 비교)
+    private volatile boolean detached = false; // 연결이 끊기고 재접속을 기다리는 중인지 여부 (하트비트 스레드는 잠금 없이 읽음)
+    private boolean expired = false;     // 유예 시간이 지나 세션이 정리되었는지 여부
+    private boolean redirected = false;  // 클러스터의 다른 노드로 안내했는지 여부 (끊기면 재접속을 기다리지 않음)
+    private int generation = 0;          // 연결이 바뀔 때마다 증가, 오래된 만료 작업을 구분하는 데 사용
+
+    // --- 하트비트 관련 상태 ---
+    private volatile long lastReadNanos = System.nanoTime(); // 마지막으로 무언가를 받은 시각
+    private volatile double rttMillis = -1;                  // PING/PONG 왕복 시간의 이동 평균, 측정 전에는 -1
+
     /**
      * ClientHandler 생성자입니다.
      * @param socket 연결된 클라이언트의 소켓
+     * @param server 연결을 받은 서버
      */
-    public ClientHandler(Socket socket) {
+    public ClientHandler(Socket socket, Server server) {
         this.clientSocket = socket;
+        this.server = server;
+    }
+
+    /**
+     * 스냅샷에서 복원한 세션을 만듭니다. 연결 없이 재접속을 기다리는 상태로 시작하며,
+     * 클라이언트가 저장되어 있던 토큰으로 RESUME하면 그 연결을 이어받습니다. (스레드는 시작하지 않음)
+     * @param server   세션이 속한 서버
+     * @param nickname 플레이어 닉네임
+     * @param token    저장되어 있던 세션 토큰
+     * @param room     플레이어가 있던 게임방
+     */
+    static ClientHandler restored(Server server, String nickname, String token, GameRoom room) {
+        ClientHandler session = new ClientHandler(null, server);
+        session.nickname = nickname;
+        session.currentRoom = room;
+        String issued = server.getSessionRegistry().restore(token, session);
+        int expectedGeneration;
+        synchronized (session) {
+            session.sessionToken = issued;
+            session.detached = true;
+            expectedGeneration = ++session.generation;
+        }
+        server.getSessionRegistry().scheduleExpiry(() -> session.expire(expectedGeneration));
+        return session;
     }
 
     /**
      * 스레드의 메인 로직입니다.
-     * 닉네임 설정을 처리하고, 이후 클라이언트로부터 메시지를 계속 수신합니다.
+     * 첫 줄이 세션 복구 요청이면 기존 세션을 이어받고, 아니면 닉네임 설정을 처리한 뒤
+     * 클라이언트로부터 메시지를 계속 수신합니다.
      */
     @Override
     public void run() {
+        Socket socket = clientSocket;
         try {
-            out = new PrintWriter(clientSocket.getOutputStream(), true);
-            in = new BufferedReader(new InputStreamReader(clientSocket.getInputStream()));
+            synchronized (this) {
+                out = new PrintWriter(socket.getOutputStream(), true);
+            }
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
 
+            String firstLine = readLine(in);
+            if (firstLine != null && firstLine.startsWith(Protocol.RESUME + " ")) {
+                handleResume(firstLine);
+                return;
+            }
             // 닉네임 설정이 성공적으로 완료될 때까지 대기
-            if (!handleNickname()) {
-                return; // 닉네임 설정 실패 시 연결 종료
+            if (!handleNickname(firstLine)) {
+                cleanup(); // 닉네임 설정 실패 시 연결 종료
+                return;
             }
+        } catch (IOException e) {
+            System.out.println("클라이언트 접속 처리 중 연결 끊김: " + e.getMessage());
+            cleanup();
+            return;
+        }
+        serve(in, socket);
+    }
 
-            // 클라이언트로부터 메시지를 계속 읽고 처리
+    /**
+     * 클라이언트로부터 메시지를 계속 읽고 처리합니다.
+     * 연결이 끊기면 세션을 바로 정리하지 않고 재접속 대기 상태로 전환합니다.
+     * @param reader 읽을 스트림
+     * @param socket 읽고 있는 소켓
+     */
+    private void serve(BufferedReader reader, Socket socket) {
+        try {
             String inputLine;
-            while ((inputLine = in.readLine()) != null) {
+            while ((inputLine = readLine(reader)) != null) {
                 handleClientMessage(inputLine);
             }
         } catch (IOException e) {
             // 클라이언트와의 연결이 끊어졌을 때 발생하는 예외 처리
             System.out.println(nickname + " 클라이언트 연결 끊김: " + e.getMessage());
-        } finally {
-            // 연결 종료 시 자원 정리
-            cleanup();
+        }
+        connectionLost(socket);
+    }
+
+    /**
+     * 한 줄을 읽고 마지막 수신 시각을 갱신합니다.
+     * PONG 응답은 여기서 RTT만 기록하고 건너뛰므로, 호출하는 쪽에서는 보이지 않습니다.
+     * @return 읽은 줄, 연결이 끊겼으면 null
+     */
+    private String readLine(BufferedReader reader) throws IOException {
+        while (true) {
+            String line = reader.readLine();
+            if (line == null) return null;
+            lastReadNanos = System.nanoTime();
+            if (!line.startsWith(Protocol.PONG + " ")) return line;
+            recordPong(line.substring(Protocol.PONG.length() + 1));
+        }
+    }
+
+    /**
+     * PONG에 담긴 PING 전송 시각으로 왕복 시간을 계산하여 이동 평균에 반영합니다.
+     */
+    private void recordPong(String payload) {
+        try {
+            double sample = (System.nanoTime() - Long.parseLong(payload.trim())) / 1_000_000.0;
+            if (sample < 0) return;
+            double previous = rttMillis;
+            rttMillis = previous < 0 ? sample : previous * 0.875 + sample * 0.125;
+        } catch (NumberFormatException e) {
+            // 잘못된 PONG은 무시
         }
     }
 
     /**
      * 클라이언트의 닉네임 설정을 처리합니다.
      * 중복 닉네임 검사를 통과할 때까지 클라이언트에게 재입력을 요청합니다.
+     * @param firstLine 클라이언트가 처음 보낸 닉네임
      * @return 닉네임 설정 성공 시 true, 실패 시 false
      * @throws IOException 소켓 통신 중 오류 발생 시
      */
-    private boolean handleNickname() throws IOException {
+    private boolean handleNickname(String firstLine) throws IOException {
+        String requestedNickname = firstLine;
         while (true) {
-            String requestedNickname = in.readLine();
             if (requestedNickname == null) {
                 return false; // 클라이언트가 닉네임 입력 전에 연결을 끊음
             }
 
-            if (!Server.isNicknameTaken(requestedNickname)) {
+            if (!server.isNicknameTaken(requestedNickname)) {
                 this.nickname = requestedNickname;
-                Server.addNickname(this.nickname);
+                server.addNickname(this.nickname);
                 sendMessage(Protocol.NICKNAME_OK); // 닉네임 설정 성공 알림
-                Server.broadcastToLobby(Protocol.SYSTEM + " " + nickname + "님이 로비에 입장했습니다.");
+                String token = server.getSessionRegistry().register(this);
+                synchronized (this) {
+                    sessionToken = token;
+                }
+                sendMessage(Protocol.SESSION_TOKEN + " " + token); // 재접속에 사용할 토큰 발급
+                server.broadcastToLobby(Protocol.SYSTEM + " " + nickname + "님이 로비에 입장했습니다.");
                 sendRoomList(); // 새로 접속한 클라이언트에게 현재 방 목록 전송
-                Server.broadcastRoomList(); // 다른 클라이언트들에게 접속자 목록 갱신 알림
+                server.getChatService().sendLobbyHistory(this); // 최근 로비 채팅 전송
+                server.broadcastRoomList(); // 다른 클라이언트들에게 접속자 목록 갱신 알림
                 return true;
             } else {
                 sendMessage(Protocol.NICKNAME_TAKEN); // 닉네임 중복 알림
             }
+            requestedNickname = readLine(in);
         }
     }
 
+    /**
+     * 재접속한 클라이언트의 세션 복구 요청(RESUME &lt;토큰&gt; &lt;받은 줄 수&gt;)을 처리합니다.
+     * 이 핸들러는 새 연결을 받아 기존 세션에 넘겨주는 역할만 하며, 복구에 성공하면
+     * 이 스레드가 기존 세션의 수신 루프를 이어서 실행합니다.
+     * @param request 클라이언트가 보낸 복구 요청
+     */
+    private void handleResume(String request) throws IOException {
+        server.discardConnection(this); // 이 핸들러 자체는 세션이 아니므로 클라이언트 목록에서 제외
+        Socket socket = clientSocket;
+        String[] parts = request.split(" ");
+        ClientHandler session = parts.length == 3 ? server.getSessionRegistry().find(parts[1]) : null;
+        long receivedLines = -1;
+        if (parts.length == 3) {
+            try {
+                receivedLines = Long.parseLong(parts[2]);
+            } catch (NumberFormatException e) {
+                session = null;
+            }
+        }
+
+        if (session == null || !session.resume(socket, in, out, receivedLines)) {
+            out.println(Protocol.RESUME_FAILED);
+            socket.close();
+            return;
+        }
+        System.out.println(session.getNickname() + " 세션 복구 완료");
+        session.serve(in, socket);
+    }
+
+    /**
+     * 새 연결로 이 세션을 이어갑니다.
+     * 클라이언트가 놓친 줄이 보관 범위 안에 있으면 그 줄만 다시 보내고, 아니면 현재 상태를 새로 보냅니다.
+     * 기존 연결이 아직 살아 있는 것으로 보이더라도(서버가 끊김을 감지하기 전) 새 연결로 교체합니다.
+     * @param socket        새 소켓
+     * @param reader        새 소켓의 입력 스트림
+     * @param writer        새 소켓의 출력 스트림
+     * @param receivedLines 클라이언트가 지금까지 받은 줄 수
+     * @return 복구 성공 시 true, 세션이 이미 만료되었으면 false
+     */
+    private boolean resume(Socket socket, BufferedReader reader, PrintWriter writer, long receivedLines) {
+        Socket oldSocket;
+        boolean wasDetached;
+        boolean replayed;
+        synchronized (this) {
+            if (expired) return false;
+            oldSocket = clientSocket;
+            wasDetached = detached;
+            clientSocket = socket;
+            in = reader;
+            out = writer;
+            detached = false;
+            generation++; // 예약된 만료 작업과 이전 소켓의 수신 루프를 무효화
+            lastReadNanos = System.nanoTime();
+
+            long missed = sentLines - receivedLines;
+            replayed = receivedLines >= 0 && missed >= 0 && missed <= replayLog.size();
+            if (replayed) {
+                // 복구 응답은 줄 수에 포함하지 않음 (클라이언트도 세지 않음)
+                writer.println(Protocol.RESUME_OK + " " + receivedLines + " REPLAY");
+                Iterator<String> it = replayLog.iterator();
+                for (long skip = replayLog.size() - missed; skip > 0; skip--) it.next();
+                while (it.hasNext()) writer.println(it.next());
+            } else {
+                writer.println(Protocol.RESUME_OK + " " + sentLines + " RESYNC");
+            }
+        }
+        closeQuietly(oldSocket);
+
+        // 방/다른 클라이언트의 락은 이 핸들러의 락을 놓은 뒤에 잡음 (교착 상태 방지)
+        cancelRedirect(); // 안내받은 노드 대신 이 노드로 돌아옴
+        if (!replayed) resync();
+        GameRoom room = currentRoom;
+        if (wasDetached && room != null) {
+            room.broadcastSystemExcept(this, Protocol.SYSTEM + " " + nickname + "님이 다시 연결되었습니다.");
+        }
+        return true;
+    }
+
+    /**
+     * 놓친 메시지를 다시 보낼 수 없을 때, 현재 위치(로비/게임방)의 상태를 새로 보냅니다.
+     */
+    private void resync() {
+        GameRoom room = currentRoom;
+        if (room == null) {
+            sendMessage(Protocol.GOTO_LOBBY);
+            sendRoomList();
+            server.getChatService().sendLobbyHistory(this);
+        } else {
+            room.resync(this);
+            server.getChatService().sendRoomHistory(room, this);
+        }
+    }
+
+    /**
+     * 수신 루프가 끝났을 때 호출됩니다.
+     * 이미 다른 연결로 교체된 소켓이면 무시하고, 아니면 재접속 대기 상태로 전환한 뒤 만료 작업을 예약합니다.
+     * @param socket 끊어진 소켓
+     */
+    private void connectionLost(Socket socket) {
+        boolean movedToOtherNode;
+        synchronized (this) {
+            if (socket != clientSocket || detached || expired) {
+                return; // 이미 새 연결로 교체되었거나 처리된 연결
+            }
+            movedToOtherNode = redirected;
+            if (movedToOtherNode) {
+                expired = true;
+            } else {
+                detached = true;
+                out = null;
+                int expectedGeneration = ++generation;
+                server.getSessionRegistry().scheduleExpiry(() -> expire(expectedGeneration));
+            }
+        }
+        closeQuietly(socket);
+        if (movedToOtherNode) {
+            System.out.println(nickname + " 다른 노드로 이동");
+            server.getSessionRegistry().unregister(sessionToken);
+            cleanup();
+            return;
+        }
+        System.out.println(nickname + " 재접속 대기 (" + server.getSessionRegistry().getGraceMillis() + "ms)");
+        GameRoom room = currentRoom;
+        if (room != null) {
+            room.broadcastSystemExcept(this, Protocol.SYSTEM + " " + nickname + "님의 연결이 끊어졌습니다. 재접속을 기다립니다.");
+        }
+    }
+
+    /**
+     * 클라이언트를 클러스터의 다른 노드로 안내합니다. 클라이언트는 그 노드에 로그인한 뒤 command를 다시 보내며,
+     * 이 연결은 끊기는 즉시 정리됩니다. 로그인하지 못하면 클라이언트가 REDIRECT_FAILED를 보내고 이 노드에 그대로 남습니다.
+     * 그 노드가 이 닉네임을 다른 노드의 접속자로 보고 거절하지 않도록, 접속자 목록에서 뺀 목록을 먼저 보낸 뒤 안내합니다.
+     * @param node    접속할 노드
+     * @param command 새 노드에서 다시 보낼 명령 (CREATE_ROOM, JOIN_ROOM)
+     */
+    public void redirectTo(ClusterLink.Node node, String command) {
+        synchronized (this) {
+            redirected = true;
+        }
+        server.setRedirecting(nickname, true);
+        server.getCluster().publishNow(
+                () -> sendMessage(Protocol.REDIRECT + " " + node.host + " " + node.port + " " + command));
+    }
+
+    /**
+     * 클라이언트가 안내받은 노드로 옮겨 가지 않고 이 노드에 남았을 때 호출됩니다.
+     * 이후 연결이 끊기면 다른 세션처럼 재접속을 기다립니다.
+     */
+    private void cancelRedirect() {
+        synchronized (this) {
+            if (!redirected) return;
+            redirected = false;
+        }
+        server.setRedirecting(nickname, false);
+    }
+
+    /**
+     * 유예 시간이 지났을 때 호출됩니다. 그 사이 재접속하지 않았다면 세션을 정리합니다.
+     * @param expectedGeneration 만료 작업을 예약할 때의 연결 세대
+     */
+    private void expire(int expectedGeneration) {
+        synchronized (this) {
+            if (!detached || expired || generation != expectedGeneration) {
+                return; // 이미 재접속함
+            }
+            expired = true;
+        }
+        System.out.println(nickname + " 세션 만료");
+        server.getSessionRegistry().unregister(sessionToken);
+        cleanup();
+    }
+
     /**
      * 클라이언트로부터 받은 메시지를 파싱하고, 현재 상태(로비/게임방)에 따라 처리합니다.
      * @param message 클라이언트가 보낸 메시지
@@ -93,23 +373,47 @@ public class ClientHandler extends Thread implements PlayerConnection {
         if (currentRoom == null) { // 로비에 있을 때
             switch (command) {
                 case Protocol.CREATE_ROOM:
-                    Server.createGameRoom(payload, this);
+                    server.createGameRoom(payload, this);
                     break;
                 case Protocol.JOIN_ROOM:
-                    Server.joinGameRoom(payload, this);
+                    server.joinGameRoom(payload, this);
+                    break;
+                case Protocol.QUEUE_JOIN:
+                    server.joinMatchmaking(this);
+                    break;
+                case Protocol.QUEUE_LEAVE:
+                    server.leaveMatchmaking(this, true);
+                    break;
+                case Protocol.ROOM_QUERY:
+                    roomQuery = RoomIndex.Query.parse(payload);
+                    sendRoomList();
                     break;
                 case Protocol.LOBBY_CHAT:
-                    String chatMsg = nickname + ": " + payload;
-                    Server.broadcastToLobby(Protocol.LOBBY_CHAT + " " + chatMsg);
-                    break;	
+                    server.getChatService().postLobby(this, payload);
+                    break;
                 case Protocol.CHANGE_NICKNAME:
                     handleChangeNickname(payload);
                     break;
+                case Protocol.ANALYZE:
+                    server.getAnalysisService().requestAnalysis(payload.trim(), this);
+                    break;
+                case Protocol.ANALYZE_CANCEL:
+                    server.getAnalysisService().cancel(payload.trim(), this);
+                    break;
+                case Protocol.REPLAY_QUERY:
+                    server.getReplayService().sendList(payload, this);
+                    break;
+                case Protocol.REPLAY_FETCH:
+                    server.getReplayService().sendReplay(payload.trim(), this);
+                    break;
+                case Protocol.REDIRECT_FAILED:
+                    cancelRedirect();
+                    break;
             }
         } else { // 게임방에 있을 때
             switch (command) {
                 case Protocol.CHAT:
-                    currentRoom.broadcastChat(Protocol.CHAT + " [" + currentRoom.getTitle() + "] " + nickname + ": " + payload);
+                    server.getChatService().postRoom(currentRoom, this, payload);
                     break;
                 case Protocol.LEAVE_ROOM:
                     currentRoom.removePlayer(this);
@@ -131,32 +435,27 @@ public class ClientHandler extends Thread implements PlayerConnection {
             return;
         }
 
-        if (Server.isNicknameTaken(newNickname)) {
+        if (server.isNicknameTaken(newNickname)) {
             sendMessage(Protocol.NICKNAME_CHANGE_FAILED + " 이미 사용 중인 닉네임입니다.");
             return;
         }
 
         String oldNickname = this.nickname;
-        Server.removeNickname(oldNickname);
+        server.removeNickname(oldNickname);
         this.nickname = newNickname;
-        Server.addNickname(newNickname);
+        server.addNickname(newNickname);
+        server.getRatings().rename(oldNickname, newNickname);
 
         sendMessage(Protocol.NICKNAME_CHANGED_OK + " " + newNickname);
-        Server.broadcastToLobby(Protocol.SYSTEM + " " + oldNickname + "님이 " + newNickname + "(으)로 닉네임을 변경했습니다.");
-        Server.broadcastRoomList(); // 닉네임 변경 시 모든 로비 유저의 목록을 갱신
+        server.broadcastToLobby(Protocol.SYSTEM + " " + oldNickname + "님이 " + newNickname + "(으)로 닉네임을 변경했습니다.");
+        server.broadcastRoomList(); // 닉네임 변경 시 모든 로비 유저의 목록을 갱신
     }
 
     /**
-     * 현재 방 목록과 접속자 목록을 이 클라이언트에게만 전송합니다.
+     * 현재 보고 있는 페이지의 방 목록과 접속자 목록을 이 클라이언트에게만 전송합니다.
      */
     public void sendRoomList() {
-        String roomListStr = Server.getGameRooms().values().stream()
-            .map(room -> String.format("%s (%d/2) %s",
-                room.getTitle(), room.getPlayerCount(), room.isGameInProgress() ? "[게임중]" : "[대기중]"))
-            .collect(Collectors.joining(","));
-        
-        String userListStr = String.join(",", Server.getNicknames());
-        String payload = roomListStr + "|" + userListStr;
+        String payload = server.buildRoomListPayload(roomQuery, server.getUserListString());
         sendMessage(Protocol.UPDATE_ROOMLIST + " " + payload);
     }
 
@@ -165,11 +464,63 @@ public class ClientHandler extends Thread implements PlayerConnection {
      */
     private void cleanup() {
         if (nickname != null) {
-            Server.removeClient(this); // 서버의 클라이언트 목록에서 제거
+            server.removeClient(this); // 서버의 클라이언트 목록에서 제거
+        } else {
+            server.discardConnection(this);
+        }
+        Socket socket;
+        synchronized (this) {
+            socket = clientSocket;
         }
+        closeQuietly(socket);
+    }
+
+    // --- 하트비트 ---
+    /**
+     * 연결 확인용 PING을 보냅니다. 재접속 시 다시 보낼 필요가 없으므로 보낸 줄 수에 포함하지 않습니다.
+     * 송신 버퍼가 찬 연결이면 막힐 수 있으므로 하트비트의 타이밍 휠 스레드에서 직접 호출하면 안 됩니다.
+     */
+    public synchronized void sendPing() {
+        if (out != null) {
+            out.println(Protocol.PING + " " + System.nanoTime());
+        }
+    }
+
+    /**
+     * 응답이 없는 연결의 소켓을 닫습니다.
+     * 수신 루프가 끝나면서 로그인한 클라이언트는 재접속 대기 상태가 되고, 아니면 바로 정리됩니다.
+     * 다른 스레드가 이 연결에 쓰다가 막혀 잠금을 잡고 있을 수 있으므로 잠금 없이 소켓을 닫습니다. (막힌 쓰기도 풀림)
+     */
+    public void reap() {
+        closeQuietly(clientSocket);
+    }
+
+    public synchronized String getSessionToken() {
+        return sessionToken;
+    }
+
+    public boolean isDetached() {
+        return detached;
+    }
+
+    /**
+     * 마지막으로 클라이언트로부터 무언가를 받은 뒤 지난 시간(ms)을 반환합니다.
+     */
+    public long getIdleMillis() {
+        return (System.nanoTime() - lastReadNanos) / 1_000_000L;
+    }
+
+    /**
+     * PING/PONG 왕복 시간의 이동 평균(ms)을 반환합니다. 아직 측정되지 않았으면 -1입니다.
+     */
+    public double getRttMillis() {
+        return rttMillis;
+    }
+
+    private static void closeQuietly(Socket socket) {
         try {
-            if (clientSocket != null && !clientSocket.isClosed()) {
-                clientSocket.close();
+            if (socket != null && !socket.isClosed()) {
+                socket.close();
             }
         } catch (IOException e) {
             e.printStackTrace();
@@ -177,9 +528,20 @@ public class ClientHandler extends Thread implements PlayerConnection {
     }
 
     // --- PlayerConnection 인터페이스 구현 ---
+    /**
+     * 메시지를 보내고, 재접속 시 다시 보낼 수 있도록 보낸 줄을 기록합니다.
+     * 연결이 끊긴 동안에는 기록만 합니다. 여러 줄 메시지는 줄 단위로 셉니다.
+     */
     @Override
-    public void sendMessage(String message) {
-        out.println(message);
+    public synchronized void sendMessage(String message) {
+        for (String line : message.split("\n", -1)) {
+            replayLog.addLast(line);
+            if (replayLog.size() > REPLAY_LINES) replayLog.removeFirst();
+            sentLines++;
+        }
+        if (out != null) {
+            out.println(message);
+        }
     }
 
     @Override
@@ -187,12 +549,18 @@ public class ClientHandler extends Thread implements PlayerConnection {
         return nickname;
     }
 
-    // --- Getter/Setter ---
+    @Override
     public GameRoom getCurrentRoom() {
         return currentRoom;
     }
 
+    @Override
     public void setCurrentRoom(GameRoom room) {
         this.currentRoom = room;
     }
+
+    // --- Getter/Setter ---
+    public RoomIndex.Query getRoomQuery() {
+        return roomQuery;
+    }
 }
@@ -0,0 +1,91 @@
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 공유 타이밍 휠 위에서 많은 GameClock을 동시에 돌릴 때의 비용을 재는 벤치마크입니다.
+ *
+ * 1. 시작: 시계 N개를 시작하는 데 걸리는 시간
+ * 2. 차례 넘기기: 모든 시계를 번갈아 press하는 데 드는 한 번당 시간 (타임아웃 취소 + 새로 등록)
+ * 3. 대기: 시계 N개가 모두 흐르는 동안 휠 스레드("game-clock")가 쓰는 CPU 시간
+ * 4. 시간 초과: 짧은 시간의 시계들이 시간이 다 된 뒤 onFlagFall이 호출되기까지 늦어진 정도 (tick 단위 정확도)
+ *
+ * 사용법: java -cp out ClockBenchmark
+ *   -Dbench.clocks=100000   동시에 돌릴 시계 수
+ *   -Dbench.rounds=10       차례 넘기기 반복 횟수
+ *   -Dbench.idle.ms=5000    대기 측정 시간
+ *   -Dclock.tick.ms=50      휠의 tick (GameClock과 같음)
+ */
+public class ClockBenchmark {
+
+    private static final int CLOCKS = Integer.getInteger("bench.clocks", 100_000);
+    private static final int ROUNDS = Integer.getInteger("bench.rounds", 10);
+    private static final long IDLE_MILLIS = Long.getLong("bench.idle.ms", 5_000);
+    private static final long FLAG_BASE_MILLIS = 500; // 시간 초과 측정에 쓰는 시계의 기본 시간
+    private static final int FLAG_CLOCKS = 10_000;     // 시간 초과 측정에 쓰는 시계 수
+
+    public static void main(String[] args) throws InterruptedException {
+        AtomicLong flagFalls = new AtomicLong();
+        GameClock[] clocks = new GameClock[CLOCKS];
+
+        // 1. 시작 (한 시간짜리 시계이므로 측정 중에는 시간 초과가 없어야 함)
+        long start = System.nanoTime();
+        for (int i = 0; i < CLOCKS; i++) {
+            clocks[i] = new GameClock(3_600_000, 0, flagged -> flagFalls.incrementAndGet());
+            clocks[i].start(Piece.Player.P1);
+        }
+        System.out.printf("시계 %,d개 시작: %.1fms%n", CLOCKS, (System.nanoTime() - start) / 1e6);
+
+        // 2. 차례 넘기기 (첫 바퀴는 JIT 준비로 보고 제외)
+        Piece.Player mover = Piece.Player.P1;
+        long measured = 0;
+        for (int round = 0; round <= ROUNDS; round++) {
+            long roundStart = System.nanoTime();
+            for (GameClock clock : clocks) clock.press(mover);
+            if (round > 0) measured += System.nanoTime() - roundStart;
+            mover = mover == Piece.Player.P1 ? Piece.Player.P2 : Piece.Player.P1;
+        }
+        System.out.printf("press %,d회: 한 번당 %.0fns%n", (long) CLOCKS * ROUNDS, (double) measured / CLOCKS / ROUNDS);
+
+        // 3. 대기 중 휠 스레드의 CPU 사용량
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long wheelThreadId = findThread("game-clock");
+        long cpuBefore = threads.getThreadCpuTime(wheelThreadId);
+        Thread.sleep(IDLE_MILLIS);
+        long cpuNanos = threads.getThreadCpuTime(wheelThreadId) - cpuBefore;
+        System.out.printf("대기 %dms 동안 휠 스레드 CPU: %.1fms (%.2f%%)%n",
+                IDLE_MILLIS, cpuNanos / 1e6, cpuNanos / 1e4 / IDLE_MILLIS);
+        for (GameClock clock : clocks) clock.stop();
+        System.out.println("측정 중 시간 초과: " + flagFalls.get() + "건 (0이어야 함)");
+
+        // 4. 시간 초과 호출의 지연
+        CountDownLatch fallen = new CountDownLatch(FLAG_CLOCKS);
+        AtomicLong maxLateNanos = new AtomicLong();
+        AtomicLong totalLateNanos = new AtomicLong();
+        long flagStart = System.nanoTime();
+        long deadline = flagStart + FLAG_BASE_MILLIS * 1_000_000L;
+        for (int i = 0; i < FLAG_CLOCKS; i++) {
+            new GameClock(FLAG_BASE_MILLIS, 0, flagged -> {
+                long late = System.nanoTime() - deadline;
+                totalLateNanos.addAndGet(late);
+                maxLateNanos.accumulateAndGet(late, Math::max);
+                fallen.countDown();
+            }).start(Piece.Player.P1);
+        }
+        if (!fallen.await(FLAG_BASE_MILLIS * 10, TimeUnit.MILLISECONDS)) {
+            System.out.println("시간 초과 " + fallen.getCount() + "건이 호출되지 않았습니다.");
+            return;
+        }
+        System.out.printf("시간 초과 %,d건: 평균 %.1fms, 최대 %.1fms 늦게 호출 (tick %dms)%n", FLAG_CLOCKS,
+                totalLateNanos.get() / 1e6 / FLAG_CLOCKS, maxLateNanos.get() / 1e6, Long.getLong("clock.tick.ms", 50));
+    }
+
+    private static long findThread(String name) {
+        for (Thread t : Thread.getAllStackTraces().keySet()) {
+            if (t.getName().equals(name)) return t.getId();
+        }
+        throw new IllegalStateException(name + " 스레드를 찾을 수 없습니다.");
+    }
+}
@@ -0,0 +1,429 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 여러 서버 프로세스를 하나의 클러스터로 묶는 노드 간 연결입니다.
+ *
+ * - 방 소유: 방 제목의 해시로 방을 맡을 노드가 정해집니다. 다른 노드가 맡은 방을 만들거나 들어가려는 클라이언트는
+ *   REDIRECT로 그 노드에 다시 접속하도록 안내됩니다.
+ * - 로비 공유: 각 노드는 자신의 방 목록과 접속자 목록을 내부 TCP 연결로 다른 노드에 보냅니다.
+ *   변경이 있으면 cluster.sync.ms 안에, 변경이 없어도 FULL_SYNC_MILLIS마다 보내며,
+ *   받은 방은 RemoteRoom으로 로비의 RoomIndex에 들어갑니다. 한동안 소식이 없는 노드의 방과 접속자는 지웁니다.
+ *
+ * 설정 (시스템 속성)
+ * - cluster.nodes: 클라이언트가 접속할 노드 주소 목록 (예: localhost:12345,localhost:12346). 비어 있으면 단일 서버
+ * - cluster.self: 목록에서 이 노드의 번호 (0부터)
+ * - cluster.link.offset: 노드 간 연결 포트 = 클라이언트 포트 + 이 값 (기본 1000)
+ *
+ * 내부 연결 형식: HELLO <노드번호>, 이후 SNAPSHOT <방 수> / R <게임중> <비밀방> <인원> <최대인원> <제목> ... / U <접속자,...> / END
+ */
+public class ClusterLink {
+
+    private static final long FULL_SYNC_MILLIS = 2_000;
+    private static final long NODE_EXPIRY_MILLIS = 10_000;
+    private static final int CONNECT_TIMEOUT_MS = 1_000;
+
+    /**
+     * 클러스터의 노드 하나의 클라이언트 접속 주소입니다.
+     */
+    public static final class Node {
+        public final String host;
+        public final int port;
+
+        Node(String host, int port) {
+            this.host = host;
+            this.port = port;
+        }
+
+        @Override
+        public String toString() {
+            return host + ":" + port;
+        }
+    }
+
+    /**
+     * 다른 노드가 맡고 있는 방의 요약 정보입니다.
+     */
+    public static final class RemoteRoom implements LobbyRoom {
+        private final int node;
+        private final String title;
+        private final int playerCount;
+        private final int maxPlayers;
+        private final boolean gameInProgress;
+        private final boolean privateRoom;
+
+        RemoteRoom(int node, String title, int playerCount, int maxPlayers, boolean gameInProgress, boolean privateRoom) {
+            this.node = node;
+            this.title = title;
+            this.playerCount = playerCount;
+            this.maxPlayers = maxPlayers;
+            this.gameInProgress = gameInProgress;
+            this.privateRoom = privateRoom;
+        }
+
+        public int getNode() { return node; }
+        @Override public String getTitle() { return title; }
+        @Override public int getPlayerCount() { return playerCount; }
+        @Override public int getMaxPlayers() { return maxPlayers; }
+        @Override public boolean isGameInProgress() { return gameInProgress; }
+        @Override public boolean isPrivate() { return privateRoom; }
+    }
+
+    /**
+     * 다른 노드 하나에서 마지막으로 받은 로비 정보입니다.
+     */
+    private static final class PeerView {
+        final List<RemoteRoom> rooms;
+        final List<String> users;
+        final long receivedMillis = System.currentTimeMillis();
+
+        PeerView(List<RemoteRoom> rooms, List<String> users) {
+            this.rooms = rooms;
+            this.users = users;
+        }
+    }
+
+    private final List<Node> nodes;
+    private final int self;
+    private final int linkOffset;
+    private final long syncMillis;
+    private final RoomIndex roomIndex;
+    private final Supplier<List<String>> localUsers;
+    private final Runnable onRemoteChange;
+
+    private final Map<Integer, PeerView> peers = new ConcurrentHashMap<>();
+    private final Map<Integer, PrintWriter> outbound = new HashMap<>(); // 동기화 스레드에서만 사용
+    private final Map<Integer, Socket> outboundSockets = new HashMap<>();
+    private ScheduledExecutorService syncer;
+    private ServerSocket linkSocket;
+    private volatile boolean dirty = true;
+    private long lastFullSyncMillis = 0;
+
+    /**
+     * ClusterLink 생성자입니다.
+     * @param nodes          클러스터의 모든 노드 (순서가 곧 노드 번호, 모든 노드에서 같아야 함)
+     * @param self           이 노드의 번호
+     * @param linkOffset     노드 간 연결 포트 = 클라이언트 포트 + linkOffset
+     * @param syncMillis     변경 사항을 다른 노드에 보내는 주기(ms)
+     * @param roomIndex      로비 방 인덱스 (이 노드의 방을 읽고, 다른 노드의 방을 넣음)
+     * @param localUsers     이 노드의 접속자 목록
+     * @param onRemoteChange 다른 노드의 로비 정보가 바뀌었을 때 호출될 함수 (로비 목록 갱신)
+     */
+    public ClusterLink(List<Node> nodes, int self, int linkOffset, long syncMillis, RoomIndex roomIndex,
+                       Supplier<List<String>> localUsers, Runnable onRemoteChange) {
+        if (self < 0 || self >= nodes.size()) {
+            throw new IllegalArgumentException("cluster.self가 노드 목록의 범위를 벗어났습니다: " + self);
+        }
+        this.nodes = List.copyOf(nodes);
+        this.self = self;
+        this.linkOffset = linkOffset;
+        this.syncMillis = syncMillis;
+        this.roomIndex = roomIndex;
+        this.localUsers = localUsers;
+        this.onRemoteChange = onRemoteChange;
+    }
+
+    /**
+     * 시스템 속성으로 노드 목록을 만듭니다. cluster.nodes가 없으면 defaultPort 하나만 있는 단일 노드 목록을 반환합니다.
+     */
+    public static List<Node> parseNodes(String spec, int defaultPort) {
+        List<Node> nodes = new ArrayList<>();
+        if (spec == null || spec.isBlank()) {
+            nodes.add(new Node("localhost", defaultPort));
+            return nodes;
+        }
+        for (String entry : spec.split(",")) {
+            String[] hostPort = entry.trim().split(":");
+            if (hostPort.length != 2) {
+                throw new IllegalArgumentException("cluster.nodes 형식이 잘못되었습니다 (호스트:포트): " + entry);
+            }
+            nodes.add(new Node(hostPort[0], Integer.parseInt(hostPort[1])));
+        }
+        return nodes;
+    }
+
+    public boolean isClustered() {
+        return nodes.size() > 1;
+    }
+
+    public Node getSelf() {
+        return nodes.get(self);
+    }
+
+    /**
+     * 방 제목을 맡을 노드의 번호를 반환합니다. 모든 노드가 같은 결과를 얻도록 String.hashCode만 사용합니다.
+     */
+    public int ownerOf(String title) {
+        return Math.floorMod(title.hashCode(), nodes.size());
+    }
+
+    public boolean ownsRoom(String title) {
+        return ownerOf(title) == self;
+    }
+
+    public Node getOwnerNode(String title) {
+        return nodes.get(ownerOf(title));
+    }
+
+    /**
+     * 노드 간 연결을 받기 시작하고, 주기적인 동기화를 시작합니다. 단일 노드이면 아무것도 하지 않습니다.
+     */
+    public void start() throws IOException {
+        if (!isClustered()) return;
+        linkSocket = new ServerSocket(getSelf().port + linkOffset);
+        Thread acceptor = new Thread(() -> acceptLoop(linkSocket), "cluster-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+
+        syncer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "cluster-sync");
+            t.setDaemon(true);
+            return t;
+        });
+        syncer.scheduleWithFixedDelay(this::sync, syncMillis, syncMillis, TimeUnit.MILLISECONDS);
+        System.out.println("클러스터 노드 " + self + " (" + getSelf() + ") 시작, 노드 간 연결 포트 " + (getSelf().port + linkOffset));
+    }
+
+    /**
+     * 노드 간 연결과 동기화를 멈춥니다. 다른 노드는 만료 시간이 지나면 이 노드의 방 목록을 지웁니다.
+     */
+    public void stop() {
+        if (syncer == null) return;
+        syncer.shutdownNow();
+        try {
+            syncer.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (Integer node : new ArrayList<>(outbound.keySet())) disconnect(node);
+        try {
+            linkSocket.close();
+        } catch (IOException e) {
+            // 이미 닫힌 소켓
+        }
+    }
+
+    /**
+     * 이 노드의 방이나 접속자가 바뀌었음을 알립니다. 다음 동기화 주기에 다른 노드로 전송됩니다.
+     */
+    public void publishLater() {
+        dirty = true;
+    }
+
+    /**
+     * 이 노드의 방과 접속자 목록을 바로 다른 노드에 보낸 뒤 after를 실행합니다. (동기화 스레드에서 실행됨)
+     * 다른 노드가 바뀐 목록을 받은 뒤에 일어나야 하는 일(REDIRECT 안내 등)에 사용합니다. 단일 노드이면 after만 바로 실행합니다.
+     */
+    public void publishNow(Runnable after) {
+        if (syncer == null) {
+            after.run();
+            return;
+        }
+        try {
+            syncer.execute(() -> {
+                dirty = true;
+                try {
+                    sync();
+                } finally {
+                    after.run();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            after.run(); // 멈추는 중
+        }
+    }
+
+    /**
+     * 다른 노드에 접속해 있는 닉네임 목록을 반환합니다.
+     */
+    public List<String> getRemoteUsers() {
+        if (peers.isEmpty()) return Collections.emptyList();
+        List<String> users = new ArrayList<>();
+        for (PeerView view : peers.values()) users.addAll(view.users);
+        return users;
+    }
+
+    /**
+     * 닉네임이 다른 노드에 접속해 있는지 확인합니다.
+     */
+    public boolean isRemoteUser(String nickname) {
+        for (PeerView view : peers.values()) {
+            if (view.users.contains(nickname)) return true;
+        }
+        return false;
+    }
+
+    // --- 보내는 쪽 (cluster-sync 스레드) ---
+
+    private void sync() {
+        long now = System.currentTimeMillis();
+        expirePeers(now);
+        boolean full = now - lastFullSyncMillis >= FULL_SYNC_MILLIS;
+        if (!dirty && !full) return;
+        dirty = false;
+        if (full) lastFullSyncMillis = now;
+
+        String snapshot = buildSnapshot();
+        for (int node = 0; node < nodes.size(); node++) {
+            if (node == self) continue;
+            PrintWriter out = connect(node);
+            if (out == null) continue;
+            out.print(snapshot);
+            out.flush();
+            if (out.checkError()) disconnect(node); // 다음 주기에 다시 연결
+        }
+    }
+
+    private String buildSnapshot() {
+        List<GameRoom> localRooms = new ArrayList<>();
+        for (LobbyRoom room : roomIndex.values()) {
+            if (room instanceof GameRoom) localRooms.add((GameRoom) room);
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append("SNAPSHOT ").append(localRooms.size()).append('\n');
+        for (GameRoom room : localRooms) {
+            sb.append("R ").append(room.isGameInProgress() ? 1 : 0).append(' ')
+              .append(room.isPrivate() ? 1 : 0).append(' ')
+              .append(room.getPlayerCount()).append(' ')
+              .append(room.getMaxPlayers()).append(' ')
+              .append(room.getTitle()).append('\n');
+        }
+        sb.append("U ").append(String.join(",", localUsers.get())).append('\n');
+        sb.append("END\n");
+        return sb.toString();
+    }
+
+    private PrintWriter connect(int node) {
+        PrintWriter out = outbound.get(node);
+        if (out != null) return out;
+        Node peer = nodes.get(node);
+        Socket socket = new Socket();
+        try {
+            socket.connect(new InetSocketAddress(peer.host, peer.port + linkOffset), CONNECT_TIMEOUT_MS);
+            out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), false);
+            out.println("HELLO " + self);
+            outbound.put(node, out);
+            outboundSockets.put(node, socket);
+            return out;
+        } catch (IOException e) {
+            closeQuietly(socket); // 아직 시작되지 않은 노드 - 다음 주기에 다시 시도
+            return null;
+        }
+    }
+
+    private void disconnect(int node) {
+        outbound.remove(node);
+        closeQuietly(outboundSockets.remove(node));
+    }
+
+    private void expirePeers(long now) {
+        for (Map.Entry<Integer, PeerView> entry : peers.entrySet()) {
+            if (now - entry.getValue().receivedMillis > NODE_EXPIRY_MILLIS) {
+                System.out.println("클러스터 노드 " + entry.getKey() + " 응답 없음 - 해당 노드의 방 목록을 지웁니다.");
+                applyPeerView(entry.getKey(), null);
+            }
+        }
+    }
+
+    // --- 받는 쪽 ---
+
+    private void acceptLoop(ServerSocket linkSocket) {
+        while (true) {
+            try {
+                Socket socket = linkSocket.accept();
+                Thread reader = new Thread(() -> readLoop(socket), "cluster-link");
+                reader.setDaemon(true);
+                reader.start();
+            } catch (IOException e) {
+                if (!linkSocket.isClosed()) System.err.println("클러스터 연결 수락 중 오류 발생: " + e.getMessage());
+                return;
+            }
+        }
+    }
+
+    private void readLoop(Socket socket) {
+        try (socket; BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8))) {
+            String hello = in.readLine();
+            if (hello == null || !hello.startsWith("HELLO ")) return;
+            int node = Integer.parseInt(hello.substring(6).trim());
+            if (node < 0 || node >= nodes.size() || node == self) return;
+
+            List<RemoteRoom> rooms = new ArrayList<>();
+            List<String> users = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.startsWith("SNAPSHOT ")) {
+                    rooms = new ArrayList<>();
+                    users = new ArrayList<>();
+                } else if (line.startsWith("R ")) {
+                    String[] f = line.split(" ", 6);
+                    rooms.add(new RemoteRoom(node, f[5], Integer.parseInt(f[3]), Integer.parseInt(f[4]),
+                                             f[1].equals("1"), f[2].equals("1")));
+                } else if (line.startsWith("U ")) {
+                    for (String user : line.substring(2).split(",")) {
+                        if (!user.isBlank()) users.add(user);
+                    }
+                } else if (line.equals("END")) {
+                    applyPeerView(node, new PeerView(rooms, users));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // 연결이 끊긴 노드는 다시 연결해 올 때까지 마지막 정보를 유지하다가 만료됨
+        }
+    }
+
+    /**
+     * 다른 노드의 로비 정보를 교체합니다. view가 null이면 그 노드의 정보를 모두 지웁니다.
+     */
+    private synchronized void applyPeerView(int node, PeerView view) {
+        PeerView previous = view == null ? peers.remove(node) : peers.put(node, view);
+        if (previous != null) {
+            for (RemoteRoom room : previous.rooms) roomIndex.remove(room);
+        }
+        if (view != null) {
+            for (RemoteRoom room : view.rooms) {
+                // 같은 제목의 방이 이 노드에 있으면 이 노드의 방을 우선 (소유 규칙상 정상적으로는 생기지 않음)
+                if (!(roomIndex.get(room.getTitle()) instanceof GameRoom)) roomIndex.put(room);
+            }
+        }
+        if (changed(previous, view)) onRemoteChange.run();
+    }
+
+    private static boolean changed(PeerView previous, PeerView view) {
+        if (previous == null || view == null) return previous != view;
+        if (!previous.users.equals(view.users) || previous.rooms.size() != view.rooms.size()) return true;
+        for (int i = 0; i < view.rooms.size(); i++) {
+            RemoteRoom a = previous.rooms.get(i), b = view.rooms.get(i);
+            if (!a.title.equals(b.title) || a.playerCount != b.playerCount || a.maxPlayers != b.maxPlayers
+                    || a.gameInProgress != b.gameInProgress || a.privateRoom != b.privateRoom) return true;
+        }
+        return false;
+    }
+
+    private static void closeQuietly(Socket socket) {
+        if (socket == null) return;
+        try {
+            socket.close();
+        } catch (IOException e) {
+            // 이미 닫힌 소켓
+        }
+    }
+}
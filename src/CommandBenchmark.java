@@ -0,0 +1,127 @@
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 게임방 명령 처리량(GameRoom.handlePlayerCommand → GameSession.processCommand)을 재는 벤치마크입니다.
+ *
+ * 서버를 시작하지 않고 스레드마다 LoopbackConnection 두 개로 게임방을 하나씩 만들어, 소켓 입출력 없이 명령을 계속 보냅니다.
+ * - GET_VALID_MOVES: 차례인 플레이어가 자기 왕의 이동 경로를 묻는 읽기 명령
+ * - MOVE: 양쪽 장(將)을 한 칸씩 앞뒤로 움직이는 수 (수 적용, 상태 전송 포함, 수 기록은 끔)
+ * 동시 게임 수(스레드 수)마다 정해진 시간 동안 돌려 초당 처리한 명령 수를 출력합니다. 처음 한 번은 JIT 준비로 보고 버립니다.
+ * 상태 전송에는 기보 전체가 들어가므로, 실제 게임 길이에 맞게 bench.game.plies수마다 새 게임방으로 바꿉니다.
+ * (버린 게임의 시계가 타이밍 휠에 남지 않도록 시간 제한은 끄며, 시계 비용은 ClockBenchmark로 잽니다.)
+ *
+ * 사용법: java -cp out CommandBenchmark
+ *   -Dbench.ms=3000          설정마다 측정하는 시간
+ *   -Dbench.threads=1,4,16   동시에 진행할 게임 수 목록
+ *   -Dbench.game.plies=200   한 게임에서 둘 수, 이만큼 두면 새 게임방에서 이어감
+ */
+public class CommandBenchmark {
+
+    private static final long MEASURE_MILLIS = Long.getLong("bench.ms", 3_000);
+    private static final String THREADS = System.getProperty("bench.threads", "1,4,16");
+    private static final int GAME_PLIES = Integer.getInteger("bench.game.plies", 200);
+
+    /**
+     * 한 스레드가 자기 게임방에 명령을 보내는 방식입니다.
+     */
+    private interface Workload {
+        /** 명령 하나(또는 한 쌍)를 보내고 보낸 명령 수를 반환합니다. */
+        int run(Game game, long iteration);
+    }
+
+    private static final Workload VALID_MOVES = (game, i) -> {
+        game.p1.send(Protocol.GET_VALID_MOVES + " 3 1");
+        return 1;
+    };
+
+    private static final String[] P1_MOVES = {Protocol.MOVE + " 3 2 2 2", Protocol.MOVE + " 2 2 3 2"};
+    private static final String[] P2_MOVES = {Protocol.MOVE + " 0 0 1 0", Protocol.MOVE + " 1 0 0 0"};
+    private static final Workload MOVES = (game, i) -> {
+        int k = (int) (i & 1);
+        game.p1.send(P1_MOVES[k]);
+        game.p2.send(P2_MOVES[k]);
+        game.plies += 2;
+        return 2;
+    };
+
+    /**
+     * 게임이 시작된 방의 두 플레이어입니다. (역할은 무작위로 배정되므로 ASSIGN_ROLE을 보고 나눔)
+     */
+    private static final class Game {
+        final LoopbackConnection p1;
+        final LoopbackConnection p2;
+        int plies = 0;
+
+        Game(Server server, String title) {
+            boolean[] aIsP1 = new boolean[1];
+            LoopbackConnection a = new LoopbackConnection(title + "-a", m -> {
+                if (m.equals(Protocol.ASSIGN_ROLE + " " + Protocol.P1)) aIsP1[0] = true;
+            });
+            LoopbackConnection b = new LoopbackConnection(title + "-b");
+            b.join(a.createRoom(server, title));
+            a.send(Protocol.READY);
+            b.send(Protocol.READY);
+            p1 = aIsP1[0] ? a : b;
+            p2 = aIsP1[0] ? b : a;
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        ServerConfig config = ServerConfig.fromSystemProperties().withSnapshot("", 0).withMoveLog(false, false);
+        Server server = new Server(config.withGame(new ServerConfig.Game(0, 0, config.game.maxPremoves)));
+
+        run(server, "GET_VALID_MOVES", VALID_MOVES, 1, false);
+        run(server, "MOVE", MOVES, 1, false);
+        for (String t : THREADS.split(",")) {
+            int threads = Integer.parseInt(t.trim());
+            run(server, "GET_VALID_MOVES", VALID_MOVES, threads, true);
+            run(server, "MOVE", MOVES, threads, true);
+        }
+        System.exit(0);
+    }
+
+    /**
+     * 게임 threads개를 동시에 진행하며 MEASURE_MILLIS 동안 명령을 보내고 결과를 출력합니다.
+     * @param report false이면 JIT 준비용으로 돌리고 출력하지 않음
+     */
+    private static void run(Server server, String name, Workload workload, int threads, boolean report)
+            throws InterruptedException {
+        AtomicLong total = new AtomicLong();
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        long[] deadline = new long[1];
+        for (int i = 0; i < threads; i++) {
+            String title = "cmd-" + name + "-" + threads + "-" + i + (report ? "" : "-warmup");
+            Thread t = new Thread(() -> {
+                Game game = new Game(server, title);
+                int games = 1;
+                ready.countDown();
+                try {
+                    go.await();
+                    long sent = 0;
+                    for (long n = 0; (n & 0xFF) != 0 || System.nanoTime() < deadline[0]; n++) {
+                        sent += workload.run(game, n);
+                        if (game.plies >= GAME_PLIES) game = new Game(server, title + "-" + ++games);
+                    }
+                    total.addAndGet(sent);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }, "bench-command-" + i);
+            t.start();
+        }
+        ready.await();
+        long start = System.nanoTime();
+        deadline[0] = start + MEASURE_MILLIS * 1_000_000L;
+        go.countDown();
+        done.await();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        if (report) {
+            System.out.printf("%-15s 게임 %2d개: 초당 %,.0f건%n", name, threads, total.get() / seconds);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * 네트워크 스레드에서 받은 서버 메시지를 Swing Event Dispatch Thread(EDT)로 묶어서 전달하는 클래스입니다.
+ * 메시지마다 invokeLater를 호출하지 않고 큐에 쌓아 두었다가, EDT 작업 하나에서 한 번에 꺼내 처리합니다.
+ *
+ * 한 묶음 안에서는 다음과 같이 메시지를 줄입니다.
+ * - 최신 값만 의미 있는 메시지(방 목록, 게임 상태)는 마지막 것만 남기고 이전 것은 버립니다.
+ * - 연속된 채팅 메시지는 줄바꿈으로 이어 붙여 한 번에 화면에 추가되도록 합니다.
+ * 메시지의 처리 순서는 그대로 유지됩니다.
+ */
+public class EdtMessageDispatcher {
+
+    private static final int MAX_BATCH = 256; // EDT 작업 하나에서 처리할 최대 메시지 수 (나머지는 다음 작업에서 처리)
+
+    private final Consumer<String> handler;
+    private final Set<String> latestOnlyCommands;
+    private final Set<String> mergeableCommands;
+    private final ConcurrentLinkedQueue<String> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean drainScheduled = new AtomicBoolean(false);
+
+    /**
+     * EdtMessageDispatcher 생성자입니다.
+     * @param handler            EDT에서 메시지를 처리할 함수
+     * @param latestOnlyCommands 한 묶음 안에서 마지막 메시지만 처리하면 되는 명령어 목록
+     * @param mergeableCommands  연속으로 오면 페이로드를 줄바꿈으로 합쳐도 되는 명령어 목록
+     */
+    public EdtMessageDispatcher(Consumer<String> handler, Set<String> latestOnlyCommands, Set<String> mergeableCommands) {
+        this.handler = handler;
+        this.latestOnlyCommands = latestOnlyCommands;
+        this.mergeableCommands = mergeableCommands;
+    }
+
+    /**
+     * 메시지를 큐에 넣습니다. 어느 스레드에서나 호출할 수 있으며,
+     * 이미 처리 작업이 예약되어 있으면 invokeLater를 추가로 호출하지 않습니다.
+     * @param message 서버로부터 받은 원본 메시지
+     */
+    public void post(String message) {
+        queue.add(message);
+        if (drainScheduled.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::drain);
+        }
+    }
+
+    /**
+     * EDT에서 큐에 쌓인 메시지를 한 묶음으로 꺼내 줄인 뒤 순서대로 처리합니다.
+     */
+    private void drain() {
+        // 꺼내기 전에 플래그를 내려서, 처리 중에 도착한 메시지는 새 작업으로 예약되도록 함
+        drainScheduled.set(false);
+        List<String> batch = new ArrayList<>();
+        String message;
+        while (batch.size() < MAX_BATCH && (message = queue.poll()) != null) {
+            batch.add(message);
+        }
+        // 한 번에 처리하지 못한 메시지가 남았으면 다른 EDT 작업(화면 그리기 등)이 끼어들 수 있도록 다음 작업으로 넘김
+        if (!queue.isEmpty() && drainScheduled.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::drain);
+        }
+        for (String coalesced : coalesce(batch)) {
+            handler.accept(coalesced);
+        }
+    }
+
+    /**
+     * 한 묶음의 메시지에서 이전 상태 메시지를 제거하고 연속된 채팅 메시지를 합칩니다.
+     */
+    List<String> coalesce(List<String> batch) {
+        // 뒤에서부터 보면서 최신 값만 의미 있는 명령어의 마지막 메시지 위치를 기록
+        boolean[] superseded = new boolean[batch.size()];
+        Set<String> seen = new HashSet<>();
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            String command = commandOf(batch.get(i));
+            if (latestOnlyCommands.contains(command) && !seen.add(command)) superseded[i] = true;
+        }
+
+        List<String> result = new ArrayList<>(batch.size());
+        StringBuilder merged = null; // 합치는 중인 채팅 메시지
+        String mergedCommand = null;
+        for (int i = 0; i < batch.size(); i++) {
+            if (superseded[i]) continue;
+            String message = batch.get(i);
+            String command = commandOf(message);
+            if (merged != null && command.equals(mergedCommand)) {
+                merged.append('\n').append(payloadOf(message));
+                continue;
+            }
+            if (merged != null) {
+                result.add(merged.toString());
+                merged = null;
+                mergedCommand = null;
+            }
+            if (mergeableCommands.contains(command)) {
+                merged = new StringBuilder(message);
+                mergedCommand = command;
+            } else {
+                result.add(message);
+            }
+        }
+        if (merged != null) result.add(merged.toString());
+        return result;
+    }
+
+    private static String commandOf(String message) {
+        int space = message.indexOf(' ');
+        return space < 0 ? message : message.substring(0, space);
+    }
+
+    private static String payloadOf(String message) {
+        int space = message.indexOf(' ');
+        return space < 0 ? "" : message.substring(space + 1);
+    }
+}
@@ -114,14 +114,7 @@ public class GameBoard implements Cloneable {
      * @return 배치 성공 여부
      */
     public boolean placeCapturedPiece(Piece.Player placingPlayer, Piece pieceToPlace, int row, int col) {
-        if (board[row][col] != null) return false; // 빈 칸에만 놓을 수 있음
-        
-        // '자'는 상대 진영 첫 줄에 놓을 수 없는 규칙 처리
-        if (pieceToPlace.getDisplayName().equals("자")) {
-            if (placingPlayer == Piece.Player.P1 && row == 0) return false;
-            if (placingPlayer == Piece.Player.P2 && row == 3) return false;
-        }
-        if (pieceToPlace.getOwner() != placingPlayer) return false; // 자신의 기물만 놓을 수 있음
+        if (!canPlace(placingPlayer, pieceToPlace, row, col)) return false;
 
         List<Piece> capturedList = (placingPlayer == Piece.Player.P1) ? p1Captured : p2Captured;
         // 해당 기물을 잡은 목록에서 제거하고 보드에 추가
@@ -132,6 +125,54 @@ public class GameBoard implements Cloneable {
         return false;
     }
 
+    /**
+     * 잡은 기물을 해당 위치에 놓을 수 있는지 규칙만 확인합니다. (기물을 실제로 가지고 있는지는 확인하지 않음)
+     * @param placingPlayer 기물을 놓는 플레이어
+     * @param pieceToPlace  놓을 기물
+     * @param row           놓을 위치의 행
+     * @param col           놓을 위치의 열
+     * @return 놓을 수 있으면 true
+     */
+    public boolean canPlace(Piece.Player placingPlayer, Piece pieceToPlace, int row, int col) {
+        if (!isValid(row, col) || board[row][col] != null) return false; // 빈 칸에만 놓을 수 있음
+
+        // '자'는 상대 진영 첫 줄에 놓을 수 없는 규칙 처리
+        if (pieceToPlace.getDisplayName().equals("자")) {
+            if (placingPlayer == Piece.Player.P1 && row == 0) return false;
+            if (placingPlayer == Piece.Player.P2 && row == 3) return false;
+        }
+        return pieceToPlace.getOwner() == placingPlayer; // 자신의 기물만 놓을 수 있음
+    }
+
+    /**
+     * 잡은 기물을 놓을 수 있는 모든 위치를 반환합니다.
+     */
+    public List<int[]> getValidPlacements(Piece.Player placingPlayer, Piece pieceToPlace) {
+        List<int[]> placements = new ArrayList<>();
+        for (int r = 0; r < 4; r++) {
+            for (int c = 0; c < 3; c++) {
+                if (canPlace(placingPlayer, pieceToPlace, r, c)) placements.add(new int[]{r, c});
+            }
+        }
+        return placements;
+    }
+
+    /**
+     * 보드 전체를 주어진 상태로 바꿉니다. (클라이언트가 서버의 게임 상태를 반영할 때 사용)
+     * @param cells      4x3 기물 배치
+     * @param p1Captured P1이 잡은 기물 목록
+     * @param p2Captured P2가 잡은 기물 목록
+     */
+    public void loadState(Piece[][] cells, List<Piece> p1Captured, List<Piece> p2Captured) {
+        for (int r = 0; r < 4; r++) {
+            System.arraycopy(cells[r], 0, board[r], 0, 3);
+        }
+        this.p1Captured.clear();
+        this.p1Captured.addAll(p1Captured);
+        this.p2Captured.clear();
+        this.p2Captured.addAll(p2Captured);
+    }
+
     /**
      * 해당 위치의 기물에 대한 유효한 이동 목록을 반환합니다.
      * 실제 계산은 기물이 가진 MoveStrategy에 위임합니다.
@@ -2,22 +2,42 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.PrintWriter;
+import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.util.function.Consumer;
 
 /**
  * 게임 클라이언트의 네트워크 통신을 담당하는 클래스입니다.
  * 서버에 연결하고, 메시지를 송수신하며, 수신된 메시지를 GameController에 전달합니다.
+ *
+ * 연결이 끊기면 서버에서 발급받은 세션 토큰으로 간격을 늘려가며 재접속을 시도합니다.
+ * 재접속할 때 지금까지 받은 줄 수를 함께 보내, 서버가 놓친 메시지만 다시 보내거나 현재 상태를 새로 보내도록 합니다.
+ *
+ * 클러스터 서버에서 다른 노드가 맡은 방에 들어가려 하면 서버가 REDIRECT로 안내하며,
+ * 클라이언트는 그 노드에 새로 접속하여 닉네임으로 로그인한 뒤 원래 명령을 다시 보냅니다.
+ * 로그인하지 못하면 지금 노드에 그대로 남습니다.
  */
 public class GameClient {
 
-    private static final String SERVER_ADDRESS = "localhost"; // 서버 주소
-    private static final int SERVER_PORT = 12345;             // 서버 포트
+    private static final String SERVER_ADDRESS = System.getProperty("client.host", "localhost"); // 처음 접속할 서버 주소
+    private static final int SERVER_PORT = Integer.getInteger("client.port", 12345);             // 처음 접속할 서버 포트
+    private static final long RECONNECT_INITIAL_DELAY_MS = 500;  // 첫 재접속 시도까지의 대기 시간
+    private static final long RECONNECT_MAX_DELAY_MS = 8_000;    // 재접속 시도 간격의 최댓값
+    private static final int CONNECT_TIMEOUT_MS = 3_000;
+    // 재접속을 시도하는 전체 시간 (서버의 session.grace.ms와 맞춤)
+    private static final long RECONNECT_WINDOW_MS = Long.getLong("client.reconnect.ms", 30_000);
+    // 이 시간 동안 서버로부터 아무것도 받지 못하면 연결이 끊긴 것으로 보고 재접속 (서버는 유휴 시 주기적으로 PING 전송)
+    private static final int READ_TIMEOUT_MS = Integer.getInteger("client.heartbeat.timeout.ms", 45_000);
+
+    private volatile String serverHost = SERVER_ADDRESS; // 현재 접속한 노드 (REDIRECT로 바뀜)
+    private volatile int serverPort = SERVER_PORT;
     private Socket socket;
     private BufferedReader in;  // 서버로부터 메시지를 읽기 위한 스트림
     private PrintWriter out;    // 서버로 메시지를 쓰기 위한 스트림
     private String nickname;    // 클라이언트의 닉네임
     private volatile String playerRole; // 게임 내에서 할당받은 역할 (P1 또는 P2), volatile로 가시성 보장
+    private volatile String sessionToken; // 재접속에 사용할 세션 토큰, 닉네임 설정 전에는 null
+    private long receivedLines = 0;     // 서버로부터 받은 전체 줄 수 (수신 스레드에서만 사용)
     private final Consumer<String> onMessageReceived; // 서버로부터 메시지 수신 시 호출될 콜백 함수
 
     /**
@@ -35,9 +55,10 @@ public class GameClient {
     public void start(String nickname) {
         this.nickname = nickname;
         try {
-            socket = new Socket(SERVER_ADDRESS, SERVER_PORT);
-            in = new BufferedReader(new InputStreamReader(socket.getInputStream()));
-            out = new PrintWriter(socket.getOutputStream(), true); // autoFlush 활성화
+            Socket newSocket = new Socket(serverHost, serverPort);
+            attach(newSocket,
+                   new BufferedReader(new InputStreamReader(newSocket.getInputStream())),
+                   new PrintWriter(newSocket.getOutputStream(), true)); // autoFlush 활성화
 
             // 서버로부터 메시지를 지속적으로 수신하는 별도의 스레드 시작
             new Thread(this::handleServerConnection).start();
@@ -50,40 +71,208 @@ public class GameClient {
 
     /**
      * 서버로부터 메시지를 지속적으로 읽고 처리하는 스레드의 로직입니다.
+     * 연결이 끊기면 재접속을 시도하고, 성공하면 새 연결에서 계속 읽습니다.
      */
     private void handleServerConnection() {
+        // 서버에 닉네임 전송
+        sendMessage(nickname);
+
+        while (true) {
+            BufferedReader reader;
+            synchronized (this) {
+                reader = in;
+            }
+            try {
+                String message;
+                // 서버로부터 메시지를 한 줄씩 읽음
+                while ((message = reader.readLine()) != null) {
+                    // 연결 확인 요청에는 바로 응답 (받은 줄 수에 포함하지 않음)
+                    if (message.startsWith(Protocol.PING + " ")) {
+                        sendMessage(Protocol.PONG + " " + message.substring(Protocol.PING.length() + 1));
+                        continue;
+                    }
+                    receivedLines++;
+                    dispatch(message);
+                }
+            } catch (IOException e) {
+                // 읽기 시간 초과를 포함한 연결 오류 - 아래에서 재접속 시도
+            }
+
+            synchronized (this) {
+                if (reader != in) continue; // REDIRECT로 다른 노드에 옮겨 접속한 경우 새 연결에서 계속 읽음
+            }
+
+            if (sessionToken == null) {
+                // 닉네임 설정 전에 끊긴 경우에는 복구할 세션이 없음
+                onMessageReceived.accept(Protocol.ERROR + " 서버와 연결이 끊어졌습니다.");
+                closeConnection();
+                return;
+            }
+            if (!reconnect()) {
+                // 세션을 복구할 수 없으면 연결 종료 (오류 메시지는 reconnect에서 전달)
+                closeConnection();
+                return;
+            }
+        }
+    }
+
+    /**
+     * 받은 메시지 한 줄을 처리합니다.
+     */
+    private void dispatch(String message) {
+        String[] parts = message.split(" ", 2);
+        String command = parts[0];
+
+        // 플레이어 역할 할당과 세션 토큰 발급 메시지는 GameClient 내부에서 처리
+        if (command.equals(Protocol.ASSIGN_ROLE)) {
+            this.playerRole = parts[1];
+        } else if (command.equals(Protocol.SESSION_TOKEN)) {
+            this.sessionToken = parts[1];
+        } else if (command.equals(Protocol.REDIRECT)) {
+            redirect(parts.length > 1 ? parts[1] : "");
+        } else {
+            // 그 외의 메시지는 등록된 콜백 함수를 통해 GameController로 전달
+            onMessageReceived.accept(message);
+        }
+    }
+
+    /**
+     * 서버가 안내한 클러스터 노드로 옮겨 접속합니다.
+     * 새 노드에 닉네임을 보내 NICKNAME_OK를 받은 뒤에만 옮겨 가며, 그다음 원래 노드에서 거절된 명령을 다시 보냅니다.
+     * 이전 노드와의 연결은 닫으며, 세션 토큰과 받은 줄 수는 새 노드 기준으로 다시 시작합니다.
+     * 로그인하지 못하면(닉네임 중복, 연결 실패) 이전 노드에 REDIRECT_FAILED를 보내고 그 연결을 그대로 씁니다.
+     * @param payload "호스트 포트 명령"
+     */
+    private void redirect(String payload) {
+        String[] parts = payload.split(" ", 3);
+        if (parts.length < 3) return;
+        Socket newSocket = new Socket();
+        String failure = " 다른 서버로 이동하지 못했습니다.";
         try {
-            // 서버에 닉네임 전송
-            out.println(nickname);
-
-            String message;
-            // 서버로부터 메시지를 한 줄씩 읽음
-            while ((message = in.readLine()) != null) {
-                String[] parts = message.split(" ", 2);
-                String command = parts[0];
-
-                // 플레이어 역할 할당 메시지는 GameClient 내부에서 처리
-                if (command.equals(Protocol.ASSIGN_ROLE)) {
-                    this.playerRole = parts[1];
-                } else {
-                    // 그 외의 메시지는 등록된 콜백 함수를 통해 GameController로 전달
-                    onMessageReceived.accept(message);
+            int port = Integer.parseInt(parts[1]);
+            newSocket.connect(new InetSocketAddress(parts[0], port), CONNECT_TIMEOUT_MS);
+            newSocket.setSoTimeout(CONNECT_TIMEOUT_MS); // 로그인 응답 대기 시간
+            BufferedReader reader = new BufferedReader(new InputStreamReader(newSocket.getInputStream()));
+            PrintWriter writer = new PrintWriter(newSocket.getOutputStream(), true);
+            writer.println(nickname);
+            String reply = awaitLoginReply(reader, writer);
+            if (Protocol.NICKNAME_OK.equals(reply)) {
+                Socket oldSocket;
+                synchronized (this) {
+                    oldSocket = socket;
+                    serverHost = parts[0];
+                    serverPort = port;
+                    sessionToken = null;
+                    receivedLines = 1; // NICKNAME_OK
+                    attach(newSocket, reader, writer);
                 }
+                oldSocket.close(); // 수신 스레드는 새 연결에서 이어서 읽음
+                onMessageReceived.accept(reply);
+                sendMessage(parts[2]);
+                return;
             }
-        } catch (IOException e) {
-            // 서버와의 연결이 끊어졌을 때 오류 처리
-            onMessageReceived.accept(Protocol.ERROR + " 서버와 연결이 끊어졌습니다.");
-        } finally {
-            // 연결 종료 시 자원 정리
-            closeConnection();
+            if (Protocol.NICKNAME_TAKEN.equals(reply)) {
+                failure = " 이동할 서버에 같은 닉네임의 사용자가 있어 방에 들어갈 수 없습니다. 닉네임을 바꾼 뒤 다시 시도해주세요.";
+            }
+        } catch (IOException | NumberFormatException e) {
+            // 아래에서 이전 노드에 남음
         }
+        try {
+            newSocket.close();
+        } catch (IOException ignored) {
+            // 이미 닫힌 소켓
+        }
+        sendMessage(Protocol.REDIRECT_FAILED);
+        onMessageReceived.accept(Protocol.ERROR + failure);
+    }
+
+    /**
+     * 새로 접속한 노드가 닉네임에 대해 보낸 응답을 읽습니다. 그 사이에 온 PING에는 응답합니다.
+     * @return NICKNAME_OK, NICKNAME_TAKEN 등 첫 번째 응답 줄, 연결이 끊겼으면 null
+     */
+    private static String awaitLoginReply(BufferedReader reader, PrintWriter writer) throws IOException {
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.startsWith(Protocol.PING + " ")) {
+                writer.println(Protocol.PONG + " " + line.substring(Protocol.PING.length() + 1));
+                continue;
+            }
+            return line;
+        }
+        return null;
+    }
+
+    /**
+     * 세션 토큰으로 서버에 재접속합니다. 실패할 때마다 대기 시간을 두 배로 늘려가며
+     * 재접속 가능 시간(RECONNECT_WINDOW_MS) 동안 시도합니다.
+     * @return 세션 복구에 성공하면 true
+     */
+    private boolean reconnect() {
+        closeConnection();
+        onMessageReceived.accept(Protocol.SYSTEM + " 서버와 연결이 끊어졌습니다. 재접속을 시도합니다...");
+
+        long deadline = System.currentTimeMillis() + RECONNECT_WINDOW_MS;
+        long delay = RECONNECT_INITIAL_DELAY_MS;
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            Socket newSocket = new Socket();
+            try {
+                newSocket.connect(new InetSocketAddress(serverHost, serverPort), CONNECT_TIMEOUT_MS);
+                newSocket.setSoTimeout(CONNECT_TIMEOUT_MS); // 복구 응답 대기 시간
+                BufferedReader reader = new BufferedReader(new InputStreamReader(newSocket.getInputStream()));
+                PrintWriter writer = new PrintWriter(newSocket.getOutputStream(), true);
+                writer.println(Protocol.RESUME + " " + sessionToken + " " + receivedLines);
+
+                // 복구 응답은 받은 줄 수에 포함하지 않음
+                String reply = reader.readLine();
+                if (reply != null && reply.startsWith(Protocol.RESUME_OK + " ")) {
+                    // REPLAY면 놓친 줄부터, RESYNC면 서버가 새로 보내는 상태부터 이어서 셈
+                    receivedLines = Long.parseLong(reply.split(" ")[1]);
+                    attach(newSocket, reader, writer);
+                    onMessageReceived.accept(Protocol.SYSTEM + " 서버에 다시 연결되었습니다.");
+                    return true;
+                }
+                newSocket.close();
+                if (reply != null) {
+                    // 서버가 세션을 찾지 못함 (유예 시간 초과 등) - 더 시도해도 소용 없음
+                    sessionToken = null;
+                    onMessageReceived.accept(Protocol.ERROR + " 이전 세션을 복구할 수 없습니다. 프로그램을 다시 시작해주세요.");
+                    return false;
+                }
+            } catch (IOException | NumberFormatException e) {
+                try {
+                    newSocket.close();
+                } catch (IOException ignored) {
+                    // 이미 닫힌 소켓
+                }
+            }
+            delay = Math.min(delay * 2, RECONNECT_MAX_DELAY_MS);
+        }
+        onMessageReceived.accept(Protocol.ERROR + " 서버와 연결이 끊어졌습니다.");
+        return false;
+    }
+
+    /**
+     * 새로 연결된 소켓과 스트림으로 교체합니다.
+     */
+    private synchronized void attach(Socket newSocket, BufferedReader reader, PrintWriter writer) throws IOException {
+        newSocket.setSoTimeout(READ_TIMEOUT_MS);
+        this.socket = newSocket;
+        this.in = reader;
+        this.out = writer;
     }
 
     /**
      * 서버로 메시지를 전송합니다.
+     * 재접속 중에는 전송되지 않습니다.
      * @param message 서버로 보낼 메시지
      */
-    public void sendMessage(String message) {
+    public synchronized void sendMessage(String message) {
         if (out != null) {
             out.println(message);
         }
@@ -92,7 +281,7 @@ public class GameClient {
     /**
      * 클라이언트 소켓 연결을 닫아 자원을 해제합니다.
      */
-    private void closeConnection() {
+    private synchronized void closeConnection() {
         try {
             if (socket != null && !socket.isClosed()) {
                 socket.close();
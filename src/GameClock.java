@@ -0,0 +1,149 @@
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * 한 게임의 양쪽 플레이어 시계입니다. (기본 시간 + 수마다 추가 시간)
+ *
+ * 모든 게임의 시계는 HashedTimingWheel 하나를 함께 쓰며, 게임마다 스레드나 Timer를 두지 않습니다.
+ * 시계는 현재 차례인 플레이어의 남은 시간이 다 되는 시각에 타임아웃 하나만 등록해 두고,
+ * 차례가 바뀌면 그 타임아웃을 취소하고 새로 등록합니다. (등록/취소 모두 O(1))
+ * 타임아웃이 실행되면 onFlagFall이 호출되며, 호출받은 쪽은 isFlagged로 시간이 실제로 다 되었는지 다시 확인해야 합니다.
+ * (차례가 바뀌는 순간과 타임아웃 실행이 겹칠 수 있기 때문입니다.)
+ *
+ * 휠 스레드는 onFlagFall을 시간 초과 처리용 스레드 풀(clock.flag.threads개)에 넘기기만 합니다.
+ * 게임 종료 처리(방 잠금, 레이팅, 리플레이 저장, 브로드캐스트)가 느린 방이 있어도 다른 게임의 시계는 늦어지지 않습니다.
+ */
+public class GameClock {
+
+    // 시간 초과 판정의 정확도는 이 tick 단위입니다.
+    private static final HashedTimingWheel WHEEL =
+            new HashedTimingWheel("game-clock", Long.getLong("clock.tick.ms", 50), 1024);
+    private static final AtomicInteger FLAG_THREAD_COUNTER = new AtomicInteger();
+    private static final ExecutorService FLAG_FALLS =
+            Executors.newFixedThreadPool(Integer.getInteger("clock.flag.threads", 2), r -> {
+                Thread t = new Thread(r, "game-clock-flag-" + FLAG_THREAD_COUNTER.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+
+    private final long incrementNanos;
+    private final long[] remainingNanos = new long[2]; // [P1, P2]
+    private final Consumer<Piece.Player> onFlagFall;
+    private Piece.Player running = null; // 시간이 흐르고 있는 플레이어, 멈춰 있으면 null
+    private long turnStartedNanos;
+    private HashedTimingWheel.Timeout flagTimeout;
+
+    /**
+     * GameClock 생성자입니다.
+     * @param baseMillis      플레이어마다 주어지는 기본 시간(ms)
+     * @param incrementMillis 수를 둘 때마다 추가되는 시간(ms)
+     * @param onFlagFall      플레이어의 시간이 다 되었을 때 호출될 함수 (시간 초과 처리용 스레드에서 호출됨)
+     */
+    public GameClock(long baseMillis, long incrementMillis, Consumer<Piece.Player> onFlagFall) {
+        this(baseMillis, baseMillis, incrementMillis, onFlagFall);
+    }
+
+    /**
+     * 양쪽의 남은 시간이 다른 시계를 만듭니다. (스냅샷에서 진행 중인 게임을 복원할 때)
+     * @param p1Millis        P1의 남은 시간(ms)
+     * @param p2Millis        P2의 남은 시간(ms)
+     * @param incrementMillis 수를 둘 때마다 추가되는 시간(ms)
+     * @param onFlagFall      플레이어의 시간이 다 되었을 때 호출될 함수 (시간 초과 처리용 스레드에서 호출됨)
+     */
+    public GameClock(long p1Millis, long p2Millis, long incrementMillis, Consumer<Piece.Player> onFlagFall) {
+        this.incrementNanos = incrementMillis * 1_000_000L;
+        this.remainingNanos[0] = p1Millis * 1_000_000L;
+        this.remainingNanos[1] = p2Millis * 1_000_000L;
+        this.onFlagFall = onFlagFall;
+    }
+
+    /**
+     * 첫 번째 플레이어의 시계를 시작합니다.
+     */
+    public synchronized void start(Piece.Player first) {
+        startTurn(first, System.nanoTime());
+    }
+
+    /**
+     * 수를 둔 플레이어의 시계를 멈추고 추가 시간을 더한 뒤, 상대의 시계를 시작합니다.
+     * @param mover 방금 수를 둔 플레이어
+     */
+    public synchronized void press(Piece.Player mover) {
+        long now = System.nanoTime();
+        if (running != mover) return;
+        stopTurn(now);
+        remainingNanos[index(mover)] += incrementNanos;
+        startTurn(opponentOf(mover), now);
+    }
+
+    /**
+     * 추가 시간 없이 지정한 플레이어의 시계로 바꿉니다. (수 무르기로 차례가 되돌아간 경우)
+     * @param next 시간이 흐르기 시작할 플레이어
+     */
+    public synchronized void switchTo(Piece.Player next) {
+        long now = System.nanoTime();
+        stopTurn(now);
+        startTurn(next, now);
+    }
+
+    /**
+     * 시계를 멈춥니다. 게임이 끝나면 호출해야 합니다.
+     */
+    public synchronized void stop() {
+        stopTurn(System.nanoTime());
+    }
+
+    /**
+     * 플레이어의 남은 시간이 다 되었는지 확인합니다.
+     */
+    public synchronized boolean isFlagged(Piece.Player player) {
+        return remainingNanos(player, System.nanoTime()) <= 0;
+    }
+
+    public synchronized long getRemainingMillis(Piece.Player player) {
+        return Math.max(0, remainingNanos(player, System.nanoTime()) / 1_000_000L);
+    }
+
+    /**
+     * CLOCK 메시지의 페이로드("P1남은시간 P2남은시간 흐르는쪽")를 만듭니다. 멈춰 있으면 흐르는 쪽은 NONE입니다.
+     */
+    public synchronized String snapshot() {
+        long now = System.nanoTime();
+        return Math.max(0, remainingNanos(Piece.Player.P1, now) / 1_000_000L) + " "
+             + Math.max(0, remainingNanos(Piece.Player.P2, now) / 1_000_000L) + " "
+             + (running == null ? "NONE" : running.name());
+    }
+
+    private long remainingNanos(Piece.Player player, long now) {
+        long remaining = remainingNanos[index(player)];
+        return player == running ? remaining - (now - turnStartedNanos) : remaining;
+    }
+
+    private void startTurn(Piece.Player player, long now) {
+        running = player;
+        turnStartedNanos = now;
+        long delayMillis = (remainingNanos[index(player)] + 999_999L) / 1_000_000L;
+        // 휠 스레드에서는 넘기기만 하고, 처리는 시간 초과 처리용 스레드에서
+        flagTimeout = WHEEL.newTimeout(() -> FLAG_FALLS.execute(() -> onFlagFall.accept(player)), delayMillis);
+    }
+
+    private void stopTurn(long now) {
+        if (running == null) return;
+        remainingNanos[index(running)] -= now - turnStartedNanos;
+        running = null;
+        if (flagTimeout != null) {
+            flagTimeout.cancel();
+            flagTimeout = null;
+        }
+    }
+
+    private static int index(Piece.Player player) {
+        return player == Piece.Player.P1 ? 0 : 1;
+    }
+
+    private static Piece.Player opponentOf(Piece.Player player) {
+        return player == Piece.Player.P1 ? Piece.Player.P2 : Piece.Player.P1;
+    }
+}
@@ -3,6 +3,11 @@ import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
 import javax.swing.filechooser.FileNameExtensionFilter;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * 클라이언트 애플리케이션의 핵심 컨트롤러 클래스입니다.
@@ -21,13 +26,35 @@ public class GameController {
     private boolean isFirstTurnHighlightNeeded = false; // 게임 시작 후 첫 턴에 내 기물을 하이라이트할지 여부
     private boolean isInRoom = false; // 현재 게임방에 들어가 있는지 여부
 
+    // 서버의 UPDATE_STATE로 동기화되는 로컬 보드 (이동 경로/놓을 위치 하이라이트를 서버에 묻지 않고 계산)
+    private GameStateCodec.State localState = null;
+    private boolean localStateVerified = false; // 로컬 보드의 해시가 서버와 일치하는지 여부
+    private String optimisticHash;              // 먼저 그린 수를 로컬에서 둔 뒤의 해시, 서버 결과와 비교하기 전이면 null
+    private int optimisticPly;                  // 먼저 그린 수까지의 수 번호 (이 수까지 반영된 UPDATE_STATE와 비교)
+    private boolean mirrorDiverged = false;     // 로컬에서 둔 수가 서버 결과와 달랐던 적이 있으면 이번 게임에서는 로컬 계산을 쓰지 않음
+
+    // 내가 둔 수는 서버의 확인을 기다리지 않고 먼저 화면에 반영하고, 순번으로 서버의 확인/거부와 맞춰봄
+    private int nextMoveSeq = 0;
+    private int pendingMoveSeq = -1;        // 확인을 기다리는 수의 순번, 없으면 -1
+    private String confirmedStatePayload;   // 서버가 마지막으로 보낸 UPDATE_STATE (수가 거부되면 이 상태로 되돌림)
+    private int queuedPremoves = 0;         // 서버에 예약해 둔 수의 개수
+
+    // --- 서버에서 받는 중인 리플레이 (REPLAY_BEGIN 이후 REPLAY_DATA로 채워짐) ---
+    private String incomingReplayId;        // 받는 중인 리플레이의 게임 ID, 없으면 null
+    private int incomingReplayTotal;
+    private List<String> incomingReplayMoves;
+
     /**
      * 게임 컨트롤러를 시작합니다.
      * GameClient와 GameUI를 생성하고 초기화합니다.
      */
     public void start() {
-        // 서버 메시지 처리를 위한 콜백으로 handleServerMessage 메서드를 등록
-        this.client = new GameClient(this::handleServerMessage);
+        // 서버 메시지는 EDT 디스패처를 거쳐 묶음 단위로 handleServerMessage에 전달됨
+        // (방 목록/게임 상태는 최신 것만 처리하고, 연속된 채팅은 한 번에 추가)
+        EdtMessageDispatcher dispatcher = new EdtMessageDispatcher(this::handleServerMessage,
+                Set.of(Protocol.UPDATE_ROOMLIST, Protocol.UPDATE_STATE, Protocol.CLOCK),
+                Set.of(Protocol.CHAT, Protocol.SYSTEM, Protocol.LOBBY_CHAT));
+        this.client = new GameClient(dispatcher::post);
         // UI 생성 및 표시는 Swing Event Dispatch Thread에서 수행
         SwingUtilities.invokeLater(() -> {
             this.ui = new GameUI(this);
@@ -61,9 +88,16 @@ public class GameController {
     }
 
     /**
-     * 리플레이 파일을 선택하고 리플레이 화면을 시작합니다.
+     * 서버에 저장된 리플레이 목록 다이얼로그를 엽니다.
      */
     public void startReplay() {
+        ui.showReplayList();
+    }
+
+    /**
+     * 내 컴퓨터의 리플레이 파일을 선택하고 리플레이 화면을 시작합니다.
+     */
+    public void openLocalReplay() {
         JFileChooser fileChooser = new JFileChooser("./replays"); // 기본 경로 설정
         fileChooser.setDialogTitle("리플레이 파일 선택");
         fileChooser.setFileFilter(new FileNameExtensionFilter("텍스트 파일", "txt"));
@@ -86,6 +120,13 @@ public class GameController {
         client.sendMessage(Protocol.JOIN_ROOM + " " + payload);
     }
 
+    public void requestRoomList(int page, int pageSize, String filter, String titlePrefix) {
+        client.sendMessage(Protocol.ROOM_QUERY + " " + page + " " + pageSize + " " + filter + " " + titlePrefix);
+    }
+
+    public void joinMatchmaking() { client.sendMessage(Protocol.QUEUE_JOIN); }
+    public void leaveMatchmaking() { client.sendMessage(Protocol.QUEUE_LEAVE); }
+
     public void sendChatMessage(String message) { client.sendMessage(Protocol.CHAT + " " + message); }
     public void sendLobbyChat(String text) { client.sendMessage(Protocol.LOBBY_CHAT + " " + text); }
     public void sendReady() { client.sendMessage(Protocol.READY); }
@@ -93,20 +134,40 @@ public class GameController {
     public void requestUndo() { client.sendMessage(Protocol.UNDO_REQUEST); }
     public void respondUndo(boolean accepted) { client.sendMessage(Protocol.UNDO_RESPONSE + " " + accepted); }
     public void requestRoomInfo(String title) { client.sendMessage(Protocol.REQUEST_ROOMINFO + " " + title); }
+    public void requestAnalysis(String gameId) { client.sendMessage(Protocol.ANALYZE + " " + gameId); }
+
+    public void requestReplayList(int page, int pageSize, String keyword) {
+        client.sendMessage(Protocol.REPLAY_QUERY + " " + page + " " + pageSize + " " + keyword);
+    }
+
+    public void fetchReplay(String gameId) { client.sendMessage(Protocol.REPLAY_FETCH + " " + gameId); }
 
     /**
      * 게임 보드의 특정 칸이 클릭되었을 때 호출됩니다.
      * 현재 선택 상태에 따라 기물 선택, 이동, 또는 놓기 명령을 서버로 전송합니다.
+     * 상대의 턴에는 다음 수를 예약합니다.
      * @param r 클릭된 칸의 행 (모델 좌표)
      * @param c 클릭된 칸의 열 (모델 좌표)
      */
     public void onBoardClicked(int r, int c) {
-        if (!ui.isMyTurn()) return; // 내 턴이 아니면 아무것도 하지 않음
+        if (!ui.isMyTurn()) { // 내 턴이 아니면 예약 수 선택
+            onPremoveClicked(r, c);
+            return;
+        }
         
         // 잡은 말을 선택한 상태에서 보드를 클릭한 경우 -> '놓기' 시도
         if (selectedCapturedPiece != null) {
-            client.sendMessage(String.format("%s %s %d %d", Protocol.PLACE, selectedCapturedPiece.name(), r, c));
+            // 로컬 보드로 놓을 수 없는 위치임을 알 수 있으면 서버에 보내지 않음 (최종 판정은 서버)
+            if (localStateVerified && !ui.isValidMove(r, c)) {
+                clearSelections();
+                return;
+            }
+            Piece piece = selectedCapturedPiece;
+            Piece.Player myRole = myPlayer();
+            int seq = ++nextMoveSeq;
+            client.sendMessage(String.format("%s %s %d %d %d", Protocol.PLACE, piece.name(), r, c, seq));
             clearSelections();
+            applyOptimistically(seq, board -> myRole != null && board.placeCapturedPiece(myRole, piece, r, c));
             return;
         }
 
@@ -115,8 +176,11 @@ public class GameController {
         // 이미 보드 위의 기물을 선택한 상태에서 클릭한 경우
         if (selectedRow != -1) {
             if (isClickOnValidMove) { // 유효한 이동 범위를 클릭했다면 -> '이동'
-                client.sendMessage(String.format("%s %d %d %d %d", Protocol.MOVE, selectedRow, selectedCol, r, c));
+                int fromR = selectedRow, fromC = selectedCol;
+                int seq = ++nextMoveSeq;
+                client.sendMessage(String.format("%s %d %d %d %d %d", Protocol.MOVE, fromR, fromC, r, c, seq));
                 clearSelections();
+                applyOptimistically(seq, board -> board.movePiece(fromR, fromC, r, c));
             } else { // 그 외의 칸을 클릭했다면 -> 기존 선택 취소 후 새로 선택
                 clearSelections();
                 selectBoardPiece(r, c);
@@ -126,6 +190,32 @@ public class GameController {
         }
     }
 
+    /**
+     * 상대의 턴에 보드를 클릭했을 때 호출됩니다.
+     * 내 기물을 고른 뒤 현재 보드 기준으로 갈 수 있는 칸을 누르면 그 수를 서버에 예약하고,
+     * 빈 칸이나 상대 기물을 누르면 예약해 둔 수를 모두 취소합니다.
+     * 예약한 수는 상대가 수를 둔 직후 서버가 둘 수 있는지 다시 확인하여 실행합니다.
+     */
+    private void onPremoveClicked(int r, int c) {
+        if (!localStateVerified || myPlayer() == null) return; // 게임 중인 플레이어만 예약 가능
+
+        if (selectedRow != -1 && ui.isValidMove(r, c)) {
+            client.sendMessage(String.format("%s %d %d %d %d", Protocol.PREMOVE, selectedRow, selectedCol, r, c));
+            clearSelections();
+            return;
+        }
+        clearSelections();
+        String pieceOwner = ui.getPieceOwnerRole(r, c);
+        if (pieceOwner != null && pieceOwner.equals(client.getPlayerRole())) {
+            selectedRow = r;
+            selectedCol = c;
+            ui.highlightSelectedBoardPiece(r, c);
+            ui.highlightValidMoves(GameStateCodec.encodeSquares(localState.board.getValidMoves(r, c)));
+        } else if (queuedPremoves > 0) {
+            client.sendMessage(Protocol.PREMOVE_CLEAR);
+        }
+    }
+
     /**
      * 잡은 말 목록의 기물이 클릭되었을 때 호출됩니다.
      * @param piece 클릭된 기물
@@ -136,10 +226,16 @@ public class GameController {
         clearSelections();
         selectedCapturedPiece = piece;
         ui.highlightSelectedCapturedPiece(sourceButton);
+        Piece.Player myRole = myPlayer();
+        if (localStateVerified && myRole != null) {
+            // 놓을 수 있는 위치를 로컬 보드에서 바로 계산
+            ui.highlightValidMoves(GameStateCodec.encodeSquares(localState.board.getValidPlacements(myRole, piece)));
+        }
     }
 
     /**
-     * 보드 위의 기물을 선택하고 유효 이동 범위를 서버에 요청합니다.
+     * 보드 위의 기물을 선택하고 유효 이동 범위를 하이라이트합니다.
+     * 로컬 보드가 서버와 일치하면 바로 계산하고, 아니면 서버에 요청합니다.
      * @param r 선택할 기물의 행
      * @param c 선택할 기물의 열
      */
@@ -150,7 +246,11 @@ public class GameController {
             selectedRow = r;
             selectedCol = c;
             ui.highlightSelectedBoardPiece(r, c);
-            client.sendMessage(Protocol.GET_VALID_MOVES + " " + r + " " + c);
+            if (localStateVerified) {
+                ui.highlightValidMoves(GameStateCodec.encodeSquares(localState.board.getValidMoves(r, c)));
+            } else {
+                client.sendMessage(Protocol.GET_VALID_MOVES + " " + r + " " + c);
+            }
         }
     }
 
@@ -164,6 +264,103 @@ public class GameController {
         ui.clearHighlights(true);
     }
 
+    /**
+     * UPDATE_STATE로 받은 상태를 로컬 보드에 반영하고, 서버가 보낸 해시와 비교하여 어긋났는지 확인합니다.
+     * 해석에 실패하거나 해시가 다르면 로컬 계산을 쓰지 않고 서버에 이동 경로를 요청하도록 합니다.
+     * @param payload UPDATE_STATE 페이로드
+     */
+    private void syncLocalState(String payload) {
+        try {
+            localState = GameStateCodec.decode(payload);
+            checkOptimisticMove(localState);
+            localStateVerified = !mirrorDiverged && localState.matchesServerHash();
+            if (!localStateVerified) {
+                System.err.println("로컬 보드가 서버 상태와 일치하지 않습니다. 서버에 이동 경로를 요청합니다.");
+            }
+        } catch (RuntimeException e) {
+            localState = null;
+            localStateVerified = false;
+            System.err.println("게임 상태를 해석할 수 없습니다: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 먼저 그린 수가 반영된 UPDATE_STATE가 오면, 로컬에서 그 수를 둔 보드의 해시와 서버의 해시를 비교합니다.
+     * 다르면 로컬의 규칙 계산(이동/놓기)이 서버와 어긋난 것이므로 이번 게임에서는 로컬 계산을 쓰지 않습니다.
+     * (수가 더 진행된 상태만 왔으면 비교할 수 없으므로 예상 해시만 버림)
+     */
+    private void checkOptimisticMove(GameStateCodec.State state) {
+        if (optimisticHash == null) return;
+        int ply = plyOf(state.moveHistory);
+        if (ply < optimisticPly) return; // 아직 내 수가 반영되지 않은 상태
+        if (ply == optimisticPly && !optimisticHash.equals(state.serverHash)) {
+            mirrorDiverged = true;
+            System.err.println("먼저 그린 수가 서버 결과와 다릅니다. 이번 게임에서는 로컬 이동 경로 계산을 사용하지 않습니다.");
+        }
+        optimisticHash = null;
+    }
+
+    private static int plyOf(String moveHistory) {
+        return moveHistory.isBlank() ? 0 : moveHistory.trim().split("\\s+").length;
+    }
+
+    /**
+     * 방금 보낸 수를 로컬 보드 복사본에 적용하여 서버의 응답을 기다리지 않고 화면에 그립니다.
+     * 로컬 보드가 서버와 일치하지 않거나 로컬에서도 둘 수 없는 수이면 그리지 않고 서버의 UPDATE_STATE를 기다립니다.
+     * 확정된 상태(localState)는 바꾸지 않으므로, 서버가 수를 거부하면 confirmedStatePayload로 되돌릴 수 있습니다.
+     * @param seq  수와 함께 보낸 순번
+     * @param move 보드 복사본에 수를 적용하는 함수 (성공하면 true)
+     */
+    private void applyOptimistically(int seq, Predicate<GameBoard> move) {
+        if (!localStateVerified) return;
+        GameBoard board = localState.board.clone();
+        if (!move.test(board)) return;
+        pendingMoveSeq = seq;
+        Piece.Player next = localState.currentPlayer == Piece.Player.P1 ? Piece.Player.P2 : Piece.Player.P1;
+        optimisticHash = GameStateCodec.hashOf(board, next);
+        optimisticPly = plyOf(localState.moveHistory) + 1;
+        ui.updateGameState(GameStateCodec.encode(board, next, localState.moveHistory));
+    }
+
+    /**
+     * 서버가 수를 받아들였을 때 호출됩니다. 이어서 오는 UPDATE_STATE가 화면을 확정된 상태로 바꿉니다.
+     * @param payload 수의 순번
+     */
+    private void onMoveAcknowledged(String payload) {
+        if (parseNumber(payload) == pendingMoveSeq) {
+            pendingMoveSeq = -1;
+        }
+    }
+
+    /**
+     * 서버가 수를 거부했을 때 호출됩니다. 먼저 그려 둔 수가 있으면 마지막으로 확정된 상태로 되돌립니다.
+     * @param payload "순번 사유"
+     */
+    private void onMoveRejected(String payload) {
+        String[] parts = payload.split(" ", 2);
+        if (parseNumber(parts[0]) == pendingMoveSeq) {
+            pendingMoveSeq = -1;
+            optimisticHash = null;
+            if (confirmedStatePayload != null) ui.updateGameState(confirmedStatePayload);
+        }
+        ui.showError(parts.length > 1 ? parts[1] : "수를 둘 수 없습니다.");
+    }
+
+    private static int parseNumber(String seq) {
+        try {
+            return Integer.parseInt(seq.trim());
+        } catch (NumberFormatException e) {
+            return -2; // 어떤 순번과도 일치하지 않는 값
+        }
+    }
+
+    private Piece.Player myPlayer() {
+        String role = client.getPlayerRole();
+        if (Protocol.P1.equals(role)) return Piece.Player.P1;
+        if (Protocol.P2.equals(role)) return Piece.Player.P2;
+        return null;
+    }
+
     public boolean isMyTurn(String currentPlayerRole) {
         if (client == null) return false;
         return currentPlayerRole.equals(client.getPlayerRole());
@@ -176,94 +373,163 @@ public class GameController {
     // --- 서버로부터 받은 메시지를 처리하는 메서드 ---
 
     /**
-     * GameClient로부터 서버 메시지를 받아 파싱하고, UI 업데이트를 요청합니다.
-     * 모든 UI 관련 작업은 SwingUtilities.invokeLater를 통해 EDT에서 실행되도록 보장합니다.
+     * 리플레이 전송 시작(REPLAY_BEGIN &lt;전체 수&gt; &lt;게임ID&gt;)을 처리합니다. 수가 없는 리플레이는 바로 엽니다.
+     */
+    private void handleReplayBegin(String payload) {
+        String[] parts = payload.split(" ", 2);
+        if (parts.length < 2) return;
+        incomingReplayId = parts[1];
+        incomingReplayTotal = Integer.parseInt(parts[0]);
+        incomingReplayMoves = new ArrayList<>(incomingReplayTotal);
+        if (incomingReplayTotal == 0) finishReplayDownload();
+    }
+
+    /**
+     * 리플레이 기보 조각(REPLAY_DATA &lt;시작 수 번호&gt; &lt;기보&gt; ...)을 이어 붙이고, 모두 받으면 리플레이 화면을 엽니다.
+     * 받는 중인 리플레이가 없거나 순서가 맞지 않는 조각은 무시합니다.
+     */
+    private void handleReplayData(String payload) {
+        String[] parts = payload.split(" ");
+        if (incomingReplayId == null || !parts[0].equals(String.valueOf(incomingReplayMoves.size()))) return;
+        incomingReplayMoves.addAll(Arrays.asList(parts).subList(1, parts.length));
+        if (incomingReplayMoves.size() >= incomingReplayTotal) finishReplayDownload();
+    }
+
+    private void finishReplayDownload() {
+        ui.showReplay(incomingReplayId, incomingReplayMoves);
+        incomingReplayId = null;
+        incomingReplayMoves = null;
+    }
+
+    /**
+     * 서버 메시지를 파싱하고, UI 업데이트를 요청합니다.
+     * EdtMessageDispatcher를 통해 항상 EDT에서 호출됩니다.
+     * 연속된 채팅 메시지는 디스패처가 합쳐 두었으므로 페이로드에 여러 줄이 들어 있을 수 있습니다.
      * @param message 서버로부터 받은 원본 메시지
      */
     private void handleServerMessage(String message) {
-        SwingUtilities.invokeLater(() -> {
-            String[] parts = message.split(" ", 2);
-            String command = parts[0];
-            String payload = parts.length > 1 ? parts[1] : "";
-
-            switch (command) {
-                case Protocol.NICKNAME_OK:
-                    ui.setTitle("십이장기 - " + client.getNickname());
-                    ui.showLobby();
-                    break;
-                case Protocol.NICKNAME_TAKEN:
-                    ui.showError("해당 닉네임은 이미 존재합니다.");
-                    ui.showNicknamePrompt();
-                    break;
-                case Protocol.NICKNAME_CHANGED_OK:
-                    client.setNickname(payload);
-                    ui.setTitle("십이장기 - " + payload);
-                    JOptionPane.showMessageDialog(null, "닉네임이 성공적으로 변경되었습니다.", "알림", JOptionPane.INFORMATION_MESSAGE);
-                    break;
-                case Protocol.NICKNAME_CHANGE_FAILED:
-                    ui.showError("닉네임 변경에 실패했습니다: " + payload);
-                    break;
-                case Protocol.UPDATE_ROOMLIST:
-                    if (!isInRoom) { // 방에 들어가 있을 때는 로비 정보를 업데이트하지 않음
-                        ui.updateRoomList(payload);
-                    }
-                    break;
-                case Protocol.LOBBY_CHAT:                
-                    ui.appendLobbyChat(payload);
-                    break;
-                case Protocol.JOIN_SUCCESS:
-                    isInRoom = true;
-                    ui.enterRoom(payload);
-                    break;
-                case Protocol.GOTO_LOBBY:
-                    isInRoom = false;
-                    ui.showLobby();
-                    ui.setTitle("십이장기 - " + client.getNickname());
-                    ui.resetRoomUI();
-                    break;
-                case Protocol.CHAT:
-                case Protocol.SYSTEM:
-                    // 현재 위치(방/로비)에 따라 적절한 채팅창에 메시지 표시
-                    if (isInRoom) {
-                        ui.appendChatMessage(payload);
-                    } else {
-                        ui.appendLobbyChatMessage(payload);
-                    }
-                    break;
-                case Protocol.PLAYER_READY:
-                    ui.updatePlayerStatus(payload.split(" "));
-                    break;
-                case Protocol.GAME_START:
-                    isFirstTurnHighlightNeeded = true;
-                    ui.handleGameStart();
-                    break;
-                case Protocol.UPDATE_STATE:
-                    ui.updateGameState(payload);
-                    // 게임 시작 후 첫 턴일 때만 내 기물들을 하이라이트
-                    if (isFirstTurnHighlightNeeded && ui.isMyTurn()) {
-                        ui.highlightPlayerPieces(client.getPlayerRole());
-                        isFirstTurnHighlightNeeded = false;
-                    }
-                    break;
-                case Protocol.VALID_MOVES:
-                    ui.highlightValidMoves(payload);
-                    break;
-                case Protocol.GAME_OVER:
-                    isInRoom = false;
-                    ui.handleGameOver(payload);
-                    break;
-                case Protocol.UNDO_REQUESTED:
-                    ui.showUndoRequest(payload);
-                    break;
-                case Protocol.ERROR:
-                    ui.showError(payload);
-                    break;
-                default:
-                    // 알 수 없는 메시지는 현재 위치의 채팅창에 그대로 출력
-                    if (isInRoom) ui.appendChatMessage(message);
-                    else ui.appendLobbyChatMessage(message);
-                    break;
-            }
-        });
+        String[] parts = message.split(" ", 2);
+        String command = parts[0];
+        String payload = parts.length > 1 ? parts[1] : "";
+
+        switch (command) {
+            case Protocol.NICKNAME_OK:
+                ui.setTitle("십이장기 - " + client.getNickname());
+                ui.showLobby();
+                break;
+            case Protocol.NICKNAME_TAKEN:
+                ui.showError("해당 닉네임은 이미 존재합니다.");
+                ui.showNicknamePrompt();
+                break;
+            case Protocol.NICKNAME_CHANGED_OK:
+                client.setNickname(payload);
+                ui.setTitle("십이장기 - " + payload);
+                JOptionPane.showMessageDialog(null, "닉네임이 성공적으로 변경되었습니다.", "알림", JOptionPane.INFORMATION_MESSAGE);
+                break;
+            case Protocol.NICKNAME_CHANGE_FAILED:
+                ui.showError("닉네임 변경에 실패했습니다: " + payload);
+                break;
+            case Protocol.UPDATE_ROOMLIST:
+                if (!isInRoom) { // 방에 들어가 있을 때는 로비 정보를 업데이트하지 않음
+                    ui.updateRoomList(payload);
+                }
+                break;
+            case Protocol.QUEUE_STATUS:
+                ui.updateQueueStatus(payload);
+                break;
+            case Protocol.LOBBY_CHAT:                
+                ui.appendLobbyChat(payload);
+                break;
+            case Protocol.JOIN_SUCCESS:
+                isInRoom = true;
+                ui.enterRoom(payload);
+                break;
+            case Protocol.GOTO_LOBBY:
+                isInRoom = false;
+                localState = null;
+                localStateVerified = false;
+                queuedPremoves = 0;
+                ui.showLobby();
+                ui.setTitle("십이장기 - " + client.getNickname());
+                ui.resetRoomUI();
+                break;
+            case Protocol.CHAT:
+            case Protocol.SYSTEM:
+                // 현재 위치(방/로비)에 따라 적절한 채팅창에 메시지 표시
+                if (isInRoom) {
+                    ui.appendChatMessage(payload);
+                } else {
+                    ui.appendLobbyChatMessage(payload);
+                }
+                break;
+            case Protocol.PLAYER_READY:
+                ui.updatePlayerStatus(payload.split(" "));
+                break;
+            case Protocol.GAME_START:
+                isFirstTurnHighlightNeeded = true;
+                mirrorDiverged = false;
+                optimisticHash = null;
+                ui.handleGameStart();
+                break;
+            case Protocol.UPDATE_STATE:
+                // 서버의 상태가 항상 우선 (먼저 그려 둔 수가 있었다면 확정된 상태로 대체됨)
+                confirmedStatePayload = payload;
+                pendingMoveSeq = -1;
+                syncLocalState(payload);
+                ui.updateGameState(payload);
+                // 게임 시작 후 첫 턴일 때만 내 기물들을 하이라이트
+                if (isFirstTurnHighlightNeeded && ui.isMyTurn()) {
+                    ui.highlightPlayerPieces(client.getPlayerRole());
+                    isFirstTurnHighlightNeeded = false;
+                }
+                break;
+            case Protocol.CLOCK:
+                ui.updateClock(payload);
+                break;
+            case Protocol.PREMOVE_STATUS:
+                queuedPremoves = Math.max(0, parseNumber(payload));
+                ui.updatePremoveCount(queuedPremoves);
+                break;
+            case Protocol.MOVE_ACK:
+                onMoveAcknowledged(payload);
+                break;
+            case Protocol.MOVE_REJECTED:
+                onMoveRejected(payload);
+                break;
+            case Protocol.VALID_MOVES:
+                ui.highlightValidMoves(payload);
+                break;
+            case Protocol.GAME_OVER:
+                isInRoom = false;
+                pendingMoveSeq = -1;
+                queuedPremoves = 0;
+                localState = null; // 끝난 게임의 보드로 이동 경로를 계산하거나 수를 예약하지 않도록 함
+                localStateVerified = false;
+                ui.handleGameOver(payload);
+                break;
+            case Protocol.ANALYSIS_RESULT:
+                ui.showAnalysis(payload);
+                break;
+            case Protocol.UPDATE_REPLAYLIST:
+                ui.updateReplayList(payload);
+                break;
+            case Protocol.REPLAY_BEGIN:
+                handleReplayBegin(payload);
+                break;
+            case Protocol.REPLAY_DATA:
+                handleReplayData(payload);
+                break;
+            case Protocol.UNDO_REQUESTED:
+                ui.showUndoRequest(payload);
+                break;
+            case Protocol.ERROR:
+                ui.showError(payload);
+                break;
+            default:
+                // 알 수 없는 메시지는 현재 위치의 채팅창에 그대로 출력
+                if (isInRoom) ui.appendChatMessage(message);
+                else ui.appendLobbyChatMessage(message);
+                break;
+        }
     }
 }
@@ -1,8 +1,5 @@
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Stack;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * 순수한 게임 규칙과 상태를 관리하는 클래스입니다.
@@ -15,15 +12,9 @@ public class GameLogic {
     private Piece.Player currentPlayer;
     private GameState gameState;
     private Piece.Player winner = null;
-    private final List<String> moveHistory = new ArrayList<>(); // 기보 저장을 위한 리스트
+    private final MoveList moveHistory = new MoveList(); // 기보 저장을 위한 Move 코드 목록
     private final Stack<GameBoard> boardHistory = new Stack<>(); // '수 무르기'를 위한 보드 상태 스택
 
-    // 기보(notation) 파싱을 위한 정규식
-    // 예: "Ka1xb2" (왕이 a1에서 b2로 이동하며 잡음)
-    private static final Pattern MOVE_PATTERN = Pattern.compile("([KGERP])([a-c][1-4])x?([a-c][1-4])");
-    // 예: "P@b3" (잡은 '자'를 b3에 놓음)
-    private static final Pattern PLACE_PATTERN = Pattern.compile("([KGERP])@([a-c][1-4])");
-
     /**
      * 게임의 현재 상태를 나타내는 열거형입니다.
      */
@@ -55,6 +46,18 @@ public class GameLogic {
         boardHistory.clear();
     }
 
+    /**
+     * 게임을 시작 전 상태로 되돌립니다.
+     */
+    public void reset() {
+        board = new GameBoard();
+        gameState = GameState.WAITING_FOR_PLAYERS;
+        currentPlayer = null;
+        winner = null;
+        moveHistory.clear();
+        boardHistory.clear();
+    }
+
     /**
      * 기물 이동을 처리합니다.
      * @param player 이동을 시도하는 플레이어
@@ -72,17 +75,14 @@ public class GameLogic {
             return false;
         }
 
-        // 기보 기록을 위해 이동 정보를 변환
-        char pieceChar = getPieceChar(movingPiece);
-        String fromAlg = toAlgebraic(fromR, fromC);
-        String toAlg = toAlgebraic(toR, toC);
+        // 기보 기록을 위해 이동 정보를 Move 코드로 압축 (문자열은 표시할 때만 생성)
         boolean isCapture = board.getPieceAt(toR, toC) != null;
-        String moveNotation = String.format("%c%s%s%s", pieceChar, fromAlg, isCapture ? "x" : "", toAlg);
+        int move = Move.of(movingPiece, fromR, fromC, toR, toC, isCapture);
 
         boardHistory.push(this.board.clone()); // 수 무르기를 위해 현재 보드 상태 저장
 
         if (board.movePiece(fromR, fromC, toR, toC)) {
-            moveHistory.add(moveNotation);
+            moveHistory.add(move);
             if (checkGameOver()) {
                 gameState = GameState.GAME_OVER;
                 this.winner = player;
@@ -106,15 +106,14 @@ public class GameLogic {
      */
     public boolean handlePlace(Piece.Player player, Piece pieceToPlace, int row, int col) {
         if (player != currentPlayer || gameState != GameState.IN_PROGRESS) return false;
+        if (pieceToPlace == null) return false;
 
-        char pieceChar = getPieceChar(pieceToPlace);
-        String toAlg = toAlgebraic(row, col);
-        String placeNotation = String.format("%c@%s", pieceChar, toAlg);
+        int move = Move.drop(pieceToPlace, row, col);
 
         boardHistory.push(this.board.clone());
 
         if (board.placeCapturedPiece(player, pieceToPlace, row, col)) {
-            moveHistory.add(placeNotation);
+            moveHistory.add(move);
             switchTurn();
             return true;
         }
@@ -129,56 +128,24 @@ public class GameLogic {
      * @return 실행 성공 여부
      */
     public boolean executeMove(String notation) {
-        Matcher moveMatcher = MOVE_PATTERN.matcher(notation);
-        if (moveMatcher.matches()) {
-            int[] from = fromAlgebraic(moveMatcher.group(2));
-            int[] to = fromAlgebraic(moveMatcher.group(3));
-            return handleMove(currentPlayer, from[0], from[1], to[0], to[1]);
-        }
-
-        Matcher placeMatcher = PLACE_PATTERN.matcher(notation);
-        if (placeMatcher.matches()) {
-            Piece pieceToPlace = getPieceFromChar(placeMatcher.group(1).charAt(0), currentPlayer);
-            int[] to = fromAlgebraic(placeMatcher.group(2));
-            return handlePlace(currentPlayer, pieceToPlace, to[0], to[1]);
-        }
-        return false;
+        int move = Move.parse(notation, currentPlayer);
+        return move != Move.NONE && executeMove(move);
     }
 
-    // --- 기보 표기법(Algebraic Notation) 변환 헬퍼 ---
-    private int[] fromAlgebraic(String alg) {
-        int c = alg.charAt(0) - 'a'; // 'a' -> 0, 'b' -> 1, 'c' -> 2
-        int r = 4 - (alg.charAt(1) - '0'); // '1' -> 3, '2' -> 2, ...
-        return new int[]{r, c};
-    }
-
-    private String toAlgebraic(int r, int c) {
-        char file = (char) ('a' + c);
-        int rank = 4 - r;
-        return "" + file + rank;
-    }
-
-    private char getPieceChar(Piece piece) {
-        String name = piece.name();
-        if (name.contains("KING")) return 'K';
-        if (name.contains("GENERAL")) return 'G';
-        if (name.contains("ELEPHANT")) return 'E';
-        if (name.contains("PAWN")) return 'P';
-        if (name.contains("PRINCE")) return 'R'; // '후'는 Prince로 표현
-        return '?';
-    }
-
-    private Piece getPieceFromChar(char pieceChar, Piece.Player owner) {
-        return switch (pieceChar) {
-            case 'K' -> owner == Piece.Player.P1 ? Piece.P1_KING : Piece.P2_KING;
-            case 'G' -> owner == Piece.Player.P1 ? Piece.P1_GENERAL : Piece.P2_GENERAL;
-            case 'E' -> owner == Piece.Player.P1 ? Piece.P1_ELEPHANT : Piece.P2_ELEPHANT;
-            case 'P' -> owner == Piece.Player.P1 ? Piece.P1_PAWN : Piece.P2_PAWN;
-            case 'R' -> owner == Piece.Player.P1 ? Piece.P1_PRINCE : Piece.P2_PRINCE;
-            default -> null;
-        };
+    /**
+     * Move 코드에 해당하는 수를 현재 턴의 플레이어로 실행합니다.
+     * @param move Move 코드
+     * @return 실행 성공 여부
+     */
+    public boolean executeMove(int move) {
+        if (move == Move.NONE) return false;
+        if (Move.isDrop(move)) {
+            // 기보에는 소유자 정보가 없으므로 현재 턴 플레이어의 기물로 맞춤
+            Piece pieceToPlace = Move.pieceFromChar(Move.pieceChar(Move.piece(move)), currentPlayer);
+            return handlePlace(currentPlayer, pieceToPlace, Move.toRow(move), Move.toCol(move));
+        }
+        return handleMove(currentPlayer, Move.fromRow(move), Move.fromCol(move), Move.toRow(move), Move.toCol(move));
     }
-    // ---
 
     /**
      * 게임 종료 조건을 확인합니다. (어느 한쪽의 왕이 잡혔는지)
@@ -197,13 +164,27 @@ public class GameLogic {
     public void undoLastMove() {
         if (!boardHistory.isEmpty()) {
             this.board = boardHistory.pop();
-            if (!moveHistory.isEmpty()) {
-                moveHistory.remove(moveHistory.size() - 1);
-            }
+            moveHistory.removeLast();
             switchTurn(); // 턴도 이전 상태로 되돌림
         }
     }
 
+    /**
+     * 방금 성공한 수(handleMove/handlePlace)를 없던 것으로 합니다. 그 수로 게임이 끝났다면 진행 중으로 되돌립니다.
+     * (서버가 수를 기록하지 못해 받지 않는 경우에 사용)
+     */
+    public void retractLastMove() {
+        if (gameState == GameState.GAME_OVER) {
+            // 게임을 끝낸 수는 턴을 넘기지 않았으므로 보드와 기보만 되돌림
+            this.board = boardHistory.pop();
+            moveHistory.removeLast();
+            gameState = GameState.IN_PROGRESS;
+            winner = null;
+        } else {
+            undoLastMove();
+        }
+    }
+
     /**
      * 턴을 상대방에게 넘깁니다.
      */
@@ -216,5 +197,9 @@ public class GameLogic {
     public Piece.Player getCurrentPlayer() { return currentPlayer; }
     public GameState getGameState() { return gameState; }
     public Piece.Player getWinner() { return winner; }
-    public List<String> getMoveHistory() { return moveHistory; }
+    public MoveList getMoves() { return moveHistory; }
+    /** 기보를 문자열 리스트로 변환하여 반환합니다. (표시 및 리플레이 저장용) */
+    public List<String> getMoveHistory() { return moveHistory.toNotationList(); }
+    /** 기보 전체를 공백으로 구분한 한 줄의 문자열로 반환합니다. */
+    public String getMoveHistoryNotation() { return moveHistory.toNotationString(" "); }
 }
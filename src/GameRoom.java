@@ -1,3 +1,6 @@
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -7,15 +10,16 @@ import java.util.List;
  * 방의 정보(제목, 비밀번호 등)와 참여자(호스트, 게스트, 관전자) 목록을 관리합니다.
  * 실제 게임 로직은 GameSession 클래스에 위임합니다.
  */
-public class GameRoom {
+public class GameRoom implements LobbyRoom {
 
+    private final Server server; // 이 방이 속한 서버
     private final String title;
     private String password;
     private final int maxPlayers;
-    private ClientHandler host;
-    private ClientHandler guest;
+    private PlayerConnection host;
+    private PlayerConnection guest;
     // 관전자 목록 (스레드 안전)
-    private final List<ClientHandler> spectators = Collections.synchronizedList(new ArrayList<>());
+    private final List<PlayerConnection> spectators = Collections.synchronizedList(new ArrayList<>());
     private GameSession currentSession;
     private boolean isPrivate;
 
@@ -25,8 +29,10 @@ public class GameRoom {
      * @param password 비밀번호 (없으면 빈 문자열)
      * @param maxPlayers 최대 수용 인원
      * @param host 방을 생성한 호스트
+     * @param server 이 방이 속한 서버
      */
-    public GameRoom(String title, String password, int maxPlayers, ClientHandler host) {
+    public GameRoom(String title, String password, int maxPlayers, PlayerConnection host, Server server) {
+        this.server = server;
         this.title = title;
         this.password = password;
         this.maxPlayers = maxPlayers;
@@ -37,6 +43,62 @@ public class GameRoom {
         // 방 생성 성공 메시지를 호스트에게 전송
         host.sendMessage(Protocol.JOIN_SUCCESS + " " + this.title);
     }
+
+    /**
+     * 스냅샷에서 복원할 빈 게임방을 만듭니다. (restoreSnapshot에서만 사용)
+     */
+    private GameRoom(String title, String password, int maxPlayers, Server server) {
+        this.server = server;
+        this.title = title;
+        this.password = password;
+        this.maxPlayers = maxPlayers;
+    }
+
+    /**
+     * 스냅샷에 방 정보, 자리(호스트, 게스트, 관전자)와 현재 세션의 상태를 기록합니다. (ServerSnapshot 참고)
+     */
+    synchronized void writeSnapshot(DataOutputStream out) throws IOException {
+        out.writeUTF(title);
+        out.writeUTF(password);
+        out.writeInt(maxPlayers);
+        ServerSnapshot.writeSeat(out, host);
+        ServerSnapshot.writeSeat(out, guest);
+        synchronized (spectators) {
+            out.writeInt(spectators.size());
+            for (PlayerConnection spectator : spectators) ServerSnapshot.writeSeat(out, spectator);
+        }
+        currentSession.writeSnapshot(out);
+    }
+
+    /**
+     * writeSnapshot으로 기록한 방을 복원합니다. 자리에 있던 플레이어는 재접속을 기다리는 세션으로 복원됩니다.
+     * 복원하지 못한 자리가 있으면 퇴장할 때와 같은 순서(게스트 → 관전자)로 자리를 채웁니다.
+     * @return 복원된 방, 복원된 플레이어가 아무도 없으면 null
+     */
+    static GameRoom restoreSnapshot(DataInputStream in, Server server) throws IOException {
+        GameRoom room = new GameRoom(in.readUTF(), in.readUTF(), in.readInt(), server);
+        room.host = ServerSnapshot.readSeat(in, server, room);
+        room.guest = ServerSnapshot.readSeat(in, server, room);
+        boolean seatsIntact = room.host != null && room.guest != null; // 진행 중이던 게임은 두 플레이어가 모두 있어야 복원
+        int spectatorCount = in.readInt();
+        for (int i = 0; i < spectatorCount; i++) {
+            PlayerConnection spectator = ServerSnapshot.readSeat(in, server, room);
+            if (spectator != null) room.spectators.add(spectator);
+        }
+        if (room.host == null) {
+            room.host = room.guest;
+            room.guest = null;
+        }
+        if (room.host == null && !room.spectators.isEmpty()) room.host = room.spectators.remove(0);
+        if (room.guest == null && !room.spectators.isEmpty()) room.guest = room.spectators.remove(0);
+        room.currentSession = new GameSession(room, room.host, room.guest);
+        room.currentSession.readSnapshot(in, seatsIntact);
+        return room.host == null ? null : room;
+    }
+    public Server getServer() {
+        return server;
+    }
+
     public boolean isPrivateRoom() {
         return isPrivate;
     }
@@ -45,32 +107,95 @@ public class GameRoom {
         return password;
     }
 
+    /**
+     * 수 기록(MoveLog)에만 있는 게임의 방을 다시 만듭니다. (스냅샷 이후에 만들어진 방, 관전자는 복원하지 않음)
+     * @return 복원된 방, 복원된 플레이어가 아무도 없으면 null
+     */
+    static GameRoom restoreFromLog(Server server, MoveLog.LoggedGame game) {
+        GameRoom room = new GameRoom(game.title, game.password, game.maxPlayers, server);
+        room.host = server.restoreSession(game.hostNickname, game.hostToken, room);
+        room.guest = server.restoreSession(game.guestNickname, game.guestToken, room);
+        if (room.host == null) {
+            room.host = room.guest;
+            room.guest = null;
+        }
+        room.currentSession = new GameSession(room, room.host, room.guest);
+        return room.host == null ? null : room;
+    }
+
+    /**
+     * 수 기록의 내용을 현재 세션에 적용합니다. (서버 시작 시 MoveLog.recover에서 호출)
+     * @return 적용했으면 true
+     */
+    synchronized boolean recoverLoggedGame(MoveLog.LoggedGame game) {
+        return currentSession.recoverLoggedGame(game);
+    }
+
+    /**
+     * 현재 세션에서 진행 중인 게임의 수 기록 ID를 반환합니다. 기록 중인 게임이 없으면 0입니다.
+     */
+    synchronized long getLoggedGameId() {
+        return currentSession.getLoggedGameId();
+    }
+
     /**
      * 플레이어로부터 받은 게임 관련 명령을 현재 게임 세션으로 전달합니다.
      * @param player 명령을 보낸 플레이어
      * @param message 플레이어가 보낸 전체 메시지
      */
-    public synchronized void handlePlayerCommand(ClientHandler player, String message) {
-        if (currentSession != null) {
-            currentSession.processCommand(player, message);
+    public void handlePlayerCommand(PlayerConnection player, String message) {
+        GameSession session;
+        long awaiting;
+        synchronized (this) {
+            session = currentSession;
+            if (session == null) return;
+            awaiting = session.processCommand(player, message);
+        }
+        // 둔 수의 fsync를 기다리는 동안에는 방 잠금을 놓아, 이 방을 보는 채팅, 클러스터 동기화, 스냅샷 스레드가 멈추지 않도록 함
+        while (awaiting > 0) {
+            boolean durable = server.getMoveLog().awaitDurable(awaiting);
+            synchronized (this) {
+                awaiting = currentSession == session ? session.completeLoggedMove(durable) : 0;
+            }
+        }
+    }
+
+    /**
+     * 게임 시계의 시간이 다 되었을 때 시간 초과 처리용 스레드에서 호출됩니다. (타이밍 휠 스레드가 아님)
+     * 다른 명령과 같은 순서(방 → 세션)로 잠그도록 방을 거쳐 세션에 전달합니다.
+     * @param session 시계가 속한 세션 (이미 끝나 교체된 세션이면 무시)
+     * @param flagged 시간이 다 된 플레이어
+     */
+    public synchronized void handleFlagFall(GameSession session, Piece.Player flagged) {
+        if (currentSession == session) {
+            session.onFlagFall(flagged);
         }
     }
 
+    /**
+     * 서버가 종료될 때 진행 중인 게임의 시계를 멈춥니다. 시계는 모든 서버가 함께 쓰는 타이밍 휠에 있으므로,
+     * 멈추지 않으면 종료한 서버의 방이 시간 초과로 끝나고 그때까지 메모리에 남습니다.
+     */
+    synchronized void stopClock() {
+        if (currentSession != null) currentSession.stopClock();
+    }
+
     /**
      * 새로운 플레이어를 방에 추가합니다.
      * @param player 입장하려는 플레이어
      * @param password 플레이어가 입력한 비밀번호
+     * @return 입장했으면 true, 방이 꽉 찼거나 비밀번호가 틀려 거절했으면 false
      */
-    public synchronized void addPlayer(ClientHandler player, String password) {
+    public synchronized boolean addPlayer(PlayerConnection player, String password) {
         // 방 인원 제한 확인
         if (getPlayerCount() >= maxPlayers) {
             player.sendMessage(Protocol.ERROR + " 방이 꽉 찼습니다.");
-            return;
+            return false;
         }
         // 비밀방일 경우 비밀번호 확인
         if (!this.password.isEmpty() && !this.password.equals(password)) {
             player.sendMessage(Protocol.ERROR + " 비밀번호가 일치하지 않습니다.");
-            return;
+            return false;
         }
 
         player.setCurrentRoom(this);
@@ -90,7 +215,8 @@ public class GameRoom {
             }
         }
         // 로비에 있는 모든 유저에게 방 목록 정보 갱신
-        Server.broadcastRoomList();
+        server.broadcastRoomList();
+        return true;
     }
 
     /**
@@ -98,7 +224,7 @@ public class GameRoom {
      * 플레이어가 호스트나 게스트였을 경우, 게임 상태에 따라 추가적인 처리를 합니다.
      * @param player 퇴장하는 플레이어
      */
-    public synchronized void removePlayer(ClientHandler player) {
+    public synchronized void removePlayer(PlayerConnection player) {
         String leavingNickname = player.getNickname();
         boolean wasCorePlayer = (player == host || player == guest);
 
@@ -117,7 +243,7 @@ public class GameRoom {
 
         // 방에 아무도 없으면 방을 제거
         if (host == null && guest == null && spectators.isEmpty()) {
-            Server.removeGameRoom(this.title);
+            server.removeGameRoom(this.title);
             return;
         }
 
@@ -148,7 +274,18 @@ public class GameRoom {
         }
 
         broadcastSystem("SYSTEM: " + leavingNickname + "님이 퇴장했습니다.");
-        Server.broadcastRoomList();
+        server.broadcastRoomList();
+    }
+
+    /**
+     * 재접속한 플레이어에게 방 입장 상태와 현재 게임 상태를 다시 보냅니다.
+     * @param player 세션을 복구한 플레이어
+     */
+    public synchronized void resync(PlayerConnection player) {
+        player.sendMessage(Protocol.JOIN_SUCCESS + " " + this.title);
+        if (currentSession != null) {
+            currentSession.resync(player);
+        }
     }
 
     /**
@@ -156,13 +293,13 @@ public class GameRoom {
      * 승자를 새로운 호스트로, 패자를 게스트로 설정하여 다음 게임을 준비합니다.
      * @param winner 게임의 승자
      */
-    public void onSessionFinished(ClientHandler winner) {
-        ClientHandler loser = (winner == host) ? guest : host;
+    public void onSessionFinished(PlayerConnection winner) {
+        PlayerConnection loser = (winner == host) ? guest : host;
         this.host = winner;
         this.guest = loser;
         broadcastSystem("SYSTEM: " + winner.getNickname() + "님이 새로운 호스트입니다.");
         startNewSession();
-        Server.broadcastRoomList();
+        server.broadcastRoomList();
     }
 
     /**
@@ -181,15 +318,15 @@ public class GameRoom {
 
     // --- 브로드캐스트 헬퍼 메서드 ---
     public void broadcastSystem(String message) { getAllUsers().forEach(user -> user.sendMessage(message)); }
-    public void broadcastSystemExcept(ClientHandler except, String message) { getAllUsers().stream().filter(user -> user != except).forEach(user -> user.sendMessage(message)); }
+    public void broadcastSystemExcept(PlayerConnection except, String message) { getAllUsers().stream().filter(user -> user != except).forEach(user -> user.sendMessage(message)); }
     public void broadcastChat(String message) { getAllUsers().forEach(user -> user.sendMessage(message)); }
 
     /**
      * 방에 있는 모든 사용자(호스트, 게스트, 관전자)의 리스트를 반환합니다.
-     * @return 모든 사용자의 ClientHandler 리스트
+     * @return 모든 사용자의 연결 리스트
      */
-    public synchronized List<ClientHandler> getAllUsers() {
-        List<ClientHandler> allUsers = new ArrayList<>();
+    public synchronized List<PlayerConnection> getAllUsers() {
+        List<PlayerConnection> allUsers = new ArrayList<>();
         if (host != null) allUsers.add(host);
         if (guest != null) allUsers.add(guest);
         allUsers.addAll(spectators);
@@ -0,0 +1,330 @@
+/**
+ * 십이장기 포지션을 탐색하여 최선의 수와 평가 점수를 계산하는 탐색 엔진입니다.
+ * 반복 심화(iterative deepening)와 알파-베타 가지치기를 사용하는 네가맥스 탐색을 수행하며,
+ * 시간 제한이나 스레드 인터럽트가 발생하면 마지막으로 완료된 깊이의 결과를 반환합니다.
+ * 탐색 상태(노드 수, 중단 여부)를 가지므로 하나의 인스턴스는 한 스레드에서만 사용해야 합니다.
+ * 트랜스포지션 테이블이 주어지면 탐색 결과를 캐시하여 같은 포지션을 다시 탐색하지 않습니다.
+ */
+public class GameSearch {
+
+    public static final int WIN_SCORE = 100_000; // 승리 점수 (수가 짧을수록 높음)
+    private static final int INFINITY = 1_000_000;
+    private static final int NOT_TERMINAL = Integer.MIN_VALUE;
+    private static final int MATE_BOUND = WIN_SCORE - 1000; // 이 값 이상이면 승패가 결정된 점수로 간주
+
+    private final TranspositionTable table; // 공유 평가 캐시 (없으면 null)
+    private long nodes;
+    private long deadline;
+    private boolean aborted;
+
+    public GameSearch() {
+        this(null);
+    }
+
+    /**
+     * @param table 탐색 결과를 공유할 트랜스포지션 테이블 (캐시를 사용하지 않으려면 null)
+     */
+    public GameSearch(TranspositionTable table) {
+        this.table = table;
+    }
+
+    /**
+     * 탐색 결과를 담는 클래스입니다.
+     * 루트의 각 수에 대해 전체 탐색 창(window)으로 계산한 정확한 점수를 함께 보관합니다.
+     */
+    public static class Result {
+        private final int bestMove;
+        private final int score;
+        private final int depth;
+        private final long nodes;
+        private final int[] rootMoves;
+        private final int[] rootScores;
+
+        Result(int bestMove, int score, int depth, long nodes, int[] rootMoves, int[] rootScores) {
+            this.bestMove = bestMove;
+            this.score = score;
+            this.depth = depth;
+            this.nodes = nodes;
+            this.rootMoves = rootMoves;
+            this.rootScores = rootScores;
+        }
+
+        public int getBestMove() { return bestMove; }
+        public int getScore() { return score; }
+        public int getDepth() { return depth; }
+        public long getNodes() { return nodes; }
+
+        /**
+         * 루트에서 특정 수를 두었을 때의 점수를 반환합니다.
+         * @param move 확인할 Move 코드 (잡기 여부와 무관하게 출발/도착/놓기 정보로 비교)
+         * @return 점수, 탐색된 수가 아니면 NOT_TERMINAL(Integer.MIN_VALUE)
+         */
+        public int scoreOf(int move) {
+            for (int i = 0; i < rootMoves.length; i++) {
+                if (sameMove(rootMoves[i], move)) return rootScores[i];
+            }
+            return NOT_TERMINAL;
+        }
+    }
+
+    /**
+     * 주어진 포지션에서 side가 둘 최선의 수를 탐색합니다.
+     * @param board      현재 보드 (변경되지 않음)
+     * @param side       둘 차례인 플레이어
+     * @param maxDepth   최대 탐색 깊이
+     * @param timeBudgetMillis 탐색에 사용할 수 있는 최대 시간(ms)
+     * @return 마지막으로 완료된 깊이의 탐색 결과, 둘 수 있는 수가 없으면 bestMove가 Move.NONE
+     */
+    public Result search(GameBoard board, Piece.Player side, int maxDepth, long timeBudgetMillis) {
+        nodes = 0;
+        aborted = false;
+        deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+
+        MoveList moves = new MoveList(24);
+        generateMoves(board, side, moves);
+        int[] rootMoves = moves.toArray();
+        int[] rootScores = new int[rootMoves.length];
+
+        int terminal = terminalScore(board, side, 0);
+        if (terminal != NOT_TERMINAL || rootMoves.length == 0) {
+            int score = terminal != NOT_TERMINAL ? terminal : evaluate(board, side);
+            return new Result(Move.NONE, score, 0, 0, rootMoves, rootScores);
+        }
+
+        Result completed = null;
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            int[] scores = new int[rootMoves.length];
+            int bestIndex = -1;
+            for (int i = 0; i < rootMoves.length; i++) {
+                GameBoard next = apply(board, side, rootMoves[i]);
+                scores[i] = next == null ? -INFINITY : -negamax(next, opponent(side), depth - 1, -INFINITY, INFINITY, 1);
+                if (aborted) break;
+                if (bestIndex < 0 || scores[i] > scores[bestIndex]) bestIndex = i;
+            }
+            if (aborted) break; // 완료되지 않은 깊이의 결과는 버림
+
+            System.arraycopy(scores, 0, rootScores, 0, scores.length);
+            completed = new Result(rootMoves[bestIndex], scores[bestIndex], depth, nodes, rootMoves, rootScores.clone());
+            if (Math.abs(scores[bestIndex]) >= WIN_SCORE - maxDepth) break; // 승패가 확정되면 더 깊이 볼 필요 없음
+        }
+
+        if (completed == null) { // 깊이 1도 끝내지 못한 경우, 정적 평가로 대체
+            int bestIndex = 0;
+            for (int i = 0; i < rootMoves.length; i++) {
+                GameBoard next = apply(board, side, rootMoves[i]);
+                rootScores[i] = next == null ? -INFINITY : -evaluate(next, opponent(side));
+                if (rootScores[i] > rootScores[bestIndex]) bestIndex = i;
+            }
+            completed = new Result(rootMoves[bestIndex], rootScores[bestIndex], 0, nodes, rootMoves, rootScores);
+        }
+        return completed;
+    }
+
+    /**
+     * 알파-베타 가지치기를 사용하는 네가맥스 탐색입니다.
+     * @return side 입장에서의 점수
+     */
+    private int negamax(GameBoard board, Piece.Player side, int depth, int alpha, int beta, int ply) {
+        if ((++nodes & 1023) == 0) checkAbort();
+        if (aborted) return 0;
+
+        int terminal = terminalScore(board, side, ply);
+        if (terminal != NOT_TERMINAL) return terminal;
+        if (depth <= 0) return evaluate(board, side);
+
+        // 트랜스포지션 테이블 조회: 충분히 깊게 탐색된 결과가 있으면 재사용
+        int alphaOrig = alpha;
+        long hash = 0L;
+        int hashMove = Move.NONE;
+        if (table != null) {
+            hash = PositionHash.of(board, side);
+            long entry = table.probe(hash);
+            if (entry != 0) {
+                hashMove = TranspositionTable.move(entry);
+                if (TranspositionTable.depth(entry) >= depth) {
+                    int cached = fromTableScore(TranspositionTable.score(entry), ply);
+                    int flag = TranspositionTable.flag(entry);
+                    if (flag == TranspositionTable.EXACT) return cached;
+                    if (flag == TranspositionTable.LOWER) alpha = Math.max(alpha, cached);
+                    else beta = Math.min(beta, cached);
+                    if (alpha >= beta) return cached;
+                }
+            }
+        }
+
+        MoveList moves = new MoveList(24);
+        if (hashMove != Move.NONE) moves.add(hashMove); // 캐시된 최선 수를 가장 먼저 탐색
+        generateMoves(board, side, moves);
+        if (moves.size() == (hashMove != Move.NONE ? 1 : 0)) return evaluate(board, side);
+
+        int best = -INFINITY;
+        int bestMove = Move.NONE;
+        for (int i = 0; i < moves.size(); i++) {
+            int move = moves.get(i);
+            if (i > 0 && hashMove != Move.NONE && move == hashMove) continue; // 이미 탐색한 수
+            GameBoard next = apply(board, side, move);
+            if (next == null) continue;
+            int score = -negamax(next, opponent(side), depth - 1, -beta, -alpha, ply + 1);
+            if (aborted) return 0;
+            if (score > best) {
+                best = score;
+                bestMove = move;
+            }
+            if (score > alpha) alpha = score;
+            if (alpha >= beta) break;
+        }
+
+        if (table != null && bestMove != Move.NONE) {
+            int flag = best <= alphaOrig ? TranspositionTable.UPPER
+                     : best >= beta ? TranspositionTable.LOWER
+                     : TranspositionTable.EXACT;
+            table.store(hash, bestMove, toTableScore(best, ply), depth, flag);
+        }
+        return best;
+    }
+
+    /**
+     * 승패 점수는 루트로부터의 거리(ply)를 포함하므로, 캐시에는 해당 포지션 기준의 거리로 바꾸어 저장합니다.
+     */
+    private static int toTableScore(int score, int ply) {
+        if (score >= MATE_BOUND) return score + ply;
+        if (score <= -MATE_BOUND) return score - ply;
+        return score;
+    }
+
+    private static int fromTableScore(int score, int ply) {
+        if (score >= MATE_BOUND) return score - ply;
+        if (score <= -MATE_BOUND) return score + ply;
+        return score;
+    }
+
+    /**
+     * 시간 제한을 넘었거나 스레드가 인터럽트(작업 취소)되었으면 탐색을 중단시킵니다.
+     */
+    private void checkAbort() {
+        if (System.nanoTime() > deadline || Thread.currentThread().isInterrupted()) {
+            aborted = true;
+        }
+    }
+
+    /**
+     * side의 차례가 시작될 때 승패가 이미 결정되었는지 확인합니다.
+     * 왕이 잡혔으면 패배, 상대 진영에 들어간 왕이 한 턴을 버텼으면 승리입니다.
+     * @return 승패 점수, 결정되지 않았으면 NOT_TERMINAL
+     */
+    private static int terminalScore(GameBoard board, Piece.Player side, int ply) {
+        Piece myKing = side == Piece.Player.P1 ? Piece.P1_KING : Piece.P2_KING;
+        int[] kingPos = board.findPiece(myKing);
+        if (kingPos == null) return -(WIN_SCORE - ply);
+        int opponentHomeRow = side == Piece.Player.P1 ? 0 : 3;
+        if (kingPos[0] == opponentHomeRow) return WIN_SCORE - ply;
+        return NOT_TERMINAL;
+    }
+
+    /**
+     * 보드를 side 입장에서 정적으로 평가합니다.
+     * 보드 위 기물과 잡은 기물의 가치, 그리고 왕의 전진 정도를 반영합니다.
+     */
+    public static int evaluate(GameBoard board, Piece.Player side) {
+        int score = 0;
+        for (int r = 0; r < 4; r++) {
+            for (int c = 0; c < 3; c++) {
+                Piece piece = board.getPieceAt(r, c);
+                if (piece == null) continue;
+                int value = pieceValue(piece);
+                if (piece == Piece.P1_KING) value += (3 - r) * 30;
+                else if (piece == Piece.P2_KING) value += r * 30;
+                score += piece.getOwner() == side ? value : -value;
+            }
+        }
+        int p1Hand = 0, p2Hand = 0;
+        for (Piece piece : board.getP1Captured()) p1Hand += pieceValue(piece) * 9 / 10;
+        for (Piece piece : board.getP2Captured()) p2Hand += pieceValue(piece) * 9 / 10;
+        score += side == Piece.Player.P1 ? p1Hand - p2Hand : p2Hand - p1Hand;
+        return score;
+    }
+
+    private static int pieceValue(Piece piece) {
+        return switch (piece) {
+            case P1_KING, P2_KING -> 0; // 왕의 가치는 승패 판정으로 처리
+            case P1_GENERAL, P2_GENERAL -> 500;
+            case P1_ELEPHANT, P2_ELEPHANT -> 300;
+            case P1_PRINCE, P2_PRINCE -> 400;
+            case P1_PAWN, P2_PAWN -> 100;
+        };
+    }
+
+    /**
+     * side가 둘 수 있는 모든 수(이동 및 포로 놓기)를 생성합니다.
+     * 가지치기 효율을 위해 잡는 수를 먼저 추가합니다.
+     * @param board 현재 보드
+     * @param side  둘 차례인 플레이어
+     * @param out   생성된 Move 코드를 담을 목록
+     */
+    public static void generateMoves(GameBoard board, Piece.Player side, MoveList out) {
+        MoveList quiet = new MoveList(16);
+        for (int r = 0; r < 4; r++) {
+            for (int c = 0; c < 3; c++) {
+                Piece piece = board.getPieceAt(r, c);
+                if (piece == null || piece.getOwner() != side) continue;
+                for (int[] to : board.getValidMoves(r, c)) {
+                    boolean capture = board.getPieceAt(to[0], to[1]) != null;
+                    int move = Move.of(piece, r, c, to[0], to[1], capture);
+                    if (capture) out.add(move); else quiet.add(move);
+                }
+            }
+        }
+        for (int i = 0; i < quiet.size(); i++) out.add(quiet.get(i));
+
+        // 포로 놓기: 같은 종류의 포로는 한 번만 고려
+        boolean[] seen = new boolean[Piece.values().length];
+        for (Piece piece : side == Piece.Player.P1 ? board.getP1Captured() : board.getP2Captured()) {
+            if (seen[piece.ordinal()]) continue;
+            seen[piece.ordinal()] = true;
+            for (int r = 0; r < 4; r++) {
+                for (int c = 0; c < 3; c++) {
+                    if (board.getPieceAt(r, c) == null && canDrop(piece, side, r)) {
+                        out.add(Move.drop(piece, r, c));
+                    }
+                }
+            }
+        }
+    }
+
+    /** '자'는 상대 진영 첫 줄에 놓을 수 없습니다. (GameBoard.placeCapturedPiece와 동일한 규칙) */
+    private static boolean canDrop(Piece piece, Piece.Player side, int row) {
+        if (piece != Piece.P1_PAWN && piece != Piece.P2_PAWN) return true;
+        return side == Piece.Player.P1 ? row != 0 : row != 3;
+    }
+
+    /**
+     * 보드의 복사본에 수를 적용합니다.
+     * @return 수가 적용된 새 보드, 적용할 수 없는 수이면 null
+     */
+    public static GameBoard apply(GameBoard board, Piece.Player side, int move) {
+        if (!Move.isDrop(move)) {
+            Piece moving = board.getPieceAt(Move.fromRow(move), Move.fromCol(move));
+            if (moving == null || moving.getOwner() != side) return null; // 해시 충돌 등으로 들어온 잘못된 수 방지
+        }
+        GameBoard next = board.clone();
+        boolean ok = Move.isDrop(move)
+                ? next.placeCapturedPiece(side, Move.pieceFromChar(Move.pieceChar(Move.piece(move)), side), Move.toRow(move), Move.toCol(move))
+                : next.movePiece(Move.fromRow(move), Move.fromCol(move), Move.toRow(move), Move.toCol(move));
+        return ok ? next : null;
+    }
+
+    /** 잡기 표시(capture flag)를 무시하고 같은 수인지 비교합니다. */
+    public static boolean sameMove(int a, int b) {
+        if (Move.isDrop(a) != Move.isDrop(b)) return false;
+        if (Move.isDrop(a)) {
+            return Move.pieceChar(Move.piece(a)) == Move.pieceChar(Move.piece(b))
+                    && Move.toRow(a) == Move.toRow(b) && Move.toCol(a) == Move.toCol(b);
+        }
+        return Move.fromRow(a) == Move.fromRow(b) && Move.fromCol(a) == Move.fromCol(b)
+                && Move.toRow(a) == Move.toRow(b) && Move.toCol(a) == Move.toCol(b);
+    }
+
+    public static Piece.Player opponent(Piece.Player side) {
+        return side == Piece.Player.P1 ? Piece.Player.P2 : Piece.Player.P1;
+    }
+}
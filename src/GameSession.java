@@ -1,29 +1,52 @@
-import java.io.File;
-import java.io.FileWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.List;
 import java.util.Random;
-import java.util.stream.Collectors;
 
 /**
  * 한 판의 게임 진행을 담당하는 클래스입니다.
  * 플레이어의 준비 상태 관리, 게임 시작, 플레이어의 게임 관련 명령어 처리,
  * 게임 상태 브로드캐스팅, 게임 종료 및 리플레이 저장 등의 역할을 수행합니다.
  * 실제 게임 규칙의 적용은 GameLogic 클래스에 위임합니다.
+ *
+ * 플레이어는 상대의 턴에 PREMOVE로 다음 수를 미리 예약할 수 있습니다.
+ * 상대의 수가 확정되면 예약된 수를 앞에서부터 확인하여
+ * 그 시점에 둘 수 있는 첫 번째 수를 바로 실행하고, 그 앞의 둘 수 없게 된 수는 버립니다.
+ *
+ * 수 기록(MoveLog)의 sync가 켜져 있으면 둔 수는 디스크에 기록된 뒤에 확정됩니다. (MOVE_ACK, 상태 전송, 예약 실행)
+ * 기록을 기다리는 동안에는 방 잠금을 놓아야 하므로, 수를 적용하고 기록을 추가한 뒤 나머지 처리를 남겨 두고
+ * processCommand가 기다릴 기록 번호를 반환합니다. GameRoom이 잠금 밖에서 기다린 뒤 completeLoggedMove를 호출합니다.
+ * 그동안 들어온 수와 무르기 수락은 받지 않습니다.
+ *
+ * 시간 제한(기본 시간 + 수마다 추가 시간, 서버 설정의 ServerConfig.Game)은 GameClock이 관리하며,
+ * 시간이 다 된 플레이어는 naturalEndGame으로 패배 처리됩니다. 기본 시간이 0 이하이면 시간 제한이 없습니다.
  */
 public class GameSession {
 
     private final GameRoom gameRoom; // 이 세션이 속한 게임방
     private final GameLogic gameLogic; // 게임의 순수 로직 담당
-    private final ClientHandler host;
-    private final ClientHandler guest;
-    private ClientHandler player1; // 게임 내 P1 역할을 맡은 클라이언트
-    private ClientHandler player2; // 게임 내 P2 역할을 맡은 클라이언트
+    private final int maxPremoves;            // 플레이어당 예약할 수 있는 수
+    private final long clockBaseMillis;       // 플레이어당 기본 시간, 0 이하이면 시간 제한 없음
+    private final long clockIncrementMillis;  // 수마다 추가되는 시간
+    private final PlayerConnection host;
+    private final PlayerConnection guest;
+    private PlayerConnection player1; // 게임 내 P1 역할을 맡은 클라이언트
+    private PlayerConnection player2; // 게임 내 P2 역할을 맡은 클라이언트
 
     private boolean hostReady = false;
     private boolean guestReady = false;
-    private ClientHandler undoRequester = null; // 수 무르기를 요청한 플레이어
+    private PlayerConnection undoRequester = null; // 수 무르기를 요청한 플레이어
     private Piece.Player kingInZonePlayer = null; // 상대 진영에 왕을 진입시킨 플레이어
+    private boolean finished = false; // 승패가 결정되었거나 중단된 세션인지 여부
+    private GameClock clock = null;    // 게임이 시작되면 생성, 시간 제한이 없으면 null
+    private long gameId = 0;           // 수 기록(MoveLog)에 쓰는 게임 ID, 기록하지 않는 게임이면 0
+    private final ArrayDeque<int[]> p1Premoves = new ArrayDeque<>(); // 예약된 수 {fromR, fromC, toR, toC}
+    private final ArrayDeque<int[]> p2Premoves = new ArrayDeque<>();
+    private long awaitingLogSeq = 0;    // 디스크 기록을 기다리는 수의 기록 번호, 없으면 0
+    private Runnable afterLogged;       // 그 수가 기록되면 할 나머지 처리
+    private Runnable afterLogFailed;    // 그 수를 기록하지 못했으면 할 처리
 
     /**
      * GameSession 생성자입니다.
@@ -31,19 +54,46 @@ public class GameSession {
      * @param host 방의 호스트
      * @param guest 방의 게스트
      */
-    public GameSession(GameRoom gameRoom, ClientHandler host, ClientHandler guest) {
+    public GameSession(GameRoom gameRoom, PlayerConnection host, PlayerConnection guest) {
         this.gameRoom = gameRoom;
         this.host = host;
         this.guest = guest;
         this.gameLogic = new GameLogic();
+        ServerConfig.Game settings = gameRoom.getServer().getConfig().game;
+        this.maxPremoves = settings.maxPremoves;
+        this.clockBaseMillis = settings.clockBaseMillis;
+        this.clockIncrementMillis = settings.clockIncrementMillis;
     }
 
     /**
      * 플레이어로부터 받은 명령어를 파싱하고 적절한 핸들러 메서드를 호출합니다.
      * @param player 명령어를 보낸 플레이어
      * @param message 플레이어가 보낸 전체 메시지
+     * @return 이 명령으로 둔 수가 디스크 기록을 기다리면 그 기록 번호, 아니면 0
+     *         (호출한 쪽은 잠금을 놓고 MoveLog.awaitDurable로 기다린 뒤 completeLoggedMove를 호출해야 함)
      */
-    public synchronized void processCommand(ClientHandler player, String message) {
+    public synchronized long processCommand(PlayerConnection player, String message) {
+        boolean wasAwaiting = awaitingLogSeq != 0;
+        dispatchCommand(player, message);
+        return wasAwaiting ? 0 : awaitingLogSeq;
+    }
+
+    /**
+     * 디스크 기록을 기다리던 수를 확정하거나 되돌립니다. (GameRoom이 방 잠금을 다시 잡고 호출)
+     * @param durable 기록되었으면 true, 수 기록이 실패 상태가 되었으면 false
+     * @return 이어서 실행한 예약 수가 다시 기록을 기다리면 그 기록 번호, 아니면 0
+     */
+    public synchronized long completeLoggedMove(boolean durable) {
+        Runnable next = durable ? afterLogged : afterLogFailed;
+        awaitingLogSeq = 0;
+        afterLogged = null;
+        afterLogFailed = null;
+        if (next == null || finished) return 0; // 기다리는 사이 게임이 중단됨
+        next.run();
+        return awaitingLogSeq;
+    }
+
+    private void dispatchCommand(PlayerConnection player, String message) {
         String[] parts = message.split(" ");
         String command = parts[0];
 
@@ -67,14 +117,30 @@ public class GameSession {
             return;
         }
 
-        // 3. 턴에 종속적인 명령어 처리 전, 현재 턴의 플레이어가 맞는지 검사합니다.
+        // 3. 예약 수는 상대의 턴에 보내는 명령어이므로 턴 검사 전에 처리합니다.
+        switch (command) {
+            case "PREMOVE":
+                handlePremoveCommand(player, parts);
+                return;
+            case "PREMOVE_CLEAR":
+                clearPremoves(player);
+                return;
+        }
+
+        // 4. 턴에 종속적인 명령어 처리 전, 현재 턴의 플레이어가 맞는지 검사합니다.
         Piece.Player playerRole = getPlayerRole(player);
-        if (playerRole == null || playerRole != gameLogic.getCurrentPlayer()) {
-            player.sendMessage("ERROR: 지금은 당신의 턴이 아닙니다.");
+        // 상대의 수가 아직 디스크 기록을 기다리는 중이면 차례가 넘어오지 않은 것으로 봄
+        if (playerRole == null || playerRole != gameLogic.getCurrentPlayer() || awaitingLogSeq != 0) {
+            rejectMove(player, moveSeq(command, parts), "지금은 당신의 턴이 아닙니다.");
+            return;
+        }
+        // 타이밍 휠의 tick보다 먼저 도착한 시간 초과 이후의 수는 받지 않음
+        if (clock != null && clock.isFlagged(playerRole)) {
+            onFlagFall(playerRole);
             return;
         }
 
-        // 4. 현재 턴의 플레이어가 보낸 게임 관련 명령어를 처리합니다.
+        // 5. 현재 턴의 플레이어가 보낸 게임 관련 명령어를 처리합니다.
         switch (command) {
             case "MOVE":
                 handleMoveCommand(player, parts);
@@ -93,7 +159,7 @@ public class GameSession {
      * 양쪽 모두 준비가 되면 게임을 시작합니다.
      * @param player 준비/준비해제한 플레이어
      */
-    private void handleReadyCommand(ClientHandler player) {
+    private void handleReadyCommand(PlayerConnection player) {
         if (player == host) hostReady = !hostReady;
         else if (player == guest) guestReady = !guestReady;
 
@@ -117,9 +183,14 @@ public class GameSession {
         player2.sendMessage("ASSIGN_ROLE P2");
 
         gameLogic.startGame();
+        logStart();
+        if (clockBaseMillis > 0) {
+            clock = new GameClock(clockBaseMillis, clockIncrementMillis, flagged -> gameRoom.handleFlagFall(this, flagged));
+            clock.start(gameLogic.getCurrentPlayer());
+        }
         gameRoom.broadcastSystem("GAME_START");
         broadcastState(); // 초기 게임 상태 전송
-        Server.broadcastRoomList(); // 로비에 '게임중' 상태 업데이트
+        gameRoom.getServer().broadcastRoomList(); // 로비에 '게임중' 상태 업데이트
     }
 
     /**
@@ -127,7 +198,8 @@ public class GameSession {
      * @param player 명령을 보낸 플레이어
      * @param parts 명령어와 파라미터 배열
      */
-    private void handleMoveCommand(ClientHandler player, String[] parts) {
+    private void handleMoveCommand(PlayerConnection player, String[] parts) {
+        String seq = moveSeq(Protocol.MOVE, parts);
         try {
             int fromR = Integer.parseInt(parts[1]);
             int fromC = Integer.parseInt(parts[2]);
@@ -135,18 +207,16 @@ public class GameSession {
             int toC = Integer.parseInt(parts[4]);
 
             if (gameLogic.handleMove(getPlayerRole(player), fromR, fromC, toR, toC)) {
-                if (gameLogic.getGameState() == GameLogic.GameState.GAME_OVER) {
-                    // 왕을 잡아 게임이 끝난 경우
-                    naturalEndGame(player, player.getNickname() + "님이 상대 왕을 잡아 승리했습니다!");
-                } else {
-                    checkKingInOpponentZone(); // 왕의 입궁(승리 조건) 확인
-                    broadcastState();
-                }
+                logMove(() -> { // 디스크에 기록된 뒤에 확정
+                    ackMove(player, seq); // 갱신된 상태보다 먼저 보내 클라이언트가 미리 그린 수를 확정하도록 함
+                    finishMove(player);
+                    runPremoves();
+                }, () -> retractUnloggedMove(player, seq));
             } else {
-                player.sendMessage("ERROR: 유효하지 않은 움직임입니다.");
+                rejectMove(player, seq, "유효하지 않은 움직임입니다.");
             }
         } catch (Exception e) {
-            player.sendMessage("ERROR: 잘못된 이동 명령입니다.");
+            rejectMove(player, seq, "잘못된 이동 명령입니다.");
         }
     }
 
@@ -156,7 +226,8 @@ public class GameSession {
      * @param playerRole 명령을 보낸 플레이어의 역할 (P1/P2)
      * @param parts 명령어와 파라미터 배열
      */
-    private void handlePlaceCommand(ClientHandler player, Piece.Player playerRole, String[] parts) {
+    private void handlePlaceCommand(PlayerConnection player, Piece.Player playerRole, String[] parts) {
+        String seq = moveSeq(Protocol.PLACE, parts);
         try {
             Piece pieceToPlace = Piece.valueOf(parts[1]);
             int placeR = Integer.parseInt(parts[2]);
@@ -166,15 +237,183 @@ public class GameSession {
             List<Piece> capturedList = (playerRole == Piece.Player.P1) ? gameLogic.getBoard().getP1Captured() : gameLogic.getBoard().getP2Captured();
             if (capturedList.contains(pieceToPlace)) {
                 if (gameLogic.handlePlace(playerRole, pieceToPlace, placeR, placeC)) {
-                    broadcastState();
+                    logMove(() -> {
+                        ackMove(player, seq);
+                        pressClock(playerRole);
+                        broadcastState();
+                        runPremoves();
+                    }, () -> retractUnloggedMove(player, seq));
                 } else {
-                    player.sendMessage("ERROR: 해당 위치에 말을 놓을 수 없습니다.");
+                    rejectMove(player, seq, "해당 위치에 말을 놓을 수 없습니다.");
                 }
             } else {
-                player.sendMessage("ERROR: 가지고 있지 않은 말입니다.");
+                rejectMove(player, seq, "가지고 있지 않은 말입니다.");
+            }
+        } catch (Exception e) {
+            rejectMove(player, seq, "잘못된 명령입니다.");
+        }
+    }
+
+    /**
+     * 보드 위의 기물 이동이 적용된 뒤 승패를 확인하고 상태를 전송합니다.
+     * @param player 수를 둔 플레이어
+     */
+    private void finishMove(PlayerConnection player) {
+        if (gameLogic.getGameState() == GameLogic.GameState.GAME_OVER) {
+            // 왕을 잡아 게임이 끝난 경우
+            naturalEndGame(player, player.getNickname() + "님이 상대 왕을 잡아 승리했습니다!");
+        } else {
+            pressClock(getPlayerRole(player));
+            checkKingInOpponentZone(); // 왕의 입궁(승리 조건) 확인
+            broadcastState();
+        }
+    }
+
+    private void pressClock(Piece.Player mover) {
+        if (clock != null) clock.press(mover);
+    }
+
+    /**
+     * 플레이어의 시간이 다 되었을 때 호출됩니다. (GameRoom.handleFlagFall을 거쳐 방 잠금을 잡은 상태로 호출됨)
+     * 그 사이 수를 두어 시간이 남아 있으면 무시합니다.
+     * 수가 디스크 기록을 기다리는 중이어도 무시합니다. (시간 안에 둔 수이고, 확정되면 시계가 눌림)
+     * @param flagged 시간이 다 된 플레이어
+     */
+    public synchronized void onFlagFall(Piece.Player flagged) {
+        if (finished || clock == null || gameLogic.getGameState() != GameLogic.GameState.IN_PROGRESS) return;
+        if (awaitingLogSeq != 0) return;
+        if (!clock.isFlagged(flagged)) return;
+        PlayerConnection loser = getClient(flagged);
+        PlayerConnection winner = (loser == player1) ? player2 : player1;
+        naturalEndGame(winner, loser.getNickname() + "님의 시간이 모두 소진되어 " + winner.getNickname() + "님이 승리했습니다!");
+    }
+
+    /**
+     * 상대의 턴에 다음 수를 예약합니다. 보드가 바뀔 수 있으므로 이동 가능 여부는 실행할 때 확인합니다.
+     * @param player 예약한 플레이어
+     * @param parts  PREMOVE 행 열 행 열
+     */
+    private void handlePremoveCommand(PlayerConnection player, String[] parts) {
+        Piece.Player role = getPlayerRole(player);
+        if (role == null) return;
+        if (role == gameLogic.getCurrentPlayer()) {
+            player.sendMessage("ERROR: 지금은 당신의 턴입니다. 수를 바로 두세요.");
+            return;
+        }
+        ArrayDeque<int[]> queue = premovesOf(role);
+        if (queue.size() >= maxPremoves) {
+            player.sendMessage("ERROR: 수는 최대 " + maxPremoves + "개까지 예약할 수 있습니다.");
+            return;
+        }
+        try {
+            int[] move = {Integer.parseInt(parts[1]), Integer.parseInt(parts[2]),
+                          Integer.parseInt(parts[3]), Integer.parseInt(parts[4])};
+            GameBoard board = gameLogic.getBoard();
+            if (!board.isValid(move[0], move[1]) || !board.isValid(move[2], move[3])) {
+                player.sendMessage("ERROR: 잘못된 좌표입니다.");
+                return;
             }
+            queue.addLast(move);
+            player.sendMessage(Protocol.PREMOVE_STATUS + " " + queue.size());
         } catch (Exception e) {
-            player.sendMessage("ERROR: 잘못된 명령입니다.");
+            player.sendMessage("ERROR: 잘못된 예약 명령입니다.");
+        }
+    }
+
+    /**
+     * 플레이어가 예약한 수를 모두 취소합니다.
+     */
+    private void clearPremoves(PlayerConnection player) {
+        Piece.Player role = getPlayerRole(player);
+        if (role == null) return;
+        premovesOf(role).clear();
+        player.sendMessage(Protocol.PREMOVE_STATUS + " 0");
+    }
+
+    /**
+     * 차례가 된 플레이어의 예약된 수를 실행합니다.
+     * 앞에서부터 확인하여 지금 둘 수 있는 첫 번째 수를 두고, 그 앞의 둘 수 없게 된 수는 버립니다.
+     * 실행한 수가 확정되어 상대의 차례가 되면 상대의 예약도 이어서 확인합니다.
+     */
+    private void runPremoves() {
+        if (finished || gameLogic.getGameState() != GameLogic.GameState.IN_PROGRESS) return;
+        Piece.Player role = gameLogic.getCurrentPlayer();
+        ArrayDeque<int[]> queue = premovesOf(role);
+        if (queue.isEmpty()) return;
+        PlayerConnection mover = getClient(role);
+
+        boolean moved = false;
+        int discarded = 0;
+        while (!moved && !queue.isEmpty()) {
+            int[] move = queue.pollFirst();
+            if (gameLogic.handleMove(role, move[0], move[1], move[2], move[3])) moved = true;
+            else discarded++;
+        }
+        int cancelled = discarded;
+        Runnable report = () -> {
+            if (cancelled > 0) {
+                mover.sendMessage("SYSTEM: 예약한 수 " + cancelled + "개를 둘 수 없게 되어 취소했습니다.");
+            }
+            mover.sendMessage(Protocol.PREMOVE_STATUS + " " + queue.size());
+        };
+        if (!moved) {
+            report.run();
+            return;
+        }
+        logMove(() -> {
+            report.run();
+            finishMove(mover);
+            runPremoves();
+        }, () -> {
+            gameLogic.retractLastMove();
+            queue.clear();
+            mover.sendMessage("ERROR: 서버에 수를 기록할 수 없어 예약한 수를 두지 못했습니다.");
+            mover.sendMessage(Protocol.PREMOVE_STATUS + " 0");
+        });
+    }
+
+    private ArrayDeque<int[]> premovesOf(Piece.Player role) {
+        return role == Piece.Player.P1 ? p1Premoves : p2Premoves;
+    }
+
+    /**
+     * 보드가 되돌려진 경우 등 예약의 전제가 바뀌었을 때 양쪽의 예약을 모두 취소합니다.
+     */
+    private void discardAllPremoves() {
+        if (!p1Premoves.isEmpty() && player1 != null) player1.sendMessage(Protocol.PREMOVE_STATUS + " 0");
+        if (!p2Premoves.isEmpty() && player2 != null) player2.sendMessage(Protocol.PREMOVE_STATUS + " 0");
+        p1Premoves.clear();
+        p2Premoves.clear();
+    }
+
+    /**
+     * MOVE/PLACE 명령 끝에 붙은 클라이언트 순번을 반환합니다. 순번 없이 보낸 명령이면 null을 반환합니다.
+     * (MOVE 행 열 행 열 [순번], PLACE 기물 행 열 [순번])
+     */
+    private static String moveSeq(String command, String[] parts) {
+        int seqIndex = switch (command) {
+            case Protocol.MOVE -> 5;
+            case Protocol.PLACE -> 4;
+            default -> -1;
+        };
+        return seqIndex > 0 && parts.length > seqIndex ? parts[seqIndex] : null;
+    }
+
+    /**
+     * 순번이 붙은 수가 받아들여졌음을 보낸 플레이어에게 알립니다.
+     */
+    private void ackMove(PlayerConnection player, String seq) {
+        if (seq != null) player.sendMessage(Protocol.MOVE_ACK + " " + seq);
+    }
+
+    /**
+     * 수가 거부되었음을 알립니다. 순번이 있으면 클라이언트가 미리 그린 수를 되돌릴 수 있도록 MOVE_REJECTED로 보냅니다.
+     */
+    private void rejectMove(PlayerConnection player, String seq, String reason) {
+        if (seq != null) {
+            player.sendMessage(Protocol.MOVE_REJECTED + " " + seq + " " + reason);
+        } else {
+            player.sendMessage("ERROR: " + reason);
         }
     }
 
@@ -182,7 +421,7 @@ public class GameSession {
      * 수 무르기 요청을 처리합니다.
      * @param player 요청한 플레이어
      */
-    private void handleUndoRequest(ClientHandler player) {
+    private void handleUndoRequest(PlayerConnection player) {
         if (gameLogic.getGameState() != GameLogic.GameState.IN_PROGRESS) return;
 
         // 자신의 턴에는 수 무르기 요청 불가
@@ -190,7 +429,7 @@ public class GameSession {
             player.sendMessage("ERROR: 상대방의 턴에만 수 무르기를 요청할 수 있습니다.");
             return;
         }
-        ClientHandler opponent = (player == player1) ? player2 : player1;
+        PlayerConnection opponent = (player == player1) ? player2 : player1;
         if (opponent != null) {
             opponent.sendMessage("UNDO_REQUESTED " + player.getNickname());
             undoRequester = player;
@@ -202,7 +441,7 @@ public class GameSession {
      * @param player 응답한 플레이어
      * @param parts 명령어와 파라미터 배열
      */
-    private void handleUndoResponse(ClientHandler player, String[] parts) {
+    private void handleUndoResponse(PlayerConnection player, String[] parts) {
         if (gameLogic.getGameState() != GameLogic.GameState.IN_PROGRESS) return;
         
         // 현재 턴인 플레이어만 응답 가능
@@ -211,10 +450,19 @@ public class GameSession {
             return;
         }
 
+        // 방금 둔 수가 아직 디스크 기록을 기다리는 중이면 되돌릴 수 없음
+        if (undoRequester != null && awaitingLogSeq != 0) {
+            player.sendMessage("ERROR: 수를 기록하는 중입니다. 잠시 후 다시 응답해 주세요.");
+            return;
+        }
         if (undoRequester != null) {
             boolean accepted = Boolean.parseBoolean(parts[1]);
             if (accepted) {
+                int before = gameLogic.getMoves().size();
                 gameLogic.undoLastMove();
+                if (gameLogic.getMoves().size() < before) logUndo();
+                discardAllPremoves(); // 예약은 무르기 전의 보드를 보고 한 것이므로 취소
+                if (clock != null) clock.switchTo(gameLogic.getCurrentPlayer()); // 되돌아간 차례의 시계로 (추가 시간 없음)
                 gameRoom.broadcastSystem("SYSTEM: 수 무르기가 수락되었습니다.");
                 broadcastState();
             } else {
@@ -229,15 +477,12 @@ public class GameSession {
      * @param player 요청한 플레이어
      * @param parts 명령어와 파라미터 배열
      */
-    private void handleGetValidMoves(ClientHandler player, String[] parts) {
+    private void handleGetValidMoves(PlayerConnection player, String[] parts) {
         try {
             int r = Integer.parseInt(parts[1]);
             int c = Integer.parseInt(parts[2]);
             List<int[]> moves = gameLogic.getBoard().getValidMoves(r, c);
-            String movesStr = moves.stream()
-                                   .map(move -> move[0] + "," + move[1])
-                                   .collect(Collectors.joining(";"));
-            player.sendMessage("VALID_MOVES " + movesStr);
+            player.sendMessage("VALID_MOVES " + GameStateCodec.encodeSquares(moves));
         } catch (Exception e) {
             player.sendMessage("ERROR: 잘못된 좌표입니다.");
         }
@@ -252,7 +497,13 @@ public class GameSession {
             naturalEndGame(getClient(kingInZonePlayer), kingInZonePlayer.name() + "님이 왕을 상대 진영에서 한 턴 생존시켜 승리했습니다!");
             return;
         }
+        updateKingInZone();
+    }
 
+    /**
+     * 현재 보드에서 왕이 상대 진영에 들어가 있는 플레이어를 기록합니다.
+     */
+    private void updateKingInZone() {
         GameBoard board = gameLogic.getBoard();
         int[] p1KingPos = board.findPiece(Piece.P1_KING);
         int[] p2KingPos = board.findPiece(Piece.P2_KING);
@@ -268,10 +519,12 @@ public class GameSession {
      * @param reason 종료 사유
      */
     public void abortGame(String reason) {
+        markFinished();
         gameRoom.broadcastSystem("GAME_OVER " + reason);
         saveReplay();
     }
-    public void abortGame(String reason, ClientHandler leaver) {
+    public void abortGame(String reason, PlayerConnection leaver) {
+        markFinished();
         gameRoom.broadcastSystemExcept(leaver, "GAME_OVER " + reason);
         saveReplay();
     }
@@ -281,56 +534,262 @@ public class GameSession {
      * @param winner 승리한 플레이어
      * @param reason 종료 사유
      */
-    private void naturalEndGame(ClientHandler winner, String reason) {
+    private void naturalEndGame(PlayerConnection winner, String reason) {
+        markFinished();
+        PlayerConnection loser = (winner == player1) ? player2 : player1;
+        RatingTable ratings = gameRoom.getServer().getRatings();
+        int delta = ratings.recordWin(winner.getNickname(), loser.getNickname());
+        gameRoom.broadcastSystem(String.format("SYSTEM 레이팅: %s %d (+%d), %s %d (-%d)",
+                winner.getNickname(), ratings.get(winner.getNickname()), delta,
+                loser.getNickname(), ratings.get(loser.getNickname()), delta));
         gameRoom.broadcastSystem("GAME_OVER " + reason);
         saveReplay();
         gameRoom.onSessionFinished(winner); // GameRoom에 게임 종료 알림
     }
 
     /**
-     * 현재 게임 상태(보드, 잡은 말, 턴 등)를 모든 플레이어에게 브로드캐스트합니다.
+     * 서버를 종료할 때 시계를 멈춥니다. 게임 상태는 그대로 두므로 스냅샷을 저장한 뒤에 호출합니다.
      */
-    public void broadcastState() {
-        GameBoard board = gameLogic.getBoard();
-        // 보드 상태 직렬화
-        StringBuilder boardStr = new StringBuilder();
-        for (int r = 0; r < 4; r++) {
-            for (int c = 0; c < 3; c++) {
-                Piece piece = board.getPieceAt(r, c);
-                if (piece != null) {
-                    boardStr.append(String.format("%s,%d,%d;", piece.name(), r, c));
+    synchronized void stopClock() {
+        if (clock != null) clock.stop();
+    }
+
+    private void markFinished() {
+        finished = true;
+        if (clock != null) clock.stop();
+        MoveLog log = gameRoom.getServer().getMoveLog();
+        if (gameId != 0 && log != null) log.logEnd(gameId);
+        gameId = 0;
+    }
+
+    // --- 수 기록 (MoveLog) ---
+
+    private void logStart() {
+        MoveLog log = gameRoom.getServer().getMoveLog();
+        if (log == null) return;
+        gameId = log.newGameId();
+        log.logStart(gameId, gameRoom.getTitle(), gameRoom.getPassword(), gameRoom.getMaxPlayers(),
+                host.getNickname(), ServerSnapshot.sessionTokenOf(host),
+                guest.getNickname(), ServerSnapshot.sessionTokenOf(guest), player1 == host);
+    }
+
+    /**
+     * 방금 둔 수를 기록합니다. (시계를 누르기 전의 남은 시간과 함께)
+     * 기록하지 않는 게임이거나 sync가 꺼져 있으면 바로 onLogged를, 수 기록이 실패 상태이면 바로 onFailed를 실행합니다.
+     * 디스크 기록을 기다려야 하면 두 처리를 남겨 두고, processCommand가 기록 번호를 반환하게 합니다.
+     * @param onLogged 수가 기록되면 할 나머지 처리
+     * @param onFailed 수를 기록하지 못했으면 할 처리
+     */
+    private void logMove(Runnable onLogged, Runnable onFailed) {
+        MoveLog log = gameRoom.getServer().getMoveLog();
+        long seq = 0;
+        if (gameId != 0 && log != null) {
+            MoveList moves = gameLogic.getMoves();
+            seq = log.logMove(gameId, moves.size() - 1, moves.get(moves.size() - 1),
+                    clock == null ? -1 : clock.getRemainingMillis(Piece.Player.P1),
+                    clock == null ? -1 : clock.getRemainingMillis(Piece.Player.P2));
+        }
+        if (seq < 0) {
+            onFailed.run();
+        } else if (seq == 0) {
+            onLogged.run();
+        } else {
+            awaitingLogSeq = seq;
+            afterLogged = onLogged;
+            afterLogFailed = onFailed;
+        }
+    }
+
+    /**
+     * 기록하지 못한 수를 없던 것으로 하고 거부합니다. 디스크에 남지 않은 수를 확정하면 서버가 다시 시작했을 때 사라지기 때문입니다.
+     */
+    private void retractUnloggedMove(PlayerConnection player, String seq) {
+        gameLogic.retractLastMove();
+        rejectMove(player, seq, "서버에 수를 기록할 수 없어 지금은 수를 둘 수 없습니다.");
+    }
+
+    private void logUndo() {
+        MoveLog log = gameRoom.getServer().getMoveLog();
+        if (gameId == 0 || log == null) return;
+        log.logUndo(gameId, gameLogic.getMoves().size());
+    }
+
+    long getLoggedGameId() {
+        return gameId;
+    }
+
+    /**
+     * 수 기록을 이 세션에 적용합니다. 스냅샷에 이미 반영된 기록(수 번호가 맞지 않는 기록)은 건너뜁니다.
+     * 스냅샷 이후에 시작된 게임이면 기다리던 두 플레이어로 게임을 다시 시작한 뒤 적용하고,
+     * 스냅샷 이후에 끝난 게임이면 대기 상태로 되돌립니다. (리플레이는 끝날 때 이미 저장됨)
+     * @return 적용했으면 true
+     */
+    synchronized boolean recoverLoggedGame(MoveLog.LoggedGame game) {
+        if (gameId != game.gameId) {
+            if (game.title == null || game.ended || host == null || guest == null) return false;
+            if (gameLogic.getGameState() == GameLogic.GameState.IN_PROGRESS) return false;
+            if (!host.getNickname().equals(game.hostNickname) || !guest.getNickname().equals(game.guestNickname)) return false;
+            player1 = game.hostIsP1 ? host : guest;
+            player2 = game.hostIsP1 ? guest : host;
+            hostReady = true;
+            guestReady = true;
+            gameLogic.startGame();
+            gameId = game.gameId;
+        }
+        if (game.ended) {
+            if (clock != null) clock.stop();
+            clock = null;
+            gameLogic.reset();
+            gameId = 0;
+            player1 = null;
+            player2 = null;
+            hostReady = false;
+            guestReady = false;
+            kingInZonePlayer = null;
+            return true;
+        }
+
+        long p1Millis = -1;
+        long p2Millis = -1;
+        for (MoveLog.Entry entry : game.entries) {
+            int ply = gameLogic.getMoves().size();
+            if (entry.type == MoveLog.MOVE && entry.ply == ply) {
+                if (!gameLogic.executeMove(entry.move)) {
+                    System.err.println("수 기록 복구 실패: " + gameRoom.getTitle() + "의 " + (ply + 1) + "번째 수를 둘 수 없습니다.");
+                    break;
                 }
+                p1Millis = entry.p1Millis;
+                p2Millis = entry.p2Millis;
+            } else if (entry.type == MoveLog.UNDO && entry.ply == ply - 1) {
+                gameLogic.undoLastMove();
             }
         }
+        updateKingInZone();
 
-        // 잡은 말 목록 직렬화
-        String p1Captured = gameLogic.getBoard().getP1Captured().stream().map(Enum::name).collect(Collectors.joining(","));
-        String p2Captured = gameLogic.getBoard().getP2Captured().stream().map(Enum::name).collect(Collectors.joining(","));
-        // 기보 직렬화
-        String moveHistoryStr = String.join(" ", gameLogic.getMoveHistory());
+        if (clock != null) {
+            if (p1Millis < 0) { // 스냅샷의 시계를 그대로 사용
+                clock.switchTo(gameLogic.getCurrentPlayer());
+                return true;
+            }
+            clock.stop();
+        }
+        if (clockBaseMillis > 0) {
+            if (p1Millis < 0) {
+                p1Millis = clockBaseMillis;
+                p2Millis = clockBaseMillis;
+            }
+            clock = new GameClock(p1Millis, p2Millis, clockIncrementMillis, flagged -> gameRoom.handleFlagFall(this, flagged));
+            clock.start(gameLogic.getCurrentPlayer());
+        }
+        return true;
+    }
 
-        // 모든 정보를 하나의 문자열 페이로드로 합침
-        String statePayload = String.format("%s|%s|%s|%s#%s",
-                boardStr, p1Captured, p2Captured, gameLogic.getCurrentPlayer().name(), moveHistoryStr);
+    /**
+     * 현재 게임 상태(보드, 잡은 말, 턴 등)와 시계를 모든 플레이어에게 브로드캐스트합니다.
+     */
+    public void broadcastState() {
+        gameRoom.broadcastSystem("UPDATE_STATE " + buildStatePayload());
+        if (clock != null) gameRoom.broadcastSystem(Protocol.CLOCK + " " + clock.snapshot());
+    }
 
-        gameRoom.broadcastSystem("UPDATE_STATE " + statePayload);
+    /**
+     * 재접속한 플레이어에게 준비 상태, 역할, 현재 게임 상태를 다시 보냅니다.
+     * @param player 세션을 복구한 플레이어
+     */
+    public synchronized void resync(PlayerConnection player) {
+        if (gameLogic.getGameState() != GameLogic.GameState.IN_PROGRESS) {
+            if (host != null) player.sendMessage("PLAYER_READY HOST " + hostReady);
+            if (guest != null) player.sendMessage("PLAYER_READY GUEST " + guestReady);
+            return;
+        }
+        Piece.Player role = getPlayerRole(player);
+        if (role != null) {
+            player.sendMessage("ASSIGN_ROLE " + role.name());
+        }
+        player.sendMessage("UPDATE_STATE " + buildStatePayload());
+        if (clock != null) player.sendMessage(Protocol.CLOCK + " " + clock.snapshot());
+        if (role != null && !premovesOf(role).isEmpty()) {
+            player.sendMessage(Protocol.PREMOVE_STATUS + " " + premovesOf(role).size());
+        }
     }
 
     /**
-     * 게임이 종료되면 현재까지의 기보를 파일로 저장합니다.
+     * 스냅샷에 이 세션의 준비 상태와 진행 중인 게임(역할, 수 기록 ID, 기보, 남은 시간)을 기록합니다. (ServerSnapshot 참고)
+     * 보드는 기보를 다시 두어 복원하므로 저장하지 않으며, 예약된 수와 수 무르기 요청은 저장하지 않습니다.
+     * 방 잠금을 잡은 상태로 호출됩니다.
      */
-    private void saveReplay() {
-        File replayDir = new File("replays");
-        if (!replayDir.exists()) replayDir.mkdirs();
+    synchronized void writeSnapshot(DataOutputStream out) throws IOException {
+        out.writeBoolean(hostReady);
+        out.writeBoolean(guestReady);
+        boolean inProgress = !finished && gameLogic.getGameState() == GameLogic.GameState.IN_PROGRESS;
+        out.writeBoolean(inProgress);
+        if (!inProgress) return;
+        out.writeBoolean(player1 == host);
+        out.writeLong(gameId);
+        out.writeByte(kingInZonePlayer == null ? 0 : kingInZonePlayer == Piece.Player.P1 ? 1 : 2);
+        MoveList moves = gameLogic.getMoves();
+        out.writeInt(moves.size());
+        for (int i = 0; i < moves.size(); i++) out.writeInt(moves.get(i));
+        out.writeLong(clock == null ? -1 : clock.getRemainingMillis(Piece.Player.P1));
+        out.writeLong(clock == null ? -1 : clock.getRemainingMillis(Piece.Player.P2));
+    }
 
-        String fileName = String.format("replays/replay_%s_%d.txt", gameRoom.getTitle(), System.currentTimeMillis());
-        try (FileWriter writer = new FileWriter(fileName)) {
-            for (String move : gameLogic.getMoveHistory()) {
-                writer.write(move + "\n");
+    /**
+     * writeSnapshot으로 기록한 상태를 새로 만든 세션에 복원합니다. 진행 중이던 게임은 기보를 처음부터 다시 두어 복원하고,
+     * 시계는 남은 시간으로 다시 시작합니다. 호스트나 게스트를 복원하지 못했거나 기보가 맞지 않으면 대기 상태로 둡니다.
+     * @param restoreGame 저장할 때의 호스트와 게스트가 그대로 복원되었는지 여부
+     */
+    synchronized void readSnapshot(DataInputStream in, boolean restoreGame) throws IOException {
+        boolean savedHostReady = in.readBoolean();
+        boolean savedGuestReady = in.readBoolean();
+        if (!in.readBoolean()) {
+            if (restoreGame) {
+                hostReady = savedHostReady;
+                guestReady = savedGuestReady;
             }
-        } catch (IOException e) {
-            e.printStackTrace();
+            return;
         }
+        boolean hostIsP1 = in.readBoolean();
+        long savedGameId = in.readLong();
+        int kingInZone = in.readByte();
+        int[] moves = new int[in.readInt()];
+        for (int i = 0; i < moves.length; i++) moves[i] = in.readInt();
+        long p1Millis = in.readLong();
+        long p2Millis = in.readLong();
+        if (!restoreGame) return;
+
+        gameLogic.startGame();
+        for (int move : moves) {
+            if (!gameLogic.executeMove(move) || gameLogic.getGameState() != GameLogic.GameState.IN_PROGRESS) {
+                System.err.println("스냅샷 복원 실패: " + gameRoom.getTitle() + "의 기보가 올바르지 않습니다.");
+                gameLogic.reset();
+                return;
+            }
+        }
+        hostReady = true;
+        guestReady = true;
+        player1 = hostIsP1 ? host : guest;
+        player2 = hostIsP1 ? guest : host;
+        gameId = savedGameId;
+        kingInZonePlayer = kingInZone == 1 ? Piece.Player.P1 : kingInZone == 2 ? Piece.Player.P2 : null;
+        if (p1Millis >= 0 && p2Millis >= 0) {
+            clock = new GameClock(p1Millis, p2Millis, clockIncrementMillis, flagged -> gameRoom.handleFlagFall(this, flagged));
+            clock.start(gameLogic.getCurrentPlayer());
+        }
+    }
+
+    /**
+     * 현재 게임 상태를 UPDATE_STATE 페이로드 문자열로 직렬화합니다.
+     */
+    private String buildStatePayload() {
+        return GameStateCodec.encode(gameLogic.getBoard(), gameLogic.getCurrentPlayer(), gameLogic.getMoveHistoryNotation());
+    }
+
+    /**
+     * 게임이 종료되면 현재까지의 기보를 파일로 저장합니다.
+     */
+    private void saveReplay() {
+        ReplayArchive.save(gameRoom.getTitle(), gameLogic.getMoves());
     }
 
     public GameLogic.GameState getGameState() {
@@ -338,22 +797,22 @@ public class GameSession {
     }
 
     /**
-     * ClientHandler 객체로부터 게임 내 역할(P1/P2)을 반환합니다.
+     * 연결로부터 게임 내 역할(P1/P2)을 반환합니다.
      * @param player 확인할 클라이언트 핸들러
      * @return P1 또는 P2, 해당 없으면 null
      */
-    private Piece.Player getPlayerRole(ClientHandler player) {
+    private Piece.Player getPlayerRole(PlayerConnection player) {
         if (player == player1) return Piece.Player.P1;
         if (player == player2) return Piece.Player.P2;
         return null;
     }
 
     /**
-     * 게임 내 역할(P1/P2)로부터 해당하는 ClientHandler 객체를 반환합니다.
+     * 게임 내 역할(P1/P2)로부터 해당하는 연결을 반환합니다.
      * @param playerRole P1 또는 P2
      * @return 해당 역할을 맡은 클라이언트 핸들러
      */
-    private ClientHandler getClient(Piece.Player playerRole) {
+    private PlayerConnection getClient(Piece.Player playerRole) {
         if (playerRole == Piece.Player.P1) return player1;
         if (playerRole == Piece.Player.P2) return player2;
         return null;
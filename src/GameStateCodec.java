@@ -0,0 +1,118 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * UPDATE_STATE 메시지의 게임 상태 페이로드를 만들고 해석하는 유틸리티 클래스입니다.
+ * 서버는 이 형식으로 상태를 보내고, 클라이언트는 같은 형식을 해석하여 로컬 GameBoard에 반영합니다.
+ *
+ * 형식: 보드|P1포로|P2포로|차례|해시#기보
+ * - 보드: "기물,행,열;" 의 나열
+ * - 포로: 쉼표로 구분된 기물 이름
+ * - 해시: PositionHash의 16진수 값. 클라이언트가 해석한 보드에서 같은 값이 나오는지 비교하여 서버와 어긋났는지 확인합니다.
+ */
+public final class GameStateCodec {
+
+    private GameStateCodec() {} // 인스턴스화 방지
+
+    /**
+     * 해석된 게임 상태입니다.
+     */
+    public static final class State {
+        public final GameBoard board;
+        public final Piece.Player currentPlayer;
+        public final String serverHash;  // 서버가 보낸 해시, 없으면 null
+        public final String moveHistory;
+
+        State(GameBoard board, Piece.Player currentPlayer, String serverHash, String moveHistory) {
+            this.board = board;
+            this.currentPlayer = currentPlayer;
+            this.serverHash = serverHash;
+            this.moveHistory = moveHistory;
+        }
+
+        /**
+         * 해석한 보드의 해시가 서버가 보낸 해시와 같은지 확인합니다.
+         * 서버가 해시를 보내지 않았으면 확인할 수 없으므로 false를 반환합니다.
+         */
+        public boolean matchesServerHash() {
+            return serverHash != null && serverHash.equals(hashOf(board, currentPlayer));
+        }
+    }
+
+    /**
+     * 게임 상태를 UPDATE_STATE 페이로드로 직렬화합니다.
+     */
+    public static String encode(GameBoard board, Piece.Player currentPlayer, String moveHistory) {
+        // 보드 상태 직렬화
+        StringBuilder boardStr = new StringBuilder();
+        for (int r = 0; r < 4; r++) {
+            for (int c = 0; c < 3; c++) {
+                Piece piece = board.getPieceAt(r, c);
+                if (piece != null) {
+                    boardStr.append(String.format("%s,%d,%d;", piece.name(), r, c));
+                }
+            }
+        }
+
+        // 잡은 말 목록 직렬화
+        String p1Captured = board.getP1Captured().stream().map(Enum::name).collect(Collectors.joining(","));
+        String p2Captured = board.getP2Captured().stream().map(Enum::name).collect(Collectors.joining(","));
+
+        // 모든 정보를 하나의 문자열 페이로드로 합침
+        return String.format("%s|%s|%s|%s|%s#%s",
+                boardStr, p1Captured, p2Captured, currentPlayer.name(), hashOf(board, currentPlayer), moveHistory);
+    }
+
+    /**
+     * UPDATE_STATE 페이로드를 해석합니다.
+     * @param payload UPDATE_STATE 명령어 뒤의 문자열
+     * @return 해석된 상태
+     * @throws IllegalArgumentException 형식이 잘못된 경우
+     */
+    public static State decode(String payload) {
+        String[] parts = payload.split("#", 2);
+        String moveHistory = parts.length > 1 ? parts[1] : "";
+        String[] stateParts = parts[0].split("\\|", -1);
+        if (stateParts.length < 4) {
+            throw new IllegalArgumentException("게임 상태 형식이 잘못되었습니다: " + payload);
+        }
+
+        Piece[][] cells = new Piece[4][3];
+        for (String entry : stateParts[0].split(";")) {
+            if (entry.isBlank()) continue;
+            String[] fields = entry.split(",");
+            int r = Integer.parseInt(fields[1].trim());
+            int c = Integer.parseInt(fields[2].trim());
+            cells[r][c] = Piece.valueOf(fields[0].trim());
+        }
+
+        GameBoard board = new GameBoard();
+        board.loadState(cells, parsePieces(stateParts[1]), parsePieces(stateParts[2]));
+        Piece.Player currentPlayer = Piece.Player.valueOf(stateParts[3].trim());
+        String serverHash = stateParts.length > 4 && !stateParts[4].isBlank() ? stateParts[4].trim() : null;
+        return new State(board, currentPlayer, serverHash, moveHistory);
+    }
+
+    /**
+     * 보드와 차례로부터 상태 해시 문자열을 계산합니다.
+     */
+    public static String hashOf(GameBoard board, Piece.Player currentPlayer) {
+        return Long.toHexString(PositionHash.of(board, currentPlayer));
+    }
+
+    /**
+     * 좌표 목록을 VALID_MOVES 페이로드 형식("행,열;행,열")으로 직렬화합니다.
+     */
+    public static String encodeSquares(List<int[]> squares) {
+        return squares.stream().map(square -> square[0] + "," + square[1]).collect(Collectors.joining(";"));
+    }
+
+    private static List<Piece> parsePieces(String csv) {
+        List<Piece> pieces = new ArrayList<>();
+        for (String name : csv.split(",")) {
+            if (!name.isBlank()) pieces.add(Piece.valueOf(name.trim()));
+        }
+        return pieces;
+    }
+}
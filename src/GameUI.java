@@ -6,6 +6,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 import java.util.stream.Collectors;
 
 /**
@@ -24,6 +25,7 @@ public class GameUI {
     private LobbyPanel lobbyPanel;
     private RoomPanel roomPanel;
     private ReplayPanel replayPanel;
+    private ReplayListDialog replayListDialog; // 서버의 리플레이 목록, 처음 열 때 생성
 
     /**
      * GameUI 생성자입니다.
@@ -167,18 +169,49 @@ public class GameUI {
     }
     
     /**
-     * 리플레이 화면으로 전환합니다.
+     * 내 컴퓨터의 리플레이 파일로 리플레이 화면을 엽니다.
      * @param replayFile 재생할 리플레이 파일
      */
     public void showReplay(File replayFile) {
-        replayPanel.loadReplay(replayFile);
+        if (replayPanel.loadReplay(replayFile)) switchToReplay(replayFile.getName());
+    }
+
+    /**
+     * 서버에서 받은 기보로 리플레이 화면을 엽니다.
+     * @param replayId 리플레이의 게임 ID
+     * @param moves    기보 목록
+     */
+    public void showReplay(String replayId, List<String> moves) {
+        replayPanel.loadReplay(replayId, moves);
+        switchToReplay(replayId);
+    }
+
+    /**
+     * 리플레이 화면으로 전환합니다.
+     */
+    private void switchToReplay(String replayId) {
         cardLayout.show(mainPanel, "REPLAY");
-        frame.setTitle("리플레이 - " + replayFile.getName());
+        frame.setTitle("리플레이 - " + replayId);
         frame.setJMenuBar(null); // 리플레이 중에는 메뉴바를 숨김
         frame.revalidate();
         frame.repaint();
     }
 
+    /**
+     * 서버의 리플레이 목록 다이얼로그를 표시합니다.
+     */
+    public void showReplayList() {
+        if (replayListDialog == null) replayListDialog = new ReplayListDialog(frame, controller);
+        replayListDialog.open();
+    }
+
+    /**
+     * 서버로부터 받은 리플레이 목록을 다이얼로그에 표시합니다. 다이얼로그를 연 적이 없으면 무시합니다.
+     */
+    public void updateReplayList(String payload) {
+        if (replayListDialog != null) replayListDialog.updateReplayList(payload);
+    }
+
     // --- 컨트롤러를 위한 공개 API ---
 
     /**
@@ -219,13 +252,17 @@ public class GameUI {
     
     public void highlightSummonRange(String myRole) {roomPanel.highlightSummonRange(myRole);}
     public void updateRoomList(String payload) { lobbyPanel.updateRoomList(payload); }
+    public void updateQueueStatus(String payload) { lobbyPanel.updateQueueStatus(payload); }
     public void appendChatMessage(String message) { roomPanel.appendChatMessage(message); }
     public void appendLobbyChatMessage(String message) { lobbyPanel.appendChatMessage(message); }
     public void updatePlayerStatus(String[] readyInfo) { roomPanel.updatePlayerStatus(readyInfo); }
     public void handleGameStart() { roomPanel.handleGameStart(); }
     public void updateGameState(String payload) { roomPanel.updateGameState(payload); }
+    public void updatePremoveCount(int count) { roomPanel.updatePremoveCount(count); }
+    public void updateClock(String payload) { roomPanel.updateClock(payload); }
     public void highlightValidMoves(String payload) { roomPanel.highlightValidMoves(payload); }
     public void handleGameOver(String payload) { roomPanel.handleGameOver(payload); }
+    public void showAnalysis(String payload) { replayPanel.showAnalysis(payload); }
     public void highlightSelectedBoardPiece(int r, int c) { roomPanel.highlightSelectedBoardPiece(r, c); }
     public void highlightSelectedCapturedPiece(Object sourceButton) { roomPanel.highlightSelectedCapturedPiece(sourceButton); }
     public void highlightPlayerPieces(String playerRole) { roomPanel.highlightPlayerPieces(playerRole); }
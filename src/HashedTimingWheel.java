@@ -0,0 +1,143 @@
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * 많은 수의 타임아웃을 스레드 하나로 처리하는 해시 타이밍 휠입니다.
+ * 시간을 tickMillis 단위의 칸으로 나눈 원형 배열에 타임아웃을 넣어 두고,
+ * 작업 스레드가 한 칸씩 돌면서 만료된 작업을 실행합니다.
+ * 타임아웃 등록과 취소는 O(1)이며, 만료 시각의 정확도는 tick 단위입니다.
+ *
+ * 만료된 작업은 작업 스레드에서 바로 실행되므로 오래 걸리는 작업을 등록하면 안 됩니다.
+ */
+public class HashedTimingWheel {
+
+    /**
+     * 등록된 타임아웃 하나입니다. cancel()로 실행을 취소할 수 있습니다.
+     */
+    public static final class Timeout {
+        // 취소하면 null로 비워, 칸에서 빠지기 전(최대 한 바퀴)에도 작업이 붙잡은 객체를 놓아줌
+        private volatile Runnable task;
+        private final long deadlineNanos; // 휠 시작 시각 기준 만료 시각
+        private long remainingRounds;     // 휠을 몇 바퀴 더 돌아야 만료되는지 (작업 스레드에서만 사용)
+
+        private Timeout(Runnable task, long deadlineNanos) {
+            this.task = task;
+            this.deadlineNanos = deadlineNanos;
+        }
+
+        public void cancel() {
+            task = null;
+        }
+
+        public boolean isCancelled() {
+            return task == null;
+        }
+    }
+
+    private final long tickNanos;
+    private final ArrayDeque<Timeout>[] wheel;
+    private final int mask;
+    private final ConcurrentLinkedQueue<Timeout> pending = new ConcurrentLinkedQueue<>(); // 다음 tick에 휠로 옮길 타임아웃
+    private final long startNanos = System.nanoTime();
+    private final Thread worker;
+    private volatile boolean running = true;
+    private long tick = 0; // 작업 스레드에서만 사용
+
+    /**
+     * HashedTimingWheel 생성자입니다. 작업 스레드(데몬)를 바로 시작합니다.
+     * @param name          작업 스레드 이름
+     * @param tickMillis    한 칸의 시간 간격(ms)
+     * @param ticksPerWheel 휠의 칸 수 (2의 거듭제곱으로 올림)
+     */
+    public HashedTimingWheel(String name, long tickMillis, int ticksPerWheel) {
+        if (tickMillis <= 0 || ticksPerWheel <= 0) {
+            throw new IllegalArgumentException("tickMillis와 ticksPerWheel은 양수여야 합니다.");
+        }
+        int size = Integer.highestOneBit(ticksPerWheel);
+        if (size < ticksPerWheel) size <<= 1;
+        this.tickNanos = tickMillis * 1_000_000L;
+        @SuppressWarnings("unchecked") // 제네릭 배열은 직접 만들 수 없으므로 와일드카드 배열을 캐스팅
+        ArrayDeque<Timeout>[] slots = (ArrayDeque<Timeout>[]) new ArrayDeque<?>[size];
+        this.wheel = slots;
+        for (int i = 0; i < size; i++) wheel[i] = new ArrayDeque<>();
+        this.mask = size - 1;
+        this.worker = new Thread(this::runWorker, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * delayMillis 후에 작업을 실행하도록 등록합니다. 어느 스레드에서나 호출할 수 있습니다.
+     * @return 취소에 사용할 타임아웃 객체
+     */
+    public Timeout newTimeout(Runnable task, long delayMillis) {
+        long deadline = System.nanoTime() - startNanos + Math.max(0, delayMillis) * 1_000_000L;
+        Timeout timeout = new Timeout(task, deadline);
+        pending.add(timeout);
+        return timeout;
+    }
+
+    /**
+     * 작업 스레드를 멈춥니다. 아직 실행되지 않은 타임아웃은 버려집니다.
+     */
+    public void stop() {
+        running = false;
+        worker.interrupt();
+    }
+
+    private void runWorker() {
+        while (running) {
+            long sleepNanos = tickNanos * (tick + 1) - (System.nanoTime() - startNanos);
+            if (sleepNanos > 0) {
+                try {
+                    Thread.sleep(sleepNanos / 1_000_000L, (int) (sleepNanos % 1_000_000L));
+                } catch (InterruptedException e) {
+                    if (!running) return;
+                }
+            }
+            transferPending();
+            expire(wheel[(int) (tick & mask)]);
+            tick++;
+        }
+    }
+
+    /**
+     * 새로 등록된 타임아웃을 만료 시각에 해당하는 칸으로 옮깁니다.
+     */
+    private void transferPending() {
+        Timeout timeout;
+        while ((timeout = pending.poll()) != null) {
+            if (timeout.task == null) continue;
+            long expiryTick = timeout.deadlineNanos / tickNanos;
+            timeout.remainingRounds = Math.max(0, expiryTick - tick) / wheel.length;
+            // 이미 지난 시각이면 현재 칸에 넣어 이번 tick에 실행
+            long targetTick = Math.max(expiryTick, tick);
+            wheel[(int) (targetTick & mask)].addLast(timeout);
+        }
+    }
+
+    /**
+     * 현재 칸에서 만료된 타임아웃을 실행하고, 아직 남은 바퀴가 있는 타임아웃은 한 바퀴 줄입니다.
+     */
+    private void expire(ArrayDeque<Timeout> bucket) {
+        Iterator<Timeout> it = bucket.iterator();
+        while (it.hasNext()) {
+            Timeout timeout = it.next();
+            Runnable task = timeout.task;
+            if (task == null) {
+                it.remove();
+            } else if (timeout.remainingRounds <= 0) {
+                it.remove();
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    // 작업 하나의 오류로 휠 전체가 멈추지 않도록 함
+                    System.err.println("타이머 작업 실행 중 오류 발생: " + e.getMessage());
+                }
+            } else {
+                timeout.remainingRounds--;
+            }
+        }
+    }
+}
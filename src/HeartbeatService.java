@@ -0,0 +1,157 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 클라이언트 연결의 생존 여부를 확인하는 서비스입니다.
+ *
+ * 연결마다 스레드를 두지 않고 HashedTimingWheel 하나에 연결별 확인 작업을 등록합니다.
+ * - 확인 주기(heartbeat.interval.ms)마다 마지막 수신 이후 시간을 확인하여, 그동안 아무것도 받지 못했으면 PING을 보냅니다.
+ * - 마지막 수신 이후 제한 시간(heartbeat.timeout.ms)이 지나면 응답 없는 연결로 보고 소켓을 닫습니다.
+ *   로그인한 클라이언트는 이후 세션 유예 시간 동안 재접속을 기다렸다가 정리됩니다.
+ * PONG 응답으로 클라이언트별 왕복 시간(RTT)을 측정하며, 정리된 연결 수와 함께 주기적으로(heartbeat.stats.ms) 출력합니다.
+ *
+ * 타이밍 휠 스레드는 확인과 소켓 닫기만 하고 소켓에 쓰지 않습니다. 송신 버퍼가 찬 연결(반쯤 끊긴 연결)에 쓰면
+ * 그 스레드가 막혀 다른 연결을 더 이상 확인하지 못하기 때문입니다. PING은 별도의 스레드(heartbeat-ping)에서 보내며,
+ * 막힌 PING은 그 연결이 제한 시간에 닫힐 때 함께 풀립니다. 연결마다 한 번에 하나의 PING만 보냅니다.
+ */
+public class HeartbeatService {
+
+    private static final long TICK_MILLIS = 100;
+    private static final int TICKS_PER_WHEEL = 512;
+
+    private final HashedTimingWheel wheel = new HashedTimingWheel("heartbeat-wheel", TICK_MILLIS, TICKS_PER_WHEEL);
+    private final Map<ClientHandler, HashedTimingWheel.Timeout> checks = new ConcurrentHashMap<>();
+    private final long intervalMillis;
+    private final long timeoutMillis;
+    private final AtomicLong pingsSent = new AtomicLong();
+    private final AtomicLong reapedConnections = new AtomicLong();
+    private final Set<ClientHandler> pinging = ConcurrentHashMap.newKeySet(); // PING을 보내는 중인 연결
+    private final AtomicInteger pingThreadCounter = new AtomicInteger();
+    private final ExecutorService pinger = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "heartbeat-ping-" + pingThreadCounter.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * 서버 설정의 하트비트 설정으로 하트비트 서비스를 만듭니다.
+     * @param config 하트비트 설정
+     */
+    public HeartbeatService(ServerConfig.Heartbeat config) {
+        this(config.intervalMillis, config.timeoutMillis, config.statsMillis);
+    }
+
+    /**
+     * HeartbeatService 생성자입니다.
+     * @param intervalMillis 연결 확인 주기(ms), 이 시간 동안 받은 것이 없으면 PING 전송
+     * @param timeoutMillis  이 시간 동안 받은 것이 없으면 연결을 닫음(ms)
+     * @param statsMillis    통계 출력 주기(ms), 0 이하이면 출력하지 않음
+     */
+    public HeartbeatService(long intervalMillis, long timeoutMillis, long statsMillis) {
+        this.intervalMillis = intervalMillis;
+        this.timeoutMillis = timeoutMillis;
+        if (statsMillis > 0) {
+            scheduleStats(statsMillis);
+        }
+    }
+
+    /**
+     * 연결을 감시 대상으로 등록합니다.
+     */
+    public void register(ClientHandler client) {
+        checks.put(client, wheel.newTimeout(() -> check(client), intervalMillis));
+    }
+
+    /**
+     * 연결을 감시 대상에서 제외합니다.
+     */
+    public void unregister(ClientHandler client) {
+        HashedTimingWheel.Timeout timeout = checks.remove(client);
+        if (timeout != null) timeout.cancel();
+    }
+
+    /**
+     * 타이밍 휠을 멈춥니다. (서버 종료 시)
+     */
+    public void shutdown() {
+        checks.clear();
+        wheel.stop();
+        pinger.shutdownNow();
+    }
+
+    /**
+     * 연결 하나의 상태를 확인하고 다음 확인을 예약합니다. (타이밍 휠 스레드에서 실행)
+     */
+    private void check(ClientHandler client) {
+        if (!checks.containsKey(client)) return;
+        if (!client.isDetached()) { // 재접속 대기 중인 세션은 SessionRegistry의 만료 작업이 처리
+            long idle = client.getIdleMillis();
+            if (idle >= timeoutMillis) {
+                reapedConnections.incrementAndGet();
+                System.out.println(client.getNickname() + " 응답 없음 (" + idle + "ms) - 연결을 닫습니다.");
+                client.reap();
+            } else if (idle >= intervalMillis) {
+                sendPing(client);
+            }
+        }
+        // unregister된 연결은 다시 예약하지 않음
+        checks.computeIfPresent(client, (c, old) -> wheel.newTimeout(() -> check(c), intervalMillis));
+    }
+
+    /**
+     * PING을 heartbeat-ping 스레드에 넘깁니다. 이전 PING이 아직 막혀 있으면 보내지 않습니다.
+     */
+    private void sendPing(ClientHandler client) {
+        if (!pinging.add(client)) return;
+        try {
+            pinger.execute(() -> {
+                try {
+                    client.sendPing();
+                } finally {
+                    pinging.remove(client);
+                }
+            });
+            pingsSent.incrementAndGet();
+        } catch (RejectedExecutionException e) {
+            pinging.remove(client); // 종료 중
+        }
+    }
+
+    private void scheduleStats(long statsMillis) {
+        wheel.newTimeout(() -> {
+            if (!checks.isEmpty()) System.out.println(statsSummary());
+            scheduleStats(statsMillis);
+        }, statsMillis);
+    }
+
+    /**
+     * 감시 중인 연결 수, 정리된 연결 수, 클라이언트별 RTT를 한 줄로 요약합니다.
+     */
+    public String statsSummary() {
+        List<String> rtts = new ArrayList<>();
+        for (ClientHandler client : checks.keySet()) {
+            double rtt = client.getRttMillis();
+            if (client.getNickname() != null && rtt >= 0) {
+                rtts.add(String.format("%s=%.1fms", client.getNickname(), rtt));
+            }
+        }
+        return String.format("하트비트: 연결 %d개, PING %d회, 정리된 연결 %d개, RTT [%s]",
+                checks.size(), pingsSent.get(), reapedConnections.get(), String.join(", ", rtts));
+    }
+
+    public long getReapedConnections() {
+        return reapedConnections.get();
+    }
+
+    public long getPingsSent() {
+        return pingsSent.get();
+    }
+}
@@ -0,0 +1,246 @@
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 네트워크 지연 시험용 TCP 프록시입니다. 클라이언트와 서버 사이에서 양방향 데이터를 각각 왕복 지연의 절반씩 늦게 전달합니다.
+ * 클라이언트 코드를 바꾸지 않고 느린 네트워크에서 수를 둘 때의 반응(먼저 그리기, 확인까지의 시간)을 시험할 때 사용합니다.
+ *
+ * 사용법:
+ *   java -cp out LatencyProxy <듣는포트> <서버호스트> <서버포트> <왕복지연ms>
+ *       프록시만 띄웁니다. 클라이언트를 -Dclient.port=<듣는포트>로 실행하면 그 지연으로 서버에 접속합니다.
+ *       (클러스터 모드의 REDIRECT는 프록시를 거치지 않고 노드에 바로 접속하므로 지연이 사라짐)
+ *   java -cp out LatencyProxy
+ *       서버를 한 JVM 안에 띄우고 왕복 50/200/500ms 프록시를 거쳐 두 플레이어가 순번을 붙인 MOVE를 주고받으며,
+ *       수를 보낸 뒤 MOVE_ACK와 UPDATE_STATE를 받기까지의 시간을 출력합니다.
+ */
+public class LatencyProxy {
+
+    private static final int BENCH_PORT = 23_600;  // 재현 실행에서 서버가 쓰는 포트 (프록시는 지연마다 그다음 포트들)
+    private static final int BENCH_ROUNDS = 10;    // 재현 실행에서 플레이어마다 두는 수
+
+    private final ServerSocket listener;
+    private final String targetHost;
+    private final int targetPort;
+    private final long oneWayMillis;
+    private final Set<Socket> sockets = ConcurrentHashMap.newKeySet(); // 프록시가 열어 둔 양쪽 소켓
+    // 한 스레드에 같은 지연으로 예약하므로 방향마다 바이트 순서가 유지됨
+    private final ScheduledExecutorService delayer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "latency-proxy-delay");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * 프록시를 열고 연결을 받기 시작합니다.
+     * @param listenPort 클라이언트가 접속할 포트
+     * @param targetHost 서버 주소
+     * @param targetPort 서버 포트
+     * @param rttMillis  더할 왕복 지연(ms), 방향마다 절반씩 늦춤
+     * @throws IOException 포트를 열 수 없는 경우
+     */
+    public LatencyProxy(int listenPort, String targetHost, int targetPort, long rttMillis) throws IOException {
+        this.listener = new ServerSocket(listenPort);
+        this.targetHost = targetHost;
+        this.targetPort = targetPort;
+        this.oneWayMillis = rttMillis / 2;
+        Thread acceptThread = new Thread(this::acceptLoop, "latency-proxy-" + listenPort);
+        acceptThread.setDaemon(true);
+        acceptThread.start();
+    }
+
+    private void acceptLoop() {
+        while (!listener.isClosed()) {
+            try {
+                Socket client = listener.accept();
+                Socket server = new Socket(targetHost, targetPort);
+                sockets.add(client);
+                sockets.add(server);
+                pump(client, server);
+                pump(server, client);
+            } catch (IOException e) {
+                if (!listener.isClosed()) System.err.println("프록시 연결 실패: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * from에서 읽은 데이터를 편도 지연 뒤에 to로 씁니다. 한쪽이 끊기면 다른 쪽도 닫습니다.
+     */
+    private void pump(Socket from, Socket to) {
+        Thread t = new Thread(() -> {
+            byte[] buffer = new byte[8192];
+            try (InputStream in = from.getInputStream()) {
+                OutputStream out = to.getOutputStream();
+                int n;
+                while ((n = in.read(buffer)) > 0) {
+                    byte[] chunk = Arrays.copyOf(buffer, n);
+                    delayer.schedule(() -> {
+                        try {
+                            out.write(chunk);
+                            out.flush();
+                        } catch (IOException e) {
+                            closeQuietly(to);
+                        }
+                    }, oneWayMillis, TimeUnit.MILLISECONDS);
+                }
+                delayer.schedule(() -> closeQuietly(to), oneWayMillis, TimeUnit.MILLISECONDS);
+            } catch (IOException | RejectedExecutionException e) {
+                closeQuietly(to); // 연결 종료 또는 프록시 종료
+            }
+            sockets.remove(from);
+        }, "latency-proxy-pump");
+        t.setDaemon(true);
+        t.start();
+    }
+
+    /**
+     * 프록시를 닫고 중계 중인 연결도 모두 끊습니다.
+     */
+    public void close() {
+        closeQuietly(listener);
+        delayer.shutdown();
+        sockets.forEach(LatencyProxy::closeQuietly);
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException e) {
+            // 이미 닫힌 경우
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 4) {
+            new LatencyProxy(Integer.parseInt(args[0]), args[1], Integer.parseInt(args[2]), Long.parseLong(args[3]));
+            System.out.println("지연 프록시: " + args[0] + " -> " + args[1] + ":" + args[2] + " (왕복 " + args[3] + "ms)");
+            Thread.currentThread().join();
+            return;
+        }
+
+        Server server = new Server(ServerConfig.fromSystemProperties().withPort(BENCH_PORT).withSnapshot("", 0));
+        server.start();
+        try {
+            long[] rtts = {50, 200, 500};
+            for (int i = 0; i < rtts.length; i++) {
+                int proxyPort = BENCH_PORT + 1 + i;
+                LatencyProxy proxy = new LatencyProxy(proxyPort, "localhost", BENCH_PORT, rtts[i]);
+                try {
+                    playThroughProxy(rtts[i], proxyPort);
+                } finally {
+                    proxy.close();
+                }
+            }
+        } finally {
+            server.stop();
+        }
+        System.exit(0);
+    }
+
+    /**
+     * 프록시를 거쳐 두 플레이어가 게임을 시작하고, 같은 자리를 오가는 수를 두며 응답 시간을 잽니다.
+     */
+    private static void playThroughProxy(long rtt, int port) throws IOException {
+        ScriptedPlayer a = new ScriptedPlayer(port, "lat" + rtt + "a");
+        ScriptedPlayer b = new ScriptedPlayer(port, "lat" + rtt + "b");
+        a.send(Protocol.CREATE_ROOM + " latency" + rtt + "##2");
+        a.await(Protocol.JOIN_SUCCESS);
+        b.send(Protocol.JOIN_ROOM + " latency" + rtt);
+        b.await(Protocol.JOIN_SUCCESS);
+        a.send(Protocol.READY);
+        b.send(Protocol.READY);
+        String roleA = a.await(Protocol.ASSIGN_ROLE);
+        b.await(Protocol.ASSIGN_ROLE);
+        ScriptedPlayer p1 = roleA.endsWith(Protocol.P1) ? a : b;
+        ScriptedPlayer p2 = p1 == a ? b : a;
+
+        // 양쪽 장(將)을 한 칸씩 앞뒤로 움직여 같은 포지션을 반복
+        String[] p1Moves = {"3 2 2 2", "2 2 3 2"};
+        String[] p2Moves = {"0 0 1 0", "1 0 0 0"};
+        long ackTotal = 0, stateTotal = 0;
+        int seq = 0;
+        for (int i = 0; i < BENCH_ROUNDS; i++) {
+            long[] p1Times = p1.timedMove(p1Moves[i % 2], ++seq);
+            p2.await(Protocol.UPDATE_STATE);
+            ackTotal += p1Times[0];
+            stateTotal += p1Times[1];
+            p2.timedMove(p2Moves[i % 2], ++seq);
+            p1.await(Protocol.UPDATE_STATE);
+        }
+        System.out.printf("왕복 %3dms: MOVE_ACK까지 평균 %.1fms, UPDATE_STATE까지 평균 %.1fms (%d수)%n",
+                rtt, ackTotal / 1e6 / BENCH_ROUNDS, stateTotal / 1e6 / BENCH_ROUNDS, BENCH_ROUNDS);
+        a.close();
+        b.close();
+    }
+
+    /**
+     * 재현 실행에서 쓰는 단순한 소켓 클라이언트입니다.
+     */
+    private static final class ScriptedPlayer {
+        private final Socket socket;
+        private final BufferedReader in;
+        private final PrintWriter out;
+
+        ScriptedPlayer(int port, String nickname) throws IOException {
+            socket = new Socket("localhost", port);
+            socket.setSoTimeout(10_000);
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true);
+            send(nickname);
+            await(Protocol.NICKNAME_OK);
+        }
+
+        void send(String line) {
+            out.println(line);
+        }
+
+        /**
+         * 주어진 명령으로 시작하는 줄이 올 때까지 읽고 그 줄을 반환합니다. (PING에는 응답)
+         */
+        String await(String command) throws IOException {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.startsWith(Protocol.PING + " ")) {
+                    send(Protocol.PONG + line.substring(Protocol.PING.length()));
+                } else if (line.startsWith(command)) {
+                    return line;
+                } else if (line.startsWith(Protocol.MOVE_REJECTED)) {
+                    throw new IOException("수가 거부되었습니다: " + line);
+                }
+            }
+            throw new IOException("연결이 끊어졌습니다.");
+        }
+
+        /**
+         * 순번을 붙인 MOVE를 보내고 [MOVE_ACK까지, UPDATE_STATE까지]의 시간(ns)을 반환합니다.
+         */
+        long[] timedMove(String squares, int seq) throws IOException {
+            long start = System.nanoTime();
+            send(Protocol.MOVE + " " + squares + " " + seq);
+            await(Protocol.MOVE_ACK + " " + seq);
+            long ack = System.nanoTime() - start;
+            await(Protocol.UPDATE_STATE);
+            return new long[]{ack, System.nanoTime() - start};
+        }
+
+        void close() {
+            closeQuietly(socket);
+        }
+    }
+}
@@ -6,11 +6,28 @@ import java.awt.*;
  * 게임방 목록, 접속자 목록, 로비 채팅, 방 만들기 등의 기능을 제공합니다.
  */
 public class LobbyPanel extends JPanel {
+    private static final int PAGE_SIZE = 6; // 한 페이지에 표시할 방 수 (버튼 수와 같음)
+    private static final String[] FILTERS = {
+        Protocol.ROOM_FILTER_ALL, Protocol.ROOM_FILTER_WAITING, Protocol.ROOM_FILTER_PLAYING, Protocol.ROOM_FILTER_PRIVATE };
+    private static final String[] FILTER_LABELS = { "전체", "대기중", "게임중", "비밀방" };
+
     private final GameController controller;
     private final JButton[][] lobbyButtons = new JButton[3][2]; // 6개의 게임방을 표시할 버튼 배열
 
+    // 방 목록 페이지/필터 (서버가 조건에 맞는 한 페이지만 보내줌)
+    private JComboBox<String> filterCombo;
+    private JTextField searchField;
+    private JButton prevPageButton;
+    private JButton nextPageButton;
+    private JLabel pageLabel;
+    private int currentPage = 0;
+    private int totalPages = 1;
+
+    private JButton quickMatchButton; // 자동 매칭 대기열 참가/취소 버튼
+    private boolean queued = false;
+
     private DefaultListModel<String> userListModel; // 접속자 목록을 표시할 리스트 모델
-    private JTextArea chatArea; // 채팅 내용을 표시할 텍스트 영역
+    private ChatView chatView; // 채팅 내용을 표시할 영역 (최근 메시지만 보관)
     private JTextField chatInputField; // 채팅 입력 필드
     private JTextField chatInput;
     private final Color defaultButtonBg = UIManager.getColor("Button.background");
@@ -43,13 +60,8 @@ public class LobbyPanel extends JPanel {
         JLabel title = new JLabel("로비 채팅", SwingConstants.CENTER);
         panel.add(title, BorderLayout.NORTH);
 
-        chatArea = new JTextArea();
-        chatArea.setEditable(false);
-        chatArea.setLineWrap(true);
-        chatArea.setWrapStyleWord(true);
-
-        JScrollPane scroll = new JScrollPane(chatArea);
-        panel.add(scroll, BorderLayout.CENTER);
+        chatView = new ChatView();
+        panel.add(chatView, BorderLayout.CENTER);
 
         chatInput = new JTextField();
         JButton sendButton = new JButton("전송");
@@ -80,10 +92,7 @@ public class LobbyPanel extends JPanel {
      * @param msg 추가할 메시지
      */
     public void appendLobbyChatMessage(String msg) {
-        SwingUtilities.invokeLater(() -> {
-            chatArea.append(msg + "\n");
-            chatArea.setCaretPosition(chatArea.getDocument().getLength());
-        });
+        chatView.append(msg);
     }
     
     /**
@@ -92,7 +101,7 @@ public class LobbyPanel extends JPanel {
      */
     private JPanel createLobbyGridPanel() {
         JPanel panel = new JPanel(new BorderLayout(10, 10));
-        panel.add(new JLabel("대기실 목록", SwingConstants.CENTER), BorderLayout.NORTH);
+        panel.add(createRoomFilterPanel(), BorderLayout.NORTH);
 
         JPanel lobbyGrid = new JPanel(new GridLayout(3, 2, 8, 8));
         lobbyGrid.setBorder(BorderFactory.createLineBorder(Color.GRAY));
@@ -128,11 +137,58 @@ public class LobbyPanel extends JPanel {
     }
 
     /**
-     * '방 만들기' 버튼이 포함된 하단 패널을 생성합니다.
+     * 방 목록 제목과 상태 필터, 방 제목 검색 필드가 포함된 상단 패널을 생성합니다.
+     * @return 생성된 필터 패널
+     */
+    private JPanel createRoomFilterPanel() {
+        JPanel panel = new JPanel(new BorderLayout(5, 5));
+        panel.add(new JLabel("대기실 목록", SwingConstants.CENTER), BorderLayout.NORTH);
+
+        JPanel filterRow = new JPanel(new BorderLayout(5, 5));
+        filterCombo = new JComboBox<>(FILTER_LABELS);
+        filterCombo.addActionListener(e -> requestPage(0));
+        searchField = new JTextField();
+        searchField.setToolTipText("방 제목 앞부분으로 검색");
+        searchField.addActionListener(e -> requestPage(0));
+        JButton searchButton = new JButton("검색");
+        searchButton.addActionListener(e -> requestPage(0));
+
+        filterRow.add(filterCombo, BorderLayout.WEST);
+        filterRow.add(searchField, BorderLayout.CENTER);
+        filterRow.add(searchButton, BorderLayout.EAST);
+        panel.add(filterRow, BorderLayout.SOUTH);
+        return panel;
+    }
+
+    /**
+     * 현재 필터와 검색어로 지정한 페이지의 방 목록을 서버에 요청합니다.
+     * @param page 요청할 페이지 (0부터 시작)
+     */
+    private void requestPage(int page) {
+        String filter = FILTERS[Math.max(0, filterCombo.getSelectedIndex())];
+        controller.requestRoomList(page, PAGE_SIZE, filter, searchField.getText().trim());
+    }
+
+    /**
+     * '방 만들기' 버튼과 페이지 이동 버튼이 포함된 하단 패널을 생성합니다.
      * @return 생성된 하단 버튼 패널
      */
     private JPanel createBottomButtonPanel() {
         JPanel panel = new JPanel();
+        prevPageButton = new JButton("◀ 이전");
+        prevPageButton.setEnabled(false);
+        prevPageButton.addActionListener(e -> requestPage(currentPage - 1));
+        pageLabel = new JLabel("1 / 1");
+        nextPageButton = new JButton("다음 ▶");
+        nextPageButton.setEnabled(false);
+        nextPageButton.addActionListener(e -> requestPage(currentPage + 1));
+
+        quickMatchButton = new JButton("빠른 대전");
+        quickMatchButton.addActionListener(e -> {
+            if (queued) controller.leaveMatchmaking();
+            else controller.joinMatchmaking();
+        });
+
         JButton createRoomButton = new JButton("방 만들기");
 
         createRoomButton.addActionListener(e -> {
@@ -151,7 +207,11 @@ public class LobbyPanel extends JPanel {
             }
         });
 
+        panel.add(prevPageButton);
+        panel.add(pageLabel);
+        panel.add(nextPageButton);
         panel.add(createRoomButton);
+        panel.add(quickMatchButton);
         return panel;
     }
 
@@ -176,9 +236,8 @@ public class LobbyPanel extends JPanel {
     private JPanel createLobbyChatPanel() {
         JPanel panel = new JPanel(new BorderLayout(5, 5));
         panel.setBorder(BorderFactory.createTitledBorder("로비 채팅"));
-        chatArea = new JTextArea(8, 30);
-        chatArea.setEditable(false);
-        panel.add(new JScrollPane(chatArea), BorderLayout.CENTER);
+        chatView = new ChatView();
+        panel.add(chatView, BorderLayout.CENTER);
         
         JPanel inputPanel = new JPanel(new BorderLayout());
         chatInputField = new JTextField();
@@ -205,49 +264,95 @@ public class LobbyPanel extends JPanel {
 
     /**
      * 서버로부터 받은 방 목록 정보로 UI를 업데이트합니다.
-     * @param payload 방 목록과 접속자 목록 정보가 담긴 문자열
+     * @param payload 방 목록, 접속자 목록, 페이지 정보(페이지,전체페이지수,전체방수)가 담긴 문자열
      */
     public void updateRoomList(String payload) {
-        SwingUtilities.invokeLater(() -> {
-            String[] payloadParts = payload.split("\\|", 2);
-            String roomData = payloadParts[0];
-            
-            if (payloadParts.length > 1) {
-                updateUserList(payloadParts[1]);
-            }
+        String[] payloadParts = payload.split("\\|", 3);
+        String roomData = payloadParts[0];
+        
+        if (payloadParts.length > 1) {
+            updateUserList(payloadParts[1]);
+        }
+        if (payloadParts.length > 2) {
+            updatePageInfo(payloadParts[2]);
+        }
 
-            String[] items = (roomData == null || roomData.isBlank()) ? new String[0] : roomData.split("\\s*,\\s*");
-            int n = Math.min(items.length, 6);
-            for (int i = 0; i < 6; i++) {
-                JButton b = lobbyButtons[i / 2][i % 2];
-                if (i < n) {
-                    String itemText = items[i].trim();
-                    String title = itemText.split("\\s+")[0];
-                    boolean isPrivate = itemText.contains("[비밀방]");
-                    
-                    // HTML을 사용하여 특정 텍스트에 색상 적용
-                    b.setText("<html>" + itemText.replace("[비밀방]", "<font color='red'>[비밀방]</font>") + "</html>");
-                    b.setEnabled(true);
-                    b.setToolTipText("입장: " + title);
-                    // 버튼에 방 정보를 저장하여 클릭 시 사용
-                    b.putClientProperty("roomTitle", title);
-                    b.putClientProperty("isPrivate", isPrivate);
-                    if (itemText.contains("[게임중]")) {
-                        b.setBackground(Color.YELLOW);
-                    } else
-                        b.setBackground(Color.GREEN);
-                    
-                } else {
-                    // 빈 방으로 설정
-                    b.setText("빈 방");
-                    b.setEnabled(false);
-                    b.setToolTipText(null);
-                    b.putClientProperty("roomTitle", null);
-                    b.putClientProperty("isPrivate", false);
-                    b.setBackground(defaultButtonBg);
-                }
+        String[] items = (roomData == null || roomData.isBlank()) ? new String[0] : roomData.split("\\s*,\\s*");
+        int n = Math.min(items.length, 6);
+        for (int i = 0; i < 6; i++) {
+            JButton b = lobbyButtons[i / 2][i % 2];
+            if (i < n) {
+                String itemText = items[i].trim();
+                String title = itemText.split("\\s+")[0];
+                boolean isPrivate = itemText.contains("[비밀방]");
+                
+                // HTML을 사용하여 특정 텍스트에 색상 적용
+                b.setText("<html>" + itemText.replace("[비밀방]", "<font color='red'>[비밀방]</font>") + "</html>");
+                b.setEnabled(true);
+                b.setToolTipText("입장: " + title);
+                // 버튼에 방 정보를 저장하여 클릭 시 사용
+                b.putClientProperty("roomTitle", title);
+                b.putClientProperty("isPrivate", isPrivate);
+                if (itemText.contains("[게임중]")) {
+                    b.setBackground(Color.YELLOW);
+                } else
+                    b.setBackground(Color.GREEN);
+                
+            } else {
+                // 빈 방으로 설정
+                b.setText("빈 방");
+                b.setEnabled(false);
+                b.setToolTipText(null);
+                b.putClientProperty("roomTitle", null);
+                b.putClientProperty("isPrivate", false);
+                b.setBackground(defaultButtonBg);
             }
-        });
+        }
+    }
+
+    /**
+     * 서버로부터 받은 매칭 상태로 '빠른 대전' 버튼과 채팅창을 갱신합니다.
+     * @param payload JOINED &lt;내 레이팅&gt; &lt;대기 인원&gt; | LEFT | MATCHED &lt;상대&gt; &lt;상대 레이팅&gt;
+     */
+    public void updateQueueStatus(String payload) {
+        String[] parts = payload.split(" ");
+        switch (parts[0]) {
+            case "JOINED":
+                queued = true;
+                quickMatchButton.setText("매칭 취소");
+                appendChatMessage(String.format("SYSTEM: 매칭 대기 중입니다. (내 레이팅 %s, 대기 %s명)",
+                        parts.length > 1 ? parts[1] : "?", parts.length > 2 ? parts[2] : "?"));
+                break;
+            case "LEFT":
+                queued = false;
+                quickMatchButton.setText("빠른 대전");
+                appendChatMessage("SYSTEM: 매칭 대기를 취소했습니다.");
+                break;
+            case "MATCHED":
+                queued = false;
+                quickMatchButton.setText("빠른 대전");
+                appendChatMessage(String.format("SYSTEM: %s님(레이팅 %s)과 매칭되었습니다.",
+                        parts.length > 1 ? parts[1] : "?", parts.length > 2 ? parts[2] : "?"));
+                break;
+        }
+    }
+
+    /**
+     * 페이지 정보로 페이지 표시와 이전/다음 버튼 상태를 갱신합니다.
+     * @param pageInfo 페이지,전체페이지수,전체방수
+     */
+    private void updatePageInfo(String pageInfo) {
+        String[] parts = pageInfo.split(",");
+        try {
+            currentPage = Integer.parseInt(parts[0].trim());
+            totalPages = Integer.parseInt(parts[1].trim());
+            int totalRooms = Integer.parseInt(parts[2].trim());
+            pageLabel.setText(String.format("%d / %d (%d개)", currentPage + 1, totalPages, totalRooms));
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            return; // 잘못된 페이지 정보는 무시
+        }
+        prevPageButton.setEnabled(currentPage > 0);
+        nextPageButton.setEnabled(currentPage + 1 < totalPages);
     }
 
     /**
@@ -269,14 +374,13 @@ public class LobbyPanel extends JPanel {
      * @param message 추가할 메시지
      */
     public void appendChatMessage(String message) {
-        chatArea.append(message + "\n");
-        chatArea.setCaretPosition(chatArea.getDocument().getLength());
+        chatView.append(message);
     }
 
     /**
      * 채팅 영역을 비웁니다.
      */
     public void clearChat() {
-        chatArea.setText("");
+        chatView.clear();
     }
 }
@@ -0,0 +1,11 @@
+/**
+ * 로비의 방 목록에 표시되는 방 정보입니다.
+ * 이 서버의 GameRoom과, 클러스터의 다른 노드에서 받아 온 방(ClusterLink.RemoteRoom)이 구현합니다.
+ */
+public interface LobbyRoom {
+    String getTitle();
+    int getPlayerCount();
+    int getMaxPlayers();
+    boolean isGameInProgress();
+    boolean isPrivate();
+}
@@ -0,0 +1,121 @@
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * 소켓 없이 메모리 안에서 동작하는 PlayerConnection 구현입니다.
+ * 부하 테스트나 벤치마크에서 네트워크 입출력 비용을 빼고 GameRoom/GameSession의 처리 비용만 잴 때 사용합니다.
+ *
+ * 보낸 메시지는 저장하지 않고 개수와 마지막 메시지만 기록하며, 필요하면 sink로 넘겨받을 수 있습니다.
+ * (수백만 건을 보내도 메모리가 늘지 않도록)
+ *
+ * 사용 예 (Server는 start()하지 않아도 됩니다):
+ *     Server server = new Server(ServerConfig.fromSystemProperties());
+ *     LoopbackConnection a = new LoopbackConnection("a");
+ *     LoopbackConnection b = new LoopbackConnection("b");
+ *     GameRoom room = a.createRoom(server, "bench");
+ *     b.join(room);
+ *     a.send(Protocol.READY);
+ *     b.send(Protocol.READY);
+ *     a.send(Protocol.MOVE + " 2 1 1 1");
+ */
+public class LoopbackConnection implements PlayerConnection {
+
+    private final String nickname;
+    private final Consumer<String> sink;
+    private final AtomicLong receivedMessages = new AtomicLong();
+    private volatile String lastMessage;
+    private volatile GameRoom currentRoom;
+
+    /**
+     * 받은 메시지를 버리는 연결을 만듭니다.
+     * @param nickname 플레이어 닉네임
+     */
+    public LoopbackConnection(String nickname) {
+        this(nickname, message -> {});
+    }
+
+    /**
+     * LoopbackConnection 생성자입니다.
+     * @param nickname 플레이어 닉네임
+     * @param sink     서버가 이 플레이어에게 보낸 메시지를 받을 함수 (보낸 스레드에서 바로 호출됨)
+     */
+    public LoopbackConnection(String nickname, Consumer<String> sink) {
+        this.nickname = nickname;
+        this.sink = sink;
+    }
+
+    /**
+     * 이 플레이어를 호스트로 하는 2인 게임방을 만듭니다.
+     * 서버의 방 목록에는 등록하지 않으므로 로비에는 보이지 않습니다.
+     * @param server 방이 속할 서버
+     * @param title  방 제목
+     * @return 만들어진 게임방
+     */
+    public GameRoom createRoom(Server server, String title) {
+        GameRoom room = new GameRoom(title, "", 2, this, server);
+        currentRoom = room;
+        return room;
+    }
+
+    /**
+     * 게임방에 입장합니다.
+     * @param room 입장할 게임방
+     */
+    public void join(GameRoom room) {
+        room.addPlayer(this, "");
+    }
+
+    /**
+     * 클라이언트가 게임방에서 한 줄을 보낸 것처럼 처리합니다. (ClientHandler의 게임방 명령 처리와 같음)
+     * @param message 보낼 명령 한 줄
+     */
+    public void send(String message) {
+        GameRoom room = currentRoom;
+        if (room == null) {
+            throw new IllegalStateException(nickname + "은(는) 게임방에 있지 않습니다.");
+        }
+        if (message.startsWith(Protocol.CHAT + " ")) {
+            room.getServer().getChatService().postRoom(room, this, message.substring(Protocol.CHAT.length() + 1));
+        } else if (message.equals(Protocol.LEAVE_ROOM)) {
+            room.removePlayer(this);
+        } else {
+            room.handlePlayerCommand(this, message);
+        }
+    }
+
+    @Override
+    public void sendMessage(String message) {
+        receivedMessages.incrementAndGet();
+        lastMessage = message;
+        sink.accept(message);
+    }
+
+    @Override
+    public String getNickname() {
+        return nickname;
+    }
+
+    @Override
+    public GameRoom getCurrentRoom() {
+        return currentRoom;
+    }
+
+    @Override
+    public void setCurrentRoom(GameRoom room) {
+        this.currentRoom = room;
+    }
+
+    /**
+     * 지금까지 서버로부터 받은 메시지 수를 반환합니다.
+     */
+    public long getReceivedMessages() {
+        return receivedMessages.get();
+    }
+
+    /**
+     * 서버로부터 마지막으로 받은 메시지를 반환합니다. 받은 것이 없으면 null입니다.
+     */
+    public String getLastMessage() {
+        return lastMessage;
+    }
+}
@@ -0,0 +1,241 @@
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * 레이팅이 비슷한 플레이어끼리 자동으로 대전을 잡아주는 매칭 서비스입니다.
+ *
+ * 대기열은 레이팅 구간(matchmaking.band 점)마다 하나씩 있는 FIFO 큐의 배열입니다.
+ * 주기적인 tick마다 각 구간에서 가장 오래 기다린 플레이어의 상대를 같은 구간부터 찾고,
+ * 없으면 이웃 구간으로 넓혀 가며 각 구간의 맨 앞 플레이어만 확인합니다.
+ * 확인할 이웃 구간의 수는 기다린 시간에 비례하여(matchmaking.expand.ms마다 한 구간) 최대 matchmaking.max.radius까지 늘어나므로,
+ * 처음에는 비슷한 실력끼리만 잡히고 오래 기다릴수록 범위가 넓어집니다.
+ * 전체 대기열을 훑지 않으므로 대기 인원이 수천 명이어도 tick 하나는 구간 수에 비례하는 시간만 걸립니다.
+ *
+ * 대기열 인원, 성사된 매칭 수, 매칭까지 걸린 시간을 집계하여 주기적으로(matchmaking.stats.ms) 출력합니다.
+ *
+ * @param <P> 대기열에 들어가는 플레이어 타입
+ */
+public class MatchmakingService<P extends PlayerConnection> {
+
+    private static final int MAX_RATING = 3000;
+
+    /**
+     * 대기열에 들어간 플레이어 한 명입니다. 나가거나 매칭되면 active가 false가 되고,
+     * 큐에서는 맨 앞에 왔을 때 정리됩니다.
+     */
+    private final class Ticket {
+        final P player;
+        final int rating;
+        final long enqueuedNanos = System.nanoTime();
+        boolean active = true;
+
+        Ticket(P player, int rating) {
+            this.player = player;
+            this.rating = rating;
+        }
+    }
+
+    private final int band;
+    private final long expandNanos;
+    private final int maxRadius;
+    private final ArrayDeque<Ticket>[] buckets;
+    private final Map<P, Ticket> tickets = new HashMap<>(); // this로 동기화
+    private final BiConsumer<P, P> onMatch;
+    private final ScheduledExecutorService ticker;
+
+    private final AtomicLong matchesMade = new AtomicLong();
+    private final AtomicLong totalWaitMillis = new AtomicLong();
+    private final AtomicLong maxWaitMillis = new AtomicLong();
+    private long lastReportedMatches = -1;
+
+    /**
+     * 서버 설정의 매칭 설정으로 매칭 서비스를 만듭니다.
+     * @param onMatch 두 플레이어가 매칭되었을 때 호출될 함수 (매칭 스레드에서 호출됨)
+     * @param config  매칭 설정
+     */
+    public MatchmakingService(BiConsumer<P, P> onMatch, ServerConfig.Matchmaking config) {
+        this(onMatch, config.band, config.expandMillis, config.maxRadius, config.tickMillis, config.statsMillis);
+    }
+
+    /**
+     * MatchmakingService 생성자입니다.
+     * @param onMatch      두 플레이어가 매칭되었을 때 호출될 함수
+     * @param band         레이팅 구간 하나의 폭
+     * @param expandMillis 탐색 범위를 한 구간 넓히는 데 필요한 대기 시간(ms)
+     * @param maxRadius    탐색할 수 있는 최대 이웃 구간 수
+     * @param tickMillis   매칭을 시도하는 주기(ms)
+     * @param statsMillis  통계 출력 주기(ms), 0 이하이면 출력하지 않음
+     */
+    public MatchmakingService(BiConsumer<P, P> onMatch, int band, long expandMillis, int maxRadius,
+                              long tickMillis, long statsMillis) {
+        this.onMatch = onMatch;
+        this.band = Math.max(1, band);
+        this.expandNanos = Math.max(1, expandMillis) * 1_000_000L;
+        this.maxRadius = maxRadius;
+        @SuppressWarnings("unchecked") // 제네릭 배열은 직접 만들 수 없으므로 와일드카드 배열을 캐스팅
+        ArrayDeque<Ticket>[] slots = (ArrayDeque<Ticket>[]) new ArrayDeque<?>[MAX_RATING / this.band + 1];
+        this.buckets = slots;
+        for (int i = 0; i < buckets.length; i++) buckets[i] = new ArrayDeque<>();
+        this.ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "matchmaking");
+            t.setDaemon(true);
+            return t;
+        });
+        this.ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+        if (statsMillis > 0) {
+            this.ticker.scheduleAtFixedRate(this::reportStats, statsMillis, statsMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 플레이어를 대기열에 넣습니다.
+     * @return 새로 들어갔으면 true, 이미 대기 중이면 false
+     */
+    public synchronized boolean join(P player, int rating) {
+        if (tickets.containsKey(player)) return false;
+        Ticket ticket = new Ticket(player, rating);
+        tickets.put(player, ticket);
+        buckets[bucketOf(rating)].addLast(ticket);
+        return true;
+    }
+
+    /**
+     * 플레이어를 대기열에서 뺍니다.
+     * @return 대기 중이었으면 true
+     */
+    public synchronized boolean leave(P player) {
+        Ticket ticket = tickets.remove(player);
+        if (ticket == null) return false;
+        ticket.active = false;
+        return true;
+    }
+
+    public synchronized boolean isQueued(P player) {
+        return tickets.containsKey(player);
+    }
+
+    public synchronized int getQueueDepth() {
+        return tickets.size();
+    }
+
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+
+    /**
+     * 매칭 가능한 플레이어 쌍을 모두 찾아 onMatch를 호출합니다. (tick마다 호출)
+     */
+    void tick() {
+        List<Ticket> matched = new ArrayList<>();
+        synchronized (this) {
+            long now = System.nanoTime();
+            for (int b = 0; b < buckets.length; b++) {
+                Ticket ticket;
+                while ((ticket = head(b)) != null) {
+                    Ticket partner = findPartner(ticket, b, now);
+                    if (partner == null) break; // 이 구간에서 가장 오래 기다린 플레이어도 상대가 없음
+                    ticket.active = false;
+                    partner.active = false;
+                    tickets.remove(ticket.player);
+                    tickets.remove(partner.player);
+                    // 더 오래 기다린 플레이어를 앞에 둠
+                    boolean ticketFirst = ticket.enqueuedNanos <= partner.enqueuedNanos;
+                    matched.add(ticketFirst ? ticket : partner);
+                    matched.add(ticketFirst ? partner : ticket);
+                }
+            }
+        }
+
+        long now = System.nanoTime();
+        for (int i = 0; i < matched.size(); i += 2) {
+            Ticket first = matched.get(i);
+            Ticket second = matched.get(i + 1);
+            recordWait(now - first.enqueuedNanos);
+            recordWait(now - second.enqueuedNanos);
+            matchesMade.incrementAndGet();
+            try {
+                onMatch.accept(first.player, second.player);
+            } catch (RuntimeException e) {
+                // 매칭 하나의 오류로 다음 tick이 멈추지 않도록 함
+                System.err.println("매칭 처리 중 오류 발생: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 구간의 맨 앞에 있는 유효한 티켓을 반환합니다. 나갔거나 이미 매칭된 티켓은 이때 정리합니다.
+     */
+    private Ticket head(int bucket) {
+        ArrayDeque<Ticket> queue = buckets[bucket];
+        Ticket ticket;
+        while ((ticket = queue.peekFirst()) != null && !ticket.active) {
+            queue.pollFirst();
+        }
+        return ticket;
+    }
+
+    /**
+     * 티켓의 상대를 찾습니다. 같은 구간의 다음 플레이어를 먼저 보고,
+     * 없으면 기다린 시간만큼 허용된 이웃 구간의 맨 앞 플레이어 중 가장 오래 기다린 플레이어를 고릅니다.
+     */
+    private Ticket findPartner(Ticket ticket, int bucket, long now) {
+        Iterator<Ticket> it = buckets[bucket].iterator();
+        while (it.hasNext()) {
+            Ticket candidate = it.next();
+            if (candidate != ticket && candidate.active) return candidate;
+        }
+
+        int radius = (int) Math.min(maxRadius, (now - ticket.enqueuedNanos) / expandNanos);
+        for (int d = 1; d <= radius; d++) {
+            Ticket lower = bucket - d >= 0 ? head(bucket - d) : null;
+            Ticket upper = bucket + d < buckets.length ? head(bucket + d) : null;
+            if (lower != null && upper != null) {
+                return lower.enqueuedNanos <= upper.enqueuedNanos ? lower : upper;
+            }
+            if (lower != null) return lower;
+            if (upper != null) return upper;
+        }
+        return null;
+    }
+
+    private void recordWait(long waitedNanos) {
+        long waited = waitedNanos / 1_000_000L;
+        totalWaitMillis.addAndGet(waited);
+        maxWaitMillis.accumulateAndGet(waited, Math::max);
+    }
+
+    private int bucketOf(int rating) {
+        return Math.max(0, Math.min(buckets.length - 1, rating / band));
+    }
+
+    private void reportStats() {
+        long matches = matchesMade.get();
+        if (getQueueDepth() > 0 || matches != lastReportedMatches) {
+            System.out.println(statsSummary());
+            lastReportedMatches = matches;
+        }
+    }
+
+    /**
+     * 대기 인원, 성사된 매칭 수, 평균/최대 매칭 대기 시간을 한 줄로 요약합니다.
+     */
+    public String statsSummary() {
+        long matches = matchesMade.get();
+        double averageSeconds = matches == 0 ? 0 : totalWaitMillis.get() / (matches * 2 * 1000.0);
+        return String.format("매칭: 대기 %d명, 성사 %d건, 평균 대기 %.1f초, 최대 대기 %.1f초",
+                getQueueDepth(), matches, averageSeconds, maxWaitMillis.get() / 1000.0);
+    }
+
+    public long getMatchesMade() {
+        return matchesMade.get();
+    }
+}
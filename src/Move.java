@@ -0,0 +1,157 @@
+/**
+ * 한 수(기물 이동 또는 포로 놓기)를 int 하나로 압축하여 표현하는 유틸리티 클래스입니다.
+ * 게임 로직 내부에서는 문자열 대신 이 정수 코드를 사용하고,
+ * 기보 문자열(예: "Ka1xb2", "P@b3")은 화면 표시나 리플레이 저장이 필요할 때만 생성합니다.
+ *
+ * 비트 배치: [0-3] 도착 칸, [4-7] 출발 칸, [8-11] 기물(Piece.ordinal), [12] 잡기 여부, [13] 놓기 여부
+ * 칸 번호는 (행 * 3 + 열) 입니다.
+ */
+public final class Move {
+    private Move() {} // 인스턴스화 방지
+
+    public static final int NONE = -1; // 유효하지 않은 수
+
+    private static final int SQUARE_MASK = 0xF;
+    private static final int FROM_SHIFT = 4;
+    private static final int PIECE_SHIFT = 8;
+    private static final int CAPTURE_FLAG = 1 << 12;
+    private static final int DROP_FLAG = 1 << 13;
+
+    private static final Piece[] PIECES = Piece.values(); // ordinal -> Piece 변환용 캐시
+
+    /**
+     * 보드 위의 기물 이동을 코드로 만듭니다.
+     * @param piece   이동하는 기물
+     * @param fromR   시작 행
+     * @param fromC   시작 열
+     * @param toR     목표 행
+     * @param toC     목표 열
+     * @param capture 상대 기물을 잡는 수인지 여부
+     * @return 압축된 수 코드
+     */
+    public static int of(Piece piece, int fromR, int fromC, int toR, int toC, boolean capture) {
+        int move = (piece.ordinal() << PIECE_SHIFT) | (square(fromR, fromC) << FROM_SHIFT) | square(toR, toC);
+        return capture ? move | CAPTURE_FLAG : move;
+    }
+
+    /**
+     * 잡은 기물을 내려놓는 수를 코드로 만듭니다.
+     * @param piece 놓을 기물
+     * @param row   놓을 위치의 행
+     * @param col   놓을 위치의 열
+     * @return 압축된 수 코드
+     */
+    public static int drop(Piece piece, int row, int col) {
+        return DROP_FLAG | (piece.ordinal() << PIECE_SHIFT) | square(row, col);
+    }
+
+    // --- 코드 해석 헬퍼 ---
+    public static int square(int row, int col) { return row * 3 + col; }
+    public static int fromRow(int move) { return ((move >>> FROM_SHIFT) & SQUARE_MASK) / 3; }
+    public static int fromCol(int move) { return ((move >>> FROM_SHIFT) & SQUARE_MASK) % 3; }
+    public static int toRow(int move) { return (move & SQUARE_MASK) / 3; }
+    public static int toCol(int move) { return (move & SQUARE_MASK) % 3; }
+    public static Piece piece(int move) { return PIECES[(move >>> PIECE_SHIFT) & 0xF]; }
+    public static boolean isCapture(int move) { return (move & CAPTURE_FLAG) != 0; }
+    public static boolean isDrop(int move) { return (move & DROP_FLAG) != 0; }
+
+    /**
+     * 수 코드를 기보 문자열로 변환합니다.
+     * @param move 수 코드
+     * @return 기보 문자열 (예: "Ka1xb2", "P@b3")
+     */
+    public static String toNotation(int move) {
+        StringBuilder sb = new StringBuilder(6);
+        appendNotation(sb, move);
+        return sb.toString();
+    }
+
+    /**
+     * 수 코드를 기보 문자열로 변환하여 StringBuilder에 이어 붙입니다.
+     * 여러 수를 한 번에 직렬화할 때 중간 문자열 생성을 피하기 위해 사용합니다.
+     */
+    public static void appendNotation(StringBuilder sb, int move) {
+        sb.append(pieceChar(piece(move)));
+        if (isDrop(move)) {
+            sb.append('@');
+        } else {
+            appendSquare(sb, fromRow(move), fromCol(move));
+            if (isCapture(move)) sb.append('x');
+        }
+        appendSquare(sb, toRow(move), toCol(move));
+    }
+
+    private static void appendSquare(StringBuilder sb, int r, int c) {
+        sb.append((char) ('a' + c)).append((char) ('0' + (4 - r))); // 0열 -> 'a', 0행 -> '4'
+    }
+
+    /**
+     * 기존 텍스트 기보를 수 코드로 해석합니다. 정규식이나 부분 문자열을 만들지 않고 문자 단위로 직접 파싱합니다.
+     * 기보 문자열에는 소유자 정보가 없으므로, 기물의 소유자는 side로 지정합니다.
+     * @param notation 기보 문자열 (예: "Ka1b1", "Ka1xb2", "P@c2")
+     * @param side     이 수를 두는 플레이어
+     * @return 수 코드, 형식이 잘못되었으면 NONE
+     */
+    public static int parse(CharSequence notation, Piece.Player side) {
+        if (notation == null) return NONE;
+        int len = notation.length();
+        if (len < 4) return NONE;
+
+        Piece piece = pieceFromChar(notation.charAt(0), side);
+        if (piece == null) return NONE;
+
+        if (notation.charAt(1) == '@') { // 놓기: "P@b3"
+            if (len != 4) return NONE;
+            int to = parseSquare(notation, 2);
+            return to < 0 ? NONE : DROP_FLAG | (piece.ordinal() << PIECE_SHIFT) | to;
+        }
+
+        // 이동: "Ka1b2" 또는 "Ka1xb2"
+        int from = parseSquare(notation, 1);
+        if (from < 0) return NONE;
+        boolean capture = len == 6 && notation.charAt(3) == 'x';
+        if (len != 5 && !capture) return NONE;
+        int to = parseSquare(notation, capture ? 4 : 3);
+        if (to < 0) return NONE;
+
+        int move = (piece.ordinal() << PIECE_SHIFT) | (from << FROM_SHIFT) | to;
+        return capture ? move | CAPTURE_FLAG : move;
+    }
+
+    /** index 위치의 "a1" 형식 좌표를 칸 번호로 변환합니다. 범위를 벗어나면 -1을 반환합니다. */
+    private static int parseSquare(CharSequence s, int index) {
+        int c = s.charAt(index) - 'a';
+        int rank = s.charAt(index + 1) - '0';
+        if (c < 0 || c > 2 || rank < 1 || rank > 4) return -1;
+        return square(4 - rank, c);
+    }
+
+    /**
+     * 기물을 기보에 사용되는 한 글자 문자로 변환합니다.
+     */
+    public static char pieceChar(Piece piece) {
+        return switch (piece) {
+            case P1_KING, P2_KING -> 'K';
+            case P1_GENERAL, P2_GENERAL -> 'G';
+            case P1_ELEPHANT, P2_ELEPHANT -> 'E';
+            case P1_PAWN, P2_PAWN -> 'P';
+            case P1_PRINCE, P2_PRINCE -> 'R'; // '후'는 Prince로 표현
+        };
+    }
+
+    /**
+     * 기보 문자와 소유자로부터 기물을 찾습니다.
+     * @return 해당 기물, 알 수 없는 문자이면 null
+     */
+    public static Piece pieceFromChar(char pieceChar, Piece.Player owner) {
+        boolean p1 = owner == Piece.Player.P1;
+        return switch (pieceChar) {
+            case 'K' -> p1 ? Piece.P1_KING : Piece.P2_KING;
+            case 'G' -> p1 ? Piece.P1_GENERAL : Piece.P2_GENERAL;
+            case 'E' -> p1 ? Piece.P1_ELEPHANT : Piece.P2_ELEPHANT;
+            case 'P' -> p1 ? Piece.P1_PAWN : Piece.P2_PAWN;
+            case 'R' -> p1 ? Piece.P1_PRINCE : Piece.P2_PRINCE;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,75 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Move 코드를 저장하는 int 기반의 가변 길이 배열입니다.
+ * 박싱이나 문자열 생성 없이 기보를 기록하고, 필요할 때만 기보 문자열로 변환합니다.
+ */
+public class MoveList {
+
+    private int[] moves;
+    private int size = 0;
+
+    public MoveList() {
+        this(32);
+    }
+
+    public MoveList(int initialCapacity) {
+        this.moves = new int[Math.max(4, initialCapacity)];
+    }
+
+    /**
+     * 목록 끝에 수를 추가합니다. 공간이 부족하면 배열을 두 배로 늘립니다.
+     * @param move Move 코드
+     */
+    public void add(int move) {
+        if (size == moves.length) {
+            moves = Arrays.copyOf(moves, size * 2);
+        }
+        moves[size++] = move;
+    }
+
+    public int get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("index: " + index + ", size: " + size);
+        return moves[index];
+    }
+
+    /**
+     * 마지막 수를 제거하고 반환합니다.
+     * @return 제거된 Move 코드, 비어있으면 Move.NONE
+     */
+    public int removeLast() {
+        return size == 0 ? Move.NONE : moves[--size];
+    }
+
+    public int size() { return size; }
+    public boolean isEmpty() { return size == 0; }
+    public void clear() { size = 0; }
+    public int[] toArray() { return Arrays.copyOf(moves, size); }
+
+    /**
+     * 모든 수를 구분자로 이어 붙인 기보 문자열로 변환합니다.
+     * @param separator 수 사이에 넣을 구분자
+     * @return 기보 문자열 (예: "Pb2b3 Pb3xb2")
+     */
+    public String toNotationString(String separator) {
+        StringBuilder sb = new StringBuilder(size * 7);
+        for (int i = 0; i < size; i++) {
+            if (i > 0) sb.append(separator);
+            Move.appendNotation(sb, moves[i]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 각 수를 기보 문자열로 변환한 리스트를 새로 만들어 반환합니다.
+     */
+    public List<String> toNotationList() {
+        List<String> notations = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            notations.add(Move.toNotation(moves[i]));
+        }
+        return notations;
+    }
+}
@@ -0,0 +1,486 @@
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * 진행 중인 게임의 수를 디스크에 먼저 기록하는 로그(write-ahead log)입니다.
+ * 스냅샷(ServerSnapshot)은 주기적으로만 저장되므로, 그 사이에 서버가 비정상 종료되어도 둔 수를 잃지 않도록
+ * 게임 시작, 수, 무르기, 게임 종료를 이 로그에 이어 씁니다.
+ *
+ * 모든 게임의 기록은 메모리 버퍼에 모이고, move-log 스레드가 버퍼를 한 번에 파일에 쓰고 fsync합니다. (그룹 커밋)
+ * fsync하는 동안 들어온 기록은 다음 fsync에 함께 묶이므로, 게임이 많을수록 fsync 한 번에 더 많은 수가 기록됩니다.
+ * sync가 켜져 있으면 수를 둔 플레이어에게 응답하기 전에 그 수가 디스크에 기록될 때까지 기다립니다.
+ * logMove는 버퍼에 추가만 하고 기다릴 기록 번호를 반환하며, 기다리는 것(awaitDurable)은 호출한 쪽이 방 잠금을 놓은 뒤에 합니다.
+ * 파일에 쓰거나 새 세그먼트를 열다가 오류가 나면 로그는 실패 상태가 되어 더 이상 아무것도 쓰지 않으며,
+ * logMove나 awaitDurable이 실패를 알리므로 GameSession은 그 수를 받지 않습니다. (디스크에 남지 않은 수를 확정하지 않도록)
+ *
+ * 로그는 세그먼트 파일(moves_포트_번호.log)로 나뉩니다. 스냅샷을 저장할 때 새 세그먼트로 바꾸고,
+ * 스냅샷 저장이 끝나면 그 이전 세그먼트는 스냅샷에 모두 반영되었으므로 지웁니다.
+ * 서버를 시작할 때는 스냅샷을 복원한 뒤 남아 있는 세그먼트를 순서대로 다시 적용합니다.
+ * 기록마다 게임 ID와 수 번호(ply)가 있어, 스냅샷에 이미 반영된 기록은 건너뜁니다.
+ *
+ * 기록 형식 (DataOutputStream): byte 종류, long 게임 ID, 종류별 내용
+ *   S: UTF 방 제목, UTF 비밀번호, int 최대 인원, UTF 호스트 닉네임, UTF 호스트 토큰, UTF 게스트 닉네임, UTF 게스트 토큰, boolean 호스트가 P1인지
+ *   M: int 수 번호, int Move 코드, long P1 남은 시간(ms), long P2 남은 시간(ms) (시간 제한이 없으면 -1)
+ *   U: int 무른 뒤의 수 번호
+ *   E: 없음
+ */
+public class MoveLog {
+
+    static final byte START = 'S';
+    static final byte MOVE = 'M';
+    static final byte UNDO = 'U';
+    static final byte END = 'E';
+
+    /**
+     * 로그에서 읽은 기록 하나입니다. (복구할 때 GameSession에 전달)
+     */
+    static final class Entry {
+        final byte type;
+        final int ply;
+        final int move;
+        final long p1Millis;
+        final long p2Millis;
+
+        Entry(byte type, int ply, int move, long p1Millis, long p2Millis) {
+            this.type = type;
+            this.ply = ply;
+            this.move = move;
+            this.p1Millis = p1Millis;
+            this.p2Millis = p2Millis;
+        }
+    }
+
+    /**
+     * 로그에서 읽은 게임 하나의 기록입니다. 시작 기록이 이전 세그먼트에 있었으면(스냅샷에 반영됨) title이 null입니다.
+     */
+    static final class LoggedGame {
+        final long gameId;
+        String title, password, hostNickname, hostToken, guestNickname, guestToken;
+        int maxPlayers;
+        boolean hostIsP1;
+        boolean ended;
+        final List<Entry> entries = new ArrayList<>();
+
+        LoggedGame(long gameId) {
+            this.gameId = gameId;
+        }
+    }
+
+    private final Path dir;
+    private final int port;
+    private final boolean sync;
+    private final AtomicLong nextGameId;
+    private final Thread writer;
+
+    // --- lock으로 동기화 ---
+    private final Object lock = new Object();
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(1 << 16);
+    private final DataOutputStream bufferOut = new DataOutputStream(buffer);
+    private long appended = 0;   // 버퍼에 추가된 기록 수
+    private long durable = 0;    // fsync까지 끝난 기록 수
+    private int segment;         // 지금 쓰고 있는 세그먼트 번호
+    private boolean rotateRequested = false;
+    private boolean closed = false;
+    private IOException failure;  // 기록에 실패한 원인, 실패한 뒤로는 아무것도 기록하지 않음
+
+    // --- move-log 스레드에서만 사용 ---
+    private FileChannel channel;
+
+    // --- 통계 ---
+    private final AtomicLong commits = new AtomicLong();
+    private final AtomicLong committedRecords = new AtomicLong();
+
+    /**
+     * 남아 있는 세그먼트 다음 번호로 새 세그먼트를 열고 기록을 시작합니다.
+     * @param dir  로그를 저장할 디렉토리
+     * @param port 서버 포트 (같은 디렉토리를 쓰는 샤드끼리 파일을 나누기 위함)
+     * @param sync true이면 logMove가 기록이 디스크에 쓰일 때까지 기다림
+     * @throws IOException 로그 파일을 열 수 없는 경우
+     */
+    public MoveLog(Path dir, int port, boolean sync) throws IOException {
+        this.dir = dir;
+        this.port = port;
+        this.sync = sync;
+        this.nextGameId = new AtomicLong(System.currentTimeMillis() << 16); // 재시작해도 겹치지 않도록
+        Files.createDirectories(dir);
+        List<Path> existing = listSegments(dir, port);
+        this.segment = existing.isEmpty() ? 1 : segmentNumber(existing.get(existing.size() - 1)) + 1;
+        this.channel = openSegment(segment);
+        this.writer = new Thread(this::runWriter, "move-log-" + port);
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    public long newGameId() {
+        return nextGameId.incrementAndGet();
+    }
+
+    public void logStart(long gameId, String title, String password, int maxPlayers,
+                         String hostNickname, String hostToken, String guestNickname, String guestToken, boolean hostIsP1) {
+        synchronized (lock) {
+            if (failure != null) return;
+            try {
+                bufferOut.writeByte(START);
+                bufferOut.writeLong(gameId);
+                bufferOut.writeUTF(title);
+                bufferOut.writeUTF(password);
+                bufferOut.writeInt(maxPlayers);
+                bufferOut.writeUTF(hostNickname);
+                bufferOut.writeUTF(hostToken);
+                bufferOut.writeUTF(guestNickname);
+                bufferOut.writeUTF(guestToken);
+                bufferOut.writeBoolean(hostIsP1);
+            } catch (IOException e) {
+                throw new IllegalStateException(e); // 메모리 버퍼에 쓰므로 발생하지 않음
+            }
+            appended();
+        }
+    }
+
+    /**
+     * 둔 수를 버퍼에 추가합니다. 디스크에 기록될 때까지 기다리지는 않습니다.
+     * @param ply 이 수의 번호 (0부터)
+     * @return sync가 켜져 있으면 awaitDurable로 기다릴 기록 번호, sync가 꺼져 있으면 0, 로그가 실패 상태이면 -1
+     */
+    public long logMove(long gameId, int ply, int move, long p1Millis, long p2Millis) {
+        long seq;
+        synchronized (lock) {
+            if (failure != null) return -1;
+            try {
+                bufferOut.writeByte(MOVE);
+                bufferOut.writeLong(gameId);
+                bufferOut.writeInt(ply);
+                bufferOut.writeInt(move);
+                bufferOut.writeLong(p1Millis);
+                bufferOut.writeLong(p2Millis);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            seq = appended();
+        }
+        return sync ? seq : 0;
+    }
+
+    /**
+     * @param plyAfter 무른 뒤의 수 개수
+     */
+    public void logUndo(long gameId, int plyAfter) {
+        synchronized (lock) {
+            if (failure != null) return;
+            try {
+                bufferOut.writeByte(UNDO);
+                bufferOut.writeLong(gameId);
+                bufferOut.writeInt(plyAfter);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            appended();
+        }
+    }
+
+    public void logEnd(long gameId) {
+        synchronized (lock) {
+            if (failure != null) return;
+            try {
+                bufferOut.writeByte(END);
+                bufferOut.writeLong(gameId);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            appended();
+        }
+    }
+
+    private long appended() {
+        appended++;
+        lock.notifyAll();
+        return appended;
+    }
+
+    /**
+     * seq번째 기록까지 디스크에 쓰일 때까지 기다립니다.
+     * 게임방이나 세션의 잠금을 잡은 채로 호출하면 안 됩니다. (fsync 동안 그 방을 보는 다른 스레드가 모두 멈춤)
+     * @param seq logMove가 반환한 기록 번호
+     * @return 쓰였으면 true, 그 전에 로그가 실패 상태가 되었으면 false
+     */
+    public boolean awaitDurable(long seq) {
+        synchronized (lock) {
+            while (durable < seq && failure == null && !closed) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            return durable >= seq;
+        }
+    }
+
+    /**
+     * 기록에 실패하여 더 이상 기록하지 않는 상태인지 확인합니다.
+     */
+    public boolean isFailed() {
+        synchronized (lock) {
+            return failure != null;
+        }
+    }
+
+    /**
+     * 지금까지의 기록을 디스크에 쓰고 새 세그먼트로 바꿉니다. (스냅샷을 저장하기 직전에 호출)
+     * @return 새 세그먼트 번호, 이 번호 이전의 세그먼트는 이후에 저장한 스냅샷에 모두 반영됨.
+     *         로그가 실패 상태이면(바꾸지 못했으면) 0이며, 이때는 어떤 세그먼트도 지우면 안 됨
+     */
+    public int rotate() {
+        synchronized (lock) {
+            int target = segment + 1;
+            rotateRequested = true;
+            lock.notifyAll();
+            while (segment < target && failure == null && !closed) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            return segment >= target ? segment : 0;
+        }
+    }
+
+    /**
+     * 지정한 번호 이전의 세그먼트를 지웁니다. (스냅샷 저장이 끝난 뒤 호출)
+     */
+    public void deleteSegmentsBefore(int segmentNumber) {
+        try {
+            for (Path file : listSegments(dir, port)) {
+                if (segmentNumber(file) < segmentNumber) Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            System.err.println("수 기록 정리 중 오류 발생: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 남은 기록을 디스크에 쓰고 로그를 닫습니다.
+     */
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            writer.join(5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * fsync 횟수와 기록 수를 한 줄로 요약합니다.
+     */
+    public String statsSummary() {
+        long c = commits.get();
+        long r = committedRecords.get();
+        return String.format("수 기록: fsync %d회, 기록 %d개 (fsync당 %.1f개)", c, r, c == 0 ? 0.0 : (double) r / c);
+    }
+
+    // --- move-log 스레드 ---
+
+    private void runWriter() {
+        while (true) {
+            byte[] batch;
+            long target;
+            boolean rotate;
+            boolean last;
+            synchronized (lock) {
+                while (buffer.size() == 0 && !rotateRequested && !closed) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        // closed로만 종료
+                    }
+                }
+                batch = buffer.toByteArray();
+                buffer.reset();
+                target = appended;
+                rotate = rotateRequested;
+                last = closed;
+            }
+            try {
+                if (batch.length > 0) {
+                    ByteBuffer bytes = ByteBuffer.wrap(batch);
+                    while (bytes.hasRemaining()) channel.write(bytes);
+                    channel.force(false);
+                    commits.incrementAndGet();
+                }
+                synchronized (lock) {
+                    committedRecords.addAndGet(target - durable);
+                    durable = target;
+                    lock.notifyAll();
+                }
+                if (rotate && !last) {
+                    channel.close();
+                    channel = openSegment(segmentAfterRotate());
+                    synchronized (lock) {
+                        segment++;
+                        rotateRequested = false;
+                        lock.notifyAll();
+                    }
+                }
+                if (last) channel.close();
+            } catch (IOException e) {
+                // 어디까지 쓰였는지 알 수 없으므로 이후로는 기록하지 않고, 기다리는 쪽에 실패를 알림
+                System.err.println("수 기록 중 오류 발생 (이후 수를 받지 않습니다): " + e.getMessage());
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                    // 이미 닫힌 파일
+                }
+                synchronized (lock) {
+                    failure = e;
+                    buffer.reset();
+                    lock.notifyAll();
+                }
+                return;
+            }
+            if (last) return;
+        }
+    }
+
+    private int segmentAfterRotate() {
+        synchronized (lock) {
+            return segment + 1;
+        }
+    }
+
+    private FileChannel openSegment(int number) throws IOException {
+        return FileChannel.open(segmentFile(dir, port, number),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    // --- 복구 ---
+
+    /**
+     * 남아 있는 세그먼트를 순서대로 읽어, 스냅샷을 복원한 서버의 게임에 적용합니다.
+     * 스냅샷 이후에 시작된 게임은 방을 새로 만들거나(플레이어는 재접속을 기다리는 세션으로 복원) 기다리던 방에서 시작합니다.
+     * 마지막 기록이 쓰이다 만 경우(비정상 종료)에는 그 앞까지만 적용합니다.
+     * @return 기록을 적용한 게임 수
+     * @throws IOException 로그를 읽을 수 없는 경우
+     */
+    public static int recover(Path dir, int port, Server server) throws IOException {
+        if (!Files.isDirectory(dir)) return 0;
+        Map<Long, LoggedGame> games = new LinkedHashMap<>();
+        int records = 0;
+        for (Path file : listSegments(dir, port)) {
+            records += readSegment(file, games);
+        }
+        if (games.isEmpty()) return 0;
+
+        Map<Long, GameRoom> roomsByGame = new HashMap<>();
+        for (LobbyRoom lobbyRoom : server.getRoomIndex().values()) {
+            if (lobbyRoom instanceof GameRoom) {
+                GameRoom room = (GameRoom) lobbyRoom;
+                long gameId = room.getLoggedGameId();
+                if (gameId != 0) roomsByGame.put(gameId, room);
+            }
+        }
+        int recovered = 0;
+        for (LoggedGame game : games.values()) {
+            GameRoom room = roomsByGame.get(game.gameId);
+            if (room == null) {
+                if (game.title == null || game.ended) continue; // 스냅샷에 없는 끝난 게임은 복원할 것이 없음
+                room = server.getRoomIndex().getLocal(game.title);
+                if (room == null) {
+                    room = GameRoom.restoreFromLog(server, game);
+                    if (room == null || !server.getRoomIndex().add(room)) continue;
+                }
+            }
+            if (room.recoverLoggedGame(game)) recovered++;
+        }
+        System.out.println("수 기록 복구: 기록 " + records + "개, 게임 " + recovered + "개");
+        return recovered;
+    }
+
+    private static int readSegment(Path file, Map<Long, LoggedGame> games) throws IOException {
+        int records = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            while (true) {
+                byte type;
+                try {
+                    type = in.readByte();
+                } catch (EOFException e) {
+                    break;
+                }
+                try {
+                    LoggedGame game = games.computeIfAbsent(in.readLong(), LoggedGame::new);
+                    switch (type) {
+                        case START:
+                            game.title = in.readUTF();
+                            game.password = in.readUTF();
+                            game.maxPlayers = in.readInt();
+                            game.hostNickname = in.readUTF();
+                            game.hostToken = in.readUTF();
+                            game.guestNickname = in.readUTF();
+                            game.guestToken = in.readUTF();
+                            game.hostIsP1 = in.readBoolean();
+                            break;
+                        case MOVE:
+                            game.entries.add(new Entry(MOVE, in.readInt(), in.readInt(), in.readLong(), in.readLong()));
+                            break;
+                        case UNDO:
+                            game.entries.add(new Entry(UNDO, in.readInt(), 0, -1, -1));
+                            break;
+                        case END:
+                            game.ended = true;
+                            break;
+                        default:
+                            System.err.println("수 기록 파일이 손상되었습니다: " + file + " (" + records + "번째 기록 이후 무시)");
+                            return records;
+                    }
+                    records++;
+                } catch (EOFException e) {
+                    break; // 쓰이다 만 마지막 기록
+                }
+            }
+        }
+        return records;
+    }
+
+    private static List<Path> listSegments(Path dir, int port) throws IOException {
+        if (!Files.isDirectory(dir)) return new ArrayList<>();
+        String prefix = "moves_" + port + "_";
+        try (Stream<Path> files = Files.list(dir)) {
+            List<Path> segments = new ArrayList<>();
+            files.filter(p -> p.getFileName().toString().startsWith(prefix) && p.getFileName().toString().endsWith(".log"))
+                 .forEach(segments::add);
+            segments.sort((a, b) -> Integer.compare(segmentNumber(a), segmentNumber(b)));
+            return segments;
+        }
+    }
+
+    private static Path segmentFile(Path dir, int port, int number) {
+        return dir.resolve(String.format("moves_%d_%08d.log", port, number));
+    }
+
+    private static int segmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        return Integer.parseInt(name.substring(name.lastIndexOf('_') + 1, name.length() - ".log".length()));
+    }
+}
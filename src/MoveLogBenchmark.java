@@ -0,0 +1,102 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 수 기록(MoveLog)이 수 처리량에 주는 영향을 재는 벤치마크입니다.
+ *
+ * 서버를 띄우고 스레드마다 LoopbackConnection 두 개로 게임방을 하나씩 만들어, 양쪽 장(將)을 앞뒤로 움직이는 수를
+ * 쉬지 않고 주고받게 합니다. 수 기록 끔 / 기록하되 fsync 안 함 / 기록하고 fsync를 기다림 세 가지 설정을
+ * 동시 게임 수(스레드 수)마다 돌려 초당 처리한 수와 fsync 한 번에 묶인 기록 수(group commit)를 출력합니다.
+ *
+ * 사용법: java -cp out MoveLogBenchmark
+ *   -Dbench.rounds=2000          게임마다 주고받는 횟수 (한 번에 두 수)
+ *   -Dbench.threads=1,16,64      동시에 진행할 게임 수 목록
+ * 수 기록은 임시 디렉토리에 쓰므로, 실제 디스크에서 재려면 -Djava.io.tmpdir로 위치를 지정합니다.
+ */
+public class MoveLogBenchmark {
+
+    private static final int PORT = 23_490;
+    private static final int ROUNDS = Integer.getInteger("bench.rounds", 2_000);
+    private static final String THREADS = System.getProperty("bench.threads", "1,16,64");
+
+    public static void main(String[] args) throws Exception {
+        int port = PORT;
+        for (String t : THREADS.split(",")) {
+            int threads = Integer.parseInt(t.trim());
+            run("기록 끔", false, false, threads, port++);
+            run("기록, fsync 안 함", true, false, threads, port++);
+            run("기록, fsync", true, true, threads, port++);
+        }
+        System.exit(0);
+    }
+
+    /**
+     * 한 설정으로 새 서버를 띄워 게임 threads개를 동시에 진행하고 결과를 출력합니다.
+     */
+    private static void run(String name, boolean moveLog, boolean sync, int threads, int port)
+            throws IOException, InterruptedException {
+        Path dir = Files.createTempDirectory("movelog-bench");
+        Server server = new Server(ServerConfig.fromSystemProperties().withPort(port)
+                .withSnapshot(dir.toString(), 0).withMoveLog(moveLog, sync));
+        server.start();
+        AtomicLong rejected = new AtomicLong();
+        CountDownLatch ready = new CountDownLatch(threads);
+        CountDownLatch go = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            int id = i;
+            Thread t = new Thread(() -> {
+                try {
+                    playGame(server, "bench" + id, rejected, ready, go);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            }, "bench-game-" + id);
+            t.start();
+        }
+        ready.await();
+        long start = System.nanoTime();
+        go.countDown();
+        done.await();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        String stats = server.getMoveLog() != null ? ", " + server.getMoveLog().statsSummary() : "";
+        System.out.printf("%-14s 게임 %2d개: 초당 %,.0f수 (거부 %d수)%s%n",
+                name, threads, (double) threads * ROUNDS * 2 / seconds, rejected.get(), stats);
+        server.stop();
+    }
+
+    /**
+     * 게임방 하나를 시작하고, 신호가 오면 양쪽 장을 한 칸씩 앞뒤로 ROUNDS번 움직입니다.
+     */
+    private static void playGame(Server server, String title, AtomicLong rejected,
+                                 CountDownLatch ready, CountDownLatch go) throws InterruptedException {
+        boolean[] aIsP1 = new boolean[1];
+        LoopbackConnection a = new LoopbackConnection(title + "-a", m -> {
+            if (m.equals(Protocol.ASSIGN_ROLE + " " + Protocol.P1)) aIsP1[0] = true;
+            if (m.startsWith(Protocol.MOVE_REJECTED)) rejected.incrementAndGet();
+        });
+        LoopbackConnection b = new LoopbackConnection(title + "-b", m -> {
+            if (m.startsWith(Protocol.MOVE_REJECTED)) rejected.incrementAndGet();
+        });
+        b.join(a.createRoom(server, title));
+        a.send(Protocol.READY);
+        b.send(Protocol.READY);
+        LoopbackConnection p1 = aIsP1[0] ? a : b;
+        LoopbackConnection p2 = aIsP1[0] ? b : a;
+
+        String[] p1Moves = {"3 2 2 2", "2 2 3 2"};
+        String[] p2Moves = {"0 0 1 0", "1 0 0 0"};
+        ready.countDown();
+        go.await();
+        for (int i = 0; i < ROUNDS; i++) {
+            p1.send(Protocol.MOVE + " " + p1Moves[i % 2]);
+            p2.send(Protocol.MOVE + " " + p2Moves[i % 2]);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * 실제 게임 기록에서 만들어진 오프닝 북(초반 수 통계)입니다.
+ * 포지션 해시별로 각 수가 둔 횟수와 그 수를 둔 플레이어의 승/패 횟수를 가지고 있으며,
+ * 서버의 수 추천이나 컴퓨터 플레이어가 초반 포지션에서 탐색 없이 수를 고를 때 사용합니다.
+ *
+ * 파일 형식 (빅 엔디언): [매직 넘버 int][항목 수 int] 다음에 (해시 long, 수 short, 횟수 int, 승 int, 패 int) 항목이
+ * 해시 순서로 정렬되어 이어집니다. 조회는 정렬된 배열에 대한 이진 탐색으로 수행합니다.
+ */
+public class OpeningBook {
+
+    public static final int MAGIC = 0x4F424B31; // "OBK1"
+    public static final String DEFAULT_FILE = "opening_book.dat";
+    private static final int MIN_GAMES_FOR_SUGGESTION = 3; // 추천에 사용할 최소 표본 수
+
+    private final long[] hashes;
+    private final int[] moves;
+    private final int[] games;
+    private final int[] wins;
+    private final int[] losses;
+
+    private OpeningBook(long[] hashes, int[] moves, int[] games, int[] wins, int[] losses) {
+        this.hashes = hashes;
+        this.moves = moves;
+        this.games = games;
+        this.wins = wins;
+        this.losses = losses;
+    }
+
+    /** 아무 항목도 없는 오프닝 북을 반환합니다. */
+    public static OpeningBook empty() {
+        return new OpeningBook(new long[0], new int[0], new int[0], new int[0], new int[0]);
+    }
+
+    /**
+     * 파일에서 오프닝 북을 읽어옵니다.
+     * @param file 오프닝 북 파일
+     * @throws IOException 파일을 읽을 수 없거나 형식이 잘못된 경우
+     */
+    public static OpeningBook load(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) throw new IOException("오프닝 북 파일 형식이 아닙니다: " + file);
+            int count = in.readInt();
+            long[] hashes = new long[count];
+            int[] moves = new int[count], games = new int[count], wins = new int[count], losses = new int[count];
+            for (int i = 0; i < count; i++) {
+                hashes[i] = in.readLong();
+                moves[i] = in.readShort() & 0xFFFF;
+                games[i] = in.readInt();
+                wins[i] = in.readInt();
+                losses[i] = in.readInt();
+            }
+            return new OpeningBook(hashes, moves, games, wins, losses);
+        }
+    }
+
+    /**
+     * 파일이 있으면 오프닝 북을 읽고, 없거나 읽을 수 없으면 빈 오프닝 북을 반환합니다.
+     */
+    public static OpeningBook loadOrEmpty(Path file) {
+        if (!Files.exists(file)) return empty();
+        try {
+            OpeningBook book = load(file);
+            System.out.println("오프닝 북 로드: " + file + " (" + book.size() + "개 항목)");
+            return book;
+        } catch (IOException e) {
+            System.err.println("오프닝 북을 읽을 수 없습니다: " + e.getMessage());
+            return empty();
+        }
+    }
+
+    /**
+     * 정렬된 항목 배열을 파일로 저장합니다. (OpeningBookBuilder에서 사용)
+     * 배열은 해시 기준으로 정렬되어 있어야 합니다.
+     */
+    static void write(Path file, long[] hashes, int[] moves, int[] games, int[] wins, int[] losses, int count) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(count);
+            for (int i = 0; i < count; i++) {
+                out.writeLong(hashes[i]);
+                out.writeShort(moves[i]);
+                out.writeInt(games[i]);
+                out.writeInt(wins[i]);
+                out.writeInt(losses[i]);
+            }
+        }
+    }
+
+    /**
+     * 게임의 현재 포지션에서 오프닝 북이 추천하는 수를 반환합니다.
+     * @param logic 현재 게임
+     * @return 추천 수 (Move 코드), 북에 없는 포지션이면 Move.NONE
+     */
+    public int suggest(GameLogic logic) {
+        return suggest(PositionHash.of(logic));
+    }
+
+    /**
+     * 포지션 해시에 대해 가장 좋은 수를 반환합니다.
+     * 충분히 자주 둔 수 중에서 승률(무승부 보정)이 가장 높은 수를 고르며, 승률이 같으면 더 많이 둔 수를 고릅니다.
+     * @param hash 포지션 해시
+     * @return 추천 수 (Move 코드), 없으면 Move.NONE
+     */
+    public int suggest(long hash) {
+        int first = firstIndexOf(hash);
+        if (first < 0) return Move.NONE;
+        int best = -1;
+        double bestScore = -1;
+        for (int i = first; i < hashes.length && hashes[i] == hash; i++) {
+            if (games[i] < MIN_GAMES_FOR_SUGGESTION) continue;
+            double score = (wins[i] + 0.5 * (games[i] - wins[i] - losses[i])) / games[i];
+            if (score > bestScore || (score == bestScore && games[i] > games[best])) {
+                best = i;
+                bestScore = score;
+            }
+        }
+        return best < 0 ? Move.NONE : moves[best];
+    }
+
+    /**
+     * 포지션 해시에 대해 기록된 수의 개수를 반환합니다.
+     */
+    public int candidateCount(long hash) {
+        int first = firstIndexOf(hash);
+        if (first < 0) return 0;
+        int count = 0;
+        for (int i = first; i < hashes.length && hashes[i] == hash; i++) count++;
+        return count;
+    }
+
+    /** 같은 해시를 가진 항목 중 첫 번째 항목의 인덱스를 찾습니다. 없으면 -1을 반환합니다. */
+    private int firstIndexOf(long hash) {
+        int index = Arrays.binarySearch(hashes, hash);
+        if (index < 0) return -1;
+        while (index > 0 && hashes[index - 1] == hash) index--;
+        return index;
+    }
+
+    public int size() {
+        return hashes.length;
+    }
+}
@@ -0,0 +1,159 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * 리플레이 저장소 전체로부터 오프닝 북 파일을 만드는 배치 도구입니다.
+ * 모든 리플레이를 병렬로 GameLogic에 통과시키면서 초반 maxPly 수까지의 포지션 해시별 수 빈도와 승패를 집계합니다.
+ *
+ * 각 파일은 한 줄씩 읽으며 처리하고 초반 수만 보관하므로, 메모리 사용량은 리플레이 개수와 무관하게
+ * 집계되는 포지션 수(maxPositions)로 제한됩니다. 한도에 도달하면 새 포지션은 추가하지 않고 기존 포지션의 통계만 갱신합니다.
+ *
+ * 사용법: java -cp out OpeningBookBuilder [리플레이 디렉토리] [출력 파일] [최대 수] [최대 포지션 수]
+ */
+public class OpeningBookBuilder {
+
+    private final int maxPly;
+    private final int maxPositions;
+    private final ConcurrentHashMap<Long, PositionStats> positions = new ConcurrentHashMap<>();
+    private final AtomicInteger processedGames = new AtomicInteger();
+    private final AtomicInteger skippedGames = new AtomicInteger();
+
+    /**
+     * 한 포지션에서 둔 수들의 통계입니다. 한 포지션의 후보 수는 많지 않으므로 작은 배열로 관리합니다.
+     */
+    private static class PositionStats {
+        private int[] moves = new int[4];
+        private int[] games = new int[4];
+        private int[] wins = new int[4];
+        private int[] losses = new int[4];
+        private int size = 0;
+
+        /**
+         * @param move   둔 수
+         * @param result 그 수를 둔 플레이어 기준 결과 (1: 승, -1: 패, 0: 결과 없음)
+         */
+        synchronized void record(int move, int result) {
+            int i = 0;
+            while (i < size && moves[i] != move) i++;
+            if (i == size) {
+                if (size == moves.length) {
+                    moves = Arrays.copyOf(moves, size * 2);
+                    games = Arrays.copyOf(games, size * 2);
+                    wins = Arrays.copyOf(wins, size * 2);
+                    losses = Arrays.copyOf(losses, size * 2);
+                }
+                moves[i] = move;
+                size++;
+            }
+            games[i]++;
+            if (result > 0) wins[i]++;
+            else if (result < 0) losses[i]++;
+        }
+    }
+
+    public OpeningBookBuilder(int maxPly, int maxPositions) {
+        this.maxPly = maxPly;
+        this.maxPositions = maxPositions;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path replayDir = Path.of(args.length > 0 ? args[0] : ReplayArchive.REPLAY_DIR);
+        Path output = Path.of(args.length > 1 ? args[1] : OpeningBook.DEFAULT_FILE);
+        int maxPly = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int maxPositions = args.length > 3 ? Integer.parseInt(args[3]) : 500_000;
+
+        OpeningBookBuilder builder = new OpeningBookBuilder(maxPly, maxPositions);
+        long start = System.nanoTime();
+        try (Stream<Path> files = ReplayArchive.listReplayFiles(replayDir)) {
+            files.parallel().forEach(builder::processFile);
+        }
+        int entries = builder.writeTo(output);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf("오프닝 북 생성 완료: %s%n", output);
+        System.out.printf("처리한 게임 %d개, 건너뛴 게임 %d개, 포지션 %d개, 항목 %d개 (%.2f초)%n",
+                builder.processedGames.get(), builder.skippedGames.get(), builder.positions.size(), entries, seconds);
+    }
+
+    /**
+     * 리플레이 파일 하나를 처음부터 끝까지 실행하고, 초반 수들을 게임 결과와 함께 집계합니다.
+     * 규칙에 맞지 않는 수가 있는 리플레이는 건너뜁니다.
+     */
+    void processFile(Path file) {
+        GameLogic logic = new GameLogic();
+        logic.startGame();
+        long[] plyHashes = new long[maxPly];
+        int[] plyMoves = new int[maxPly];
+        int recorded = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String notation = line.trim();
+                if (notation.isEmpty()) continue;
+                long hash = recorded < maxPly ? PositionHash.of(logic) : 0L;
+                if (!logic.executeMove(notation)) {
+                    skippedGames.incrementAndGet();
+                    return;
+                }
+                if (recorded < maxPly) {
+                    plyHashes[recorded] = hash;
+                    plyMoves[recorded] = logic.getMoves().get(logic.getMoves().size() - 1);
+                    recorded++;
+                }
+            }
+        } catch (IOException e) {
+            skippedGames.incrementAndGet();
+            return;
+        }
+
+        Piece.Player winner = ReplayArchive.findWinner(logic);
+        for (int ply = 0; ply < recorded; ply++) {
+            Piece.Player mover = ply % 2 == 0 ? Piece.Player.P1 : Piece.Player.P2;
+            int result = winner == null ? 0 : (winner == mover ? 1 : -1);
+            PositionStats stats = positions.size() < maxPositions
+                    ? positions.computeIfAbsent(plyHashes[ply], k -> new PositionStats())
+                    : positions.get(plyHashes[ply]);
+            if (stats != null) stats.record(plyMoves[ply], result);
+        }
+        processedGames.incrementAndGet();
+    }
+
+    /**
+     * 집계 결과를 해시 순서로 정렬하여 오프닝 북 파일로 저장합니다.
+     * @return 저장된 항목 수
+     */
+    int writeTo(Path output) throws IOException {
+        List<Map.Entry<Long, PositionStats>> sorted = new ArrayList<>(positions.entrySet());
+        sorted.sort(Map.Entry.comparingByKey());
+
+        int count = 0;
+        for (Map.Entry<Long, PositionStats> entry : sorted) count += entry.getValue().size;
+
+        long[] hashes = new long[count];
+        int[] moves = new int[count], games = new int[count], wins = new int[count], losses = new int[count];
+        int i = 0;
+        for (Map.Entry<Long, PositionStats> entry : sorted) {
+            PositionStats stats = entry.getValue();
+            for (int j = 0; j < stats.size; j++, i++) {
+                hashes[i] = entry.getKey();
+                moves[i] = stats.moves[j];
+                games[i] = stats.games[j];
+                wins[i] = stats.wins[j];
+                losses[i] = stats.losses[j];
+            }
+        }
+        OpeningBook.write(output, hashes, moves, games, wins, losses, count);
+        return count;
+    }
+}
@@ -0,0 +1,91 @@
+import javax.imageio.ImageIO;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.URL;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 기물 이미지를 (기물, 방향, 크기)별로 미리 그려 두는 스프라이트 캐시입니다.
+ * 원본 PNG는 프로세스에서 한 번만 읽고, 필요한 크기의 회전/확대 결과는 화면과 호환되는 BufferedImage에
+ * 한 번만 그려서 재사용합니다. 보드 크기가 바뀌면 invalidate()로 비우고 새 크기로 다시 만듭니다.
+ */
+public class PieceSpriteCache {
+
+    // 원본 기물 이미지 (모든 캐시가 공유, 이미지 파일이 없으면 항목이 없음)
+    private static final Map<Piece, BufferedImage> SOURCES = loadSources();
+
+    private final Map<Long, ImageIcon> sprites = new HashMap<>();
+
+    private static Map<Piece, BufferedImage> loadSources() {
+        Map<Piece, BufferedImage> sources = new EnumMap<>(Piece.class);
+        for (Piece piece : Piece.values()) {
+            URL url = PieceSpriteCache.class.getResource("/images/" + piece.name() + ".png");
+            if (url == null) continue;
+            try {
+                sources.put(piece, ImageIO.read(url));
+            } catch (IOException e) {
+                System.err.println("기물 이미지를 읽을 수 없습니다: " + url);
+            }
+        }
+        return sources;
+    }
+
+    /**
+     * 주어진 크기와 방향으로 그려진 기물 아이콘을 반환합니다.
+     * @param piece     기물
+     * @param rotate180 180도 회전 여부 (상대 기물)
+     * @param width     아이콘 너비
+     * @param height    아이콘 높이
+     * @return 기물 아이콘, 이미지 파일이 없으면 null
+     */
+    public ImageIcon getIcon(Piece piece, boolean rotate180, int width, int height) {
+        BufferedImage source = SOURCES.get(piece);
+        if (source == null) return null;
+        int w = Math.max(1, width);
+        int h = Math.max(1, height);
+        long key = ((long) piece.ordinal() << 33) | ((rotate180 ? 1L : 0L) << 32) | ((long) w << 16) | h;
+        return sprites.computeIfAbsent(key, k -> new ImageIcon(render(source, rotate180, w, h)));
+    }
+
+    /**
+     * 미리 그려 둔 스프라이트를 모두 버립니다. (보드 크기가 바뀌었을 때 호출)
+     */
+    public void invalidate() {
+        sprites.clear();
+    }
+
+    public int size() {
+        return sprites.size();
+    }
+
+    /**
+     * 원본 이미지를 목표 크기로 확대/축소하고 필요하면 회전시켜 한 번에 그립니다.
+     */
+    private static BufferedImage render(BufferedImage source, boolean rotate180, int width, int height) {
+        BufferedImage sprite = createCompatibleImage(width, height);
+        Graphics2D g2d = sprite.createGraphics();
+        g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        if (rotate180) g2d.rotate(Math.PI, width / 2.0, height / 2.0);
+        g2d.drawImage(source, 0, 0, width, height, null);
+        g2d.dispose();
+        return sprite;
+    }
+
+    /**
+     * 현재 화면 장치와 호환되는(그리기 시 변환이 필요 없는) 투명 이미지를 만듭니다.
+     * 화면이 없는 환경에서는 일반 ARGB 이미지를 사용합니다.
+     */
+    private static BufferedImage createCompatibleImage(int width, int height) {
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration gc = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            return gc.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        }
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+    }
+}
@@ -2,6 +2,7 @@
  * 클라이언트와의 연결을 추상화하는 인터페이스.
  * GameRoom, GameSession 등 게임 로직이 구체적인 네트워크 구현(ClientHandler)에
  * 의존하지 않도록 분리하는 역할을 합니다. (DIP)
+ * 소켓 없이 게임 로직만 돌려볼 때는 메모리 안에서 동작하는 LoopbackConnection을 사용합니다.
  */
 public interface PlayerConnection {
     /**
@@ -15,4 +16,16 @@ public interface PlayerConnection {
      * @return 플레이어 닉네임
      */
     String getNickname();
+
+    /**
+     * 플레이어가 현재 입장해 있는 게임방을 반환합니다.
+     * @return 게임방, 로비에 있으면 null
+     */
+    GameRoom getCurrentRoom();
+
+    /**
+     * 플레이어가 입장한 게임방을 기록합니다. GameRoom이 입장/퇴장 시 호출합니다.
+     * @param room 입장한 게임방, 로비로 나가면 null
+     */
+    void setCurrentRoom(GameRoom room);
 }
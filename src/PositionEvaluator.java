@@ -0,0 +1,68 @@
+/**
+ * 서버 측에서 GameLogic 포지션을 평가하는 클래스입니다.
+ * 모든 게임과 분석 작업이 하나의 프로세스 전역 트랜스포지션 테이블을 공유하므로,
+ * 여러 게임에서 반복적으로 등장하는 초반 포지션은 한 번 탐색된 결과를 재사용합니다.
+ * 탐색 자체는 호출마다 새로운 GameSearch 인스턴스로 수행하므로 여러 스레드에서 동시에 호출해도 안전합니다.
+ * 오프닝 북이 설정되어 있으면 수 추천 시 북에 있는 초반 포지션은 탐색 없이 바로 답합니다.
+ */
+public class PositionEvaluator {
+
+    private static final int DEFAULT_CACHE_MB = 32;
+    // 프로세스 전역 평가기 (메모리 예산은 시스템 속성 eval.cache.mb로 조절)
+    private static final PositionEvaluator SHARED =
+            new PositionEvaluator(new TranspositionTable(Integer.getInteger("eval.cache.mb", DEFAULT_CACHE_MB)));
+
+    private final TranspositionTable table;
+    private volatile OpeningBook openingBook = OpeningBook.empty();
+
+    public PositionEvaluator(TranspositionTable table) {
+        this.table = table;
+    }
+
+    /** 프로세스 전역에서 공유하는 평가기를 반환합니다. */
+    public static PositionEvaluator shared() {
+        return SHARED;
+    }
+
+    /**
+     * 게임의 현재 포지션을 평가합니다.
+     * @param logic        평가할 게임 (변경되지 않음)
+     * @param maxDepth     최대 탐색 깊이
+     * @param budgetMillis 최대 탐색 시간(ms)
+     * @return 둘 차례인 플레이어 입장의 탐색 결과
+     */
+    public GameSearch.Result evaluate(GameLogic logic, int maxDepth, long budgetMillis) {
+        return evaluate(logic.getBoard(), logic.getCurrentPlayer(), maxDepth, budgetMillis);
+    }
+
+    public GameSearch.Result evaluate(GameBoard board, Piece.Player sideToMove, int maxDepth, long budgetMillis) {
+        return new GameSearch(table).search(board, sideToMove, maxDepth, budgetMillis);
+    }
+
+    /**
+     * 둘 차례인 플레이어에게 추천할 수를 반환합니다.
+     * 오프닝 북에 현재 포지션의 수가 있고 그 수가 규칙상 둘 수 있는 수이면 탐색 없이 그 수를 반환하고,
+     * 그렇지 않으면 탐색 결과의 최선 수를 반환합니다.
+     * @return 추천 수 (Move 코드), 둘 수 있는 수가 없으면 Move.NONE
+     */
+    public int suggestMove(GameLogic logic, int maxDepth, long budgetMillis) {
+        int bookMove = openingBook.suggest(logic);
+        // 해시 충돌로 다른 포지션의 수가 나올 수 있으므로 현재 포지션에서 둘 수 있는 수인지 확인
+        if (bookMove != Move.NONE && GameSearch.apply(logic.getBoard(), logic.getCurrentPlayer(), bookMove) != null) {
+            return bookMove;
+        }
+        return evaluate(logic, maxDepth, budgetMillis).getBestMove();
+    }
+
+    public void setOpeningBook(OpeningBook openingBook) {
+        this.openingBook = openingBook;
+    }
+
+    public OpeningBook getOpeningBook() {
+        return openingBook;
+    }
+
+    public TranspositionTable getTable() {
+        return table;
+    }
+}
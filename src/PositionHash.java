@@ -0,0 +1,70 @@
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * GameBoard 상태를 64비트 해시 값으로 변환하는 Zobrist 해시 유틸리티 클래스입니다.
+ * 보드 위 기물 배치, 양쪽 플레이어가 잡은 기물의 개수, 그리고 둘 차례인 플레이어를 모두 반영합니다.
+ * 난수 키는 고정된 시드로 생성되므로 서버 프로세스가 달라도 같은 포지션은 항상 같은 해시 값을 가집니다.
+ * (오프닝 북 파일처럼 디스크에 저장되는 데이터의 키로도 사용됩니다.)
+ */
+public final class PositionHash {
+    private PositionHash() {} // 인스턴스화 방지
+
+    private static final int PIECE_COUNT = Piece.values().length;
+    private static final int MAX_IN_HAND = 3; // 같은 종류의 포로는 최대 2개까지 가질 수 있음 (0~2)
+
+    private static final long[][] SQUARE_KEYS = new long[12][PIECE_COUNT]; // [칸][기물]
+    private static final long[][] HAND_KEYS = new long[PIECE_COUNT][MAX_IN_HAND]; // [포로 기물][개수]
+    private static final long P2_TO_MOVE_KEY;
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x12_5A6E_C0DEL);
+        for (long[] keys : SQUARE_KEYS) {
+            for (int i = 0; i < keys.length; i++) keys[i] = random.nextLong();
+        }
+        for (long[] keys : HAND_KEYS) {
+            for (int i = 0; i < keys.length; i++) keys[i] = random.nextLong();
+        }
+        P2_TO_MOVE_KEY = random.nextLong();
+    }
+
+    /**
+     * 보드와 둘 차례인 플레이어로부터 포지션 해시를 계산합니다.
+     * @param board      해시를 계산할 보드
+     * @param sideToMove 둘 차례인 플레이어
+     * @return 64비트 포지션 해시
+     */
+    public static long of(GameBoard board, Piece.Player sideToMove) {
+        long hash = sideToMove == Piece.Player.P2 ? P2_TO_MOVE_KEY : 0L;
+        for (int r = 0; r < 4; r++) {
+            for (int c = 0; c < 3; c++) {
+                Piece piece = board.getPieceAt(r, c);
+                if (piece != null) hash ^= SQUARE_KEYS[r * 3 + c][piece.ordinal()];
+            }
+        }
+        hash ^= handHash(board.getP1Captured());
+        hash ^= handHash(board.getP2Captured());
+        return hash;
+    }
+
+    /**
+     * 게임 로직의 현재 포지션 해시를 계산합니다.
+     */
+    public static long of(GameLogic logic) {
+        return of(logic.getBoard(), logic.getCurrentPlayer());
+    }
+
+    /**
+     * 잡은 기물 목록의 해시를 계산합니다. 목록의 순서와 무관하게 기물별 개수만 반영합니다.
+     * (포로는 소유자가 바뀐 기물로 저장되므로 P1/P2 포로가 서로 다른 키를 사용하게 됩니다.)
+     */
+    private static long handHash(List<Piece> captured) {
+        int[] counts = new int[PIECE_COUNT];
+        for (Piece piece : captured) counts[piece.ordinal()]++;
+        long hash = 0L;
+        for (int i = 0; i < PIECE_COUNT; i++) {
+            if (counts[i] > 0) hash ^= HAND_KEYS[i][Math.min(counts[i], MAX_IN_HAND - 1)];
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,165 @@
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * 수 예약(PREMOVE)의 서버 동작을 확인하는 점검 도구입니다.
+ * 서버를 시작하지 않고 LoopbackConnection 두 개로 게임방을 만들어 다음 경우를 확인합니다.
+ * - 상대의 수로 둘 수 없게 된 예약은 취소되고 "SYSTEM … 취소" 메시지와 PREMOVE_STATUS로 알려진다.
+ * - 여러 개 예약한 수는 차례가 올 때마다 하나씩 이어서 실행된다.
+ * - 수 무르기가 수락되면 양쪽의 예약이 모두 지워져 이후 실행되지 않는다.
+ *
+ * 사용법: java -cp out PremoveCheck
+ * 실패한 항목을 출력하고, 하나라도 실패하면 종료 코드 1로 끝납니다.
+ */
+public class PremoveCheck {
+
+    private static int failures = 0;
+
+    /**
+     * 받은 메시지를 모두 기록하는 플레이어입니다.
+     */
+    private static final class Player {
+        final List<String> received = new CopyOnWriteArrayList<>();
+        final LoopbackConnection connection;
+
+        Player(String nickname) {
+            connection = new LoopbackConnection(nickname, received::add);
+        }
+
+        void send(String message) {
+            connection.send(message);
+        }
+
+        boolean receivedStartingWith(String prefix) {
+            return received.stream().anyMatch(m -> m.startsWith(prefix));
+        }
+
+        /** 마지막으로 받은 PREMOVE_STATUS의 개수, 받은 적이 없으면 -1 */
+        int lastPremoveStatus() {
+            for (int i = received.size() - 1; i >= 0; i--) {
+                String m = received.get(i);
+                if (m.startsWith(Protocol.PREMOVE_STATUS + " ")) {
+                    return Integer.parseInt(m.substring(Protocol.PREMOVE_STATUS.length() + 1).trim());
+                }
+            }
+            return -1;
+        }
+
+        /** 마지막으로 받은 UPDATE_STATE를 해석한 상태 */
+        GameStateCodec.State lastState() {
+            for (int i = received.size() - 1; i >= 0; i--) {
+                String m = received.get(i);
+                if (m.startsWith(Protocol.UPDATE_STATE + " ")) {
+                    return GameStateCodec.decode(m.substring(Protocol.UPDATE_STATE.length() + 1));
+                }
+            }
+            throw new IllegalStateException("UPDATE_STATE를 받지 못했습니다.");
+        }
+    }
+
+    /**
+     * 게임이 시작된 방의 두 플레이어입니다. (역할은 무작위로 배정되므로 ASSIGN_ROLE을 보고 나눔)
+     */
+    private static final class Game {
+        final Player p1;
+        final Player p2;
+
+        Game(Server server, String title) {
+            Player a = new Player(title + "-a");
+            Player b = new Player(title + "-b");
+            GameRoom room = a.connection.createRoom(server, title);
+            b.connection.join(room);
+            a.send(Protocol.READY);
+            b.send(Protocol.READY);
+            boolean aIsP1 = a.received.contains("ASSIGN_ROLE P1");
+            p1 = aIsP1 ? a : b;
+            p2 = aIsP1 ? b : a;
+        }
+    }
+
+    public static void main(String[] args) {
+        Server server = new Server(ServerConfig.fromSystemProperties());
+
+        invalidatedPremove(server);
+        chainedPremoves(server);
+        undoClearsPremoves(server);
+
+        if (failures > 0) {
+            System.out.println("예약 점검 실패: " + failures + "개");
+            System.exit(1);
+        }
+        System.out.println("예약 점검 통과");
+    }
+
+    /**
+     * P2가 졸(1,1)로 P1의 졸(2,1)을 잡도록 예약했는데, P1이 먼저 졸로 (1,1)을 잡으면 예약은 둘 수 없게 된다.
+     */
+    private static void invalidatedPremove(Server server) {
+        Game game = new Game(server, "premove-invalid");
+        game.p2.send(Protocol.PREMOVE + " 1 1 2 1");
+        check(game.p2.lastPremoveStatus() == 1, "무효 예약: 예약 후 PREMOVE_STATUS 1");
+
+        game.p1.send(Protocol.MOVE + " 2 1 1 1");
+        check(game.p2.receivedStartingWith("SYSTEM: 예약한 수 1개를 둘 수 없게 되어 취소했습니다."), "무효 예약: 취소 안내 메시지");
+        check(game.p2.lastPremoveStatus() == 0, "무효 예약: 취소 후 PREMOVE_STATUS 0");
+        GameStateCodec.State state = game.p2.lastState();
+        check(state.currentPlayer == Piece.Player.P2, "무효 예약: 취소된 뒤 P2의 차례로 남음");
+        check(state.board.getPieceAt(1, 1) == Piece.P1_PAWN, "무효 예약: P1의 졸이 (1,1)에 있음");
+    }
+
+    /**
+     * P2가 장(0,0)을 내렸다가 올리는 두 수를 예약하면, P1이 둘 때마다 하나씩 실행된다.
+     */
+    private static void chainedPremoves(Server server) {
+        Game game = new Game(server, "premove-chain");
+        game.p2.send(Protocol.PREMOVE + " 0 0 1 0");
+        game.p2.send(Protocol.PREMOVE + " 1 0 0 0");
+        check(game.p2.lastPremoveStatus() == 2, "연속 예약: 두 수 예약 후 PREMOVE_STATUS 2");
+
+        game.p1.send(Protocol.MOVE + " 3 2 2 2");
+        GameStateCodec.State state = game.p1.lastState();
+        check(game.p2.lastPremoveStatus() == 1, "연속 예약: 첫 예약 실행 후 PREMOVE_STATUS 1");
+        check(state.currentPlayer == Piece.Player.P1, "연속 예약: 첫 예약 실행 후 P1의 차례");
+        check(state.board.getPieceAt(1, 0) == Piece.P2_GENERAL, "연속 예약: P2의 장이 (1,0)으로 이동");
+
+        game.p1.send(Protocol.MOVE + " 2 2 3 2");
+        state = game.p1.lastState();
+        check(game.p2.lastPremoveStatus() == 0, "연속 예약: 두 번째 예약 실행 후 PREMOVE_STATUS 0");
+        check(state.currentPlayer == Piece.Player.P1, "연속 예약: 두 번째 예약 실행 후 P1의 차례");
+        check(state.board.getPieceAt(0, 0) == Piece.P2_GENERAL, "연속 예약: P2의 장이 (0,0)으로 돌아옴");
+        check(state.moveHistory.trim().split("\\s+").length == 4, "연속 예약: 기보에 네 수가 기록됨");
+    }
+
+    /**
+     * 수 무르기가 수락되면 예약이 모두 지워져, 이후 차례가 와도 실행되지 않는다.
+     * (차례인 플레이어는 예약할 수 없으므로 예약은 무르기를 요청한 쪽에 쌓여 있음)
+     */
+    private static void undoClearsPremoves(Server server) {
+        Game game = new Game(server, "premove-undo");
+        game.p1.send(Protocol.MOVE + " 3 2 2 2");
+        game.p1.send(Protocol.PREMOVE + " 2 2 3 2");
+        check(game.p1.lastPremoveStatus() == 1, "무르기: P1 예약 후 PREMOVE_STATUS 1");
+
+        game.p1.send(Protocol.UNDO_REQUEST);
+        game.p2.send(Protocol.UNDO_RESPONSE + " true");
+        GameStateCodec.State state = game.p1.lastState();
+        check(game.p1.lastPremoveStatus() == 0, "무르기: 수락 후 P1에 PREMOVE_STATUS 0");
+        check(state.currentPlayer == Piece.Player.P1, "무르기: 수락 후 P1의 차례로 되돌아감");
+        check(state.board.getPieceAt(3, 2) == Piece.P1_GENERAL, "무르기: P1의 장이 (3,2)로 되돌아감");
+
+        // 예약이 남아 있었다면 P2가 둔 뒤 P1의 예약(2,2 -> 3,2)이 실행되어 P2의 차례가 됨
+        game.p1.send(Protocol.MOVE + " 3 2 2 2");
+        game.p2.send(Protocol.MOVE + " 0 0 1 0");
+        state = game.p2.lastState();
+        check(state.currentPlayer == Piece.Player.P1, "무르기: 지워진 예약이 실행되지 않고 P1의 차례");
+        check(state.board.getPieceAt(2, 2) == Piece.P1_GENERAL, "무르기: P1의 장이 (2,2)에 그대로 있음");
+        check(game.p2.lastPremoveStatus() == -1, "무르기: P2에는 예약이 없었음");
+    }
+
+    private static void check(boolean condition, String description) {
+        if (!condition) {
+            failures++;
+            System.out.println("실패: " + description);
+        }
+    }
+}
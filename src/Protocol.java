@@ -11,14 +11,26 @@ public final class Protocol {
     public static final String JOIN_ROOM = "JOIN_ROOM";     // 방 참가 요청
     public static final String LEAVE_ROOM = "LEAVE_ROOM";   // 방 나가기 요청
     public static final String READY = "READY";             // 게임 준비 상태 토글
-    public static final String MOVE = "MOVE";               // 기물 이동 요청
-    public static final String PLACE = "PLACE";             // 잡은 기물 놓기 요청
+    public static final String MOVE = "MOVE";               // 기물 이동 요청 (MOVE <행> <열> <행> <열> [순번])
+    public static final String PLACE = "PLACE";             // 잡은 기물 놓기 요청 (PLACE <기물> <행> <열> [순번])
     public static final String GET_VALID_MOVES = "GET_VALID_MOVES"; // 특정 기물의 유효 이동 경로 요청
     public static final String UNDO_REQUEST = "UNDO_REQUEST"; // 수 무르기 요청
     public static final String UNDO_RESPONSE = "UNDO_RESPONSE"; // 수 무르기 응답 (수락/거절)
     public static final String CHAT = "CHAT";               // 방 내부 채팅 메시지
     public static final String LOBBY_CHAT = "LOBBY_CHAT";   // 로비 채팅 메시지
     public static final String CHANGE_NICKNAME = "CHANGE_NICKNAME"; // 닉네임 변경 요청
+    public static final String ANALYZE = "ANALYZE";         // 리플레이(종료된 게임) 분석 요청
+    public static final String ANALYZE_CANCEL = "ANALYZE_CANCEL"; // 리플레이 분석 취소
+    public static final String RESUME = "RESUME";           // 재접속 시 닉네임 대신 보내는 세션 복구 요청 (RESUME <토큰> <받은 줄 수>)
+    public static final String ROOM_QUERY = "ROOM_QUERY";   // 로비 방 목록 조회 조건 변경 (ROOM_QUERY <페이지> <페이지크기> <필터> [제목접두어])
+    public static final String QUEUE_JOIN = "QUEUE_JOIN";   // 자동 매칭 대기열 참가
+    public static final String QUEUE_LEAVE = "QUEUE_LEAVE"; // 자동 매칭 대기열에서 나가기
+    public static final String PREMOVE = "PREMOVE";         // 상대의 턴에 다음 수 예약 (PREMOVE <행> <열> <행> <열>)
+    public static final String PREMOVE_CLEAR = "PREMOVE_CLEAR"; // 예약한 수 모두 취소
+    public static final String PONG = "PONG";               // PING에 대한 응답 (받은 PING의 값을 그대로 돌려보냄)
+    public static final String REPLAY_QUERY = "REPLAY_QUERY"; // 서버에 저장된 리플레이 목록 조회 (REPLAY_QUERY <페이지> <페이지크기> [제목검색어])
+    public static final String REPLAY_FETCH = "REPLAY_FETCH"; // 리플레이 기보 요청 (REPLAY_FETCH <게임ID>)
+    public static final String REDIRECT_FAILED = "REDIRECT_FAILED"; // REDIRECT로 안내받은 노드에 로그인하지 못해 지금 노드에 남음
 
 
     // --- 서버 -> 클라이언트로 전송되는 명령어들 ---
@@ -38,9 +50,29 @@ public final class Protocol {
     public static final String GAME_OVER = "GAME_OVER";     // 게임 종료 알림
     public static final String UNDO_REQUESTED = "UNDO_REQUESTED"; // 수 무르기 요청 받음
     public static final String ERROR = "ERROR";             // 오류 메시지
+    public static final String ANALYSIS_RESULT = "ANALYSIS_RESULT"; // 리플레이 분석 결과
     public static final String REQUEST_ROOMINFO = "REQUEST_ROOMINFO"; // 방 정보 요청 (현재 사용되지 않음)
     public static final String ROOMINFO_PRIVATE = "ROOMINFO_PRIVATE"; // 방이 비밀방임을 알림 (현재 사용되지 않음)
     public static final String ROOMINFO_PUBLIC = "ROOMINFO_PUBLIC";   // 방이 공개방임을 알림 (현재 사용되지 않음)
+    public static final String SESSION_TOKEN = "SESSION_TOKEN"; // 재접속에 사용할 세션 토큰 발급
+    public static final String RESUME_OK = "RESUME_OK";     // 세션 복구 성공 (RESUME_OK <시작 줄 번호> REPLAY|RESYNC)
+    public static final String RESUME_FAILED = "RESUME_FAILED"; // 세션 복구 실패 (토큰 만료 등)
+    public static final String QUEUE_STATUS = "QUEUE_STATUS"; // 매칭 상태 (JOINED <레이팅> <대기인원> | LEFT | MATCHED <상대> <상대레이팅>)
+    public static final String PING = "PING";               // 연결 확인 요청 (받은 줄 수에 포함하지 않음)
+    public static final String PREMOVE_STATUS = "PREMOVE_STATUS"; // 남아 있는 예약 수의 개수 (PREMOVE_STATUS <개수>)
+    public static final String REDIRECT = "REDIRECT";       // 다른 클러스터 노드에 다시 접속하여 명령을 보내라는 안내 (REDIRECT <호스트> <포트> <명령>)
+    public static final String CLOCK = "CLOCK";             // 양쪽 남은 시간 (CLOCK <P1남은ms> <P2남은ms> <P1|P2|NONE>)
+    public static final String MOVE_ACK = "MOVE_ACK";       // 순번이 붙은 MOVE/PLACE가 받아들여짐 (MOVE_ACK <순번>)
+    public static final String MOVE_REJECTED = "MOVE_REJECTED"; // 순번이 붙은 MOVE/PLACE가 거부됨 (MOVE_REJECTED <순번> <사유>)
+    public static final String UPDATE_REPLAYLIST = "UPDATE_REPLAYLIST"; // 리플레이 목록 한 페이지 (UPDATE_REPLAYLIST <페이지> <전체페이지수> <전체개수> <게임ID>/<게임ID>/...)
+    public static final String REPLAY_BEGIN = "REPLAY_BEGIN"; // 리플레이 전송 시작 (REPLAY_BEGIN <전체 수> <게임ID>)
+    public static final String REPLAY_DATA = "REPLAY_DATA";   // 리플레이 기보 조각 (REPLAY_DATA <시작 수 번호> <기보> <기보> ...)
+
+    // --- 방 목록 필터 (ROOM_QUERY) ---
+    public static final String ROOM_FILTER_ALL = "ALL";         // 모든 방
+    public static final String ROOM_FILTER_WAITING = "WAITING"; // 대기 중인 방
+    public static final String ROOM_FILTER_PLAYING = "PLAYING"; // 게임 중인 방
+    public static final String ROOM_FILTER_PRIVATE = "PRIVATE"; // 비밀방
 
     // --- 플레이어 역할 정의 상수 ---
     public static final String HOST = "HOST"; // 방장 역할
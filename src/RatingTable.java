@@ -0,0 +1,41 @@
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 플레이어(닉네임)별 Elo 레이팅을 관리하는 클래스입니다.
+ * 처음 보는 플레이어는 INITIAL_RATING으로 시작하며, 게임이 끝날 때마다 승패에 따라 갱신됩니다.
+ * 레이팅은 서버가 실행되는 동안 메모리에만 보관됩니다.
+ */
+public class RatingTable {
+
+    public static final int INITIAL_RATING = 1500;
+    private static final int K_FACTOR = 32; // 한 게임으로 변할 수 있는 최대 점수
+
+    private final Map<String, Integer> ratings = new ConcurrentHashMap<>();
+
+    public int get(String nickname) {
+        return ratings.getOrDefault(nickname, INITIAL_RATING);
+    }
+
+    /**
+     * 게임 결과를 반영하여 두 플레이어의 레이팅을 갱신합니다.
+     * @return 승자의 레이팅 변화량 (패자는 같은 양만큼 감소)
+     */
+    public synchronized int recordWin(String winner, String loser) {
+        int winnerRating = get(winner);
+        int loserRating = get(loser);
+        double expected = 1.0 / (1.0 + Math.pow(10, (loserRating - winnerRating) / 400.0));
+        int delta = (int) Math.round(K_FACTOR * (1.0 - expected));
+        ratings.put(winner, winnerRating + delta);
+        ratings.put(loser, loserRating - delta);
+        return delta;
+    }
+
+    /**
+     * 닉네임이 변경되었을 때 레이팅을 새 닉네임으로 옮깁니다.
+     */
+    public synchronized void rename(String oldNickname, String newNickname) {
+        Integer rating = ratings.remove(oldNickname);
+        if (rating != null) ratings.put(newNickname, rating);
+    }
+}
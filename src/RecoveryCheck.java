@@ -0,0 +1,224 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 서버를 다시 시작해도 진행 중인 게임이 그대로 복원되는지 확인하는 점검 도구입니다.
+ *
+ * 서버를 별도 프로세스로 띄워 두 플레이어가 수를 두고 무르기까지 한 뒤 서버를 종료하고,
+ * 같은 디렉토리로 서버를 다시 시작하여 두 플레이어가 세션 토큰으로 RESUME했을 때
+ * 받은 상태(보드, 기보, 차례)가 종료 직전에 받은 상태와 같은지 비교합니다.
+ * - 정상 종료: SIGTERM으로 종료하여 종료 시 저장한 스냅샷만으로 복원 (수 기록 끔)
+ * - 강제 종료: SIGKILL로 종료하여 스냅샷 없이 수 기록(fsync)만 재생해 복원
+ *
+ * 사용법: java -cp out RecoveryCheck [작업 디렉토리]
+ * 작업 디렉토리를 지정하지 않으면 임시 디렉토리를 사용합니다. 하나라도 실패하면 종료 코드 1로 끝납니다.
+ */
+public class RecoveryCheck {
+
+    private static final int PORT = 23_480;
+    private static final int READ_TIMEOUT_MS = 3_000;
+    private static final long QUIET_MILLIS = 300; // 이 시간 동안 아무것도 오지 않으면 응답을 다 받은 것으로 봄
+
+    private static int failures = 0;
+
+    public static void main(String[] args) throws Exception {
+        Path workDir = args.length > 0 ? Path.of(args[0]) : Files.createTempDirectory("recovery-check");
+
+        check("정상 종료 후 스냅샷 복원", workDir.resolve("graceful"), false, false);
+        check("강제 종료 후 수 기록 재생", workDir.resolve("crash"), true, true);
+
+        if (failures > 0) {
+            System.out.println("복구 점검 실패: " + failures + "개");
+            System.exit(1);
+        }
+        System.out.println("복구 점검 통과");
+        System.exit(0);
+    }
+
+    /**
+     * 한 가지 종료 방식으로 게임을 두고 서버를 다시 시작하여 상태를 비교합니다.
+     * @param name    출력에 쓸 이름
+     * @param dir     스냅샷(과 수 기록) 디렉토리, 비어 있어야 함
+     * @param moveLog 수 기록을 켤지 여부
+     * @param kill    true이면 SIGKILL로 강제 종료, false이면 SIGTERM으로 정상 종료
+     */
+    private static void check(String name, Path dir, boolean moveLog, boolean kill) throws Exception {
+        Files.createDirectories(dir);
+        int failuresBefore = failures;
+        Process server = startServerProcess(dir, moveLog);
+        Player x = new Player("recover-x");
+        Player y = new Player("recover-y");
+        x.send(Protocol.CREATE_ROOM + " recovery##2");
+        x.drain();
+        y.send(Protocol.JOIN_ROOM + " recovery");
+        y.drain();
+        x.send(Protocol.READY);
+        y.send(Protocol.READY);
+        x.drain();
+        y.drain();
+        Player p1 = "P1".equals(x.role) ? x : y;
+        Player p2 = p1 == x ? y : x;
+
+        // 수 세 개, 무르기, 다시 한 수 (무르기 기록도 복원되어야 함)
+        p1.play(Protocol.MOVE + " 3 2 2 2", p2);
+        p2.play(Protocol.MOVE + " 0 0 1 0", p1);
+        p1.play(Protocol.MOVE + " 2 2 3 2", p2);
+        p1.play(Protocol.UNDO_REQUEST, p2);
+        p2.play(Protocol.UNDO_RESPONSE + " true", p1);
+        p1.play(Protocol.MOVE + " 2 2 1 2", p2);
+        String expected = p1.lastState;
+
+        if (kill) {
+            server.destroyForcibly();
+        } else {
+            server.destroy();
+        }
+        server.waitFor(10, TimeUnit.SECONDS);
+        x.close();
+        y.close();
+
+        Server restarted = new Server(ServerConfig.fromSystemProperties().withPort(PORT)
+                .withSnapshot(dir.toString(), 0).withMoveLog(moveLog, true));
+        restarted.start();
+        try {
+            for (Player player : new Player[]{p1, p2}) {
+                String restored = player.resume();
+                String who = player == p1 ? "P1" : "P2";
+                if (restored == null) {
+                    fail(name, who + "이(가) 복구된 상태를 받지 못했습니다.");
+                } else if (!sameGame(expected, restored)) {
+                    fail(name, who + "의 상태가 다릅니다.\n  종료 전: " + expected + "\n  복구 후: " + restored);
+                }
+            }
+        } finally {
+            restarted.stop();
+        }
+        System.out.println(name + ": " + (failures == failuresBefore ? "같은 보드, 기보, 차례로 복원됨" : "확인 필요"));
+    }
+
+    /**
+     * 두 UPDATE_STATE의 보드, 잡은 말, 차례, 기보가 같은지 비교합니다. (해시까지 같은 페이로드면 같음)
+     */
+    private static boolean sameGame(String before, String after) {
+        GameStateCodec.State a = GameStateCodec.decode(before);
+        GameStateCodec.State b = GameStateCodec.decode(after);
+        return a.currentPlayer == b.currentPlayer && a.moveHistory.equals(b.moveHistory)
+                && GameStateCodec.hashOf(a.board, a.currentPlayer).equals(GameStateCodec.hashOf(b.board, b.currentPlayer))
+                && a.board.getP1Captured().equals(b.board.getP1Captured())
+                && a.board.getP2Captured().equals(b.board.getP2Captured());
+    }
+
+    private static Process startServerProcess(Path dir, boolean moveLog) throws IOException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        return new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                "-Dserver.port=" + PORT,
+                "-Dsnapshot.dir=" + dir,
+                "-Dsnapshot.interval.ms=0",
+                "-Dmovelog.enabled=" + moveLog,
+                "-Dmovelog.sync=true",
+                "Server")
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+    }
+
+    private static void fail(String name, String message) {
+        failures++;
+        System.out.println("실패 (" + name + "): " + message);
+    }
+
+    /**
+     * 세션 토큰과 받은 줄 수를 기억하는 단순한 소켓 클라이언트입니다. (GameClient의 RESUME 규칙과 같게 셈)
+     */
+    private static final class Player {
+        private Socket socket;
+        private BufferedReader in;
+        private PrintWriter out;
+        String token;
+        String role;
+        String lastState;   // 마지막으로 받은 UPDATE_STATE의 페이로드
+        long receivedLines; // PING을 뺀 받은 줄 수
+
+        Player(String nickname) throws Exception {
+            connect();
+            send(nickname);
+            drain();
+        }
+
+        /** 서버 프로세스가 포트를 열 때까지 다시 시도하며 접속합니다. */
+        private void connect() throws Exception {
+            for (int attempt = 0; ; attempt++) {
+                try {
+                    socket = new Socket("localhost", PORT);
+                    break;
+                } catch (IOException e) {
+                    if (attempt > 100) throw e;
+                    Thread.sleep(100);
+                }
+            }
+            in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true);
+        }
+
+        void send(String line) {
+            out.println(line);
+        }
+
+        /** 명령을 보내고, 보낸 쪽과 상대가 그 결과를 모두 받을 때까지 기다립니다. */
+        void play(String command, Player opponent) throws IOException {
+            send(command);
+            drain();
+            opponent.drain();
+        }
+
+        /** 한동안 아무것도 오지 않을 때까지 받은 줄을 처리합니다. */
+        void drain() throws IOException {
+            socket.setSoTimeout((int) QUIET_MILLIS);
+            try {
+                String line;
+                while ((line = in.readLine()) != null) accept(line);
+            } catch (SocketTimeoutException e) {
+                // 더 올 것이 없음
+            }
+            socket.setSoTimeout(READ_TIMEOUT_MS);
+        }
+
+        private void accept(String line) {
+            if (line.startsWith(Protocol.PING + " ")) {
+                send(Protocol.PONG + line.substring(Protocol.PING.length()));
+                return;
+            }
+            receivedLines++;
+            if (line.startsWith(Protocol.SESSION_TOKEN + " ")) token = line.substring(Protocol.SESSION_TOKEN.length() + 1);
+            if (line.startsWith(Protocol.ASSIGN_ROLE + " ")) role = line.substring(Protocol.ASSIGN_ROLE.length() + 1);
+            if (line.startsWith(Protocol.UPDATE_STATE + " ")) lastState = line.substring(Protocol.UPDATE_STATE.length() + 1);
+        }
+
+        /**
+         * 다시 시작한 서버에 세션 토큰으로 재접속하고, 복구 후 받은 게임 상태를 반환합니다.
+         * @return 받은 UPDATE_STATE의 페이로드, 복구에 실패했으면 null
+         */
+        String resume() throws Exception {
+            connect();
+            send(Protocol.RESUME + " " + token + " " + receivedLines);
+            String reply = in.readLine();
+            if (reply == null || !reply.startsWith(Protocol.RESUME_OK + " ")) return null;
+            lastState = null;
+            drain();
+            return lastState;
+        }
+
+        void close() throws IOException {
+            socket.close();
+        }
+    }
+}
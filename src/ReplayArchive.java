@@ -0,0 +1,138 @@
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * 서버의 리플레이(기보) 파일 저장소를 다루는 유틸리티 클래스입니다.
+ * 리플레이는 replays 디렉토리에 한 줄에 한 수씩 기보 문자열로 저장되며,
+ * 파일 이름(예: "replay_방제목_1700000000000.txt")이 게임 ID로 사용됩니다.
+ */
+public final class ReplayArchive {
+    private ReplayArchive() {} // 인스턴스화 방지
+
+    public static final String REPLAY_DIR = "replays";
+
+    /**
+     * 한 게임의 기보를 리플레이 파일로 저장합니다.
+     * @param roomTitle 게임이 진행된 방 제목
+     * @param moves     저장할 기보
+     * @return 저장된 리플레이의 게임 ID, 실패 시 null
+     */
+    public static String save(String roomTitle, MoveList moves) {
+        File replayDir = new File(REPLAY_DIR);
+        if (!replayDir.exists()) replayDir.mkdirs();
+
+        String gameId = String.format("replay_%s_%d.txt", roomTitle, System.currentTimeMillis());
+        try (FileWriter writer = new FileWriter(new File(replayDir, gameId))) {
+            for (int i = 0; i < moves.size(); i++) {
+                writer.write(Move.toNotation(moves.get(i)) + "\n");
+            }
+            return gameId;
+        } catch (IOException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * 게임 ID가 replays 디렉토리 안의 파일 이름으로만 구성되어 있는지 확인합니다.
+     * (경로 조작을 통해 다른 파일에 접근하는 것을 방지)
+     */
+    public static boolean isValidId(String gameId) {
+        return gameId != null && !gameId.isBlank() && gameId.endsWith(".txt")
+                && !gameId.contains("/") && !gameId.contains("\\") && !gameId.contains("..");
+    }
+
+    /**
+     * 게임 ID에서 방 제목을 꺼냅니다. 형식에 맞지 않는 ID이면 확장자를 뺀 파일 이름을 반환합니다.
+     * @param gameId 리플레이의 게임 ID (예: "replay_방제목_1700000000000.txt")
+     */
+    public static String titleOf(String gameId) {
+        String name = gameId.endsWith(".txt") ? gameId.substring(0, gameId.length() - 4) : gameId;
+        int sep = name.lastIndexOf('_');
+        if (!name.startsWith("replay_") || sep < "replay_".length() || savedAtOf(gameId) < 0) return name;
+        return name.substring("replay_".length(), sep);
+    }
+
+    /**
+     * 게임 ID에서 저장 시각(ms)을 꺼냅니다.
+     * @param gameId 리플레이의 게임 ID
+     * @return 저장 시각, 형식에 맞지 않는 ID이면 -1
+     */
+    public static long savedAtOf(String gameId) {
+        if (!gameId.endsWith(".txt")) return -1;
+        int sep = gameId.lastIndexOf('_');
+        try {
+            return sep < 0 ? -1 : Long.parseLong(gameId.substring(sep + 1, gameId.length() - 4));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * 게임 ID에 해당하는 리플레이 파일 경로를 반환합니다.
+     * @throws IllegalArgumentException 유효하지 않은 게임 ID인 경우
+     */
+    public static Path resolve(String gameId) {
+        if (!isValidId(gameId)) throw new IllegalArgumentException("잘못된 리플레이 ID: " + gameId);
+        return Path.of(REPLAY_DIR, gameId);
+    }
+
+    /**
+     * 리플레이 파일에서 기보 목록을 읽어옵니다. 빈 줄은 무시합니다.
+     * @param gameId 리플레이의 게임 ID
+     * @return 기보 문자열 목록
+     * @throws IOException 파일을 읽을 수 없는 경우
+     */
+    public static List<String> readMoves(String gameId) throws IOException {
+        return readMoves(resolve(gameId));
+    }
+
+    /**
+     * 리플레이 디렉토리의 모든 리플레이 파일 경로를 스트림으로 반환합니다.
+     * 디렉토리 전체를 메모리에 읽지 않으며, 사용 후에는 스트림을 닫아야 합니다.
+     * @param replayDir 리플레이 디렉토리
+     */
+    public static Stream<Path> listReplayFiles(Path replayDir) throws IOException {
+        return Files.list(replayDir)
+                .filter(p -> p.getFileName().toString().endsWith(".txt"))
+                .filter(Files::isRegularFile);
+    }
+
+    /**
+     * 종료된 게임의 결과를 판정합니다.
+     * 왕이 잡혔으면 GameLogic의 승자를, 그렇지 않으면 상대 진영에 들어간 왕이 한 턴을 버텼는지 확인합니다.
+     * (왕이 입궁한 뒤 상대가 한 수를 두고 게임이 끝나므로, 마지막 수 이후 차례인 플레이어의 왕이 상대 진영에 있으면 그 플레이어의 승리입니다.)
+     * @param logic 리플레이를 끝까지 실행한 게임 로직
+     * @return 승자, 판정할 수 없으면(중단된 게임 등) null
+     */
+    public static Piece.Player findWinner(GameLogic logic) {
+        if (logic.getGameState() == GameLogic.GameState.GAME_OVER) return logic.getWinner();
+        return isKingInZoneWin(logic) ? logic.getCurrentPlayer() : null;
+    }
+
+    /**
+     * 마지막 수 이후 차례인 플레이어의 왕이 상대 진영 끝 줄에 있는지(입궁 승리인지) 확인합니다.
+     */
+    public static boolean isKingInZoneWin(GameLogic logic) {
+        if (logic.getGameState() != GameLogic.GameState.IN_PROGRESS || logic.getMoves().isEmpty()) return false;
+        Piece.Player side = logic.getCurrentPlayer();
+        int[] kingPos = logic.getBoard().findPiece(side == Piece.Player.P1 ? Piece.P1_KING : Piece.P2_KING);
+        return kingPos != null && kingPos[0] == (side == Piece.Player.P1 ? 0 : 3);
+    }
+
+    public static List<String> readMoves(Path replayFile) throws IOException {
+        List<String> moves = new ArrayList<>();
+        for (String line : Files.readAllLines(replayFile, StandardCharsets.UTF_8)) {
+            String notation = line.trim();
+            if (!notation.isEmpty()) moves.add(notation);
+        }
+        return moves;
+    }
+}
@@ -0,0 +1,144 @@
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 서버에 저장된 리플레이 목록을 보여주는 다이얼로그입니다.
+ * 방 제목으로 검색하고 페이지를 넘길 수 있으며, 항목을 선택(더블 클릭)하면 서버에 기보를 요청합니다.
+ * 내 컴퓨터에 있는 리플레이 파일을 여는 기능도 함께 제공합니다.
+ */
+public class ReplayListDialog extends JDialog {
+
+    private static final int PAGE_SIZE = 15; // 한 페이지에 표시할 리플레이 수
+
+    private final GameController controller;
+    private final DefaultListModel<String> listModel = new DefaultListModel<>();
+    private final JList<String> replayList = new JList<>(listModel);
+    private final List<String> gameIds = new ArrayList<>(); // listModel과 같은 순서의 게임 ID
+    private final JTextField searchField = new JTextField(15);
+    private final JLabel pageLabel = new JLabel("1 / 1");
+    private final JButton prevPageButton = new JButton("<");
+    private final JButton nextPageButton = new JButton(">");
+    private final SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd HH:mm");
+
+    private int currentPage = 0;
+    private int totalPages = 1;
+    private String keyword = ""; // 현재 목록의 검색어
+
+    /**
+     * ReplayListDialog 생성자입니다.
+     * @param owner      다이얼로그를 띄울 메인 프레임
+     * @param controller 목록과 기보를 요청할 컨트롤러
+     */
+    public ReplayListDialog(JFrame owner, GameController controller) {
+        super(owner, "리플레이 보기", false);
+        this.controller = controller;
+
+        setLayout(new BorderLayout(5, 5));
+        ((JComponent) getContentPane()).setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
+
+        // 검색 영역
+        JPanel searchPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        JButton searchButton = new JButton("검색");
+        searchButton.addActionListener(e -> search());
+        searchField.addActionListener(e -> search()); // Enter 키로 검색
+        searchPanel.add(new JLabel("방 제목:"));
+        searchPanel.add(searchField);
+        searchPanel.add(searchButton);
+
+        // 리플레이 목록 (더블 클릭하면 열기)
+        replayList.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        replayList.setVisibleRowCount(PAGE_SIZE);
+        replayList.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) openSelected();
+            }
+        });
+
+        // 페이지 이동 및 열기 버튼
+        JPanel buttonPanel = new JPanel(new FlowLayout());
+        JButton openButton = new JButton("보기");
+        JButton localFileButton = new JButton("내 컴퓨터에서 열기");
+        JButton closeButton = new JButton("닫기");
+        prevPageButton.addActionListener(e -> controller.requestReplayList(currentPage - 1, PAGE_SIZE, keyword));
+        nextPageButton.addActionListener(e -> controller.requestReplayList(currentPage + 1, PAGE_SIZE, keyword));
+        openButton.addActionListener(e -> openSelected());
+        localFileButton.addActionListener(e -> {
+            setVisible(false);
+            controller.openLocalReplay();
+        });
+        closeButton.addActionListener(e -> setVisible(false));
+        buttonPanel.add(prevPageButton);
+        buttonPanel.add(pageLabel);
+        buttonPanel.add(nextPageButton);
+        buttonPanel.add(openButton);
+        buttonPanel.add(localFileButton);
+        buttonPanel.add(closeButton);
+
+        add(searchPanel, BorderLayout.NORTH);
+        add(new JScrollPane(replayList), BorderLayout.CENTER);
+        add(buttonPanel, BorderLayout.SOUTH);
+        pack();
+        setLocationRelativeTo(owner);
+    }
+
+    /**
+     * 현재 검색어로 목록의 첫 페이지를 요청하고 다이얼로그를 표시합니다.
+     */
+    public void open() {
+        keyword = searchField.getText().trim();
+        controller.requestReplayList(0, PAGE_SIZE, keyword);
+        setVisible(true);
+    }
+
+    /**
+     * 서버로부터 받은 리플레이 목록 한 페이지를 표시합니다.
+     * @param payload "페이지 전체페이지수 전체개수 게임ID/게임ID/..."
+     */
+    public void updateReplayList(String payload) {
+        String[] parts = payload.split(" ", 4);
+        try {
+            currentPage = Integer.parseInt(parts[0]);
+            totalPages = Integer.parseInt(parts[1]);
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            return; // 형식이 잘못된 메시지는 무시
+        }
+        listModel.clear();
+        gameIds.clear();
+        if (parts.length > 3 && !parts[3].isBlank()) {
+            for (String gameId : parts[3].split("/")) {
+                long savedAt = ReplayArchive.savedAtOf(gameId);
+                String date = savedAt < 0 ? "" : dateFormat.format(new Date(savedAt));
+                listModel.addElement(String.format("%s   %s", date, ReplayArchive.titleOf(gameId)));
+                gameIds.add(gameId);
+            }
+        }
+        pageLabel.setText((currentPage + 1) + " / " + totalPages + " (" + parts[2] + "개)");
+        prevPageButton.setEnabled(currentPage > 0);
+        nextPageButton.setEnabled(currentPage < totalPages - 1);
+    }
+
+    /**
+     * 검색어로 목록의 첫 페이지를 다시 요청합니다.
+     */
+    private void search() {
+        keyword = searchField.getText().trim();
+        controller.requestReplayList(0, PAGE_SIZE, keyword);
+    }
+
+    /**
+     * 선택한 리플레이의 기보를 서버에 요청합니다.
+     */
+    private void openSelected() {
+        int selected = replayList.getSelectedIndex();
+        if (selected < 0) return;
+        controller.fetchReplay(gameIds.get(selected));
+        setVisible(false);
+    }
+}
@@ -2,7 +2,6 @@ import javax.swing.*;
 import java.awt.*;
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -21,10 +20,11 @@ public class ReplayPanel extends JPanel {
     private final GameLogic replayLogic; // 리플레이 재생을 위한 독립적인 게임 로직 인스턴스
     private List<String> moveNotations; // 파일에서 읽어온 기보 목록
     private int currentMoveIndex; // 현재 재생 중인 수의 인덱스
+    private String replayId; // 현재 리플레이의 게임 ID (파일 이름), 서버 분석 요청에 사용
 
     /**
      * ReplayPanel 생성자입니다.
-     * @param controller 컨트롤러 (현재는 사용되지 않음)
+     * @param controller 서버에 분석을 요청하기 위한 컨트롤러
      * @param gameUI     화면 전환(로비로 돌아가기)을 위해 필요한 상위 UI 객체
      */
     public ReplayPanel(GameController controller, GameUI gameUI) {
@@ -53,14 +53,19 @@ public class ReplayPanel extends JPanel {
         JPanel buttonPanel = new JPanel(new FlowLayout());
         prevButton = new JButton("<");
         nextButton = new JButton(">");
+        JButton analyzeButton = new JButton("분석 요청");
         JButton backToLobbyButton = new JButton("로비로 돌아가기");
 
         prevButton.addActionListener(e -> previousMove());
         nextButton.addActionListener(e -> nextMove());
+        analyzeButton.addActionListener(e -> {
+            if (replayId != null) controller.requestAnalysis(replayId);
+        });
         backToLobbyButton.addActionListener(e -> gameUI.showLobby());
 
         buttonPanel.add(prevButton);
         buttonPanel.add(nextButton);
+        buttonPanel.add(analyzeButton);
         buttonPanel.add(backToLobbyButton);
 
         // 전체 레이아웃 구성
@@ -75,23 +80,34 @@ public class ReplayPanel extends JPanel {
     /**
      * 리플레이 파일을 로드하여 재생을 준비합니다.
      * @param replayFile 기보가 담긴 텍스트 파일
+     * @return 파일을 읽었으면 true, 읽지 못했으면 false (오류 메시지를 표시함)
      */
-    public void loadReplay(File replayFile) {
+    public boolean loadReplay(File replayFile) {
         try {
-            this.moveNotations = Files.readAllLines(replayFile.toPath());
-            this.currentMoveIndex = 0;
-            this.replayLogic.startGame(); // 게임 로직을 초기 상태로 리셋
-            refreshReplayView(); // 초기 보드 상태를 화면에 표시
-            
-            // 기보 전체를 공백으로 구분하여 한 줄로 표시
-            moveHistoryArea.setText(String.join(" ", moveNotations));
-
+            loadReplay(replayFile.getName(), ReplayArchive.readMoves(replayFile.toPath()));
+            return true;
         } catch (IOException e) {
             JOptionPane.showMessageDialog(this, "리플레이 파일을 읽는 중 오류가 발생했습니다.", "오류", JOptionPane.ERROR_MESSAGE);
-            gameUI.showLobby(); // 오류 발생 시 로비로 이동
+            return false;
         }
     }
 
+    /**
+     * 기보 목록으로 재생을 준비합니다. (서버에서 받은 리플레이)
+     * @param replayId 리플레이의 게임 ID, 서버 분석 요청에 사용
+     * @param moves    기보 목록
+     */
+    public void loadReplay(String replayId, List<String> moves) {
+        this.moveNotations = moves;
+        this.replayId = replayId;
+        this.currentMoveIndex = 0;
+        this.replayLogic.startGame(); // 게임 로직을 초기 상태로 리셋
+        refreshReplayView(); // 초기 보드 상태를 화면에 표시
+
+        // 기보 전체를 공백으로 구분하여 한 줄로 표시
+        moveHistoryArea.setText(String.join(" ", moveNotations));
+    }
+
     /**
      * 이전 수로 되돌아갑니다.
      */
@@ -155,6 +171,29 @@ public class ReplayPanel extends JPanel {
         nextButton.setEnabled(currentMoveIndex < moveNotations.size());
     }
 
+    /**
+     * 서버로부터 받은 분석 결과를 수별 평가 표로 정리하여 다이얼로그로 표시합니다.
+     * @param payload 분석 결과 ("게임ID|기보,점수,최선수,블런더여부;...")
+     */
+    public void showAnalysis(String payload) {
+        String[] parts = payload.split("\\|", 2);
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("%-4s %-8s %8s  %-8s%n", "수", "기보", "평가", "최선수"));
+        if (parts.length > 1 && !parts[1].isBlank()) {
+            String[] entries = parts[1].split(";");
+            for (int i = 0; i < entries.length; i++) {
+                String[] fields = entries[i].split(",", -1);
+                if (fields.length < 4) continue;
+                boolean blunder = fields[3].equals("B");
+                text.append(String.format("%-4d %-8s %8s  %-8s%s%n", i + 1, fields[0], fields[1], fields[2], blunder ? "  ?? 블런더" : ""));
+            }
+        }
+        JTextArea analysisArea = new JTextArea(text.toString(), 20, 40);
+        analysisArea.setEditable(false);
+        analysisArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12));
+        JOptionPane.showMessageDialog(this, new JScrollPane(analysisArea), "게임 분석 - " + parts[0], JOptionPane.INFORMATION_MESSAGE);
+    }
+
     public GameController getController() {
         return controller;
     }
@@ -0,0 +1,190 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 서버에 저장된 리플레이(ReplayArchive)를 클라이언트가 목록으로 찾아보고 받아볼 수 있게 하는 서비스입니다.
+ *
+ * 목록: 리플레이 디렉토리를 읽어 최근에 저장된 순서로 색인을 만들어 두고, 디렉토리의 수정 시각이
+ * 바뀌었을 때(새 리플레이가 저장되었을 때)만 다시 읽습니다. 조회할 때마다 디렉토리를 읽지 않습니다.
+ * 전송: 기보를 REPLAY_BEGIN 한 줄과 chunkMoves 수씩 나눈 REPLAY_DATA 줄들로 보내므로 긴 게임도 한 줄이 길어지지 않습니다.
+ * 전송할 메시지는 리플레이마다 한 번만 만들어 LRU 캐시에 보관하므로, 자주 요청되는 리플레이는 파일을 다시 읽지 않고
+ * 만들어 둔 메시지를 그대로 한 번에 보냅니다. (파일의 크기나 수정 시각이 바뀌었으면 다시 읽음)
+ */
+public class ReplayService {
+
+    public static final int DEFAULT_PAGE_SIZE = 10;
+    public static final int MAX_PAGE_SIZE = 50;
+
+    private final Path replayDir;
+    private final int chunkMoves;    // REPLAY_DATA 한 줄에 담는 수
+    private final int cacheCapacity; // 캐시할 리플레이의 최대 개수
+
+    // --- 목록 색인 (this로 동기화) ---
+    private List<String> index = List.of(); // 게임 ID, 최근에 저장된 순서
+    private FileTime indexedAt;             // 색인을 만들 때의 디렉토리 수정 시각, 만들기 전이면 null
+
+    // 전송용 메시지의 LRU 캐시 (Key: 게임 ID)
+    private final Map<String, CachedReplay> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedReplay> eldest) {
+            return size() > cacheCapacity;
+        }
+    };
+
+    /**
+     * 캐시된 리플레이 하나입니다. 파일이 그대로인지 확인하기 위해 읽을 때의 크기와 수정 시각을 함께 보관합니다.
+     */
+    private static final class CachedReplay {
+        final long size;
+        final FileTime modified;
+        final String message; // REPLAY_BEGIN과 REPLAY_DATA 줄들을 줄바꿈으로 이은 메시지
+
+        CachedReplay(long size, FileTime modified, String message) {
+            this.size = size;
+            this.modified = modified;
+            this.message = message;
+        }
+    }
+
+    /**
+     * ReplayService 생성자입니다.
+     * @param replayDir 리플레이가 저장되는 디렉토리
+     * @param config    전송 단위와 캐시 크기 설정
+     */
+    public ReplayService(Path replayDir, ServerConfig.Replay config) {
+        this.replayDir = replayDir;
+        this.chunkMoves = Math.max(1, config.chunkMoves);
+        this.cacheCapacity = config.cacheCapacity;
+    }
+
+    /**
+     * REPLAY_QUERY 요청을 처리하여 조건에 맞는 리플레이 목록 한 페이지를 UPDATE_REPLAYLIST로 보냅니다.
+     * @param payload   "페이지 페이지크기 [제목검색어]" (형식이 잘못되었으면 첫 페이지)
+     * @param requester 목록을 받을 클라이언트
+     */
+    public void sendList(String payload, PlayerConnection requester) {
+        String[] parts = payload.trim().split(" ", 3);
+        int page = 0;
+        int pageSize = DEFAULT_PAGE_SIZE;
+        try {
+            page = Math.max(0, Integer.parseInt(parts[0]));
+            if (parts.length > 1) pageSize = Math.max(1, Math.min(MAX_PAGE_SIZE, Integer.parseInt(parts[1])));
+        } catch (NumberFormatException e) {
+            // 기본 조건 사용
+        }
+        String keyword = parts.length > 2 ? parts[2].trim().toLowerCase(Locale.ROOT) : "";
+        requester.sendMessage(Protocol.UPDATE_REPLAYLIST + " " + buildListPayload(page, pageSize, keyword));
+    }
+
+    /**
+     * 목록 한 페이지를 UPDATE_REPLAYLIST 페이로드로 직렬화합니다.
+     * 형식: 페이지 전체페이지수 전체개수 게임ID/게임ID/... (게임 ID에는 '/'가 들어갈 수 없음)
+     * 요청한 페이지가 범위를 넘으면 마지막 페이지를 보냅니다.
+     */
+    String buildListPayload(int page, int pageSize, String keyword) {
+        List<String> ids = currentIndex();
+        if (!keyword.isEmpty()) {
+            ids = ids.stream()
+                    .filter(id -> ReplayArchive.titleOf(id).toLowerCase(Locale.ROOT).contains(keyword))
+                    .collect(Collectors.toList());
+        }
+        int totalPages = Math.max(1, (ids.size() + pageSize - 1) / pageSize);
+        page = Math.min(page, totalPages - 1);
+        int from = page * pageSize;
+        List<String> pageIds = ids.subList(from, Math.min(ids.size(), from + pageSize));
+        return page + " " + totalPages + " " + ids.size() + " " + String.join("/", pageIds);
+    }
+
+    /**
+     * REPLAY_FETCH 요청을 처리하여 리플레이의 기보를 REPLAY_BEGIN/REPLAY_DATA로 보냅니다.
+     * @param gameId    보낼 리플레이의 게임 ID
+     * @param requester 기보를 받을 클라이언트
+     */
+    public void sendReplay(String gameId, PlayerConnection requester) {
+        if (!ReplayArchive.isValidId(gameId)) {
+            requester.sendMessage(Protocol.ERROR + " 잘못된 리플레이 ID입니다.");
+            return;
+        }
+        try {
+            requester.sendMessage(load(gameId));
+        } catch (NoSuchFileException | InvalidPathException e) { // 파일 시스템이 표현할 수 없는 이름도 찾을 수 없는 것으로 처리
+            requester.sendMessage(Protocol.ERROR + " 리플레이를 찾을 수 없습니다: " + gameId);
+        } catch (IOException e) {
+            requester.sendMessage(Protocol.ERROR + " 리플레이를 읽을 수 없습니다: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 리플레이의 전송용 메시지를 캐시에서 찾고, 없거나 파일이 바뀌었으면 파일을 읽어 만듭니다.
+     * 파일은 캐시 잠금 밖에서 읽으므로, 한 리플레이를 읽는 동안 다른 리플레이 요청이 기다리지 않습니다.
+     */
+    private String load(String gameId) throws IOException {
+        Path file = replayDir.resolve(gameId);
+        BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+        synchronized (cache) {
+            CachedReplay cached = cache.get(gameId);
+            if (cached != null && cached.size == attrs.size() && cached.modified.equals(attrs.lastModifiedTime())) {
+                return cached.message;
+            }
+        }
+        String message = buildMessage(gameId, ReplayArchive.readMoves(file));
+        synchronized (cache) {
+            cache.put(gameId, new CachedReplay(attrs.size(), attrs.lastModifiedTime(), message));
+        }
+        return message;
+    }
+
+    /**
+     * 기보를 REPLAY_BEGIN 한 줄과 REPLAY_DATA 줄들로 나눈 메시지를 만듭니다.
+     */
+    String buildMessage(String gameId, List<String> moves) {
+        StringBuilder sb = new StringBuilder(64 + moves.size() * 8);
+        sb.append(Protocol.REPLAY_BEGIN).append(' ').append(moves.size()).append(' ').append(gameId);
+        for (int from = 0; from < moves.size(); from += chunkMoves) {
+            sb.append('\n').append(Protocol.REPLAY_DATA).append(' ').append(from);
+            for (String notation : moves.subList(from, Math.min(moves.size(), from + chunkMoves))) {
+                sb.append(' ').append(notation);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 리플레이 색인을 반환합니다. 디렉토리의 수정 시각이 마지막으로 색인을 만든 때와 다르면 다시 만듭니다.
+     * 디렉토리가 없으면(아직 저장된 리플레이가 없으면) 빈 목록입니다.
+     */
+    private synchronized List<String> currentIndex() {
+        FileTime modified;
+        try {
+            modified = Files.getLastModifiedTime(replayDir);
+        } catch (IOException e) {
+            return List.of();
+        }
+        if (!modified.equals(indexedAt)) {
+            try (Stream<Path> files = ReplayArchive.listReplayFiles(replayDir)) {
+                List<String> ids = new ArrayList<>();
+                files.forEach(p -> ids.add(p.getFileName().toString()));
+                ids.sort(Comparator.comparingLong(ReplayArchive::savedAtOf).reversed()
+                        .thenComparing(Comparator.reverseOrder()));
+                index = ids;
+                indexedAt = modified;
+            } catch (IOException e) {
+                System.err.println("리플레이 목록을 읽을 수 없습니다: " + e.getMessage());
+            }
+        }
+        return index;
+    }
+}
@@ -0,0 +1,156 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * 리플레이 저장소 전체를 검증하고 통계를 내는 배치 도구입니다.
+ * 모든 리플레이 파일을 병렬 스트림으로 GameLogic.executeMove에 다시 실행시켜 규칙에 맞는지 확인하고,
+ * 게임 길이 분포, 선공(P1) 승률, 가장 많이 잡힌 기물, 기물 놓기(drop) 빈도, 입궁 승리 빈도를 집계합니다.
+ *
+ * 파일은 한 줄씩 읽으며 바로 실행하고 게임마다 고정 크기의 카운터만 남기므로,
+ * 저장소 전체를 메모리에 올리지 않습니다. 마지막에 처리량(게임/초)을 함께 출력합니다.
+ *
+ * 사용법: java -cp out ReplayStatistics [리플레이 디렉토리]
+ */
+public class ReplayStatistics {
+
+    private static final String PIECE_CHARS = "KGEPR"; // Move.pieceChar 순서 (왕, 장, 상, 자, 후)
+    private static final String[] PIECE_NAMES = {"왕", "장", "상", "자", "후"};
+    private static final int LENGTH_BUCKET = 10;   // 게임 길이 분포의 구간 크기(수)
+    private static final int LENGTH_BUCKETS = 21;  // 마지막 구간은 200수 이상 전체
+
+    /**
+     * 병렬 스트림의 누적기입니다. 스레드마다 하나씩 만들어 채운 뒤 merge로 합칩니다.
+     */
+    static class Stats {
+        long games, validGames, invalidGames;
+        long p1Wins, p2Wins, undecided;
+        long kingCaptureWins, kingInZoneWins;
+        long totalPlies, totalDrops, totalCaptures;
+        final long[] lengthHistogram = new long[LENGTH_BUCKETS];
+        final long[] captured = new long[PIECE_CHARS.length()];
+        final long[] dropped = new long[PIECE_CHARS.length()];
+
+        /** 리플레이 파일 하나를 실행하고 결과를 누적합니다. */
+        void accept(Path file) {
+            games++;
+            GameLogic logic = new GameLogic();
+            logic.startGame();
+            long[] gameCaptured = new long[captured.length];
+            long[] gameDropped = new long[dropped.length];
+
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    String notation = line.trim();
+                    if (notation.isEmpty()) continue;
+                    int move = Move.parse(notation, logic.getCurrentPlayer());
+                    // 잡히는 기물은 수를 실행하기 전에 확인해야 함
+                    Piece target = move != Move.NONE && Move.isCapture(move)
+                            ? logic.getBoard().getPieceAt(Move.toRow(move), Move.toCol(move)) : null;
+                    if (move == Move.NONE || !logic.executeMove(move)) {
+                        invalidGames++;
+                        return;
+                    }
+                    if (target != null) gameCaptured[PIECE_CHARS.indexOf(Move.pieceChar(target))]++;
+                    if (Move.isDrop(move)) gameDropped[PIECE_CHARS.indexOf(Move.pieceChar(Move.piece(move)))]++;
+                }
+            } catch (IOException e) {
+                invalidGames++;
+                return;
+            }
+
+            // 끝까지 규칙에 맞게 실행된 게임만 통계에 반영
+            validGames++;
+            int plies = logic.getMoves().size();
+            totalPlies += plies;
+            lengthHistogram[Math.min(plies / LENGTH_BUCKET, LENGTH_BUCKETS - 1)]++;
+            for (int i = 0; i < captured.length; i++) {
+                captured[i] += gameCaptured[i];
+                totalCaptures += gameCaptured[i];
+                dropped[i] += gameDropped[i];
+                totalDrops += gameDropped[i];
+            }
+
+            Piece.Player winner = ReplayArchive.findWinner(logic);
+            if (winner == Piece.Player.P1) p1Wins++;
+            else if (winner == Piece.Player.P2) p2Wins++;
+            else undecided++;
+            if (logic.getGameState() == GameLogic.GameState.GAME_OVER) kingCaptureWins++;
+            else if (winner != null) kingInZoneWins++;
+        }
+
+        void merge(Stats other) {
+            games += other.games;
+            validGames += other.validGames;
+            invalidGames += other.invalidGames;
+            p1Wins += other.p1Wins;
+            p2Wins += other.p2Wins;
+            undecided += other.undecided;
+            kingCaptureWins += other.kingCaptureWins;
+            kingInZoneWins += other.kingInZoneWins;
+            totalPlies += other.totalPlies;
+            totalDrops += other.totalDrops;
+            totalCaptures += other.totalCaptures;
+            for (int i = 0; i < LENGTH_BUCKETS; i++) lengthHistogram[i] += other.lengthHistogram[i];
+            for (int i = 0; i < captured.length; i++) {
+                captured[i] += other.captured[i];
+                dropped[i] += other.dropped[i];
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path replayDir = Path.of(args.length > 0 ? args[0] : ReplayArchive.REPLAY_DIR);
+        if (!Files.isDirectory(replayDir)) {
+            System.err.println("리플레이 디렉토리를 찾을 수 없습니다: " + replayDir);
+            return;
+        }
+
+        long start = System.nanoTime();
+        Stats stats = collect(replayDir);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        print(stats, seconds);
+    }
+
+    /**
+     * 디렉토리의 모든 리플레이를 병렬로 처리하여 통계를 계산합니다.
+     */
+    public static Stats collect(Path replayDir) throws IOException {
+        try (Stream<Path> files = ReplayArchive.listReplayFiles(replayDir)) {
+            return files.parallel().collect(Stats::new, Stats::accept, Stats::merge);
+        }
+    }
+
+    private static void print(Stats s, double seconds) {
+        System.out.printf("리플레이 %d개 처리 (정상 %d개, 오류 %d개), %.2f초, %.1f게임/초%n",
+                s.games, s.validGames, s.invalidGames, seconds, seconds > 0 ? s.games / seconds : 0.0);
+        if (s.validGames == 0) return;
+
+        long decided = s.p1Wins + s.p2Wins;
+        System.out.printf("평균 게임 길이: %.1f수%n", (double) s.totalPlies / s.validGames);
+        System.out.printf("선공(P1) 승률: %.1f%% (P1 %d승, P2 %d승, 판정 불가 %d)%n",
+                decided > 0 ? 100.0 * s.p1Wins / decided : 0.0, s.p1Wins, s.p2Wins, s.undecided);
+        System.out.printf("승리 유형: 왕 잡기 %d, 입궁 %d (입궁 비율 %.1f%%)%n",
+                s.kingCaptureWins, s.kingInZoneWins, decided > 0 ? 100.0 * s.kingInZoneWins / decided : 0.0);
+        System.out.printf("게임당 기물 놓기: %.2f회, 게임당 잡기: %.2f회%n",
+                (double) s.totalDrops / s.validGames, (double) s.totalCaptures / s.validGames);
+
+        System.out.println("기물별 잡힌 횟수 / 놓은 횟수:");
+        for (int i = 0; i < PIECE_NAMES.length; i++) {
+            System.out.printf("  %s: %d / %d%n", PIECE_NAMES[i], s.captured[i], s.dropped[i]);
+        }
+
+        System.out.println("게임 길이 분포:");
+        for (int i = 0; i < LENGTH_BUCKETS; i++) {
+            if (s.lengthHistogram[i] == 0) continue;
+            String range = i == LENGTH_BUCKETS - 1
+                    ? (i * LENGTH_BUCKET) + "수 이상"
+                    : (i * LENGTH_BUCKET) + "~" + (i * LENGTH_BUCKET + LENGTH_BUCKET - 1) + "수";
+            System.out.printf("  %-10s %d%n", range, s.lengthHistogram[i]);
+        }
+    }
+}
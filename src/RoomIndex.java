@@ -0,0 +1,205 @@
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 서버의 게임방 목록을 방 제목 순으로 정렬하여 보관하는 인덱스입니다.
+ * 로비 클라이언트가 요청한 조건(상태 필터, 제목 접두어 검색)에 맞는 방 중
+ * 요청한 페이지에 해당하는 방만 골라서 반환하므로, 방이 많아져도 클라이언트에는 한 페이지 분량만 전송됩니다.
+ * 제목 접두어 검색은 정렬된 맵의 부분 범위(subMap)만 훑습니다.
+ * 클러스터 모드에서는 다른 노드의 방(ClusterLink.RemoteRoom)도 같은 인덱스에 들어갑니다.
+ */
+public class RoomIndex {
+
+    public static final int DEFAULT_PAGE_SIZE = 6; // 로비 화면의 방 버튼 수
+    public static final int MAX_PAGE_SIZE = 50;
+
+    /**
+     * 방 상태 필터입니다. 이름은 프로토콜의 ROOM_FILTER_* 값과 같습니다.
+     */
+    public enum Filter {
+        ALL, WAITING, PLAYING, PRIVATE;
+
+        boolean matches(LobbyRoom room) {
+            return switch (this) {
+                case ALL -> true;
+                case WAITING -> !room.isGameInProgress();
+                case PLAYING -> room.isGameInProgress();
+                case PRIVATE -> room.isPrivate();
+            };
+        }
+
+        static Filter parse(String name) {
+            try {
+                return Filter.valueOf(name);
+            } catch (IllegalArgumentException e) {
+                return ALL;
+            }
+        }
+    }
+
+    /**
+     * 로비 클라이언트 한 명의 방 목록 조회 조건입니다. (페이지 번호는 0부터 시작)
+     * 같은 조건을 가진 클라이언트끼리 방 목록 문자열을 공유할 수 있도록 equals/hashCode를 구현합니다.
+     */
+    public static final class Query {
+        public static final Query DEFAULT = new Query(0, DEFAULT_PAGE_SIZE, Filter.ALL, "");
+
+        final int page;
+        final int pageSize;
+        final Filter filter;
+        final String prefix;
+
+        public Query(int page, int pageSize, Filter filter, String prefix) {
+            this.page = Math.max(0, page);
+            this.pageSize = Math.max(1, Math.min(MAX_PAGE_SIZE, pageSize));
+            this.filter = filter;
+            this.prefix = prefix == null ? "" : prefix.trim();
+        }
+
+        /**
+         * ROOM_QUERY 페이로드(페이지 페이지크기 필터 [제목접두어])를 파싱합니다.
+         * 형식이 잘못되었으면 기본 조건을 반환합니다.
+         */
+        public static Query parse(String payload) {
+            String[] parts = payload.trim().split(" ", 4);
+            try {
+                int page = Integer.parseInt(parts[0]);
+                int pageSize = parts.length > 1 ? Integer.parseInt(parts[1]) : DEFAULT_PAGE_SIZE;
+                Filter filter = parts.length > 2 ? Filter.parse(parts[2]) : Filter.ALL;
+                String prefix = parts.length > 3 ? parts[3] : "";
+                return new Query(page, pageSize, filter, prefix);
+            } catch (NumberFormatException e) {
+                return DEFAULT;
+            }
+        }
+
+        Query withPage(int newPage) {
+            return new Query(newPage, pageSize, filter, prefix);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Query)) return false;
+            Query other = (Query) o;
+            return page == other.page && pageSize == other.pageSize && filter == other.filter && prefix.equals(other.prefix);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(page, pageSize, filter, prefix);
+        }
+    }
+
+    /**
+     * 조회 결과 한 페이지입니다.
+     */
+    public static final class Page {
+        public final List<LobbyRoom> rooms;
+        public final int page;        // 실제로 반환된 페이지 번호 (요청한 페이지가 범위를 넘으면 마지막 페이지)
+        public final int totalPages;
+        public final int totalRooms;  // 조건에 맞는 전체 방 수
+
+        Page(List<LobbyRoom> rooms, int page, int totalPages, int totalRooms) {
+            this.rooms = rooms;
+            this.page = page;
+            this.totalPages = totalPages;
+            this.totalRooms = totalRooms;
+        }
+    }
+
+    private final ConcurrentSkipListMap<String, LobbyRoom> rooms = new ConcurrentSkipListMap<>();
+    private final AtomicInteger size = new AtomicInteger(); // ConcurrentSkipListMap.size()는 O(n)이므로 따로 셈
+
+    public LobbyRoom get(String title) {
+        return rooms.get(title);
+    }
+
+    /**
+     * 이 서버에 있는 방을 반환합니다. 없거나 다른 노드의 방이면 null을 반환합니다.
+     */
+    public GameRoom getLocal(String title) {
+        LobbyRoom room = rooms.get(title);
+        return room instanceof GameRoom ? (GameRoom) room : null;
+    }
+
+    /**
+     * 같은 제목의 방이 없을 때만 방을 추가합니다.
+     * @return 추가되었으면 true
+     */
+    public boolean add(LobbyRoom room) {
+        if (rooms.putIfAbsent(room.getTitle(), room) != null) return false;
+        size.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * 방을 추가하거나 같은 제목의 방을 교체합니다. (다른 노드에서 받은 방 정보 갱신에 사용)
+     */
+    public void put(LobbyRoom room) {
+        if (rooms.put(room.getTitle(), room) == null) size.incrementAndGet();
+    }
+
+    public LobbyRoom remove(String title) {
+        LobbyRoom removed = rooms.remove(title);
+        if (removed != null) size.decrementAndGet();
+        return removed;
+    }
+
+    /**
+     * 지정한 방이 아직 같은 제목으로 들어 있을 때만 제거합니다.
+     * @return 제거되었으면 true
+     */
+    public boolean remove(LobbyRoom room) {
+        if (!rooms.remove(room.getTitle(), room)) return false;
+        size.decrementAndGet();
+        return true;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public boolean contains(String title) {
+        return rooms.containsKey(title);
+    }
+
+    public Collection<LobbyRoom> values() {
+        return Collections.unmodifiableCollection(rooms.values());
+    }
+
+    /**
+     * 조건에 맞는 방 중 요청한 페이지를 반환합니다.
+     * 요청한 페이지가 마지막 페이지를 넘으면(방이 줄어든 경우) 마지막 페이지를 반환합니다.
+     */
+    public Page query(Query query) {
+        NavigableMap<String, LobbyRoom> range = query.prefix.isEmpty()
+                ? rooms
+                : rooms.subMap(query.prefix, true, query.prefix + Character.MAX_VALUE, false);
+
+        int from = query.page * query.pageSize;
+        List<LobbyRoom> pageRooms = new ArrayList<>(query.pageSize);
+        // 필터와 검색어가 없으면 전체 방 수를 이미 알고 있으므로 페이지를 채운 뒤 바로 멈춤
+        boolean countKnown = query.filter == Filter.ALL && query.prefix.isEmpty();
+        int matched = 0;
+        for (LobbyRoom room : range.values()) {
+            if (!query.filter.matches(room)) continue;
+            if (matched >= from && pageRooms.size() < query.pageSize) pageRooms.add(room);
+            matched++;
+            if (countKnown && pageRooms.size() == query.pageSize) break;
+        }
+        if (countKnown) matched = Math.max(matched, size.get());
+
+        int totalPages = Math.max(1, (matched + query.pageSize - 1) / query.pageSize);
+        if (query.page >= totalPages && matched > 0) {
+            return query(query.withPage(totalPages - 1));
+        }
+        return new Page(pageRooms, Math.min(query.page, totalPages - 1), totalPages, matched);
+    }
+}
@@ -13,8 +13,16 @@ public class RoomPanel extends JPanel {
     private final BoardPanel boardPanel;
     private final ChatPanel chatPanel;
     private JLabel hostStatusLabel, guestStatusLabel, turnLabel;
-    private JPanel p1CapturedPanel, p2CapturedPanel; // 각 플레이어가 잡은 말을 표시하는 패널
+    private CapturedPiecesView myCapturedView, opponentCapturedView; // 나와 상대가 잡은 말을 표시하는 패널
     private JTextArea gameMoveHistoryArea; // 실시간 기보 표시 영역
+    private int queuedPremoves = 0; // 상대의 턴에 예약해 둔 수의 개수
+
+    // 게임 시계 표시: 서버가 보낸 CLOCK 값을 기준으로 받은 뒤 흐른 시간만큼 화면에서 줄여 나감
+    private JLabel clockLabel;
+    private final Timer clockTimer = new Timer(200, e -> renderClock());
+    private long p1ClockMillis, p2ClockMillis;
+    private String clockRunning = "NONE";
+    private long clockReceivedNanos;
     private final Color DEFAULT_BG = UIManager.getColor("Panel.background"); // 기본 배경색 저장
 
     /**
@@ -88,17 +96,20 @@ public class RoomPanel extends JPanel {
         turnLabel = new JLabel("대기 중...", SwingConstants.CENTER);
         turnLabel.setOpaque(true);
         turnLabel.setBackground(DEFAULT_BG);
-        topPanel.add(turnLabel, BorderLayout.SOUTH);
+        clockLabel = new JLabel("", SwingConstants.CENTER);
+        clockLabel.setBorder(BorderFactory.createEmptyBorder(0, 8, 0, 8));
+        JPanel turnPanel = new JPanel(new BorderLayout());
+        turnPanel.add(turnLabel, BorderLayout.CENTER);
+        turnPanel.add(clockLabel, BorderLayout.EAST);
+        topPanel.add(turnPanel, BorderLayout.SOUTH);
         
         // 상대방(P2)이 잡은 말 표시 패널
-        p2CapturedPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
-        p2CapturedPanel.setBorder(BorderFactory.createTitledBorder("상대방이 잡은 말"));
-        p2CapturedPanel.setPreferredSize(new Dimension(0, 60));
+        opponentCapturedView = new CapturedPiecesView("상대방이 잡은 말", controller, false);
         
         // 상단 컴포넌트들을 하나로 묶는 컨테이너
         JPanel northContainer = new JPanel(new BorderLayout());
         northContainer.add(topPanel, BorderLayout.NORTH);
-        northContainer.add(p2CapturedPanel, BorderLayout.SOUTH);
+        northContainer.add(opponentCapturedView, BorderLayout.SOUTH);
         
         return northContainer;
     }
@@ -109,10 +120,8 @@ public class RoomPanel extends JPanel {
      */
     private JPanel createBottomPanel() {
         // 나(P1)이 잡은 말 표시 패널
-        p1CapturedPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
-        p1CapturedPanel.setBorder(BorderFactory.createTitledBorder("내가 잡은 말"));
-        p1CapturedPanel.setPreferredSize(new Dimension(0, 60));
-        return p1CapturedPanel;
+        myCapturedView = new CapturedPiecesView("내가 잡은 말", controller, true);
+        return myCapturedView;
     }
     
     /**
@@ -177,18 +186,20 @@ public class RoomPanel extends JPanel {
         String gameStatePayload = parts[0];
         String moveHistoryPayload = (parts.length > 1) ? parts[1] : "";
 
-        String[] stateParts = gameStatePayload.split("\\|", 4);
+        String[] stateParts = gameStatePayload.split("\\|", 5); // 보드|P1포로|P2포로|차례|해시
         boardPanel.updateBoard(stateParts[0]); // 보드 판 업데이트
         if (stateParts.length > 2) {
-            // 잡은 말 목록 업데이트
-            boardPanel.updateCapturedPieces(p1CapturedPanel, p2CapturedPanel, stateParts[1], stateParts[2]);
+            // 잡은 말 목록 업데이트 (현재 시점에 따라 '나'와 '상대'의 목록을 결정)
+            boolean iAmP2 = Protocol.P2.equals(controller.getPlayerRole());
+            myCapturedView.update(iAmP2 ? stateParts[2] : stateParts[1]);
+            opponentCapturedView.update(iAmP2 ? stateParts[1] : stateParts[2]);
         }
         if (stateParts.length > 3) {
             // 현재 턴 정보 업데이트
             String currentPlayerRole = stateParts[3];
             boolean isMyTurn = controller.isMyTurn(currentPlayerRole);
             boardPanel.setMyTurn(isMyTurn);
-            turnLabel.setText(isMyTurn ? "당신의 턴입니다." : "상대방의 턴입니다.");
+            turnLabel.setText(isMyTurn ? "당신의 턴입니다." : opponentTurnText());
             applyTurnBackground(isMyTurn);
         }
 
@@ -200,9 +211,12 @@ public class RoomPanel extends JPanel {
     // --- BoardPanel에 대한 위임 메서드들 ---
     public void highlightValidMoves(String payload) { boardPanel.highlightValidMoves(payload); }
     public void highlightSelectedBoardPiece(int r, int c) { boardPanel.highlightSelectedBoardPiece(r,c); }
-    public void highlightSelectedCapturedPiece(Object sourceButton) { boardPanel.highlightSelectedCapturedPiece(sourceButton); }
+    public void highlightSelectedCapturedPiece(Object sourceButton) { myCapturedView.select(sourceButton); }
     public void highlightPlayerPieces(String playerRole) { boardPanel.highlightPlayerPieces(playerRole); }
-    public void clearHighlights(boolean clearSelection) { boardPanel.clearHighlights(clearSelection); }
+    public void clearHighlights(boolean clearSelection) {
+        boardPanel.clearHighlights(clearSelection);
+        if (clearSelection) myCapturedView.clearSelection();
+    }
     public boolean isMyTurn() { return boardPanel.isMyTurn(); }
     public String getPieceOwnerRole(int r, int c) { return boardPanel.getPieceOwnerRole(r, c); }
     public boolean isValidMove(int r, int c) { return boardPanel.isValidMove(r, c); }
@@ -213,6 +227,7 @@ public class RoomPanel extends JPanel {
      */
     public void handleGameOver(String payload) {
         boardPanel.setMyTurn(false);
+        clockTimer.stop();
         JOptionPane.showMessageDialog(this, payload, "게임 종료", JOptionPane.INFORMATION_MESSAGE);
         resetRoomUI();
     }
@@ -220,6 +235,54 @@ public class RoomPanel extends JPanel {
     public void appendChatMessage(String message) { chatPanel.appendChatMessage(message); }
     public void clearChat() { chatPanel.clearChat(); }
 
+    /**
+     * 예약해 둔 수의 개수를 갱신하고, 상대의 턴이면 턴 라벨에 표시합니다.
+     * @param count 서버에 남아 있는 예약 수의 개수
+     */
+    public void updatePremoveCount(int count) {
+        queuedPremoves = count;
+        if (!boardPanel.isMyTurn() && turnLabel.getText().startsWith("상대방의 턴")) {
+            turnLabel.setText(opponentTurnText());
+        }
+    }
+
+    /**
+     * 서버가 보낸 양쪽 남은 시간을 반영합니다.
+     * @param payload "P1남은ms P2남은ms 흐르는쪽(P1|P2|NONE)"
+     */
+    public void updateClock(String payload) {
+        String[] parts = payload.split(" ");
+        if (parts.length < 3) return;
+        try {
+            p1ClockMillis = Long.parseLong(parts[0]);
+            p2ClockMillis = Long.parseLong(parts[1]);
+        } catch (NumberFormatException e) {
+            return;
+        }
+        clockRunning = parts[2];
+        clockReceivedNanos = System.nanoTime();
+        renderClock();
+        if ("NONE".equals(clockRunning)) clockTimer.stop();
+        else clockTimer.start();
+    }
+
+    private void renderClock() {
+        long elapsed = (System.nanoTime() - clockReceivedNanos) / 1_000_000L;
+        long p1 = Protocol.P1.equals(clockRunning) ? p1ClockMillis - elapsed : p1ClockMillis;
+        long p2 = Protocol.P2.equals(clockRunning) ? p2ClockMillis - elapsed : p2ClockMillis;
+        boolean iAmP2 = Protocol.P2.equals(controller.getPlayerRole());
+        clockLabel.setText("나 " + formatClock(iAmP2 ? p2 : p1) + "  |  상대 " + formatClock(iAmP2 ? p1 : p2));
+    }
+
+    private static String formatClock(long millis) {
+        long seconds = Math.max(0, millis) / 1000;
+        return String.format("%d:%02d", seconds / 60, seconds % 60);
+    }
+
+    private String opponentTurnText() {
+        return queuedPremoves > 0 ? "상대방의 턴입니다. (예약한 수 " + queuedPremoves + "개)" : "상대방의 턴입니다.";
+    }
+
     /**
      * 방의 모든 UI 요소를 초기 상태(게임 대기 상태)로 되돌립니다.
      */
@@ -228,15 +291,14 @@ public class RoomPanel extends JPanel {
         hostStatusLabel.setText(Protocol.HOST + ": NOT READY"); 
         guestStatusLabel.setText(Protocol.GUEST + ": NOT READY"); 
         turnLabel.setText("대기 중..."); 
+        queuedPremoves = 0;
+        clockTimer.stop();
+        clockLabel.setText("");
         boardPanel.resetBoard();
         gameMoveHistoryArea.setText("");
         // 잡은 말 패널 비우기
-        p1CapturedPanel.removeAll();
-        p1CapturedPanel.revalidate();
-        p1CapturedPanel.repaint();
-        p2CapturedPanel.removeAll();
-        p2CapturedPanel.revalidate();
-        p2CapturedPanel.repaint();
+        myCapturedView.reset();
+        opponentCapturedView.reset();
         chatPanel.resetChat();
     }
 
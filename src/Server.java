@@ -1,45 +1,339 @@
 import java.io.IOException;
 import java.net.ServerSocket;
 import java.net.Socket;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 /**
- * 십이장기 게임 서버의 메인 클래스입니다.
+ * 십이장기 게임 서버입니다.
  * 클라이언트의 연결을 수락하고, 각 클라이언트에 대한 ClientHandler 스레드를 생성합니다.
- * 전체 클라이언트, 닉네임, 게임방 목록을 정적(static) 멤버로 관리합니다.
+ * 전체 클라이언트, 닉네임, 게임방 목록과 서버가 사용하는 서비스(채팅, 분석, 매칭 등)를 인스턴스마다 따로 가지므로,
+ * 한 JVM 안에서 여러 서버를 띄우거나(로비 샤드, 벤치마크, 테스트) 멈췄다가 다시 시작할 수 있습니다.
+ *
+ * cluster.nodes를 지정하면 여러 서버가 클러스터로 동작합니다. (ClusterLink 참고)
+ * 각 노드는 방 제목의 해시로 정해진 방만 맡고, 로비의 방 목록과 접속자 목록은 노드끼리 공유합니다.
+ * 예: java -Dcluster.nodes=localhost:12345,localhost:12346 -Dcluster.self=0 Server
+ *     java -Dcluster.nodes=localhost:12345,localhost:12346 -Dcluster.self=1 Server
+ * 한 JVM에서 코어를 모두 쓰려면 -Dserver.shards=N으로 연속된 포트에 N개의 샤드를 띄우며, 샤드끼리 클러스터를 이룹니다.
+ *
+ * 게임방과 진행 중인 게임은 snapshot.dir에 주기적으로(snapshot.interval.ms), 그리고 종료할 때 저장되며,
+ * 다시 시작하면 복원되어 재접속한 플레이어가 하던 게임을 이어갈 수 있습니다. (ServerSnapshot 참고)
+ * 스냅샷 사이에 둔 수는 MoveLog에 먼저 기록되므로, 비정상 종료되어도 스냅샷 이후의 수까지 복구합니다.
  */
 public class Server {
 
-    private static final int PORT = 12345;
+    private final ServerConfig config;
     // 연결된 모든 클라이언트 핸들러 리스트
-    private static final List<ClientHandler> clients = Collections.synchronizedList(new ArrayList<>());
-    // 사용 중인 모든 닉네임 리스트
-    private static final List<String> nicknames = Collections.synchronizedList(new ArrayList<>());
-    // 생성된 모든 게임방 맵 (Key: 방 이름)
-    private static final ConcurrentHashMap<String, GameRoom> gameRooms = new ConcurrentHashMap<>();
+    private final List<ClientHandler> clients = Collections.synchronizedList(new ArrayList<>());
+    // 사용 중인 모든 닉네임 (접속 순서 유지)
+    private final Set<String> nicknames = Collections.synchronizedSet(new LinkedHashSet<>());
+    private final Set<String> redirecting = ConcurrentHashMap.newKeySet(); // 다른 노드로 안내 중인 닉네임
+    // 생성된 모든 게임방 (방 이름 순으로 정렬, 로비의 페이지 조회에 사용)
+    private final RoomIndex roomIndex = new RoomIndex();
+    // 클러스터의 다른 노드와 방/접속자 목록을 주고받는 연결 (cluster.nodes가 없으면 단일 노드)
+    private final ClusterLink cluster;
+    // 종료된 게임의 분석을 담당하는 서비스
+    private final AnalysisService analysisService;
+    // 로비/게임방 채팅의 속도 제한과 묶음 전송을 담당하는 서비스
+    private final ChatService chatService;
+    // 서버에 저장된 리플레이의 목록 조회와 전송을 담당하는 서비스
+    private final ReplayService replayService;
+    // 연결이 끊긴 클라이언트의 재접속을 위한 세션 토큰 관리
+    private final SessionRegistry sessionRegistry;
+    // 응답 없는 연결을 찾아 정리하는 하트비트 서비스
+    private final HeartbeatService heartbeatService;
+    // 플레이어별 레이팅과, 레이팅이 비슷한 플레이어끼리 대전을 잡아주는 매칭 서비스
+    private final RatingTable ratings = new RatingTable();
+    private final MatchmakingService<ClientHandler> matchmaking;
+    private final AtomicInteger matchRoomCounter = new AtomicInteger();
+    // 로비의 플레이어를 방에 앉히는 처리(방 생성/입장/매칭)를 직렬화하는 잠금.
+    // 자리가 비었는지 확인하는 것과 앉히는 것을 한 번에 하여, 한 플레이어가 두 방에 들어가지 않게 함 (잠금 순서: 이 잠금 -> 방 잠금)
+    private final Object seatLock = new Object();
+
+    private ServerSocket serverSocket;
+    private Thread acceptThread;
+    private ScheduledExecutorService snapshotter; // 주기적인 스냅샷 저장, 스냅샷을 쓰지 않으면 null
+    private volatile MoveLog moveLog;             // 진행 중인 게임의 수 기록, 쓰지 않으면 null
+    private volatile boolean running = false;
+    private boolean stopped = false; // stop()이 호출되었는지 여부 (this로 동기화)
+
+    /**
+     * Server 생성자입니다. start()를 호출해야 연결을 받기 시작합니다.
+     * @param config 서버 설정
+     */
+    public Server(ServerConfig config) {
+        this.config = config;
+        this.cluster = new ClusterLink(
+                ClusterLink.parseNodes(config.clusterNodes, config.port),
+                config.clusterSelf, config.clusterLinkOffset, config.clusterSyncMillis,
+                roomIndex, this::getPublishedNicknames, this::sendRoomListToLobby);
+        this.analysisService = new AnalysisService(config.analysisThreads, config.analysisQueueCapacity,
+                config.analysisBudgetMillis, config.analysisDepth);
+        this.sessionRegistry = new SessionRegistry(config.sessionGraceMillis);
+        this.chatService = new ChatService(this::getLobbyClients, config.chat);
+        this.replayService = new ReplayService(Path.of(ReplayArchive.REPLAY_DIR), config.replay);
+        this.heartbeatService = new HeartbeatService(config.heartbeat);
+        this.matchmaking = new MatchmakingService<>(this::createMatchRoom, config.matchmaking);
+    }
 
     /**
      * 서버 애플리케이션의 진입점입니다.
+     * server.shards가 1보다 크면 연속된 포트에 샤드를 여러 개 띄우고, 샤드끼리 클러스터로 묶습니다.
      */
     public static void main(String[] args) {
-        // try-with-resources를 사용하여 서버 소켓 자동 해제
-        try (ServerSocket serverSocket = new ServerSocket(PORT)) {
-            System.out.println("서버가 " + PORT + " 포트에서 시작되었습니다.");
-            while (true) {
+        // 오프닝 북이 있으면 수 추천에 사용하도록 등록
+        PositionEvaluator.shared().setOpeningBook(OpeningBook.loadOrEmpty(Path.of(OpeningBook.DEFAULT_FILE)));
+        ServerConfig config = ServerConfig.fromSystemProperties();
+        int shards = Integer.getInteger("server.shards", 1);
+        List<ServerConfig> configs = new ArrayList<>();
+        if (shards > 1) {
+            List<String> nodes = new ArrayList<>();
+            for (int i = 0; i < shards; i++) nodes.add("localhost:" + (config.port + i));
+            for (int i = 0; i < shards; i++) {
+                configs.add(config.withPort(config.port + i).withCluster(String.join(",", nodes), i));
+            }
+        } else {
+            configs.add(config);
+        }
+
+        List<Server> servers = new ArrayList<>();
+        try {
+            for (ServerConfig shardConfig : configs) {
+                Server server = new Server(shardConfig);
+                server.start();
+                servers.add(server);
+            }
+        } catch (IOException e) {
+            System.err.println("서버 실행 중 오류 발생: " + e.getMessage());
+            e.printStackTrace();
+            servers.forEach(Server::stop);
+            return;
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> servers.forEach(Server::stop), "server-shutdown"));
+    }
+
+    /**
+     * 포트를 열고 클라이언트 연결을 받기 시작합니다. 연결 수락은 별도 스레드에서 이루어지며 이 메서드는 바로 반환됩니다.
+     * @throws IOException 포트를 열 수 없는 경우
+     */
+    public synchronized void start() throws IOException {
+        if (running || stopped) throw new IllegalStateException("이미 시작했거나 종료된 서버입니다.");
+        int port = cluster.getSelf().port;
+        serverSocket = new ServerSocket(port);
+        try {
+            cluster.start();
+        } catch (IOException e) {
+            serverSocket.close();
+            throw e;
+        }
+        restoreSnapshot(); // 연결을 받기 전에 이전 방/게임을 복원
+        try {
+            startMoveLog();
+        } catch (IOException e) {
+            serverSocket.close();
+            cluster.stop();
+            throw e;
+        }
+        running = true;
+        startSnapshots();
+        acceptThread = new Thread(this::acceptLoop, "server-accept-" + port);
+        acceptThread.start();
+        System.out.println("서버가 " + port + " 포트에서 시작되었습니다.");
+    }
+
+    /**
+     * 서버를 멈춥니다. 더 이상 연결을 받지 않고, 접속 중인 연결을 모두 닫은 뒤 서버의 서비스 스레드를 정리합니다.
+     * 멈춘 서버 인스턴스는 다시 시작할 수 없으므로, 재시작하려면 같은 설정으로 새 인스턴스를 만듭니다.
+     * start()하지 않은 서버(LoopbackConnection으로만 사용한 경우 등)도 stop()으로 서비스 스레드를 정리합니다.
+     */
+    public void stop() {
+        synchronized (this) {
+            if (stopped) return;
+            stopped = true;
+            running = false;
+        }
+        closeQuietly(serverSocket);
+        if (snapshotter != null) {
+            snapshotter.shutdown();
+            try {
+                snapshotter.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            saveSnapshot(); // 연결을 닫기 전의 상태를 저장
+        }
+        if (moveLog != null) {
+            moveLog.close();
+            System.out.println(moveLog.statsSummary());
+        }
+        for (LobbyRoom room : roomIndex.values()) {
+            if (room instanceof GameRoom) ((GameRoom) room).stopClock(); // 스냅샷을 저장한 뒤에 멈춤
+        }
+        List<ClientHandler> connected;
+        synchronized (clients) {
+            connected = new ArrayList<>(clients);
+        }
+        connected.forEach(ClientHandler::reap);
+        cluster.stop();
+        matchmaking.shutdown();
+        heartbeatService.shutdown();
+        chatService.shutdown();
+        analysisService.shutdown();
+        sessionRegistry.shutdown();
+        try {
+            if (acceptThread != null) acceptThread.join(1_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        System.out.println("서버(" + config.port + ")가 종료되었습니다.");
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 실제로 클라이언트가 접속하는 포트입니다. (클러스터 모드에서는 노드 목록의 포트)
+     */
+    public int getPort() {
+        return cluster.getSelf().port;
+    }
+
+    /**
+     * 스냅샷 파일 경로를 반환합니다. 같은 디렉토리를 쓰는 샤드끼리 겹치지 않도록 포트별로 나눕니다.
+     * @return 스냅샷 파일 경로, 스냅샷을 쓰지 않으면 null
+     */
+    public Path getSnapshotFile() {
+        if (config.snapshotDir.isEmpty()) return null;
+        return Path.of(config.snapshotDir, "server_" + getPort() + ".dat");
+    }
+
+    /**
+     * 현재 게임방과 진행 중인 게임을 스냅샷 파일로 저장합니다.
+     * @return 저장에 성공했으면 true
+     */
+    public boolean saveSnapshot() {
+        Path file = getSnapshotFile();
+        if (file == null) return false;
+        long started = System.nanoTime();
+        MoveLog log = moveLog;
+        try {
+            int segment = log == null ? 0 : log.rotate(); // 이후의 수는 새 세그먼트에 기록 (실패하면 0)
+            int rooms = ServerSnapshot.save(file, this);
+            if (segment > 0) log.deleteSegmentsBefore(segment); // 스냅샷에 모두 반영된 세그먼트
+            System.out.println("스냅샷 저장: 방 " + rooms + "개, " + (System.nanoTime() - started) / 1_000_000L + "ms");
+            return true;
+        } catch (IOException e) {
+            System.err.println("스냅샷 저장 중 오류 발생: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void restoreSnapshot() {
+        Path file = getSnapshotFile();
+        if (file == null) return;
+        long started = System.nanoTime();
+        try {
+            if (ServerSnapshot.restore(file, this) > 0) {
+                System.out.println("스냅샷 복원 시간: " + (System.nanoTime() - started) / 1_000_000L + "ms");
+            }
+        } catch (IOException e) {
+            System.err.println("스냅샷 복원 중 오류 발생 (빈 서버로 시작합니다): " + e.getMessage());
+        }
+    }
+
+    /**
+     * 스냅샷 이후에 기록된 수를 적용하고, 새 수 기록을 시작합니다.
+     * 복구한 내용은 바로 새 스냅샷으로 저장하고 이전 세그먼트를 지웁니다.
+     */
+    private void startMoveLog() throws IOException {
+        Path file = getSnapshotFile();
+        if (file == null || !config.moveLogEnabled) return;
+        Path dir = file.getParent();
+        long started = System.nanoTime();
+        int recovered = MoveLog.recover(dir, getPort(), this);
+        if (recovered > 0) {
+            System.out.println("수 기록 복구 시간: " + (System.nanoTime() - started) / 1_000_000L + "ms");
+        }
+        moveLog = new MoveLog(dir, getPort(), config.moveLogSync);
+        saveSnapshot();
+    }
+
+    public MoveLog getMoveLog() {
+        return moveLog;
+    }
+
+    private void startSnapshots() {
+        if (getSnapshotFile() == null) return;
+        snapshotter = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "server-snapshot-" + getPort());
+            t.setDaemon(true);
+            return t;
+        });
+        long interval = config.snapshotIntervalMillis;
+        if (interval > 0) {
+            snapshotter.scheduleWithFixedDelay(this::saveSnapshot, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 스냅샷에 있던 플레이어를 재접속을 기다리는 세션으로 복원합니다. (ServerSnapshot에서 호출)
+     * @param nickname 플레이어 닉네임
+     * @param token    저장되어 있던 세션 토큰
+     * @param room     플레이어가 있던 게임방
+     * @return 복원된 세션, 이미 사용 중인 닉네임이면 null
+     */
+    ClientHandler restoreSession(String nickname, String token, GameRoom room) {
+        synchronized (this) {
+            if (isNicknameTaken(nickname)) return null;
+            addNickname(nickname);
+        }
+        ClientHandler session = ClientHandler.restored(this, nickname, token, room);
+        clients.add(session);
+        heartbeatService.register(session);
+        return session;
+    }
+
+    private void acceptLoop() {
+        while (running) {
+            try {
                 // 클라이언트의 연결을 기다림
                 Socket clientSocket = serverSocket.accept();
+                if (config.maxClients > 0 && clients.size() >= config.maxClients) {
+                    // 접속 제한을 넘으면 안내 후 바로 닫음
+                    clientSocket.getOutputStream().write((Protocol.ERROR + " 서버 접속 인원이 가득 찼습니다.\n").getBytes(java.nio.charset.StandardCharsets.UTF_8));
+                    clientSocket.close();
+                    continue;
+                }
                 // 연결된 클라이언트를 처리할 새 스레드 생성 및 시작
-                ClientHandler clientThread = new ClientHandler(clientSocket);
+                ClientHandler clientThread = new ClientHandler(clientSocket, this);
                 clients.add(clientThread);
+                heartbeatService.register(clientThread);
                 clientThread.start();
+            } catch (IOException e) {
+                if (running) System.err.println("연결 수락 중 오류 발생: " + e.getMessage());
             }
+        }
+    }
+
+    private static void closeQuietly(ServerSocket socket) {
+        if (socket == null) return;
+        try {
+            socket.close();
         } catch (IOException e) {
-            System.err.println("서버 실행 중 오류 발생: " + e.getMessage());
-            e.printStackTrace();
+            // 이미 닫힌 소켓
         }
     }
 
@@ -47,7 +341,7 @@ public class Server {
      * 로비에 있는 모든 클라이언트에게 메시지를 브로드캐스트합니다.
      * @param message 보낼 메시지
      */
-    public static void broadcastToLobby(String message) {
+    public void broadcastToLobby(String message) {
         synchronized (clients) {
             clients.stream()
                    .filter(c -> c.getCurrentRoom() == null) // 현재 방이 없는(로비에 있는) 클라이언트만 필터링
@@ -55,12 +349,48 @@ public class Server {
         }
     }
 
+    /**
+     * 현재 로비에 있는 클라이언트 목록의 복사본을 반환합니다.
+     */
+    public List<ClientHandler> getLobbyClients() {
+        synchronized (clients) {
+            return clients.stream().filter(c -> c.getCurrentRoom() == null).collect(Collectors.toList());
+        }
+    }
+
     /**
      * 현재 생성된 방 목록과 접속자 목록을 로비의 모든 클라이언트에게 브로드캐스트합니다.
+     * 클라이언트마다 보고 있는 페이지/필터가 다르므로 각자의 조회 조건에 맞는 방만 보내며,
+     * 같은 조건을 가진 클라이언트끼리는 한 번 만든 문자열을 공유합니다.
+     */
+    public void broadcastRoomList() {
+        cluster.publishLater(); // 다른 노드의 로비에도 반영
+        sendRoomListToLobby();
+    }
+
+    /**
+     * 로비의 클라이언트에게 현재 방 목록을 보냅니다. (다른 노드의 목록이 바뀌었을 때도 호출됨)
      */
-    public static void broadcastRoomList() {
+    private void sendRoomListToLobby() {
+        String userListStr = getUserListString();
+        Map<RoomIndex.Query, String> messages = new HashMap<>();
+        for (ClientHandler client : getLobbyClients()) {
+            String message = messages.computeIfAbsent(client.getRoomQuery(),
+                    query -> Protocol.UPDATE_ROOMLIST + " " + buildRoomListPayload(query, userListStr));
+            client.sendMessage(message);
+        }
+    }
+
+    /**
+     * 조회 조건에 맞는 방 목록 페이지와 접속자 목록을 UPDATE_ROOMLIST 페이로드로 직렬화합니다.
+     * 형식: 방1,방2,...|접속자1,접속자2,...|페이지,전체페이지수,전체방수
+     * @param query        방 목록 조회 조건
+     * @param userListStr  접속자 목록 문자열
+     */
+    public String buildRoomListPayload(RoomIndex.Query query, String userListStr) {
+        RoomIndex.Page page = roomIndex.query(query);
         // 방 목록을 문자열로 직렬화
-        String roomListStr = gameRooms.values().stream()
+        String roomListStr = page.rooms.stream()
             .map(room -> String.format("%s (%d/%d) %s %s",
                 room.getTitle(),
                 room.getPlayerCount(),
@@ -68,24 +398,45 @@ public class Server {
                 room.isGameInProgress() ? "[게임중]" : "[대기중]",
                 room.isPrivate() ? "[비밀방]" : ""))
             .collect(Collectors.joining(","));
-        
-        // 접속자 목록을 문자열로 직렬화
-        String userListStr;
+        return roomListStr + "|" + userListStr + "|" + page.page + "," + page.totalPages + "," + page.totalRooms;
+    }
+
+    /**
+     * 접속자 목록을 쉼표로 구분된 문자열로 직렬화합니다. 클러스터 모드에서는 다른 노드의 접속자도 포함합니다.
+     */
+    public String getUserListString() {
+        List<String> users = getLocalNicknames();
+        users.addAll(cluster.getRemoteUsers());
+        return String.join(",", users);
+    }
+
+    /**
+     * 다른 노드에 알릴 접속자 목록을 반환합니다. 다른 노드로 안내 중인 닉네임은 그 노드에서 로그인할 수 있도록 뺍니다.
+     */
+    private List<String> getPublishedNicknames() {
+        List<String> users = getLocalNicknames();
+        if (!redirecting.isEmpty()) users.removeAll(redirecting);
+        return users;
+    }
+
+    /**
+     * 이 노드에 접속한 닉네임 목록의 복사본을 반환합니다.
+     */
+    private List<String> getLocalNicknames() {
         synchronized (nicknames) {
-            userListStr = String.join(",", nicknames);
+            return new ArrayList<>(nicknames);
         }
-        
-        // 방 목록과 접속자 목록을 합쳐서 전송
-        String payload = roomListStr + "|" + userListStr;
-        broadcastToLobby(Protocol.UPDATE_ROOMLIST + " " + payload);
     }
 
     /**
      * 클라이언트 연결이 종료되었을 때 호출되어 관련 정보를 정리합니다.
      * @param client 정리할 클라이언트 핸들러
      */
-    public static void removeClient(ClientHandler client) {
+    public void removeClient(ClientHandler client) {
         clients.remove(client);
+        heartbeatService.unregister(client);
+        matchmaking.leave(client);
+        chatService.forget(client);
         if (client.getNickname() != null) {
             nicknames.remove(client.getNickname());
             // 클라이언트가 방에 있었다면, 방에서 내보내는 처리를 함
@@ -100,18 +451,38 @@ public class Server {
         broadcastRoomList();
     }
 
+    /**
+     * 로그인하지 않은 연결(닉네임 설정 전에 끊긴 연결, 재접속 요청을 전달만 한 연결)을
+     * 다른 클라이언트에게 알리지 않고 목록에서 제거합니다.
+     * @param client 제거할 클라이언트 핸들러
+     */
+    public void discardConnection(ClientHandler client) {
+        clients.remove(client);
+        heartbeatService.unregister(client);
+    }
+
     // 닉네임 관련 동기화 메서드들
-    public static synchronized boolean isNicknameTaken(String nickname) { return nicknames.contains(nickname); }
-    public static synchronized void addNickname(String nickname) { nicknames.add(nickname); }
-    public static synchronized void removeNickname(String nickname) { nicknames.remove(nickname); }
-    public static List<String> getNicknames() { return nicknames; }
+    // 클러스터 모드에서는 다른 노드의 접속자와도 겹치지 않아야 함
+    public synchronized boolean isNicknameTaken(String nickname) { return nicknames.contains(nickname) || cluster.isRemoteUser(nickname); }
+    public synchronized void addNickname(String nickname) { nicknames.add(nickname); }
+    public synchronized void removeNickname(String nickname) { nicknames.remove(nickname); redirecting.remove(nickname); }
+
+    /**
+     * 닉네임을 다른 노드로 안내 중인 것으로 표시하거나 해제합니다. 표시된 닉네임은 다른 노드에 알리는 접속자 목록에서 빠집니다.
+     */
+    public void setRedirecting(String nickname, boolean moving) {
+        if (moving) redirecting.add(nickname);
+        else if (redirecting.remove(nickname)) cluster.publishLater();
+    }
+    public Set<String> getNicknames() { return nicknames; }
 
     /**
      * 클라이언트의 요청에 따라 새로운 게임방을 생성합니다.
      * @param payload 방 정보 (제목#비밀번호#최대인원)
      * @param host 방을 생성한 클라이언트 핸들러
      */
-    public static void createGameRoom(String payload, ClientHandler host) {
+    public void createGameRoom(String payload, ClientHandler host) {
+        leaveMatchmaking(host, false); // 직접 방을 만들면 매칭 대기열에서 제외
         String[] parts = payload.split("#", 3);
         String title = parts[0];
         String password = parts[1];
@@ -122,15 +493,26 @@ public class Server {
             host.sendMessage(Protocol.ERROR + " 방 제목은 비워둘 수 없습니다.");
             return;
         }
-        // 중복된 방 제목 검사
-        if (gameRooms.containsKey(title)) {
-            host.sendMessage(Protocol.ERROR + " 방 생성 실패: 이미 존재하는 방 제목입니다.");
+        // 다른 노드가 맡은 제목이면 그 노드에서 만들도록 안내
+        if (!cluster.ownsRoom(title)) {
+            host.redirectTo(cluster.getOwnerNode(title), Protocol.CREATE_ROOM + " " + payload);
             return;
         }
-        
-        GameRoom newRoom = new GameRoom(title, password, maxPlayers, host);
-        gameRooms.put(title, newRoom);
-        host.setCurrentRoom(newRoom); // 방 생성자를 해당 방으로 이동
+        synchronized (seatLock) {
+            // 요청을 처리하는 사이에 매칭으로 다른 방에 들어갔으면 만들지 않음
+            if (host.getCurrentRoom() != null) {
+                host.sendMessage(Protocol.ERROR + " 방 생성 실패: 이미 다른 방에 있습니다.");
+                return;
+            }
+            // 중복된 방 제목 검사
+            if (roomIndex.contains(title)) {
+                host.sendMessage(Protocol.ERROR + " 방 생성 실패: 이미 존재하는 방 제목입니다.");
+                return;
+            }
+            GameRoom newRoom = new GameRoom(title, password, maxPlayers, host, this);
+            roomIndex.add(newRoom);
+            host.setCurrentRoom(newRoom); // 방 생성자를 해당 방으로 이동
+        }
         broadcastRoomList(); // 방 목록 갱신
     }
 
@@ -139,31 +521,114 @@ public class Server {
      * @param payload 참가 정보 (방제목#비밀번호)
      * @param player 참가하려는 클라이언트 핸들러
      */
-    public static void joinGameRoom(String payload, ClientHandler player) {
+    public void joinGameRoom(String payload, ClientHandler player) {
+        leaveMatchmaking(player, false); // 직접 방에 들어가면 매칭 대기열에서 제외
         String[] parts = payload.split("#", 2);
         String title = parts[0];
         String password = (parts.length > 1) ? parts[1] : "";
 
-        GameRoom room = gameRooms.get(title);
-        if (room != null) {
-            room.addPlayer(player, password); // 실제 입장 처리는 GameRoom에 위임
-        } else {
-            player.sendMessage(Protocol.ERROR + " 방 입장 실패: 존재하지 않는 방입니다.");
+        // 다른 노드가 맡은 방이면 그 노드에서 들어가도록 안내
+        if (!cluster.ownsRoom(title)) {
+            player.redirectTo(cluster.getOwnerNode(title), Protocol.JOIN_ROOM + " " + payload);
+            return;
         }
-
-
-        player.setCurrentRoom(room);
-        player.sendMessage(Protocol.JOIN_SUCCESS + " " + title);
+        GameRoom room;
+        synchronized (seatLock) {
+            // 요청을 처리하는 사이에 매칭으로 다른 방에 들어갔으면 입장하지 않음
+            if (player.getCurrentRoom() != null) {
+                player.sendMessage(Protocol.ERROR + " 방 입장 실패: 이미 다른 방에 있습니다.");
+                return;
+            }
+            room = roomIndex.getLocal(title); // 잠금 안에서 찾아야 만들어지는 중인 방을 놓치지 않음
+            if (room == null) {
+                player.sendMessage(Protocol.ERROR + " 방 입장 실패: 존재하지 않는 방입니다.");
+                return;
+            }
+            // 실제 입장 처리(JOIN_SUCCESS, 현재 방 지정)는 GameRoom에 위임, 거절되면 방의 채팅도 보내지 않음
+            if (!room.addPlayer(player, password)) return;
+        }
+        chatService.sendRoomHistory(room, player); // 방의 최근 채팅 전송
     }
 
     /**
      * 게임방을 서버에서 제거합니다. (주로 방이 비었을 때 호출됨)
      * @param title 제거할 방의 제목
      */
-    public static void removeGameRoom(String title) {
-        gameRooms.remove(title);
+    public void removeGameRoom(String title) {
+        GameRoom room = roomIndex.getLocal(title);
+        if (room != null && roomIndex.remove(room)) chatService.closeRoom(room);
         broadcastRoomList(); // 방 목록 갱신
     }
 
-    public static ConcurrentHashMap<String, GameRoom> getGameRooms() { return gameRooms; }
+    /**
+     * 로비에 있는 플레이어를 매칭 대기열에 넣습니다.
+     * @param player 대기열에 들어갈 플레이어
+     */
+    public void joinMatchmaking(ClientHandler player) {
+        if (player.getCurrentRoom() != null) return;
+        int rating = ratings.get(player.getNickname());
+        if (matchmaking.join(player, rating)) {
+            player.sendMessage(Protocol.QUEUE_STATUS + " JOINED " + rating + " " + matchmaking.getQueueDepth());
+        }
+    }
+
+    /**
+     * 플레이어를 매칭 대기열에서 뺍니다.
+     * @param player 대기열에서 나갈 플레이어
+     * @param notify 대기열에서 나갔음을 플레이어에게 알릴지 여부
+     */
+    public void leaveMatchmaking(ClientHandler player, boolean notify) {
+        if (matchmaking.leave(player) || notify) {
+            player.sendMessage(Protocol.QUEUE_STATUS + " LEFT");
+        }
+    }
+
+    /**
+     * 매칭된 두 플레이어를 위한 게임방을 만들고 바로 게임을 시작합니다. (매칭 스레드에서 호출됨)
+     * @param first  먼저 대기열에 들어온 플레이어 (방장)
+     * @param second 상대 플레이어
+     */
+    private void createMatchRoom(ClientHandler first, ClientHandler second) {
+        synchronized (seatLock) {
+            // 매칭되는 사이에 다른 방에 들어간 플레이어가 있으면, 남은 플레이어만 다시 대기열에 넣음
+            if (first.getCurrentRoom() != null || second.getCurrentRoom() != null) {
+                if (first.getCurrentRoom() == null) joinMatchmaking(first);
+                if (second.getCurrentRoom() == null) joinMatchmaking(second);
+                return;
+            }
+            seatMatchedPlayers(first, second);
+        }
+    }
+
+    /**
+     * 매칭된 두 플레이어를 새 방에 앉히고 게임을 시작합니다. (seatLock을 잡은 상태에서 호출)
+     */
+    private void seatMatchedPlayers(ClientHandler first, ClientHandler second) {
+        String title;
+        do {
+            title = "매칭" + matchRoomCounter.incrementAndGet();
+        } while (roomIndex.contains(title) || !cluster.ownsRoom(title)); // 이 노드가 맡는 제목으로
+
+        first.sendMessage(Protocol.QUEUE_STATUS + " MATCHED " + second.getNickname() + " " + ratings.get(second.getNickname()));
+        second.sendMessage(Protocol.QUEUE_STATUS + " MATCHED " + first.getNickname() + " " + ratings.get(first.getNickname()));
+
+        GameRoom room = new GameRoom(title, "", 2, first, this);
+        roomIndex.add(room);
+        first.setCurrentRoom(room);
+        room.addPlayer(second, "");
+        // 매칭으로 만들어진 방은 준비 과정 없이 바로 게임 시작
+        room.handlePlayerCommand(first, Protocol.READY);
+        room.handlePlayerCommand(second, Protocol.READY);
+    }
+
+    public ServerConfig getConfig() { return config; }
+    public RoomIndex getRoomIndex() { return roomIndex; }
+    public ClusterLink getCluster() { return cluster; }
+    public RatingTable getRatings() { return ratings; }
+    public MatchmakingService<ClientHandler> getMatchmaking() { return matchmaking; }
+    public AnalysisService getAnalysisService() { return analysisService; }
+    public ChatService getChatService() { return chatService; }
+    public ReplayService getReplayService() { return replayService; }
+    public SessionRegistry getSessionRegistry() { return sessionRegistry; }
+    public HeartbeatService getHeartbeatService() { return heartbeatService; }
 }
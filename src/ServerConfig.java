@@ -0,0 +1,285 @@
+/**
+ * 서버 인스턴스 하나의 설정입니다.
+ * fromSystemProperties()로 시스템 속성에서 읽거나, 생성자로 직접 만들어 Server에 넘깁니다.
+ * (벤치마크/테스트에서 한 JVM 안에 여러 서버를 띄울 때는 포트만 바꾼 설정을 withPort로 만듭니다.)
+ * 채팅, 하트비트, 매칭, 게임(시계/예약), 리플레이 전송 설정은 묶음별 클래스로 두며, Server가 각 서비스와 게임 세션에 넘깁니다.
+ * 서비스와 세션은 시스템 속성을 직접 읽지 않으므로, 한 JVM 안의 서버마다 다른 값을 쓸 수 있습니다.
+ */
+public final class ServerConfig {
+
+    /**
+     * 채팅 서비스(ChatService) 설정입니다.
+     */
+    public static final class Chat {
+        public final double ratePerSecond; // 사용자당 초당 허용 메시지 수
+        public final int burst;            // 사용자가 연속으로 보낼 수 있는 최대 메시지 수
+        public final long flushMillis;     // 채팅을 묶어서 전송하는 주기(ms)
+        public final int historySize;      // 채널마다 보관할 최근 채팅 줄 수
+
+        public Chat(double ratePerSecond, int burst, long flushMillis, int historySize) {
+            this.ratePerSecond = ratePerSecond;
+            this.burst = burst;
+            this.flushMillis = flushMillis;
+            this.historySize = historySize;
+        }
+
+        public static Chat fromSystemProperties() {
+            return new Chat(Double.parseDouble(System.getProperty("chat.rate", "2")),
+                    Integer.getInteger("chat.burst", 5),
+                    Integer.getInteger("chat.flush.ms", 100),
+                    Integer.getInteger("chat.history", 50));
+        }
+    }
+
+    /**
+     * 하트비트 서비스(HeartbeatService) 설정입니다.
+     */
+    public static final class Heartbeat {
+        public final long intervalMillis; // 연결 확인 주기(ms), 이 시간 동안 받은 것이 없으면 PING 전송
+        public final long timeoutMillis;  // 이 시간 동안 받은 것이 없으면 연결을 닫음(ms)
+        public final long statsMillis;    // 통계 출력 주기(ms), 0 이하이면 출력하지 않음
+
+        public Heartbeat(long intervalMillis, long timeoutMillis, long statsMillis) {
+            this.intervalMillis = intervalMillis;
+            this.timeoutMillis = timeoutMillis;
+            this.statsMillis = statsMillis;
+        }
+
+        public static Heartbeat fromSystemProperties() {
+            return new Heartbeat(Long.getLong("heartbeat.interval.ms", 10_000),
+                    Long.getLong("heartbeat.timeout.ms", 30_000),
+                    Long.getLong("heartbeat.stats.ms", 60_000));
+        }
+    }
+
+    /**
+     * 매칭 서비스(MatchmakingService) 설정입니다.
+     */
+    public static final class Matchmaking {
+        public final int band;            // 레이팅 구간 하나의 폭
+        public final long expandMillis;   // 탐색 범위를 한 구간 넓히는 데 필요한 대기 시간(ms)
+        public final int maxRadius;       // 탐색할 수 있는 최대 이웃 구간 수
+        public final long tickMillis;     // 매칭을 시도하는 주기(ms)
+        public final long statsMillis;    // 통계 출력 주기(ms), 0 이하이면 출력하지 않음
+
+        public Matchmaking(int band, long expandMillis, int maxRadius, long tickMillis, long statsMillis) {
+            this.band = band;
+            this.expandMillis = expandMillis;
+            this.maxRadius = maxRadius;
+            this.tickMillis = tickMillis;
+            this.statsMillis = statsMillis;
+        }
+
+        public static Matchmaking fromSystemProperties() {
+            return new Matchmaking(Integer.getInteger("matchmaking.band", 100),
+                    Long.getLong("matchmaking.expand.ms", 5_000),
+                    Integer.getInteger("matchmaking.max.radius", 10),
+                    Long.getLong("matchmaking.tick.ms", 200),
+                    Long.getLong("matchmaking.stats.ms", 60_000));
+        }
+    }
+
+    /**
+     * 게임 세션(GameSession)의 시간 제한과 수 예약 설정입니다.
+     */
+    public static final class Game {
+        public final long clockBaseMillis;      // 플레이어당 기본 시간(ms), 0 이하이면 시간 제한 없음
+        public final long clockIncrementMillis; // 수마다 추가되는 시간(ms)
+        public final int maxPremoves;           // 플레이어당 예약할 수 있는 수
+
+        public Game(long clockBaseMillis, long clockIncrementMillis, int maxPremoves) {
+            this.clockBaseMillis = clockBaseMillis;
+            this.clockIncrementMillis = clockIncrementMillis;
+            this.maxPremoves = maxPremoves;
+        }
+
+        public static Game fromSystemProperties() {
+            return new Game(Long.getLong("clock.base.ms", 300_000),
+                    Long.getLong("clock.increment.ms", 5_000),
+                    Integer.getInteger("premove.max", 4));
+        }
+    }
+
+    /**
+     * 리플레이 전송 서비스(ReplayService) 설정입니다.
+     */
+    public static final class Replay {
+        public final int chunkMoves;    // REPLAY_DATA 한 줄에 담는 수
+        public final int cacheCapacity; // 캐시할 리플레이의 최대 개수
+
+        public Replay(int chunkMoves, int cacheCapacity) {
+            this.chunkMoves = chunkMoves;
+            this.cacheCapacity = cacheCapacity;
+        }
+
+        public static Replay fromSystemProperties() {
+            return new Replay(Integer.getInteger("replay.chunk.moves", 64),
+                    Integer.getInteger("replay.cache.size", 128));
+        }
+    }
+
+    public final int port;                   // 클라이언트 접속 포트
+    public final int maxClients;             // 동시 접속 제한, 0 이하이면 제한 없음
+    public final long sessionGraceMillis;    // 연결이 끊긴 세션을 유지하는 시간(ms)
+    public final int analysisThreads;        // 리플레이 분석 스레드 수
+    public final int analysisQueueCapacity;  // 리플레이 분석 대기열 크기
+    public final long analysisBudgetMillis;  // 분석 한 건의 시간 제한(ms)
+    public final int analysisDepth;          // 분석 탐색 깊이
+    public final String clusterNodes;        // 클러스터 노드 목록 (호스트:포트,...), 비어 있으면 단일 서버
+    public final int clusterSelf;            // 클러스터에서 이 서버의 번호
+    public final int clusterLinkOffset;      // 노드 간 연결 포트 = port + 이 값
+    public final long clusterSyncMillis;     // 노드 간 로비 정보 전송 주기(ms)
+    public final String snapshotDir;         // 방/게임 스냅샷을 저장할 디렉토리, 비어 있으면 저장/복원하지 않음
+    public final long snapshotIntervalMillis; // 주기적인 스냅샷 저장 간격(ms), 0 이하이면 종료할 때만 저장
+    public final boolean moveLogEnabled;     // 진행 중인 게임의 수를 스냅샷 디렉토리에 기록할지 여부 (MoveLog)
+    public final boolean moveLogSync;        // 수를 확정하기 전에 디스크 기록(fsync)을 기다릴지 여부
+    public final Chat chat;
+    public final Heartbeat heartbeat;
+    public final Matchmaking matchmaking;
+    public final Game game;
+    public final Replay replay;
+
+    public ServerConfig(int port, int maxClients, long sessionGraceMillis,
+                        int analysisThreads, int analysisQueueCapacity, long analysisBudgetMillis, int analysisDepth,
+                        String clusterNodes, int clusterSelf, int clusterLinkOffset, long clusterSyncMillis,
+                        String snapshotDir, long snapshotIntervalMillis, boolean moveLogEnabled, boolean moveLogSync,
+                        Chat chat, Heartbeat heartbeat, Matchmaking matchmaking, Game game, Replay replay) {
+        this.port = port;
+        this.maxClients = maxClients;
+        this.sessionGraceMillis = sessionGraceMillis;
+        this.analysisThreads = analysisThreads;
+        this.analysisQueueCapacity = analysisQueueCapacity;
+        this.analysisBudgetMillis = analysisBudgetMillis;
+        this.analysisDepth = analysisDepth;
+        this.clusterNodes = clusterNodes == null ? "" : clusterNodes;
+        this.clusterSelf = clusterSelf;
+        this.clusterLinkOffset = clusterLinkOffset;
+        this.clusterSyncMillis = clusterSyncMillis;
+        this.snapshotDir = snapshotDir == null ? "" : snapshotDir;
+        this.snapshotIntervalMillis = snapshotIntervalMillis;
+        this.moveLogEnabled = moveLogEnabled;
+        this.moveLogSync = moveLogSync;
+        this.chat = chat;
+        this.heartbeat = heartbeat;
+        this.matchmaking = matchmaking;
+        this.game = game;
+        this.replay = replay;
+    }
+
+    /**
+     * 시스템 속성에서 설정을 읽습니다. 지정하지 않은 값은 기존 기본값을 사용합니다.
+     */
+    public static ServerConfig fromSystemProperties() {
+        return new ServerConfig(
+                Integer.getInteger("server.port", 12345),
+                Integer.getInteger("server.max.clients", 0),
+                Long.getLong("session.grace.ms", 30_000),
+                Integer.getInteger("analysis.threads", 2),
+                Integer.getInteger("analysis.queue", 32),
+                Long.getLong("analysis.budget.ms", 10_000),
+                Integer.getInteger("analysis.depth", 6),
+                System.getProperty("cluster.nodes", ""),
+                Integer.getInteger("cluster.self", 0),
+                Integer.getInteger("cluster.link.offset", 1_000),
+                Long.getLong("cluster.sync.ms", 200),
+                System.getProperty("snapshot.dir", "snapshots"),
+                Long.getLong("snapshot.interval.ms", 30_000),
+                Boolean.parseBoolean(System.getProperty("movelog.enabled", "true")),
+                Boolean.parseBoolean(System.getProperty("movelog.sync", "true")),
+                Chat.fromSystemProperties(),
+                Heartbeat.fromSystemProperties(),
+                Matchmaking.fromSystemProperties(),
+                Game.fromSystemProperties(),
+                Replay.fromSystemProperties());
+    }
+
+    /**
+     * 포트만 바꾼 설정을 반환합니다.
+     */
+    public ServerConfig withPort(int newPort) {
+        return new ServerConfig(newPort, maxClients, sessionGraceMillis, analysisThreads, analysisQueueCapacity,
+                analysisBudgetMillis, analysisDepth, clusterNodes, clusterSelf, clusterLinkOffset, clusterSyncMillis,
+                snapshotDir, snapshotIntervalMillis, moveLogEnabled, moveLogSync,
+                chat, heartbeat, matchmaking, game, replay);
+    }
+
+    /**
+     * 스냅샷 설정만 바꾼 설정을 반환합니다.
+     */
+    public ServerConfig withSnapshot(String dir, long intervalMillis) {
+        return new ServerConfig(port, maxClients, sessionGraceMillis, analysisThreads, analysisQueueCapacity,
+                analysisBudgetMillis, analysisDepth, clusterNodes, clusterSelf, clusterLinkOffset, clusterSyncMillis,
+                dir, intervalMillis, moveLogEnabled, moveLogSync,
+                chat, heartbeat, matchmaking, game, replay);
+    }
+
+    /**
+     * 수 기록 설정만 바꾼 설정을 반환합니다.
+     */
+    public ServerConfig withMoveLog(boolean enabled, boolean sync) {
+        return new ServerConfig(port, maxClients, sessionGraceMillis, analysisThreads, analysisQueueCapacity,
+                analysisBudgetMillis, analysisDepth, clusterNodes, clusterSelf, clusterLinkOffset, clusterSyncMillis,
+                snapshotDir, snapshotIntervalMillis, enabled, sync,
+                chat, heartbeat, matchmaking, game, replay);
+    }
+
+    /**
+     * 클러스터 구성만 바꾼 설정을 반환합니다.
+     */
+    public ServerConfig withCluster(String nodes, int self) {
+        return new ServerConfig(port, maxClients, sessionGraceMillis, analysisThreads, analysisQueueCapacity,
+                analysisBudgetMillis, analysisDepth, nodes, self, clusterLinkOffset, clusterSyncMillis,
+                snapshotDir, snapshotIntervalMillis, moveLogEnabled, moveLogSync,
+                chat, heartbeat, matchmaking, game, replay);
+    }
+
+    /**
+     * 채팅 설정만 바꾼 설정을 반환합니다.
+     */
+    public ServerConfig withChat(Chat newChat) {
+        return new ServerConfig(port, maxClients, sessionGraceMillis, analysisThreads, analysisQueueCapacity,
+                analysisBudgetMillis, analysisDepth, clusterNodes, clusterSelf, clusterLinkOffset, clusterSyncMillis,
+                snapshotDir, snapshotIntervalMillis, moveLogEnabled, moveLogSync,
+                newChat, heartbeat, matchmaking, game, replay);
+    }
+
+    /**
+     * 하트비트 설정만 바꾼 설정을 반환합니다.
+     */
+    public ServerConfig withHeartbeat(Heartbeat newHeartbeat) {
+        return new ServerConfig(port, maxClients, sessionGraceMillis, analysisThreads, analysisQueueCapacity,
+                analysisBudgetMillis, analysisDepth, clusterNodes, clusterSelf, clusterLinkOffset, clusterSyncMillis,
+                snapshotDir, snapshotIntervalMillis, moveLogEnabled, moveLogSync,
+                chat, newHeartbeat, matchmaking, game, replay);
+    }
+
+    /**
+     * 매칭 설정만 바꾼 설정을 반환합니다.
+     */
+    public ServerConfig withMatchmaking(Matchmaking newMatchmaking) {
+        return new ServerConfig(port, maxClients, sessionGraceMillis, analysisThreads, analysisQueueCapacity,
+                analysisBudgetMillis, analysisDepth, clusterNodes, clusterSelf, clusterLinkOffset, clusterSyncMillis,
+                snapshotDir, snapshotIntervalMillis, moveLogEnabled, moveLogSync,
+                chat, heartbeat, newMatchmaking, game, replay);
+    }
+
+    /**
+     * 게임(시간 제한/수 예약) 설정만 바꾼 설정을 반환합니다.
+     */
+    public ServerConfig withGame(Game newGame) {
+        return new ServerConfig(port, maxClients, sessionGraceMillis, analysisThreads, analysisQueueCapacity,
+                analysisBudgetMillis, analysisDepth, clusterNodes, clusterSelf, clusterLinkOffset, clusterSyncMillis,
+                snapshotDir, snapshotIntervalMillis, moveLogEnabled, moveLogSync,
+                chat, heartbeat, matchmaking, newGame, replay);
+    }
+
+    /**
+     * 리플레이 전송 설정만 바꾼 설정을 반환합니다.
+     */
+    public ServerConfig withReplay(Replay newReplay) {
+        return new ServerConfig(port, maxClients, sessionGraceMillis, analysisThreads, analysisQueueCapacity,
+                analysisBudgetMillis, analysisDepth, clusterNodes, clusterSelf, clusterLinkOffset, clusterSyncMillis,
+                snapshotDir, snapshotIntervalMillis, moveLogEnabled, moveLogSync,
+                chat, heartbeat, matchmaking, game, newReplay);
+    }
+}
@@ -0,0 +1,114 @@
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 서버의 게임방과 진행 중인 게임을 파일에 저장하고, 서버를 다시 시작할 때 복원하는 유틸리티 클래스입니다.
+ *
+ * 파일 형식 (DataOutputStream, 빅 엔디언):
+ *   int MAGIC, long 저장 시각(ms), int 방 개수, 방마다 GameRoom.writeSnapshot이 기록한 내용
+ *   자리 하나 = boolean 있음 여부, UTF 닉네임, UTF 세션 토큰
+ *   세션 = 준비 상태, 진행 여부, (진행 중이면) P1 여부, 수 기록 ID, 입궁 상태, 기보(Move 코드), 양쪽 남은 시간
+ * 보드와 무르기 기록은 기보를 다시 두어 만들 수 있으므로 저장하지 않아 방 하나가 수십~수백 바이트입니다.
+ *
+ * 자리에 있던 플레이어는 복원할 때 재접속을 기다리는 세션(같은 세션 토큰)으로 만들어지므로,
+ * 클라이언트가 평소처럼 RESUME으로 재접속하면 RESYNC로 방과 게임 상태를 다시 받습니다.
+ * 유예 시간(session.grace.ms) 안에 돌아오지 않은 플레이어는 연결이 끊긴 경우와 똑같이 정리됩니다.
+ * 저장은 임시 파일에 쓴 뒤 이름을 바꾸므로, 저장 도중 서버가 죽어도 이전 스냅샷은 남아 있습니다.
+ */
+public final class ServerSnapshot {
+    private ServerSnapshot() {} // 인스턴스화 방지
+
+    public static final int MAGIC = 0x53534E32; // "SSN2" (진행 중인 게임에 수 기록 ID 추가)
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    /**
+     * 이 서버가 맡고 있는 모든 게임방을 스냅샷 파일로 저장합니다. (다른 노드의 방은 저장하지 않음)
+     * 방마다 방 잠금을 잡고 기록하므로, 저장하는 동안에도 다른 방의 게임은 계속 진행됩니다.
+     * @param file   저장할 파일
+     * @param server 저장할 서버
+     * @return 저장한 방 개수
+     * @throws IOException 파일을 쓸 수 없는 경우
+     */
+    public static int save(Path file, Server server) throws IOException {
+        List<GameRoom> rooms = new ArrayList<>();
+        for (LobbyRoom room : server.getRoomIndex().values()) {
+            if (room instanceof GameRoom) rooms.add((GameRoom) room);
+        }
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) Files.createDirectories(parent);
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), BUFFER_SIZE))) {
+            out.writeInt(MAGIC);
+            out.writeLong(System.currentTimeMillis());
+            out.writeInt(rooms.size());
+            for (GameRoom room : rooms) {
+                room.writeSnapshot(out);
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return rooms.size();
+    }
+
+    /**
+     * 스냅샷 파일의 게임방을 서버에 복원합니다. 서버가 연결을 받기 전에 호출해야 합니다.
+     * @param file   스냅샷 파일
+     * @param server 복원할 서버
+     * @return 복원한 방 개수, 파일이 없으면 0
+     * @throws IOException 파일을 읽을 수 없거나 스냅샷 파일이 아닌 경우
+     */
+    public static int restore(Path file, Server server) throws IOException {
+        if (!Files.exists(file)) return 0;
+        int restored = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), BUFFER_SIZE))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("스냅샷 파일이 아닙니다: " + file);
+            }
+            long savedAt = in.readLong();
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                GameRoom room = GameRoom.restoreSnapshot(in, server);
+                if (room != null && server.getRoomIndex().add(room)) restored++;
+            }
+            System.out.println("스냅샷 복원: 방 " + restored + "/" + count + "개 ("
+                    + (System.currentTimeMillis() - savedAt) / 1000 + "초 전 저장)");
+        }
+        return restored;
+    }
+
+    /**
+     * 자리 하나(플레이어의 닉네임과 세션 토큰)를 기록합니다. 세션 토큰이 없는 연결은 빈 토큰으로 기록합니다.
+     */
+    static void writeSeat(DataOutputStream out, PlayerConnection player) throws IOException {
+        out.writeBoolean(player != null);
+        if (player == null) return;
+        out.writeUTF(player.getNickname());
+        out.writeUTF(sessionTokenOf(player));
+    }
+
+    /**
+     * 플레이어의 세션 토큰을 반환합니다. 세션 토큰이 없는 연결(LoopbackConnection 등)이면 빈 문자열입니다.
+     */
+    static String sessionTokenOf(PlayerConnection player) {
+        String token = player instanceof ClientHandler ? ((ClientHandler) player).getSessionToken() : null;
+        return token == null ? "" : token;
+    }
+
+    /**
+     * 자리 하나를 읽어 재접속을 기다리는 세션으로 복원합니다.
+     * @return 복원된 플레이어, 빈 자리이거나 이미 사용 중인 닉네임이면 null
+     */
+    static PlayerConnection readSeat(DataInputStream in, Server server, GameRoom room) throws IOException {
+        if (!in.readBoolean()) return null;
+        String nickname = in.readUTF();
+        String token = in.readUTF();
+        return server.restoreSession(nickname, token, room);
+    }
+}
@@ -0,0 +1,97 @@
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 클라이언트 세션 토큰을 관리하는 클래스입니다.
+ * 닉네임 설정에 성공한 클라이언트에게 추측할 수 없는 토큰을 발급하고,
+ * 연결이 끊긴 클라이언트가 유예 시간 안에 같은 토큰으로 재접속하면 기존 세션(ClientHandler)을 찾아줍니다.
+ * 유예 시간이 지나도록 재접속하지 않은 세션은 만료 작업을 통해 정리됩니다.
+ */
+public class SessionRegistry {
+
+    private static final int TOKEN_BYTES = 16;
+
+    private final Map<String, ClientHandler> sessions = new ConcurrentHashMap<>();
+    private final SecureRandom random = new SecureRandom();
+    private final long graceMillis;
+    private final ScheduledExecutorService expiryTimer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "session-expiry");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * @param graceMillis 연결이 끊긴 세션의 자리를 유지하는 시간(ms)
+     */
+    public SessionRegistry(long graceMillis) {
+        this.graceMillis = graceMillis;
+    }
+
+    /**
+     * 세션을 등록하고 새 토큰을 발급합니다.
+     * @param session 등록할 클라이언트 핸들러
+     * @return 발급된 세션 토큰
+     */
+    public String register(ClientHandler session) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = HexFormat.of().formatHex(bytes);
+        sessions.put(token, session);
+        return token;
+    }
+
+    /**
+     * 토큰에 해당하는 세션을 찾습니다.
+     * @return 세션, 없거나 만료되었으면 null
+     */
+    public ClientHandler find(String token) {
+        return token == null ? null : sessions.get(token);
+    }
+
+    /**
+     * 스냅샷에서 복원한 세션을 저장되어 있던 토큰으로 다시 등록합니다.
+     * 토큰이 없거나 이미 사용 중이면 새 토큰을 발급합니다.
+     * @return 등록된 세션 토큰
+     */
+    public String restore(String token, ClientHandler session) {
+        if (token == null || token.isEmpty() || sessions.putIfAbsent(token, session) != null) {
+            return register(session);
+        }
+        return token;
+    }
+
+    public void unregister(String token) {
+        if (token != null) sessions.remove(token);
+    }
+
+    /**
+     * 예약된 만료 작업을 모두 취소하고 타이머 스레드를 종료합니다. (서버 종료 시)
+     */
+    public void shutdown() {
+        expiryTimer.shutdownNow();
+        sessions.clear();
+    }
+
+    /**
+     * 유예 시간 후에 만료 작업을 실행하도록 예약합니다.
+     * 만료 작업은 그 사이에 세션이 재접속했는지 스스로 확인해야 합니다.
+     * 서버가 종료된 뒤에는 예약하지 않습니다. (세션도 서버와 함께 사라짐)
+     */
+    public void scheduleExpiry(Runnable expiry) {
+        try {
+            expiryTimer.schedule(expiry, graceMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // 종료 중인 서버
+        }
+    }
+
+    public long getGraceMillis() {
+        return graceMillis;
+    }
+}
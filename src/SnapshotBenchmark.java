@@ -0,0 +1,98 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * 게임방이 많을 때 스냅샷(ServerSnapshot) 저장과 복원에 걸리는 시간을 재는 벤치마크입니다.
+ *
+ * 서버를 시작하지 않고 LoopbackConnection으로 게임이 진행 중인 방을 N개 만들어(방마다 몇 수씩 둔 상태) 방 목록에 등록한 뒤,
+ * ServerSnapshot.save로 여러 번 저장하고, 그 파일을 새 서버에 ServerSnapshot.restore로 여러 번 복원합니다.
+ * 복원한 방 수와 진행 중인 게임 수가 저장한 것과 다르면 종료 코드 1로 끝납니다.
+ *
+ * 사용법: java -cp out SnapshotBenchmark
+ *   -Dbench.rooms=50000   만들 게임방 수
+ *   -Dbench.plies=20      방마다 둘 수
+ *   -Dbench.rounds=3      저장/복원을 각각 반복할 횟수 (첫 번째는 JIT 준비 포함)
+ * 스냅샷 파일은 임시 디렉토리에 쓰고 끝나면 지우므로, 실제 디스크에서 재려면 -Djava.io.tmpdir로 위치를 지정합니다.
+ */
+public class SnapshotBenchmark {
+
+    private static final int PORT = 23_470;
+    private static final int ROOMS = Integer.getInteger("bench.rooms", 50_000);
+    private static final int PLIES = Integer.getInteger("bench.plies", 20);
+    private static final int ROUNDS = Integer.getInteger("bench.rounds", 3);
+
+    // 양쪽 장(將)을 한 칸씩 앞뒤로 움직이는 수
+    private static final String[] P1_MOVES = {Protocol.MOVE + " 3 2 2 2", Protocol.MOVE + " 2 2 3 2"};
+    private static final String[] P2_MOVES = {Protocol.MOVE + " 0 0 1 0", Protocol.MOVE + " 1 0 0 0"};
+
+    public static void main(String[] args) throws IOException {
+        Path dir = Files.createTempDirectory("snapshot-bench");
+        ServerConfig config = ServerConfig.fromSystemProperties().withPort(PORT)
+                .withSnapshot(dir.toString(), 0).withMoveLog(false, false);
+        Server server = new Server(config);
+        Path file = server.getSnapshotFile();
+
+        long buildStart = System.nanoTime();
+        for (int i = 0; i < ROOMS; i++) {
+            startGame(server, "snap" + i);
+        }
+        long inProgress = countInProgress(server);
+        System.out.printf("게임방 %,d개 준비 (진행 중 %,d개, 방마다 %d수): %.1fs%n",
+                ROOMS, inProgress, PLIES, (System.nanoTime() - buildStart) / 1e9);
+
+        for (int round = 1; round <= ROUNDS; round++) {
+            long start = System.nanoTime();
+            int saved = ServerSnapshot.save(file, server);
+            System.out.printf("저장 %d: 방 %,d개, %.0fms, %,dKB%n",
+                    round, saved, (System.nanoTime() - start) / 1e6, Files.size(file) / 1024);
+        }
+
+        boolean mismatch = false;
+        for (int round = 1; round <= ROUNDS; round++) {
+            Server restored = new Server(config);
+            long start = System.nanoTime();
+            int rooms = ServerSnapshot.restore(file, restored);
+            double millis = (System.nanoTime() - start) / 1e6;
+            long restoredInProgress = countInProgress(restored);
+            System.out.printf("복원 %d: 방 %,d개 (진행 중 %,d개), %.0fms%n", round, rooms, restoredInProgress, millis);
+            if (rooms != ROOMS || restoredInProgress != inProgress) mismatch = true;
+            restored.stop();
+        }
+
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(dir);
+        if (mismatch) {
+            System.out.println("복원한 방이 저장한 방과 다릅니다.");
+            System.exit(1);
+        }
+        System.exit(0);
+    }
+
+    /**
+     * 두 플레이어로 게임을 시작하고 PLIES수를 둔 방을 서버의 방 목록에 등록합니다.
+     */
+    private static void startGame(Server server, String title) {
+        boolean[] aIsP1 = new boolean[1];
+        LoopbackConnection a = new LoopbackConnection(title + "-a", m -> {
+            if (m.equals(Protocol.ASSIGN_ROLE + " " + Protocol.P1)) aIsP1[0] = true;
+        });
+        LoopbackConnection b = new LoopbackConnection(title + "-b");
+        GameRoom room = a.createRoom(server, title);
+        server.getRoomIndex().add(room);
+        b.join(room);
+        a.send(Protocol.READY);
+        b.send(Protocol.READY);
+        LoopbackConnection p1 = aIsP1[0] ? a : b;
+        LoopbackConnection p2 = aIsP1[0] ? b : a;
+        for (int ply = 0; ply < PLIES; ply++) {
+            int k = (ply / 2) % 2;
+            if (ply % 2 == 0) p1.send(P1_MOVES[k]);
+            else p2.send(P2_MOVES[k]);
+        }
+    }
+
+    private static long countInProgress(Server server) {
+        return server.getRoomIndex().values().stream().filter(LobbyRoom::isGameInProgress).count();
+    }
+}
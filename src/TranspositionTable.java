@@ -0,0 +1,130 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 여러 게임과 분석 작업이 동시에 공유하는 고정 크기의 포지션 평가 캐시(트랜스포지션 테이블)입니다.
+ * 락을 사용하지 않으며, 각 항목을 (키 XOR 데이터, 데이터) 두 개의 long으로 저장하여
+ * 다른 스레드가 쓰는 도중에 읽은 깨진 항목은 키 검증에서 자연스럽게 걸러집니다.
+ *
+ * 버킷마다 두 개의 슬롯을 가지며, 첫 번째 슬롯은 더 깊게 탐색된 결과를 우선 보관하고(depth-preferred)
+ * 두 번째 슬롯은 항상 최신 결과로 덮어씁니다(always-replace).
+ */
+public class TranspositionTable {
+
+    // 탐색 결과의 종류
+    public static final int EXACT = 0; // 정확한 점수
+    public static final int LOWER = 1; // 실제 점수는 이 값 이상 (beta 컷)
+    public static final int UPPER = 2; // 실제 점수는 이 값 이하 (alpha 미달)
+
+    private static final int LONGS_PER_SLOT = 2;
+    private static final int SLOTS_PER_BUCKET = 2;
+    private static final long VALID_BIT = 1L << 63;
+
+    private final AtomicLongArray table;
+    private final long bucketMask;
+
+    // 캐시 사용 통계
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder stores = new LongAdder();
+    private final LongAdder overwrites = new LongAdder();
+
+    /**
+     * 주어진 메모리 예산에 맞는 크기(2의 거듭제곱 개의 버킷)로 테이블을 생성합니다.
+     * @param megabytes 테이블에 사용할 최대 메모리(MB)
+     */
+    public TranspositionTable(int megabytes) {
+        long bytesPerBucket = (long) Long.BYTES * LONGS_PER_SLOT * SLOTS_PER_BUCKET;
+        long buckets = Long.highestOneBit(Math.max(1L, megabytes * 1024L * 1024L / bytesPerBucket));
+        buckets = Math.min(buckets, Integer.highestOneBit(Integer.MAX_VALUE / (LONGS_PER_SLOT * SLOTS_PER_BUCKET)));
+        this.table = new AtomicLongArray((int) (buckets * LONGS_PER_SLOT * SLOTS_PER_BUCKET));
+        this.bucketMask = buckets - 1;
+    }
+
+    /**
+     * 포지션 해시에 해당하는 항목을 찾습니다.
+     * @param key 포지션 해시
+     * @return 저장된 데이터, 없으면 0
+     */
+    public long probe(long key) {
+        probes.increment();
+        int base = bucketIndex(key);
+        for (int slot = 0; slot < SLOTS_PER_BUCKET; slot++) {
+            int index = base + slot * LONGS_PER_SLOT;
+            long data = table.get(index + 1);
+            if (data != 0 && (table.get(index) ^ data) == key) {
+                hits.increment();
+                return data;
+            }
+        }
+        return 0L;
+    }
+
+    /**
+     * 탐색 결과를 저장합니다.
+     * 같은 포지션이 있거나 더 깊은 탐색 결과이면 첫 번째 슬롯에, 그렇지 않으면 두 번째 슬롯에 저장합니다.
+     * @param key   포지션 해시
+     * @param move  최선의 수 (Move 코드, 없으면 Move.NONE)
+     * @param score 점수
+     * @param depth 탐색 깊이
+     * @param flag  EXACT, LOWER, UPPER 중 하나
+     */
+    public void store(long key, int move, int score, int depth, int flag) {
+        stores.increment();
+        long data = pack(move, score, depth, flag);
+        int base = bucketIndex(key);
+
+        long preferred = table.get(base + 1);
+        boolean samePosition = preferred != 0 && (table.get(base) ^ preferred) == key;
+        int index = (preferred == 0 || samePosition || depth >= depth(preferred)) ? base : base + LONGS_PER_SLOT;
+
+        if (table.get(index + 1) != 0) overwrites.increment();
+        table.set(index, key ^ data);
+        table.set(index + 1, data);
+    }
+
+    /** 모든 항목을 비웁니다. */
+    public void clear() {
+        for (int i = 0; i < table.length(); i++) table.set(i, 0L);
+    }
+
+    private int bucketIndex(long key) {
+        return (int) (key & bucketMask) * LONGS_PER_SLOT * SLOTS_PER_BUCKET;
+    }
+
+    // --- 데이터 비트 배치: [0-15] 수, [16-47] 점수, [48-55] 깊이, [56-57] 종류, [63] 유효 표시 ---
+    private static long pack(int move, int score, int depth, int flag) {
+        return VALID_BIT
+                | (move & 0xFFFFL)
+                | ((score & 0xFFFFFFFFL) << 16)
+                | ((long) Math.min(depth, 255) << 48)
+                | ((long) (flag & 0x3) << 56);
+    }
+
+    public static int move(long data) {
+        int move = (int) (data & 0xFFFF);
+        return move == 0xFFFF ? Move.NONE : move;
+    }
+    public static int score(long data) { return (int) (data >>> 16); }
+    public static int depth(long data) { return (int) ((data >>> 48) & 0xFF); }
+    public static int flag(long data) { return (int) ((data >>> 56) & 0x3); }
+
+    // --- 통계 ---
+    public long getProbes() { return probes.sum(); }
+    public long getHits() { return hits.sum(); }
+    public long getStores() { return stores.sum(); }
+    public long getOverwrites() { return overwrites.sum(); }
+    public int getCapacity() { return table.length() / LONGS_PER_SLOT; }
+
+    /** 조회 대비 적중 비율을 반환합니다. (0.0 ~ 1.0) */
+    public double getHitRate() {
+        long p = probes.sum();
+        return p == 0 ? 0.0 : (double) hits.sum() / p;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TranspositionTable[capacity=%d, probes=%d, hits=%d (%.1f%%), stores=%d, overwrites=%d]",
+                getCapacity(), getProbes(), getHits(), getHitRate() * 100, getStores(), getOverwrites());
+    }
+}